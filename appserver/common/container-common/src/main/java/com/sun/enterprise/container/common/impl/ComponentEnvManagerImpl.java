@@ -881,24 +881,32 @@ public class ComponentEnvManagerImpl implements ComponentEnvManager {
         }
     }
 
-    private class EjbReferenceProxy implements NamingObjectProxy {
+    private class EjbReferenceProxy implements NamingObjectFactory {
 
         private final EjbReferenceDescriptor ejbRef;
 
         private volatile EjbNamingReferenceManager ejbRefMgr;
         private volatile Object cachedResult;
-        private Boolean cacheable;
+        private volatile Boolean cacheable;
 
-        // Note : V2 had a limited form of ejb-ref caching. It only applied
-        // to EJB 2.x Home references where the target lived in the same application
-        // as the client. It's not clear how useful that even is and it's of limited
-        // value given the behavior is different for EJB 3.x references. For now,
-        // all ejb-ref caching is turned off.
+        // Note : the EJB container decides which references may be cached, i.e. EJB 2.x Home
+        // references and local references of stateless and singleton beans, when the target
+        // lives in the same application as the client. The naming manager caches them too.
 
         EjbReferenceProxy(EjbReferenceDescriptor ejbRef) {
             this.ejbRef = ejbRef;
         }
 
+
+        /**
+         * @return false until the reference was resolved for the first time.
+         */
+        @Override
+        public boolean isCreateResultCacheable() {
+            return Boolean.TRUE.equals(cacheable);
+        }
+
+
         @Override
         public <T> T create(Context ctx) throws NamingException {
 
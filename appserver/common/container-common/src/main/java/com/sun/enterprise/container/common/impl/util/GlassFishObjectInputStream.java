@@ -17,6 +17,7 @@
 
 package com.sun.enterprise.container.common.impl.util;
 
+import com.sun.enterprise.container.common.spi.util.ClassDescriptorDictionary;
 import com.sun.enterprise.container.common.spi.util.GlassFishInputStreamHandler;
 import com.sun.enterprise.container.common.spi.util.SerializableObjectFactory;
 import com.sun.logging.LogDomains;
@@ -46,12 +47,14 @@ class GlassFishObjectInputStream extends ObjectInputStream {
     private final ClassLoader appLoader;
     private final ObjectInputOutputStreamFactory inputStreamHelper;
     private final Collection<GlassFishInputStreamHandler> handlers;
+    private final ClassDescriptorDictionary dictionary;
 
     GlassFishObjectInputStream(Collection<GlassFishInputStreamHandler> handlers, InputStream in, ClassLoader appLoader,
-        boolean resolve) throws IOException, StreamCorruptedException {
+        boolean resolve, ClassDescriptorDictionary dictionary) throws IOException, StreamCorruptedException {
         super(in);
         this.appLoader = appLoader;
         this.handlers = handlers;
+        this.dictionary = dictionary;
         if (resolve) {
             enableResolveObject(resolve);
         }
@@ -83,6 +86,18 @@ class GlassFishObjectInputStream extends ObjectInputStream {
         }
     }
 
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+        if (dictionary == null) {
+            return super.readClassDescriptor();
+        }
+        int id = readInt();
+        if (id == ClassDescriptorDictionary.UNKNOWN) {
+            return super.readClassDescriptor();
+        }
+        return dictionary.getDescriptor(id);
+    }
+
     @Override
     protected Class<?> resolveProxyClass(String[] interfaces)
         throws IOException, ClassNotFoundException
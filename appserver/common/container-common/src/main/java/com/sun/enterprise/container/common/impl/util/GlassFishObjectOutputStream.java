@@ -17,12 +17,14 @@
 
 package com.sun.enterprise.container.common.impl.util;
 
+import com.sun.enterprise.container.common.spi.util.ClassDescriptorDictionary;
 import com.sun.enterprise.container.common.spi.util.GlassFishOutputStreamHandler;
 import com.sun.enterprise.container.common.spi.util.IndirectlySerializable;
 import com.sun.enterprise.container.common.spi.util.SerializableObjectFactory;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.util.Collection;
 
@@ -45,11 +47,13 @@ class GlassFishObjectOutputStream extends ObjectOutputStream {
 
     private final ObjectInputOutputStreamFactory outputStreamHelper;
     private final Collection<GlassFishOutputStreamHandler> handlers;
+    private final ClassDescriptorDictionary dictionary;
 
     GlassFishObjectOutputStream(Collection<GlassFishOutputStreamHandler> handlers, OutputStream out,
-        boolean replaceObject) throws IOException {
+        boolean replaceObject, ClassDescriptorDictionary dictionary) throws IOException {
         super(out);
         this.handlers = handlers;
+        this.dictionary = dictionary;
 
         if (replaceObject) {
             enableReplaceObject(replaceObject);
@@ -82,6 +86,19 @@ class GlassFishObjectOutputStream extends ObjectOutputStream {
         return result;
     }
 
+    @Override
+    protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+        if (dictionary == null) {
+            super.writeClassDescriptor(desc);
+            return;
+        }
+        int id = dictionary.getId(desc);
+        writeInt(id);
+        if (id == ClassDescriptorDictionary.UNKNOWN) {
+            super.writeClassDescriptor(desc);
+        }
+    }
+
     @Override
     protected void annotateClass(Class<?> cl) throws IOException {
         outputStreamHelper.annotateClass(this, cl);
@@ -17,6 +17,7 @@
 
 package com.sun.enterprise.container.common.impl.util;
 
+import com.sun.enterprise.container.common.spi.util.ClassDescriptorDictionary;
 import com.sun.enterprise.container.common.spi.util.GlassFishInputStreamHandler;
 import com.sun.enterprise.container.common.spi.util.GlassFishOutputStreamHandler;
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
@@ -65,13 +66,27 @@ public class JavaEEIOUtilsImpl implements JavaEEIOUtils {
     @Override
     public ObjectInputStream createObjectInputStream(InputStream is, boolean resolveObject, ClassLoader loader)
         throws Exception {
-        return new GlassFishObjectInputStream(inputHandlers, is, loader, resolveObject);
+        return new GlassFishObjectInputStream(inputHandlers, is, loader, resolveObject, null);
+    }
+
+
+    @Override
+    public ObjectInputStream createObjectInputStream(InputStream is, boolean resolveObject, ClassLoader loader,
+        ClassDescriptorDictionary dictionary) throws Exception {
+        return new GlassFishObjectInputStream(inputHandlers, is, loader, resolveObject, dictionary);
     }
 
 
     @Override
     public ObjectOutputStream createObjectOutputStream(OutputStream os, boolean replaceObject) throws IOException {
-        return new GlassFishObjectOutputStream(outputHandlers, os, replaceObject);
+        return new GlassFishObjectOutputStream(outputHandlers, os, replaceObject, null);
+    }
+
+
+    @Override
+    public ObjectOutputStream createObjectOutputStream(OutputStream os, boolean replaceObject,
+        ClassDescriptorDictionary dictionary) throws IOException {
+        return new GlassFishObjectOutputStream(outputHandlers, os, replaceObject, dictionary);
     }
 
 
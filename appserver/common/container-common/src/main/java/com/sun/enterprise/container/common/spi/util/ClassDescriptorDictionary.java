@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.container.common.spi.util;
+
+import java.io.IOException;
+import java.io.ObjectStreamClass;
+
+/**
+ * Shared table of class descriptors used by the object streams of {@link JavaEEIOUtils}.
+ * <p>
+ * A stream created with a dictionary writes each class descriptor as an int: the id
+ * of the descriptor in the dictionary, or {@link #UNKNOWN} followed by the descriptor
+ * in the standard format. The stream reading the data must use a dictionary with the same ids.
+ * <p>
+ * Implementations must be thread safe, the same dictionary is used by many streams at once.
+ */
+public interface ClassDescriptorDictionary {
+
+    /** Id written before a descriptor which is not in the dictionary. */
+    int UNKNOWN = -1;
+
+    /**
+     * @param descriptor descriptor of a class being serialized
+     * @return the id of the descriptor or {@link #UNKNOWN} if it has to be written in full
+     * @throws IOException if the descriptor cannot be added to the dictionary
+     */
+    int getId(ObjectStreamClass descriptor) throws IOException;
+
+    /**
+     * @param id id read from the stream
+     * @return the descriptor as it was written by the serializing side, not resolved to a local class
+     * @throws IOException if the dictionary does not know the id
+     */
+    ObjectStreamClass getDescriptor(int id) throws IOException;
+}
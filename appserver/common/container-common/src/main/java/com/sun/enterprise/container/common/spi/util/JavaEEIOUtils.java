@@ -46,6 +46,26 @@ public interface JavaEEIOUtils {
 
     ObjectOutputStream createObjectOutputStream(OutputStream os, boolean replaceObject) throws IOException;
 
+    /**
+     * Creates a stream reading class descriptors through the dictionary.
+     * The default implementation ignores the dictionary, data written by
+     * {@link #createObjectOutputStream(OutputStream, boolean, ClassDescriptorDictionary)}
+     * of the same implementation can still be read.
+     */
+    default ObjectInputStream createObjectInputStream(InputStream is, boolean resolveObject, ClassLoader loader,
+        ClassDescriptorDictionary dictionary) throws Exception {
+        return createObjectInputStream(is, resolveObject, loader);
+    }
+
+    /**
+     * Creates a stream writing class descriptors through the dictionary.
+     * The default implementation ignores the dictionary.
+     */
+    default ObjectOutputStream createObjectOutputStream(OutputStream os, boolean replaceObject,
+        ClassDescriptorDictionary dictionary) throws IOException {
+        return createObjectOutputStream(os, replaceObject);
+    }
+
     byte[] serializeObject(Object obj, boolean replaceObject) throws java.io.IOException;
 
     Object deserializeObject(byte[] data, boolean resolveObject, ClassLoader appClassLoader) throws Exception;
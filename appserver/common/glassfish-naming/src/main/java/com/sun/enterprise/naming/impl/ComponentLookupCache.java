@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.naming.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.api.naming.SimpleJndiName;
+
+/**
+ * Objects resolved by java:comp, java:module and java:app lookups, cached per component id
+ * and requested name.
+ * <p>
+ * Every entry remembers the generation of the namespaces it was resolved in. Any change
+ * of the component namespaces and any change of the global namespace starts a new
+ * generation, so the entries resolved before are never returned again. The generation is
+ * read before the object is resolved and the entry is only stored if it did not change
+ * meanwhile, so an object resolved from a binding being replaced cannot outlive the change.
+ * <p>
+ * The namespaces only change while applications and resources are deployed, undeployed
+ * or reconfigured, so a new generation simply makes all entries stale.
+ */
+final class ComponentLookupCache {
+
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private final Map<String, Map<SimpleJndiName, Entry>> components = new ConcurrentHashMap<>();
+
+    /**
+     * Called when the global namespace changed, makes the entries of all caches stale.
+     */
+    static void globalNamespaceChanged() {
+        GENERATION.incrementAndGet();
+    }
+
+
+    /**
+     * @return the current generation, read it before resolving the object to be cached.
+     */
+    long getGeneration() {
+        return GENERATION.get();
+    }
+
+
+    /**
+     * @param componentId id of the component doing the lookup
+     * @param name requested name
+     * @return the cached object or null if there is none or it is stale.
+     */
+    Object get(String componentId, SimpleJndiName name) {
+        Map<SimpleJndiName, Entry> entries = components.get(componentId);
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.get(name);
+        if (entry == null || entry.generation != GENERATION.get()) {
+            return null;
+        }
+        return entry.value;
+    }
+
+
+    /**
+     * Caches the object unless the namespaces changed since the generation was read.
+     *
+     * @param componentId id of the component doing the lookup
+     * @param name requested name
+     * @param value resolved object
+     * @param generation the generation read before the object was resolved.
+     */
+    void put(String componentId, SimpleJndiName name, Object value, long generation) {
+        if (value == null || generation != GENERATION.get()) {
+            return;
+        }
+        components.computeIfAbsent(componentId, id -> new ConcurrentHashMap<>()).put(name, new Entry(value, generation));
+    }
+
+
+    /**
+     * Removes the entries of the component, entries of other components become stale.
+     *
+     * @param componentId id of the component
+     */
+    void invalidate(String componentId) {
+        GENERATION.incrementAndGet();
+        components.remove(componentId);
+    }
+
+
+    /**
+     * Removes all entries.
+     */
+    void invalidateAll() {
+        GENERATION.incrementAndGet();
+        components.clear();
+    }
+
+
+    private static final class Entry {
+
+        final Object value;
+        final long generation;
+
+        Entry(Object value, long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+}
@@ -17,6 +17,9 @@
 
 package com.sun.enterprise.naming.impl;
 
+import com.sun.enterprise.naming.monitor.NamingProbeProvider;
+import com.sun.enterprise.naming.spi.NamingObjectFactory;
+
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -80,6 +83,13 @@ import static org.glassfish.api.naming.SimpleJndiName.JNDI_CTX_JAVA_MODULE_NS_ID
 public final class GlassfishNamingManagerImpl implements GlassfishNamingManager {
 
     public static final String IIOPOBJECT_FACTORY = "com.sun.enterprise.naming.util.IIOPObjectFactory";
+
+    /**
+     * System property disabling the cache of objects resolved by lookups in the namespaces
+     * of the components when set to false. The cache is enabled by default.
+     */
+    public static final String COMPONENT_LOOKUP_CACHE = "com.sun.enterprise.naming.componentLookupCache";
+
     private static final Logger LOG = System.getLogger(GlassfishNamingManagerImpl.class.getName());
 
     @Inject
@@ -94,6 +104,10 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     private final NamespacesMap<AppModuleKey> moduleNamespaces;
     private final Map<String, ComponentIdInfo> componentIdInfo;
 
+    /** Null if disabled */
+    private final ComponentLookupCache lookupCache;
+    private final NamingProbeProvider probeProvider = new NamingProbeProvider();
+
     private InvocationManager invMgr;
 
     // FIXME: cosContext has nothing to do with the rest of the class. It could be pushed to own class.
@@ -118,6 +132,9 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         this.appNamespaces = new NamespacesMap<>(JNDI_CTX_JAVA_APP);
         this.moduleNamespaces = new NamespacesMap<>(SimpleJndiName.JNDI_CTX_JAVA_MODULE);
         this.componentIdInfo = new HashMap<>();
+        this.lookupCache = Boolean.parseBoolean(System.getProperty(COMPONENT_LOOKUP_CACHE, "true"))
+            ? new ComponentLookupCache()
+            : null;
         JavaURLContext.setNamingManager(this);
     }
 
@@ -394,6 +411,8 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         LOG.log(DEBUG,
             "bindToComponentNamespace(appName={0}, moduleName={1}, componentId={2}, treatComponentAsModule={3}, bindings={4})",
             appName, moduleName, componentId, treatComponentAsModule, bindings);
+        // bindings of java:module and java:app are visible to other components too
+        invalidateLookupCache();
 
         // These are null in rare cases, e.g. default web app.
         if (appName != null && moduleName != null) {
@@ -439,6 +458,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         throws NamingException {
         LOG.log(TRACE, "bindToModuleNamespace(appName={0}, moduleName={1}, bindings={2})", appName, moduleName,
             bindings);
+        invalidateLookupCache();
         AppModuleKey appModuleKey = new AppModuleKey(appName, moduleName);
         JavaNamespace namespace = getModuleNamespace(appModuleKey);
         for (JNDIBinding binding : bindings) {
@@ -453,6 +473,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     @Override
     public void bindToAppNamespace(String appName, Collection<? extends JNDIBinding> bindings) throws NamingException {
         LOG.log(TRACE, "bindToAppNamespace(appName={0}, bindings={1})", appName, bindings);
+        invalidateLookupCache();
         JavaNamespace namespace = getAppNamespace(appName);
         for (JNDIBinding binding : bindings) {
             SimpleJndiName logicalJndiName = binding.getName();
@@ -499,11 +520,15 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         // remove local namespace cache
         componentNamespaces.remove(componentId);
         componentIdInfo.remove(componentId);
+        if (lookupCache != null) {
+            lookupCache.invalidate(componentId);
+        }
     }
 
     @Override
     public void unbindAppObjects(String appName) throws NamingException {
         LOG.log(DEBUG, "unbindAppObjects(appName={0})", appName);
+        invalidateLookupCache();
         appNamespaces.remove(appName);
         Iterator<AppModuleKey> keys = moduleNamespaces.keySet().iterator();
         while (keys.hasNext()) {
@@ -517,6 +542,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     @Override
     public void unbindAppObject(String appName, SimpleJndiName name) throws NamingException {
         LOG.log(DEBUG, "unbindAppObject(appName={0}, name={1})", appName, name);
+        invalidateLookupCache();
         Map<SimpleJndiName, Object> namespaces = appNamespaces.get(appName);
         if (namespaces != null) {
             namespaces.remove(name);
@@ -526,6 +552,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     @Override
     public void unbindModuleObject(String appName, String moduleName, SimpleJndiName name) throws NamingException {
         LOG.log(DEBUG, "unbindModuleObject(appName={0}, moduleName={1}, name={2})", appName, moduleName, name);
+        invalidateLookupCache();
         AppModuleKey appModuleKey = new AppModuleKey(appName, moduleName);
         Map<SimpleJndiName, Object> namespaces = moduleNamespaces.get(appModuleKey);
         if (namespaces != null) {
@@ -533,6 +560,12 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         }
     }
 
+    private void invalidateLookupCache() {
+        if (lookupCache != null) {
+            lookupCache.invalidateAll();
+        }
+    }
+
     /**
      * Recreate a context for java:comp/env or one of its sub-contexts given the context name.
      */
@@ -583,6 +616,29 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
 
     private <T> T lookup(String componentId, SimpleJndiName name, Context ctx) throws NamingException {
         LOG.log(DEBUG, "lookup(componentId={0}, name={1}, ctx={2})", componentId, name, ctx);
+        if (lookupCache == null) {
+            return resolve(componentId, name, ctx, -1L);
+        }
+        final Object cached = lookupCache.get(componentId, name);
+        if (cached != null) {
+            // Not timed, measuring the time would cost more than the hit itself.
+            probeProvider.componentLookupCacheHitEvent(componentId, name.toString());
+            return (T) cached;
+        }
+        final long start = System.nanoTime();
+        final T result = resolve(componentId, name, ctx, lookupCache.getGeneration());
+        probeProvider.componentLookupCacheMissEvent(componentId, name.toString(), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Resolves the name in the namespaces of the component.
+     *
+     * @param generation generation of the lookup cache read before resolving, -1 if the cache
+     *            is disabled
+     */
+    private <T> T resolve(String componentId, SimpleJndiName name, Context ctx, long generation)
+        throws NamingException {
 // FIXME: added and commented out dmatej
 //        if (!name.hasJavaPrefix() && name.contains(":")) {
 //            // generic jndi names
@@ -600,7 +656,11 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         }
         if (obj instanceof NamingObjectProxy) {
             NamingObjectProxy namingProxy = (NamingObjectProxy) obj;
-            return namingProxy.create(ctx);
+            T result = namingProxy.create(ctx);
+            if (generation >= 0 && isCreateResultCacheable(namingProxy)) {
+                lookupCache.put(componentId, name, result, generation);
+            }
+            return result;
         } else if (obj instanceof Context) {
             // Need to preserve the original prefix so that further operations
             // on the context maintain the correct external view. In the case
@@ -616,11 +676,18 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
                 }
                 return (T) new JavaURLContext((JavaURLContext) obj);
             }
+        } else if (generation >= 0) {
+            lookupCache.put(componentId, name, obj, generation);
         }
         return (T) obj;
     }
 
 
+    private static boolean isCreateResultCacheable(NamingObjectProxy proxy) {
+        return proxy instanceof NamingObjectFactory && ((NamingObjectFactory) proxy).isCreateResultCacheable();
+    }
+
+
     public NamingEnumeration<NameClassPair> list(SimpleJndiName name) throws NamingException {
         ArrayList<SimpleJndiName> list = listNames(name);
         return new BindingsIterator<>(this, list.iterator(), true);
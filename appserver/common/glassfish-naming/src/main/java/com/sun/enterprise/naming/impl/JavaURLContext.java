@@ -19,7 +19,9 @@ package com.sun.enterprise.naming.impl;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Objects;
 
 import javax.naming.Binding;
@@ -131,26 +133,26 @@ public final class JavaURLContext implements Context, Cloneable {
             return new JavaURLContext(myName, myEnv);
         }
 
-        // Preconstructed exception collecting all tries which ended with an exception.
-        final NamingException e = new NameNotFoundException("No object bound for " + name);
+        // Exceptions of all tries, the exception thrown is created only if all of them failed.
+        final List<NamingException> failures = new ArrayList<>(2);
         final SimpleJndiName fullName = toFullName(name);
         LOG.log(Level.DEBUG, "Computed fullname={0} for name={1}", fullName, name);
         if (fullName == null) {
             // if this fails, there is no reason trying another.
-            throw e;
+            throw notFound(name, failures);
         }
         {
             // If we know for sure it's an entry within an environment namespace it might be a proxy.
             if (!isAnyJavaEnvJndiName(fullName)) {
                 // FIXME: if we move those java: prefixes in the middle of resource names,
                 //        this block will become unreachable!
-                Object obj = lookupOrCollectException(SimpleJndiName.of(name), e,
+                Object obj = lookupOrCollectException(SimpleJndiName.of(name), failures,
                     NamedNamingObjectManager::tryNamedProxies);
                 if (obj != null) {
                     return obj;
                 }
             }
-            Object obj = lookupOrCollectException(fullName, e, n -> namingManager.lookup(n, serialContext));
+            Object obj = lookupOrCollectException(fullName, failures, n -> namingManager.lookup(n, serialContext));
             if (obj != null) {
                 return obj;
             }
@@ -168,19 +170,19 @@ public final class JavaURLContext implements Context, Cloneable {
                 // Translate the java:app name into the equivalent java:global name so that
                 // the lookup will be resolved by the server.
                 String globalName = JNDI_CTX_JAVA_GLOBAL + appName + '/' + fullName.removePrefix();
-                Object obj = lookupOrCollectException(globalName, e, context::lookup);
+                Object obj = lookupOrCollectException(globalName, failures, context::lookup);
                 if (obj != null) {
                     return obj;
                 }
             }
             ComponentNamingUtil util = services.getService(ComponentNamingUtil.class);
             SimpleJndiName internalGlobalJavaAppName = util.composeInternalGlobalJavaAppName(appName, fullName);
-            Object obj = lookupOrCollectException(internalGlobalJavaAppName.toString(), e, context::lookup);
+            Object obj = lookupOrCollectException(internalGlobalJavaAppName.toString(), failures, context::lookup);
             if (obj != null) {
                 return obj;
             }
         }
-        throw e;
+        throw notFound(name, failures);
     }
 
 
@@ -544,17 +546,26 @@ public final class JavaURLContext implements Context, Cloneable {
     }
 
 
-    private static <N> Object lookupOrCollectException(final N jndiName, final NamingException collector,
+    private static <N> Object lookupOrCollectException(final N jndiName, final List<NamingException> collector,
         final NamingFunction<N> lookup) {
         try {
             return lookup.applyName(jndiName);
         } catch (NamingException e) {
-            collector.addSuppressed(e);
+            collector.add(e);
             return null;
         }
     }
 
 
+    private static NamingException notFound(final String name, final List<NamingException> failures) {
+        final NamingException e = new NameNotFoundException("No object bound for " + name);
+        for (NamingException failure : failures) {
+            e.addSuppressed(failure);
+        }
+        return e;
+    }
+
+
     @FunctionalInterface
     private interface NamingFunction<N> {
         Object applyName(N jndiName) throws NamingException;
@@ -23,6 +23,10 @@ import java.util.Hashtable;
 import javax.naming.Context;
 import javax.naming.NamingException;
 
+/**
+ * Provider of the global namespace. Every change of the namespace makes the objects
+ * cached by the {@link ComponentLookupCache} stale, they might have been resolved from it.
+ */
 public class SerialContextProviderImpl implements SerialContextProvider {
 
     private final TransientContext rootContext;
@@ -47,24 +51,28 @@ public class SerialContextProviderImpl implements SerialContextProvider {
     @Override
     public void bind(String name, Object obj) throws NamingException, RemoteException {
         rootContext.bind(name, obj);
+        ComponentLookupCache.globalNamespaceChanged();
     }
 
 
     @Override
     public void rebind(String name, Object obj) throws NamingException, RemoteException {
         rootContext.rebind(name, obj);
+        ComponentLookupCache.globalNamespaceChanged();
     }
 
 
     @Override
     public void unbind(String name) throws NamingException, RemoteException {
         rootContext.unbind(name);
+        ComponentLookupCache.globalNamespaceChanged();
     }
 
 
     @Override
     public void rename(String oldname, String newname) throws NamingException, RemoteException {
         rootContext.rename(oldname, newname);
+        ComponentLookupCache.globalNamespaceChanged();
     }
 
 
@@ -89,5 +97,6 @@ public class SerialContextProviderImpl implements SerialContextProvider {
     @Override
     public void destroySubcontext(String name) throws NamingException, RemoteException {
         rootContext.destroySubcontext(name);
+        ComponentLookupCache.globalNamespaceChanged();
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.naming.monitor;
+
+import org.glassfish.external.probe.provider.annotations.Probe;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
+import org.glassfish.external.probe.provider.annotations.ProbeProvider;
+
+/**
+ * Probes of the lookups in the java:comp, java:module and java:app namespaces of the components.
+ * Elapsed times of cache misses are in nanoseconds.
+ */
+@ProbeProvider(moduleProviderName = "glassfish", moduleName = "naming", probeProviderName = "lookup")
+public class NamingProbeProvider {
+
+    @Probe(name = "componentLookupCacheHitEvent")
+    public void componentLookupCacheHitEvent(
+        @ProbeParam("componentId") String componentId,
+        @ProbeParam("name") String name) {
+    }
+
+
+    @Probe(name = "componentLookupCacheMissEvent")
+    public void componentLookupCacheMissEvent(
+        @ProbeParam("componentId") String componentId,
+        @ProbeParam("name") String name,
+        @ProbeParam("elapsedTime") long elapsedTime) {
+    }
+}
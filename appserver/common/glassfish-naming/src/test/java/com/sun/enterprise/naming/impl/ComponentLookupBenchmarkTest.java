@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.naming.impl;
+
+import com.sun.enterprise.naming.impl.test.ServerExtension;
+import com.sun.enterprise.naming.util.JndiInitializationNamingObjectFactory;
+import com.sun.enterprise.naming.util.SimpleNamingObjectFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.naming.InitialContext;
+
+import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.invocation.InvocationManagerImpl;
+import org.glassfish.api.naming.JNDIBinding;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.glassfish.api.invocation.ComponentInvocation.ComponentInvocationType.SERVLET_INVOCATION;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Measures repeated {@link InitialContext} lookups of an env entry and of a resource reference
+ * in the java:comp namespace of a component, as done by applications on every request.
+ * The env entry is served by the component lookup cache, the resource reference is not
+ * cacheable and is resolved in the global namespace on every lookup. Neither lookup may get
+ * slower with the cache than when resolved by the naming manager each time.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class ComponentLookupBenchmarkTest {
+
+    /** Fraction of the uncached throughput the lookups with the cache must reach at least. */
+    private static final double TOLERANCE = 0.8d;
+
+    @Test
+    public void lookup() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(2).warmupTime(TimeValue.seconds(1L))
+            .measurementIterations(5).forks(1).measurementTime(TimeValue.seconds(1L))
+            .threads(8).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getPrimaryResult().getLabel() + '-' + result.getParams().getParam("lookupCache"),
+            result -> result.getPrimaryResult().getScore()));
+        assertAll(
+            () -> assertThat(scores.get("lookupEnvEntry-cached"),
+                greaterThan(scores.get("lookupEnvEntry-uncached") * TOLERANCE)),
+            () -> assertThat(scores.get("lookupResourceReference-cached"),
+                greaterThan(scores.get("lookupResourceReference-uncached") * TOLERANCE))
+        );
+    }
+
+
+    @Benchmark
+    public Object lookupEnvEntry(NamingState naming, InvocationState invocation) throws Exception {
+        return naming.context.lookup("java:comp/env/timeout");
+    }
+
+
+    @Benchmark
+    public Object lookupResourceReference(NamingState naming, InvocationState invocation) throws Exception {
+        return naming.context.lookup("java:comp/env/jdbc/orders");
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class NamingState {
+
+        private static final String COMPONENT_ID = "benchmarkComponent";
+
+        @Param({"uncached", "cached"})
+        public String lookupCache;
+
+        InitialContext context;
+        InvocationManager invocationManager;
+        GlassfishNamingManagerImpl manager;
+
+        @Setup(Level.Trial)
+        public void bindComponent() throws Exception {
+            // JMH runs the benchmark in a forked JVM without the test extensions
+            new ServerExtension().beforeAll(null);
+            System.setProperty(GlassfishNamingManagerImpl.COMPONENT_LOOKUP_CACHE,
+                Boolean.toString("cached".equals(lookupCache)));
+            context = new InitialContext();
+            invocationManager = new InvocationManagerImpl();
+            manager = new GlassfishNamingManagerImpl(context);
+            manager.setInvocationManager(invocationManager);
+            SimpleJndiName resourceName = new SimpleJndiName("jdbc/__benchmark");
+            manager.publishObject(resourceName, "DataSource", true);
+
+            SimpleJndiName timeout = new SimpleJndiName("java:comp/env/timeout");
+            SimpleJndiName orders = new SimpleJndiName("java:comp/env/jdbc/orders");
+            List<JNDIBinding> bindings = List.of(
+                new Binding(timeout, new SimpleNamingObjectFactory<>(timeout, 30)),
+                new Binding(orders, new JndiInitializationNamingObjectFactory(orders, resourceName, false)));
+            manager.bindToComponentNamespace("benchmarkApp", "benchmarkModule", COMPONENT_ID, false, bindings);
+        }
+
+
+        @TearDown(Level.Trial)
+        public void unbindComponent() throws Exception {
+            manager.unbindComponentObjects(COMPONENT_ID);
+            manager.unpublishObject(new SimpleJndiName("jdbc/__benchmark"));
+            context.close();
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class InvocationState {
+
+        private ComponentInvocation invocation;
+        private InvocationManager invocationManager;
+
+        @Setup(Level.Trial)
+        public void startInvocation(NamingState naming) {
+            invocationManager = naming.invocationManager;
+            invocation = new ComponentInvocation(NamingState.COMPONENT_ID, SERVLET_INVOCATION, null, "benchmarkApp",
+                "benchmarkModule");
+            invocationManager.preInvoke(invocation);
+        }
+
+
+        @TearDown(Level.Trial)
+        public void endInvocation() {
+            invocationManager.postInvoke(invocation);
+        }
+    }
+
+
+    private static class Binding implements JNDIBinding {
+
+        private final SimpleJndiName name;
+        private final Object value;
+
+        Binding(SimpleJndiName name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+
+
+        @Override
+        public SimpleJndiName getName() {
+            return name;
+        }
+
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+}
@@ -19,10 +19,12 @@ package com.sun.enterprise.naming.impl;
 
 import com.sun.enterprise.naming.impl.test.ServerExtension;
 import com.sun.enterprise.naming.spi.NamingObjectFactory;
+import com.sun.enterprise.naming.util.JndiInitializationNamingObjectFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
@@ -293,6 +295,109 @@ public class GlassfishNamingManagerImplTest {
     }
 
 
+    @Test
+    public void cachedComponentLookups() throws Exception {
+        InvocationManager im = new InvocationManagerImpl();
+        GlassfishNamingManagerImpl nm = new GlassfishNamingManagerImpl(ctx);
+        nm.setInvocationManager(im);
+
+        CountingFactory cacheable = new CountingFactory(true);
+        CountingFactory uncacheable = new CountingFactory(false);
+        List<Binding> bindings = List.of(
+            new Binding("java:comp/env/cached", cacheable),
+            new Binding("java:comp/env/uncached", uncacheable),
+            new Binding("java:comp/env/plain", "Plain"));
+        nm.bindToComponentNamespace("appCache", "modCache", "compCache", false, bindings);
+
+        ComponentInvocation inv = new ComponentInvocation("compCache", EJB_INVOCATION, null, null, null);
+        im.preInvoke(inv);
+        try {
+            assertAll(
+                () -> assertEquals("cached: 1", ctx.lookup("java:comp/env/cached")),
+                () -> assertEquals("cached: 1", ctx.lookup("java:comp/env/cached")),
+                () -> assertEquals("uncached: 1", ctx.lookup("java:comp/env/uncached")),
+                () -> assertEquals("uncached: 2", ctx.lookup("java:comp/env/uncached")),
+                () -> assertEquals("Plain", ctx.lookup("java:comp/env/plain")),
+                () -> assertEquals("Plain", ctx.lookup("java:comp/env/plain"))
+            );
+
+            // Any change of the global namespace makes the cached objects stale
+            ctx.rebind("cacheTestResource", "Resource");
+            assertEquals("cached: 2", ctx.lookup("java:comp/env/cached"));
+            assertEquals("cached: 2", ctx.lookup("java:comp/env/cached"));
+            ctx.unbind("cacheTestResource");
+            assertEquals("cached: 3", ctx.lookup("java:comp/env/cached"));
+
+            // Other components may add java:module and java:app bindings
+            nm.bindToComponentNamespace("appCache", "modCache", "compCache2", false, List.of());
+            assertEquals("cached: 4", ctx.lookup("java:comp/env/cached"));
+        } finally {
+            im.postInvoke(inv);
+        }
+
+        nm.unbindComponentObjects("compCache");
+        nm.unbindComponentObjects("compCache2");
+        im.preInvoke(inv);
+        try {
+            assertThrows(NamingException.class, () -> ctx.lookup("java:comp/env/cached"));
+        } finally {
+            im.postInvoke(inv);
+        }
+    }
+
+
+    @Test
+    public void resourceReferenceIsResolvedOnEveryLookup() throws Exception {
+        InvocationManager im = new InvocationManagerImpl();
+        GlassfishNamingManagerImpl nm = new GlassfishNamingManagerImpl(ctx);
+        nm.setInvocationManager(im);
+
+        SimpleJndiName resourceName = new SimpleJndiName("jdbc/__cacheTest");
+        nm.publishObject(resourceName, new CountingFactory(false), true);
+        SimpleJndiName refName = new SimpleJndiName("java:comp/env/jdbc/ref");
+        List<JNDIBinding> bindings = List.of(
+            new Binding(refName.toString(), new JndiInitializationNamingObjectFactory(refName, resourceName, false)));
+        nm.bindToComponentNamespace("appRef", "modRef", "compRef", false, bindings);
+
+        ComponentInvocation inv = new ComponentInvocation("compRef", EJB_INVOCATION, null, null, null);
+        im.preInvoke(inv);
+        try {
+            assertEquals("uncached: 1", ctx.lookup("java:comp/env/jdbc/ref"));
+            assertEquals("uncached: 2", ctx.lookup("java:comp/env/jdbc/ref"));
+
+            ctx.rebind(resourceName.toString(), "Reconfigured");
+            assertEquals("Reconfigured", ctx.lookup("java:comp/env/jdbc/ref"));
+        } finally {
+            im.postInvoke(inv);
+            nm.unbindComponentObjects("compRef");
+            nm.unpublishObject(resourceName);
+        }
+    }
+
+
+    private static class CountingFactory implements NamingObjectFactory {
+
+        private final boolean cacheable;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        CountingFactory(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+
+        @Override
+        public boolean isCreateResultCacheable() {
+            return cacheable;
+        }
+
+
+        @Override
+        public String create(Context ic) {
+            return (cacheable ? "cached: " : "uncached: ") + counter.incrementAndGet();
+        }
+    }
+
+
     private static class Binding implements JNDIBinding {
 
         SimpleJndiName logicalName;
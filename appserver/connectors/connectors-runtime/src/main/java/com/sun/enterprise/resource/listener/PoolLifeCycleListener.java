@@ -125,4 +125,11 @@ public interface PoolLifeCycleListener {
      */
     void connectionRequestDequeued();
 
+    /**
+     * indicates that a connection request has left the wait queue.
+     *
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    void connectionRequestWaited(long waitTimeInMillis);
+
 }
@@ -28,6 +28,8 @@ import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue.PoolWaiter;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
@@ -213,6 +215,10 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     protected String dataStructureParameters;
 
     protected PoolWaitQueue waitQueue;
+    // Set only when the wait queue supports direct handoff of freed resources.
+    private HandoffPoolWaitQueue handoffWaitQueue;
+    // Resource handed over to the waiting thread, taken by getResourceFromPool like any other free resource.
+    private final ThreadLocal<ResourceHandle> handedOffResource = new ThreadLocal<>();
     protected PoolWaitQueue reconfigWaitQueue;
     private long reconfigWaitTime;
     protected String poolWaitQueueClass;
@@ -250,6 +256,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void initializePoolWaitQueue() throws PoolingException {
         waitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
+        handoffWaitQueue = waitQueue instanceof HandoffPoolWaitQueue ? (HandoffPoolWaitQueue) waitQueue : null;
         reconfigWaitQueue = PoolWaitQueueFactory.createPoolWaitQueue(poolWaitQueueClass);
     }
 
@@ -438,20 +445,26 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         long remainingWaitTime = 0;
 
         while (true) {
-            if (gateway.allowed()) {
-                // See comment #1 above
-                JavaEETransaction javaEETransaction = ((JavaEETransaction) transaction);
-                final Set resourcesSet = javaEETransaction == null ? null : javaEETransaction.getResources(poolInfo);
-
-                // Allow when the pool is not blocked or at-least one resource is
-                // already obtained in the current transaction.
-                if (!blocked || (resourcesSet != null && !resourcesSet.isEmpty())) {
-                    try {
-                        result = internalGetResource(spec, alloc, transaction);
-                    } finally {
-                        gateway.acquiredResource();
+            try {
+                if (gateway.allowed()) {
+                    // See comment #1 above
+                    JavaEETransaction javaEETransaction = ((JavaEETransaction) transaction);
+                    final Set resourcesSet = javaEETransaction == null ? null : javaEETransaction.getResources(poolInfo);
+
+                    // Allow when the pool is not blocked or at-least one resource is
+                    // already obtained in the current transaction.
+                    if (!blocked || (resourcesSet != null && !resourcesSet.isEmpty())) {
+                        try {
+                            result = internalGetResource(spec, alloc, transaction);
+                        } finally {
+                            gateway.acquiredResource();
+                        }
                     }
                 }
+            } finally {
+                // The resource handed over while waiting was not taken, i.e. the transaction already had one
+                // or getting the resource failed.
+                releaseHandedOffResource();
             }
 
             if (result != null) {
@@ -486,6 +499,16 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             }
 
             if (!blocked) {
+                if (handoffWaitQueue != null) {
+                    try {
+                        waitForHandedOffResource(remainingWaitTime);
+                    } catch (InterruptedException ex) {
+                        // Could be system shutdown.
+                        break;
+                    }
+                    continue;
+                }
+
                 // add to wait-queue
                 Object waitMonitor = new Object();
                 if (poolLifeCycleListener != null) {
@@ -494,6 +517,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 synchronized (waitMonitor) {
                     waitQueue.addToQueue(waitMonitor);
 
+                    long waitStartTime = System.currentTimeMillis();
                     try {
                         LOG.log(FINE, "Resource Pool: getting on wait queue");
                         waitMonitor.wait(remainingWaitTime);
@@ -501,6 +525,10 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                     } catch (InterruptedException ex) {
                         // Could be system shutdown.
                         break;
+                    } finally {
+                        if (poolLifeCycleListener != null) {
+                            poolLifeCycleListener.connectionRequestWaited(System.currentTimeMillis() - waitStartTime);
+                        }
                     }
 
                     // Try to remove in case that the monitor has timed out. We don't expect the queue to grow to great numbers
@@ -549,6 +577,85 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         return result;
     }
 
+    /**
+     * Waits in the handoff wait queue until a resource is handed over, the waiter is signalled or the wait time expires.
+     * The handed over resource is kept for the next {@link #getResourceFromPool(ResourceAllocator, ResourceSpec)} call
+     * of the current thread, so it goes through the same checks as any other free resource.
+     *
+     * @param waitTime max time to wait, 0 to wait until signalled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void waitForHandedOffResource(long waitTime) throws InterruptedException {
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.connectionRequestQueued();
+        }
+        PoolWaiter waiter = handoffWaitQueue.enqueue();
+        try {
+            LOG.log(FINE, "Resource Pool: getting on handoff wait queue");
+            ResourceHandle handedOff = handoffWaitQueue.await(waiter, waitTime);
+            if (handedOff != null) {
+                handedOffResource.set(handedOff);
+            }
+        } finally {
+            // The waiter has always left the queue here, no matter who removed it.
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
+                poolLifeCycleListener.connectionRequestWaited(waiter.getWaitTimeInMillis());
+            }
+        }
+    }
+
+    /**
+     * Takes the resource handed over to the current thread, if it is free, matching and valid. The resource is still
+     * marked as used in the pool datastructure; if it cannot serve the request, it is returned to the pool or removed
+     * like in {@link #getResourceFromPool(ResourceAllocator, ResourceSpec)}.
+     * <p>
+     * Must be called from the thread holding the getResourceFromPoolAndFreeResourceMethodsLock.
+     *
+     * @param resourceAllocator ResourceAllocator of the request
+     * @return the handed over resource or null if there is none or it cannot serve the request
+     */
+    private ResourceHandle takeHandedOffResource(ResourceAllocator resourceAllocator) {
+        ResourceHandle resourceHandle = handedOffResource.get();
+        if (resourceHandle == null) {
+            return null;
+        }
+        handedOffResource.remove();
+
+        if (resourceHandle.hasConnectionErrorOccurred()) {
+            dataStructure.removeResource(resourceHandle);
+        } else if (!matchConnection(resourceHandle, resourceAllocator)) {
+            dataStructure.returnResource(resourceHandle);
+            notifyWaitingThreads();
+        } else if (!isConnectionValid(resourceHandle, resourceAllocator) || resourceHandle.hasConnectionErrorOccurred()) {
+            dataStructure.removeResource(resourceHandle);
+        } else if (resourceHandle.isShareable() == resourceAllocator.shareableWithinComponent()) {
+            return resourceHandle;
+        } else {
+            dataStructure.returnResource(resourceHandle);
+            notifyWaitingThreads();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the resource handed over to the current thread to the pool, if the request did not take it.
+     */
+    private void releaseHandedOffResource() {
+        ResourceHandle resourceHandle = handedOffResource.get();
+        if (resourceHandle == null) {
+            return;
+        }
+        handedOffResource.remove();
+        try {
+            getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            dataStructure.returnResource(resourceHandle);
+            notifyWaitingThreads();
+        } finally {
+            getResourceFromPoolAndFreeResourceMethodsLock.unlock();
+        }
+    }
+
     /**
      * Overridden in AssocWithThreadResourcePool to fetch the resource cached in the ThreadLocal In ConnectionPool this
      * simply returns null.
@@ -784,8 +891,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
         try {
             getResourceFromPoolAndFreeResourceMethodsLock.lock();
+            resourceFromPool = takeHandedOffResource(resourceAllocator);
             try {
-                while ((resourceHandle = dataStructure.getResource()) != null) {
+                while (resourceFromPool == null && (resourceHandle = dataStructure.getResource()) != null) {
                     if (resourceHandle.hasConnectionErrorOccurred()) {
                         dataStructure.removeResource(resourceHandle);
                         continue;
@@ -1115,13 +1223,17 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 if (maxConnectionUsage_ > 0 && resourceHandle.getUsageCount() >= maxConnectionUsage_) {
                     performMaxConnectionUsageOperation(resourceHandle);
                 } else {
-                    // Put it back to the free collection.
-                    dataStructure.returnResource(resourceHandle);
                     // update the monitoring data
                     if (poolLifeCycleListener != null && !resourceHandle.getDestroyByLeakTimeOut()) {
                         poolLifeCycleListener.decrementConnectionUsed(resourceHandle.getId());
                         poolLifeCycleListener.incrementNumConnFree(false, steadyPoolSize);
                     }
+                    if (handOffToWaiter(resourceHandle)) {
+                        // The oldest waiting request took the resource over, nobody else has to be notified.
+                        return;
+                    }
+                    // Put it back to the free collection.
+                    dataStructure.returnResource(resourceHandle);
                 }
                 // For both the cases of free.add and maxConUsageOperation, a free resource is added.
                 // Hence notify waiting threads.
@@ -1278,7 +1390,26 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         resizerTask.resizePool(forced);
     }
 
+    /**
+     * Hands the freed resource directly to the oldest waiting request, if the wait queue supports it.
+     *
+     * @param resourceHandle freed resource, still marked as used in the pool datastructure
+     * @return true if the resource was handed over
+     */
+    private boolean handOffToWaiter(ResourceHandle resourceHandle) {
+        if (handoffWaitQueue == null || resourceHandle.getDestroyByLeakTimeOut()) {
+            return false;
+        }
+        return handoffWaitQueue.handoff(resourceHandle);
+    }
+
     protected void notifyWaitingThreads() {
+        if (handoffWaitQueue != null) {
+            // Waiters report their dequeue themselves.
+            handoffWaitQueue.signal();
+            return;
+        }
+
         // notify the first thread in the waitqueue
         Object waitMonitor = null;
         synchronized (waitQueue) {
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool.
+ * <p>
+ * Free resources are kept in a lock-free LIFO free-list, so the most recently returned
+ * (and most likely still warm) resource is handed out first. In addition every thread
+ * remembers the resource it returned last and tries to take it again on the next
+ * {@link #getResource()} before touching the shared free-list. Unlike the
+ * {@code AssocWithThreadResourcePool} the resource is not bound to the thread - any other
+ * thread can still take it from the free-list. The thread only keeps a weak reference, so
+ * a removed resource is not kept reachable by the threads which returned it.
+ * <p>
+ * The ownership of the resource is decided by a single CAS on its slot state, so uncontended
+ * borrow and return never block.
+ */
+public class LockFreeDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(LockFreeDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int FREE = 0;
+    private static final int IN_USE = 1;
+    private static final int REMOVED = 2;
+
+    private final ResourceHandler handler;
+    private final DataStructureSemaphore availableResources;
+    private final ConcurrentHashMap<ResourceHandle, Slot> slots;
+    private final ConcurrentLinkedDeque<Slot> freeList = new ConcurrentLinkedDeque<>();
+    private final LongAdder freeCount = new LongAdder();
+    private final ThreadLocal<WeakReference<Slot>> lastReturned = new ThreadLocal<>();
+
+    private volatile int maxSize;
+
+    public LockFreeDataStructure(String parameters, int maxSize, ResourceHandler handler, String strategyClass) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.slots = new ConcurrentHashMap<>(Math.max(16, maxSize * 2));
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "pool.datastructure.lockfreeds.init");
+    }
+
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            Slot slot = new Slot(resource);
+            slots.put(resource, slot);
+            freeCount.increment();
+            slot.queued.set(true);
+            freeList.offerFirst(slot);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        WeakReference<Slot> lastReturnedSlot = lastReturned.get();
+        Slot slot = lastReturnedSlot == null ? null : lastReturnedSlot.get();
+        if (slot != null && slot.acquire()) {
+            return slot.resource;
+        }
+
+        while ((slot = freeList.pollFirst()) != null) {
+            // Must be cleared before the acquisition attempt, otherwise a concurrent
+            // return could skip the enqueue and the resource would be lost.
+            slot.queued.set(false);
+            if (slot.acquire()) {
+                return slot.resource;
+            }
+            // Stale entry - taken through the thread-local fast path or removed.
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = slots.get(resource);
+        if (slot == null || slot.resource != resource) {
+            return;
+        }
+
+        int previousState = slot.state.getAndSet(REMOVED);
+        if (previousState == REMOVED) {
+            return;
+        }
+        if (previousState == FREE) {
+            freeCount.decrement();
+        }
+        if (slots.remove(resource, slot)) {
+            availableResources.release();
+            handler.deleteResource(resource);
+        }
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = slots.get(resource);
+        if (slot == null || slot.resource != resource) {
+            return;
+        }
+
+        if (!slot.state.compareAndSet(IN_USE, FREE)) {
+            return;
+        }
+        freeCount.increment();
+        lastReturned.set(slot.reference);
+        if (slot.queued.compareAndSet(false, true)) {
+            freeList.offerFirst(slot);
+        }
+    }
+
+    @Override
+    public int getFreeListSize() {
+        return Math.max(0, freeCount.intValue());
+    }
+
+    @Override
+    public void removeAll() {
+        for (Slot slot : slots.values()) {
+            removeResource(slot.resource);
+        }
+        freeList.clear();
+        lastReturned.remove();
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    /**
+     * Pool-private state of a single resource.
+     */
+    private final class Slot {
+
+        private final ResourceHandle resource;
+        private final AtomicInteger state = new AtomicInteger(FREE);
+        /** True while the slot is present in the free-list. */
+        private final AtomicBoolean queued = new AtomicBoolean();
+        /** Reference remembered by the thread which returned the resource last. */
+        private final WeakReference<Slot> reference = new WeakReference<>(this);
+
+        Slot(ResourceHandle resource) {
+            this.resource = resource;
+        }
+
+        boolean acquire() {
+            if (state.get() == FREE && state.compareAndSet(FREE, IN_USE)) {
+                freeCount.decrement();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        public DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -296,6 +296,16 @@ public class ConnectionPoolEmitterImpl implements PoolLifeCycleListener {
         poolProbeProvider.connectionRequestDequeuedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName());
     }
 
+    /**
+     * Fires probe event related to the fact that a connection request of the given
+     * jdbc connection pool has left the wait queue after waiting for the given time.
+     *
+     */
+    @Override
+    public void connectionRequestWaited(long waitTimeInMillis) {
+        poolProbeProvider.connectionRequestWaitedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName(), waitTimeInMillis);
+    }
+
     private String getAppName(long resourceHandleId) {
 
         // if monitoring is disabled, avoid sending events
@@ -221,4 +221,16 @@ public abstract class ConnectionPoolProbeProvider {
      */
     public void connectionRequestDequeuedEvent(String poolName, String appName, String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request has left the wait
+     * queue of the given  connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param appName application-name in which the pool is defined
+     * @param moduleName module-name in which the pool is defined
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    public void connectionRequestWaitedEvent(String poolName, String appName, String moduleName, long waitTimeInMillis) {
+    }
 }
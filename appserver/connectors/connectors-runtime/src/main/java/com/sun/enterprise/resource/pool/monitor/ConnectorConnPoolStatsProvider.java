@@ -119,6 +119,7 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private final WaitTimeHistogram connRequestWaitTimeHistogram = new WaitTimeHistogram();
     private static final String JCA_PROBE_LISTENER = "glassfish:jca:connection-pool:";
 
     public ConnectorConnPoolStatsProvider(PoolInfo poolInfo, Logger logger) {
@@ -460,6 +461,7 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        connRequestWaitTimeHistogram.reset();
     }
 
     /**
@@ -541,6 +543,25 @@ public class ConnectorConnPoolStatsProvider {
         }
     }
 
+    /**
+     * When a connection request leaves the wait queue, count its wait time into the histogram.
+     */
+    @ProbeListener(JCA_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("waitTimeInMillis") long waitTimeInMillis
+            ) {
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest("Connection request waited event received - poolName = " + poolName);
+            }
+            connRequestWaitTimeHistogram.record(waitTimeInMillis);
+        }
+    }
+
     protected PoolInfo getPoolInfo() {
         return poolInfo;
     }
@@ -626,4 +647,29 @@ public class ConnectorConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="connrequestwaittimeupto1ms")
+    public CountStatistic getConnRequestWaitTimeUpTo1ms() {
+        return connRequestWaitTimeHistogram.getUpTo1ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto10ms")
+    public CountStatistic getConnRequestWaitTimeUpTo10ms() {
+        return connRequestWaitTimeHistogram.getUpTo10ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto100ms")
+    public CountStatistic getConnRequestWaitTimeUpTo100ms() {
+        return connRequestWaitTimeHistogram.getUpTo100ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto1s")
+    public CountStatistic getConnRequestWaitTimeUpTo1s() {
+        return connRequestWaitTimeHistogram.getUpTo1s();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeover1s")
+    public CountStatistic getConnRequestWaitTimeOver1s() {
+        return connRequestWaitTimeHistogram.getOver1s();
+    }
 }
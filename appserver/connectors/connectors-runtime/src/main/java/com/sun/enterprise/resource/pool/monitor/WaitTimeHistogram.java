@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.monitor;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+
+/**
+ * Histogram of the time connection requests spent in the pool wait queue.
+ * <p>
+ * Buckets have fixed logarithmic upper bounds: 1 ms, 10 ms, 100 ms, 1 s and unbounded.
+ */
+public final class WaitTimeHistogram {
+
+    private static final long[] UPPER_BOUNDS_IN_MILLIS = {1L, 10L, 100L, 1000L};
+
+    private final CountStatisticImpl upTo1ms = bucket("ConnRequestWaitTimeUpTo1ms", "up to 1 ms");
+    private final CountStatisticImpl upTo10ms = bucket("ConnRequestWaitTimeUpTo10ms", "from 1 ms up to 10 ms");
+    private final CountStatisticImpl upTo100ms = bucket("ConnRequestWaitTimeUpTo100ms", "from 10 ms up to 100 ms");
+    private final CountStatisticImpl upTo1s = bucket("ConnRequestWaitTimeUpTo1s", "from 100 ms up to 1 s");
+    private final CountStatisticImpl over1s = bucket("ConnRequestWaitTimeOver1s", "more than 1 s");
+    private final CountStatisticImpl[] buckets = {upTo1ms, upTo10ms, upTo100ms, upTo1s, over1s};
+
+    /**
+     * Counts the wait time into the appropriate bucket.
+     *
+     * @param waitTimeInMillis time the request spent in the wait queue
+     */
+    public void record(long waitTimeInMillis) {
+        for (int i = 0; i < UPPER_BOUNDS_IN_MILLIS.length; i++) {
+            if (waitTimeInMillis <= UPPER_BOUNDS_IN_MILLIS[i]) {
+                buckets[i].increment();
+                return;
+            }
+        }
+        over1s.increment();
+    }
+
+    public void reset() {
+        for (CountStatisticImpl bucket : buckets) {
+            bucket.reset();
+        }
+    }
+
+    public CountStatistic getUpTo1ms() {
+        return upTo1ms;
+    }
+
+    public CountStatistic getUpTo10ms() {
+        return upTo10ms;
+    }
+
+    public CountStatistic getUpTo100ms() {
+        return upTo100ms;
+    }
+
+    public CountStatistic getUpTo1s() {
+        return upTo1s;
+    }
+
+    public CountStatistic getOver1s() {
+        return over1s;
+    }
+
+    private static CountStatisticImpl bucket(String name, String range) {
+        return new CountStatisticImpl(name, StatisticImpl.UNIT_COUNT,
+            "Number of connection requests which waited in the wait queue " + range + ".");
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.logging.LogDomains;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * FIFO wait queue which can hand a freed resource directly to the oldest waiting request.
+ * <p>
+ * Waiting requests are represented by {@link PoolWaiter} objects and park via {@link LockSupport},
+ * so no monitor is held while waiting and virtual threads are not pinned. The ownership of every
+ * waiter is decided by a single CAS, timed-out waiters are only marked as cancelled (O(1)) and are
+ * purged lazily.
+ * <p>
+ * The queue still accepts plain monitor objects through {@link #addToQueue(Object)}, which is used by
+ * the dynamic reconfiguration wait queue.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = LogDomains.getLogger(HandoffPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    /** Cancelled waiters tolerated in the queue before it is purged. */
+    private static final int PURGE_THRESHOLD = 64;
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger length = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    public HandoffPoolWaitQueue() {
+        LOG.log(Level.FINE, "Initializing handoff Pool Wait Queue");
+    }
+
+    /**
+     * Adds a new waiter for the current thread to the tail of the queue.
+     *
+     * @return the waiter to be passed to {@link #await(PoolWaiter, long)}
+     */
+    public PoolWaiter enqueue() {
+        PoolWaiter waiter = new PoolWaiter(Thread.currentThread());
+        addToQueue(waiter);
+        return waiter;
+    }
+
+    /**
+     * Parks the current thread until the waiter is signalled, receives a resource, or the timeout expires.
+     *
+     * @param waiter waiter created by {@link #enqueue()} in the current thread
+     * @param timeoutInMillis maximal wait time, 0 means wait until signalled
+     * @return the resource handed over by {@link #handoff(ResourceHandle)} or null
+     * @throws InterruptedException if the thread was interrupted and no resource was handed over
+     */
+    public ResourceHandle await(PoolWaiter waiter, long timeoutInMillis) throws InterruptedException {
+        final long deadline = timeoutInMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis) : 0L;
+        boolean interrupted = false;
+        while (waiter.state == PoolWaiter.WAITING) {
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
+            if (deadline == 0L) {
+                LockSupport.park(this);
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                break;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+
+        if (removeFromQueue(waiter)) {
+            // Timed out or interrupted before anyone served us.
+            if (interrupted) {
+                throw new InterruptedException();
+            }
+            return null;
+        }
+        if (interrupted) {
+            // Somebody was faster, keep the interrupt for the caller.
+            Thread.currentThread().interrupt();
+        }
+        return waiter.takeResource();
+    }
+
+    /**
+     * Hands the resource over to the oldest waiting request.
+     *
+     * @param resource free resource
+     * @return true if some waiter took over the resource, false if nobody is waiting.
+     */
+    public boolean handoff(ResourceHandle resource) {
+        Object waiting;
+        while ((waiting = poll()) != null) {
+            if (!(waiting instanceof PoolWaiter)) {
+                // Monitor based waiter, it has to compete for the resource as usual.
+                synchronized (waiting) {
+                    waiting.notifyAll();
+                }
+                return false;
+            }
+            if (((PoolWaiter) waiting).offer(resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wakes up the oldest waiting request without handing any resource to it.
+     *
+     * @return true if some waiter was woken up.
+     */
+    public boolean signal() {
+        Object waiting;
+        while ((waiting = poll()) != null) {
+            if (!(waiting instanceof PoolWaiter) || ((PoolWaiter) waiting).signal()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getQueueLength() {
+        return length.get();
+    }
+
+    @Override
+    public void addToQueue(Object waiting) {
+        if (cancelled.get() > PURGE_THRESHOLD) {
+            purgeCancelled();
+        }
+        length.incrementAndGet();
+        queue.add(waiting);
+    }
+
+    @Override
+    public boolean removeFromQueue(Object waiting) {
+        if (waiting instanceof PoolWaiter) {
+            if (((PoolWaiter) waiting).cancel()) {
+                length.decrementAndGet();
+                cancelled.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+        if (queue.remove(waiting)) {
+            length.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object remove() {
+        Object waiting = poll();
+        if (waiting instanceof PoolWaiter) {
+            // Legacy callers notify the returned object, that would not wake up a parked waiter.
+            ((PoolWaiter) waiting).signal();
+        }
+        return waiting;
+    }
+
+    @Override
+    public Object peek() {
+        for (Object waiting : queue) {
+            if (!(waiting instanceof PoolWaiter) || ((PoolWaiter) waiting).state == PoolWaiter.WAITING) {
+                return waiting;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return Collections.unmodifiableCollection(queue);
+    }
+
+    /**
+     * Removes the first live waiter from the queue, skipping cancelled ones.
+     * The returned waiter is still in the {@link PoolWaiter#WAITING} state unless it raced with
+     * a timeout, callers must verify the outcome of their transition.
+     */
+    private Object poll() {
+        Object waiting;
+        while ((waiting = queue.poll()) != null) {
+            if (waiting instanceof PoolWaiter && ((PoolWaiter) waiting).state == PoolWaiter.CANCELLED) {
+                continue;
+            }
+            if (!(waiting instanceof PoolWaiter)) {
+                length.decrementAndGet();
+            }
+            return waiting;
+        }
+        return null;
+    }
+
+    /**
+     * The cancelled counter is just a heuristic - waiters may get cancelled after they were already
+     * polled out of the queue - so it is reset on every purge.
+     */
+    private void purgeCancelled() {
+        cancelled.set(0);
+        Iterator<Object> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Object waiting = iterator.next();
+            if (waiting instanceof PoolWaiter && ((PoolWaiter) waiting).state == PoolWaiter.CANCELLED) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HandoffPoolWaitQueue[length=" + length.get() + "]";
+    }
+
+    /**
+     * A request waiting for a resource.
+     */
+    public final class PoolWaiter {
+
+        static final int WAITING = 0;
+        static final int SIGNALLED = 1;
+        static final int HANDED_OFF = 2;
+        static final int CANCELLED = 3;
+
+        private final Thread thread;
+        private final long enqueuedAt = System.nanoTime();
+        volatile int state;
+        private ResourceHandle resource;
+
+        PoolWaiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        /**
+         * @return time spent in the queue so far.
+         */
+        public long getWaitTimeInMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedAt);
+        }
+
+        boolean offer(ResourceHandle offered) {
+            resource = offered;
+            if (STATE.compareAndSet(this, WAITING, HANDED_OFF)) {
+                length.decrementAndGet();
+                LockSupport.unpark(thread);
+                return true;
+            }
+            resource = null;
+            return false;
+        }
+
+        boolean signal() {
+            if (STATE.compareAndSet(this, WAITING, SIGNALLED)) {
+                length.decrementAndGet();
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        boolean cancel() {
+            return STATE.compareAndSet(this, WAITING, CANCELLED);
+        }
+
+        ResourceHandle takeResource() {
+            ResourceHandle handedOff = resource;
+            resource = null;
+            return handedOff;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolWaiter[thread=" + thread.getName() + ", state=" + state + "]";
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<PoolWaiter> STATE = AtomicIntegerFieldUpdater
+        .newUpdater(PoolWaiter.class, "state");
+}
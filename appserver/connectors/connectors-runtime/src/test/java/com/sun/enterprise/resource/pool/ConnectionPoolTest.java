@@ -27,7 +27,9 @@ import com.sun.enterprise.resource.ResourceSpec;
 import com.sun.enterprise.resource.ResourceState;
 import com.sun.enterprise.resource.allocator.LocalTxConnectorAllocator;
 import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.logging.LogDomains;
 
@@ -44,10 +46,12 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -61,6 +65,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.createNiceMock;
 import static org.easymock.EasyMock.expect;
@@ -71,6 +76,8 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -127,6 +134,10 @@ public class ConnectionPoolTest {
         ProcessEnvironment processEnvironment = new ProcessEnvironment();
         connectorRuntime.setProcessEnvironment(processEnvironment);
         connectorRuntime.postConstruct();
+
+        MyConnectionPool.poolWaitQueue = null;
+        MyConnectionPool.resourceGatewayClass = null;
+        MyConnectionPool.connectionValidation = false;
     }
 
     private void createConnectionPool(int maxPoolSize, int maxWaitTimeInMillis, int poolResizeQuantity) throws PoolingException {
@@ -405,6 +416,176 @@ public class ConnectionPoolTest {
         assertEquals(taskCount, usedResouceHandles.size());
     }
 
+    /**
+     * A resource handed over to a waiting request is acquired through the gateway and updates the pool counters like
+     * any other acquired resource.
+     */
+    @Test
+    @Timeout(value = 10)
+    void handedOffResourceIsAcquiredLikeFreeResource() throws Exception {
+        MyConnectionPool.poolWaitQueue = HandoffPoolWaitQueue.class.getName();
+        MyConnectionPool.resourceGatewayClass = CountingResourceGateway.class.getName();
+        CountingResourceGateway.acquired.set(0);
+        createConnectionPool(1, 0, 1);
+        CountingPoolLifeCycleListener listener = new CountingPoolLifeCycleListener();
+        connectionPool.setPoolLifeCycleListener(listener);
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, false);
+        ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+        Future<ResourceHandle> waiting = getResourceWhenPoolIsExhausted(alloc, javaEETransaction);
+
+        connectionPool.resourceClosed(resource);
+        ResourceHandle handedOff = waiting.get(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertSame(resource, handedOff),
+                () -> assertResourceIsBusy(handedOff),
+                () -> assertEquals(1, listener.used.get(), "used"),
+                () -> assertEquals(0, listener.free.get(), "free"),
+                () -> assertEquals(3, CountingResourceGateway.acquired.get(), "acquired through gateway"));
+
+        connectionPool.resourceClosed(handedOff);
+        assertAll(
+                () -> assertEquals(0, listener.used.get(), "used"),
+                () -> assertEquals(1, listener.free.get(), "free"),
+                () -> assertEquals(1, connectionPool.dataStructure.getFreeListSize()));
+
+        cleanupConnectionPool();
+    }
+
+    /**
+     * A request waiting within a transaction takes the shareable resource enlisted in its transaction meanwhile, the
+     * resource handed over to it is returned to the pool.
+     */
+    @Test
+    @Timeout(value = 10)
+    void handedOffResourceIsNotUsedWhenTransactionHasResource() throws Exception {
+        MyConnectionPool.poolWaitQueue = HandoffPoolWaitQueue.class.getName();
+        createConnectionPool(2, 0, 1);
+        resourceSpec.markAsXA();
+        CountingPoolLifeCycleListener listener = new CountingPoolLifeCycleListener();
+        connectionPool.setPoolLifeCycleListener(listener);
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, true);
+        ResourceHandle resource1 = connectionPool.getResource(resourceSpec, alloc, null);
+        ResourceHandle resource2 = connectionPool.getResource(resourceSpec, alloc, null);
+
+        Set<ResourceHandle> enlisted = Collections.synchronizedSet(new HashSet<>());
+        JavaEETransaction transaction = createNiceMock(JavaEETransaction.class);
+        expect(transaction.getResources(anyObject())).andStubReturn(enlisted);
+        replay(transaction);
+        Future<ResourceHandle> waiting = getResourceWhenPoolIsExhausted(alloc, transaction);
+
+        enlisted.add(resource2);
+        connectionPool.resourceClosed(resource1);
+        ResourceHandle shared = waiting.get(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertSame(resource2, shared),
+                () -> assertResourceIsNotBusy(resource1),
+                () -> assertEquals(1, connectionPool.dataStructure.getFreeListSize()),
+                () -> assertEquals(1, listener.used.get(), "used"),
+                () -> assertEquals(1, listener.free.get(), "free"));
+
+        connectionPool.resourceClosed(resource2);
+        cleanupConnectionPool();
+    }
+
+    /**
+     * A handed over resource failing the validation is destroyed and the request gets a new resource.
+     */
+    @Test
+    @Timeout(value = 10)
+    void invalidHandedOffResourceIsReplaced() throws Exception {
+        MyConnectionPool.poolWaitQueue = HandoffPoolWaitQueue.class.getName();
+        MyConnectionPool.connectionValidation = true;
+        createConnectionPool(1, 0, 1);
+        CountingPoolLifeCycleListener listener = new CountingPoolLifeCycleListener();
+        connectionPool.setPoolLifeCycleListener(listener);
+
+        AtomicBoolean valid = new AtomicBoolean(true);
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, false) {
+
+            @Override
+            public boolean isConnectionValid(ResourceHandle resource) {
+                return valid.get();
+            }
+        };
+        ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+        Future<ResourceHandle> waiting = getResourceWhenPoolIsExhausted(alloc, javaEETransaction);
+
+        valid.set(false);
+        connectionPool.resourceClosed(resource);
+        ResourceHandle replacement = waiting.get(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertNotSame(resource, replacement),
+                () -> assertResourceIsBusy(replacement),
+                () -> assertResourcesSize(1),
+                () -> assertEquals(1, listener.destroyed.get(), "destroyed"),
+                () -> assertEquals(1, listener.used.get(), "used"),
+                () -> assertEquals(0, listener.free.get(), "free"));
+
+        connectionPool.resourceClosed(replacement);
+        cleanupConnectionPool();
+    }
+
+    /**
+     * A request failing after a resource was handed over to it returns the resource to the pool.
+     */
+    @Test
+    @Timeout(value = 10)
+    void handedOffResourceIsReleasedWhenRequestFails() throws Exception {
+        MyConnectionPool.poolWaitQueue = HandoffPoolWaitQueue.class.getName();
+        createConnectionPool(1, 0, 1);
+        CountingPoolLifeCycleListener listener = new CountingPoolLifeCycleListener();
+        connectionPool.setPoolLifeCycleListener(listener);
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, managedConnectionFactory, resourceSpec, null,
+                null, null, null, false);
+        ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+
+        AtomicBoolean fail = new AtomicBoolean();
+        JavaEETransaction transaction = createNiceMock(JavaEETransaction.class);
+        expect(transaction.getResources(anyObject())).andStubAnswer(() -> {
+            if (fail.get()) {
+                throw new IllegalStateException("Expected failure");
+            }
+            return null;
+        });
+        replay(transaction);
+        Future<ResourceHandle> waiting = getResourceWhenPoolIsExhausted(alloc, transaction);
+
+        fail.set(true);
+        connectionPool.resourceClosed(resource);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertAll(
+                () -> assertTrue(failure.getCause() instanceof IllegalStateException, failure.getCause().toString()),
+                () -> assertResourceIsNotBusy(resource),
+                () -> assertEquals(1, connectionPool.dataStructure.getFreeListSize()),
+                () -> assertEquals(0, listener.used.get(), "used"),
+                () -> assertEquals(1, listener.free.get(), "free"));
+
+        ResourceHandle next = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+        assertSame(resource, next);
+        connectionPool.resourceClosed(next);
+        cleanupConnectionPool();
+    }
+
+    private Future<ResourceHandle> getResourceWhenPoolIsExhausted(ResourceAllocator alloc, Transaction transaction)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResourceHandle> future = executor.submit(() -> connectionPool.getResource(resourceSpec, alloc, transaction));
+            while (connectionPool.getWaitQueueLength() == 0) {
+                Thread.sleep(1);
+            }
+            return future;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void runTheTasks(List<Callable<Void>> tasks) throws Exception {
         ExecutorService threadPool = Executors.newFixedThreadPool(1000);
         List<Future<Void>> futures = threadPool.invokeAll(tasks, 30, TimeUnit.SECONDS);
@@ -451,6 +632,9 @@ public class ConnectionPoolTest {
         public static int myMaxPoolSize;
         public static int maxWaitTimeInMillis;
         public static int poolResizeQuantity;
+        public static String poolWaitQueue;
+        public static String resourceGatewayClass;
+        public static boolean connectionValidation;
 
         public MyConnectionPool(PoolInfo poolInfo) throws PoolingException {
             super(ConnectionPoolTest.getPoolInfo(), new Hashtable<>());
@@ -468,11 +652,114 @@ public class ConnectionPoolTest {
             connectorConnectionPool.setMaxPoolSize("" + myMaxPoolSize);
             connectorConnectionPool.setMaxWaitTimeInMillis("" + maxWaitTimeInMillis);
             connectorConnectionPool.setPoolResizeQuantity("" + poolResizeQuantity);
+            connectorConnectionPool.setPoolWaitQueue(poolWaitQueue);
+            connectorConnectionPool.setResourceGatewayClass(resourceGatewayClass);
+            connectorConnectionPool.setConnectionValidationRequired(connectionValidation);
 
             return connectorConnectionPool;
         }
     }
 
+    public static class CountingResourceGateway extends ResourceGateway {
+
+        static final AtomicInteger acquired = new AtomicInteger();
+
+        @Override
+        public void acquiredResource() {
+            acquired.incrementAndGet();
+        }
+    }
+
+    private static class CountingPoolLifeCycleListener implements PoolLifeCycleListener {
+
+        final AtomicInteger used = new AtomicInteger();
+        final AtomicInteger free = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public void connectionUsed(long resourceHandleId) {
+            used.incrementAndGet();
+        }
+
+        @Override
+        public void decrementConnectionUsed(long resourceHandleId) {
+            used.decrementAndGet();
+        }
+
+        @Override
+        public void incrementNumConnFree(boolean beingDestroyed, int steadyPoolSize) {
+            if (!beingDestroyed || free.get() + used.get() < steadyPoolSize) {
+                free.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void decrementNumConnFree() {
+            free.decrementAndGet();
+        }
+
+        @Override
+        public void connectionDestroyed(long resourceHandleId) {
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public void toString(StringBuffer stackTrace) {
+        }
+
+        @Override
+        public void connectionAcquired(long resourceHandleId) {
+        }
+
+        @Override
+        public void connectionRequestServed(long timeTakenInMillis) {
+        }
+
+        @Override
+        public void connectionTimedOut() {
+        }
+
+        @Override
+        public void connectionNotMatched() {
+        }
+
+        @Override
+        public void connectionMatched() {
+        }
+
+        @Override
+        public void connectionReleased(long resourceHandleId) {
+        }
+
+        @Override
+        public void connectionCreated() {
+        }
+
+        @Override
+        public void foundPotentialConnectionLeak() {
+        }
+
+        @Override
+        public void connectionValidationFailed(int count) {
+        }
+
+        @Override
+        public void connectionsFreed(int count) {
+        }
+
+        @Override
+        public void connectionRequestQueued() {
+        }
+
+        @Override
+        public void connectionRequestDequeued() {
+        }
+
+        @Override
+        public void connectionRequestWaited(long waitTimeInMillis) {
+        }
+    }
+
     public class MyConnectorRuntime extends ConnectorRuntime {
 
         public void setProcessEnvironment(ProcessEnvironment processEnvironment) {
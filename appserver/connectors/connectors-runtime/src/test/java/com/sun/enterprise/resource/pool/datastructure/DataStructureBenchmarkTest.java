@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Borrows and returns resources of a pool which has enough resources for every thread,
+ * so the threads compete only for the datastructure itself. With enough CPUs to run the
+ * threads in parallel the lock-free datastructure must keep at least the throughput of
+ * the default {@link RWLockDataStructure}.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 64;
+    /** Fraction of the RWLock throughput the lock-free datastructure must reach at least. */
+    private static final double TOLERANCE = 0.9d;
+
+    @Test
+    public void borrowAndReturn_8threads() throws Exception {
+        runBenchmark(8);
+    }
+
+
+    @Test
+    public void borrowAndReturn_64threads() throws Exception {
+        runBenchmark(64);
+    }
+
+
+    private void runBenchmark(int threads) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(threads).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors
+            .toMap(result -> result.getParams().getParam("dataStructureClass"),
+                result -> result.getPrimaryResult().getScore()));
+        // On few CPUs the threads take turns and the numbers say nothing about contention.
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 4, "Needs at least 4 CPUs");
+        assertThat(scores.get(LockFreeDataStructure.class.getName()),
+            greaterThan(scores.get(RWLockDataStructure.class.getName()) * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public void getAndReturnResource(PoolState pool, Blackhole blackhole) {
+        ResourceHandle resource = pool.dataStructure.getResource();
+        if (resource == null) {
+            throw new IllegalStateException("The pool is exhausted, the benchmark would measure idle loops.");
+        }
+        blackhole.consume(resource.getId());
+        pool.dataStructure.returnResource(resource);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({
+            "com.sun.enterprise.resource.pool.datastructure.ListDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.LockFreeDataStructure"})
+        public String dataStructureClass;
+
+        DataStructure dataStructure;
+
+        @Setup(Level.Trial)
+        public void createPool() throws PoolingException {
+            dataStructure = DataStructureFactory.getDataStructure(dataStructureClass, null, POOL_SIZE,
+                new BenchmarkResourceHandler(), null);
+            dataStructure.addResource(null, POOL_SIZE);
+        }
+    }
+
+
+    private static class BenchmarkResourceHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(new Object(), null, allocator, null);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle h) {
+        }
+    }
+}
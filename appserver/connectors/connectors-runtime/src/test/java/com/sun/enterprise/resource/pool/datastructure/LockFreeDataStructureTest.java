@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ClientSecurityInfo;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.easymock.IExpectationSetters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.easymock.EasyMock.createMockBuilder;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LockFreeDataStructureTest {
+
+    private static final int TASK_COUNT = 1000;
+
+    private static final int THREAD_COUNT = 500;
+
+    private static final int RESOURCE_COUNT = TASK_COUNT;
+
+    private volatile ResourceHandler handler;
+    private volatile ResourceAllocator allocator;
+
+    @BeforeEach
+    public void createAndPopulateMocks() throws PoolingException {
+        ResourceHandler localHandler = createNiceMock(ResourceHandler.class);
+        ResourceAllocator localAllocator = createNiceMock(ResourceAllocator.class);
+
+        List<Object> mocks = new ArrayList<>(RESOURCE_COUNT);
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            mocks.add(
+                createMockBuilder(ResourceHandle.class)
+                    .withConstructor(Object.class, ResourceSpec.class, ResourceAllocator.class, ClientSecurityInfo.class)
+                    .withArgs(null, null, null, null)
+                    .createNiceMock());
+        }
+
+        IExpectationSetters<ResourceHandle> handlerExpectation = expect(localHandler.createResource(localAllocator));
+        for (Object resource : mocks) {
+            handlerExpectation.andReturn((ResourceHandle) resource);
+        }
+        mocks.add(localHandler);
+        mocks.add(localAllocator);
+
+        replay(mocks.toArray());
+
+        handler = localHandler;
+        allocator = localAllocator;
+    }
+
+    @Test
+    public void testAddResourceRespectsMaxSize() throws Exception {
+        DataStructure dataStructure = new LockFreeDataStructure(null, 10, handler, null);
+
+        assertAll(
+            () -> assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(10)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(10)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(10))
+        );
+
+        dataStructure.setMaxSize(15);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(5));
+
+        dataStructure.setMaxSize(10);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 1), equalTo(0));
+
+        List<ResourceHandle> allResources = dataStructure.getAllResources();
+        assertThat(allResources, hasSize(15));
+        for (ResourceHandle resource : allResources) {
+            assertThat(Collections.frequency(allResources, resource), equalTo(1));
+        }
+    }
+
+    @Test
+    public void testThreadAffinity() throws Exception {
+        DataStructure dataStructure = new LockFreeDataStructure(null, 10, handler, null);
+        dataStructure.addResource(allocator, 10);
+
+        ResourceHandle first = dataStructure.getResource();
+        ResourceHandle second = dataStructure.getResource();
+        assertThat(second, not(sameInstance(first)));
+
+        dataStructure.returnResource(second);
+        dataStructure.returnResource(first);
+        assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(10));
+        assertThat("Last returned resource", dataStructure.getResource(), sameInstance(first));
+
+        // The resource taken through the fast path must not be handed out again from the free-list.
+        List<ResourceHandle> others = new ArrayList<>();
+        ResourceHandle resource;
+        while ((resource = dataStructure.getResource()) != null) {
+            others.add(resource);
+        }
+        assertAll(
+            () -> assertThat(others, hasSize(9)),
+            () -> assertTrue(others.stream().noneMatch(r -> r == first)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testGetResource() throws Exception {
+        DataStructure dataStructure = new LockFreeDataStructure(null, RESOURCE_COUNT, handler, null);
+
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT));
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(dataStructure::getResource);
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertAll(futures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        List<ResourceHandle> resources = futures.stream().map(this::getResult).collect(Collectors.toList());
+        for (ResourceHandle resource : resources) {
+            assertThat(Collections.frequency(resources, resource), equalTo(1));
+        }
+
+        assertThat("Get Resource", dataStructure.getResource(), nullValue());
+
+        threadPool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testBorrowAndReturn() throws Exception {
+        DataStructure dataStructure = new LockFreeDataStructure(null, RESOURCE_COUNT / 10, handler, null);
+        dataStructure.addResource(allocator, RESOURCE_COUNT / 10);
+
+        Set<ResourceHandle> inUse = ConcurrentHashMap.newKeySet();
+        List<Callable<Boolean>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < 100; j++) {
+                    ResourceHandle resource = dataStructure.getResource();
+                    if (resource == null) {
+                        continue;
+                    }
+                    if (!inUse.add(resource)) {
+                        return false;
+                    }
+                    inUse.remove(resource);
+                    dataStructure.returnResource(resource);
+                }
+                return true;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<Boolean>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertTrue(futures.stream().allMatch(this::getResult), "Resource was handed out twice"),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT / 10)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(RESOURCE_COUNT / 10))
+        );
+
+        threadPool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testRaceConditions() throws Exception {
+        DataStructure dataStructure = new LockFreeDataStructure(null, RESOURCE_COUNT, handler, null);
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(() -> {
+                ResourceHandle resource = dataStructure.getResource();
+                dataStructure.removeResource(resource);
+                return resource;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertAll(futures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertTrue(futures.stream().allMatch(f -> getResult(f) != null)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free list size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testRemoveAll() throws PoolingException {
+        DataStructure dataStructure = new LockFreeDataStructure(null, RESOURCE_COUNT, handler, null);
+
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+        dataStructure.returnResource(dataStructure.getResource());
+        dataStructure.removeAll();
+
+        assertAll(
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+    }
+
+    @Test
+    public void testRemovedResourceIsReleasedByReturningThread() throws Exception {
+        ResourceHandler creatingHandler = new ResourceHandler() {
+
+            @Override
+            public ResourceHandle createResource(ResourceAllocator allocator) {
+                return new ResourceHandle(null, null, null, null);
+            }
+
+            @Override
+            public void deleteResource(ResourceHandle resourceHandle) {
+            }
+
+            @Override
+            public void createResourceAndAddToPool() {
+            }
+
+            @Override
+            public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+                return connections;
+            }
+
+            @Override
+            public void invalidConnectionDetected(ResourceHandle h) {
+            }
+        };
+        DataStructure dataStructure = new LockFreeDataStructure(null, 1, creatingHandler, null);
+        dataStructure.addResource(allocator, 1);
+
+        ExecutorService otherThread = Executors.newSingleThreadExecutor();
+        try {
+            WeakReference<ResourceHandle> returned = new WeakReference<>(otherThread.submit(() -> {
+                ResourceHandle resource = dataStructure.getResource();
+                dataStructure.returnResource(resource);
+                return resource;
+            }).get());
+            dataStructure.removeAll();
+
+            for (int i = 0; i < 100 && returned.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10L);
+            }
+            assertThat("Removed resource", returned.get(), nullValue());
+        } finally {
+            otherThread.shutdownNow();
+        }
+    }
+
+    private <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.pool.waitqueue.HandoffPoolWaitQueue.PoolWaiter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HandoffPoolWaitQueueTest {
+
+    private HandoffPoolWaitQueue queue;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        queue = new HandoffPoolWaitQueue();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void handoffWithoutWaiters() {
+        assertFalse(queue.handoff(new ResourceHandle(null, null, null, null)));
+        assertFalse(queue.signal());
+        assertThat(queue.getQueueLength(), equalTo(0));
+    }
+
+    @Test
+    @Timeout(10)
+    public void handoffToOldestWaiter() throws Exception {
+        Future<ResourceHandle> first = startWaiter(0L);
+        Future<ResourceHandle> second = startWaiter(0L);
+        assertThat(queue.getQueueLength(), equalTo(2));
+
+        ResourceHandle resource = new ResourceHandle(null, null, null, null);
+        assertTrue(queue.handoff(resource));
+        assertAll(
+            () -> assertThat(first.get(5, TimeUnit.SECONDS), sameInstance(resource)),
+            () -> assertFalse(second.isDone()),
+            () -> assertThat(queue.getQueueLength(), equalTo(1))
+        );
+
+        assertTrue(queue.signal());
+        assertAll(
+            () -> assertThat(second.get(5, TimeUnit.SECONDS), nullValue()),
+            () -> assertThat(queue.getQueueLength(), equalTo(0))
+        );
+    }
+
+    @Test
+    @Timeout(10)
+    public void timeoutRemovesWaiter() throws Exception {
+        PoolWaiter waiter = queue.enqueue();
+        assertThat(queue.getQueueLength(), equalTo(1));
+
+        assertThat(queue.await(waiter, 50L), nullValue());
+        assertAll(
+            () -> assertThat(waiter.getWaitTimeInMillis(), greaterThanOrEqualTo(50L)),
+            () -> assertThat(queue.getQueueLength(), equalTo(0)),
+            () -> assertFalse(queue.handoff(new ResourceHandle(null, null, null, null)), "Cancelled waiter got resource")
+        );
+    }
+
+    @Test
+    @Timeout(30)
+    public void manyCancelledWaitersArePurged() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            queue.await(queue.enqueue(), 1L);
+        }
+        assertThat(queue.getQueueLength(), equalTo(0));
+        assertThat(queue.getQueueContents().size(), equalTo(1000 % 65));
+    }
+
+    private Future<ResourceHandle> startWaiter(long timeout) throws InterruptedException {
+        CountDownLatch enqueued = new CountDownLatch(1);
+        CompletableFuture<ResourceHandle> future = new CompletableFuture<>();
+        executor.submit(() -> {
+            PoolWaiter waiter = queue.enqueue();
+            enqueued.countDown();
+            try {
+                future.complete(queue.await(waiter, timeout));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        enqueued.await();
+        return future;
+    }
+}
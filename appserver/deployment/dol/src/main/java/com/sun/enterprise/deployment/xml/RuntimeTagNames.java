@@ -209,6 +209,9 @@ public interface RuntimeTagNames extends TagNames {
     String ALLOW_CORE_THREAD_TIMEOUT = "allow-core-thread-timeout";
     String PRESTART_ALL_CORE_THREADS = "prestart-all-core-threads";
 
+    // ejb timer related
+    String TIMER_SCHEDULER = "timer-scheduler";
+
     // flush-at-end-of-method
     String FLUSH_AT_END_OF_METHOD =
         "flush-at-end-of-method";
@@ -21,7 +21,9 @@ import com.sun.ejb.containers.EJBContextImpl;
 import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EJBTimerServiceWrapper;
 import com.sun.enterprise.container.common.spi.EjbNamingReferenceManager;
+import com.sun.enterprise.deployment.EjbDescriptor;
 import com.sun.enterprise.deployment.EjbReferenceDescriptor;
+import com.sun.enterprise.deployment.EjbSessionDescriptor;
 import com.sun.enterprise.util.Utility;
 
 import jakarta.inject.Inject;
@@ -173,13 +175,21 @@ public class EjbNamingReferenceManagerImpl implements EjbNamingReferenceManager
 
     @Override
     public boolean isEjbReferenceCacheable(EjbReferenceDescriptor ejbRefDesc) {
-        // Ejb-ref is only eligible for caching if it refers to the legacy
-        // Home view and it is resolved to an ejb within the same application.
-        return ( (!ejbRefDesc.isEJB30ClientView()) &&
-                 (ejbRefDesc.getEjbDescriptor() != null) );
-
-        // caching not enabled.
-        //return false;
+        // Ejb-ref is only eligible for caching if it is resolved to an ejb within the same
+        // application and it refers to the legacy Home view or to the local view of a stateless
+        // or singleton bean. Their containers return the same local business object to all clients.
+        final EjbDescriptor target = ejbRefDesc.getEjbDescriptor();
+        if (target == null) {
+            return false;
+        }
+        if (!ejbRefDesc.isEJB30ClientView()) {
+            return true;
+        }
+        if (!ejbRefDesc.isLocal() || !(target instanceof EjbSessionDescriptor)) {
+            return false;
+        }
+        final EjbSessionDescriptor session = (EjbSessionDescriptor) target;
+        return session.isStateless() || session.isSingleton();
     }
 
 
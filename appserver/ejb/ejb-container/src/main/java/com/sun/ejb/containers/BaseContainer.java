@@ -27,6 +27,7 @@ import com.sun.ejb.MethodLockInfo;
 import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.ejb.containers.util.MethodMap;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
@@ -235,6 +236,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String STRIPED_BEAN_POOL_PROP = "striped-bean-pool";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -408,8 +410,8 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     // on a java.lang.reflect.Method
     protected Map<Method, InvocationInfo> webServiceInvocationInfoMap = new HashMap<>();
 
-    // optimized method map for proxies to resolve invocation info
-    private MethodMap proxyInvocationInfoMap;
+    // optimized dispatch table for proxies to resolve invocation info
+    private MethodDispatchTable proxyInvocationInfoMap;
 
     protected Method[] ejbIntfMethods;
     protected InvocationInfo[] ejbIntfMethodInfo;
@@ -3108,7 +3110,9 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         // invocations through dynamic proxies, where the overhead of the
         // the (method -> invocationInfo) lookup has been measured to be
         // 6X greater than the overhead of the reflective call itself.
-        proxyInvocationInfoMap = new MethodMap(invocationInfoMap);
+        // The dispatch table resolves the Method instances of the proxy
+        // classes by identity and falls back to the map for unknown ones.
+        proxyInvocationInfoMap = new MethodDispatchTable(new MethodMap(invocationInfoMap));
 
         // Store InvocationInfo by standard ejb interface method type
         // to avoid an invocation info map lookup during authorizeLocalMethod
@@ -4310,6 +4314,18 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    protected void timerDeliveryLag(long lagMillis) {
+        if (timerProbeNotifier != null) {
+            timerProbeNotifier.ejbTimerDeliveryLagEvent(lagMillis);
+        }
+    }
+
+    protected void timersRestored(int numTimers, long restoreMillis) {
+        if (timerProbeNotifier != null) {
+            timerProbeNotifier.ejbTimersRestoredEvent(numTimers, restoreMillis);
+        }
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
@@ -20,7 +20,7 @@ package com.sun.ejb.containers;
 import com.sun.ejb.Container;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
-import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.enterprise.deployment.EjbDescriptor;
 import com.sun.enterprise.deployment.EjbSessionDescriptor;
 import com.sun.enterprise.util.LocalStringManagerImpl;
@@ -58,7 +58,7 @@ public class EJBHomeInvocationHandler extends EJBHomeImpl implements InvocationH
     // passed in when the InvocationHandler is created.  This avoids the
     // overhead of building the method info each time a Home proxy
     // is created.
-    private MethodMap invocationInfoMap_;
+    private MethodDispatchTable invocationInfoMap_;
 
     private final EjbContainerUtil ejbContainerUtil = EjbContainerUtilImpl.getInstance();
 
@@ -80,7 +80,7 @@ public class EJBHomeInvocationHandler extends EJBHomeImpl implements InvocationH
         proxy_ = proxy;
     }
 
-    public void setMethodMap(MethodMap map) {
+    public void setMethodMap(MethodDispatchTable map) {
         invocationInfoMap_ = map;
     }
 
@@ -20,7 +20,7 @@ package com.sun.ejb.containers;
 import com.sun.ejb.Container;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
-import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.enterprise.container.common.spi.util.IndirectlySerializable;
 import com.sun.enterprise.deployment.EjbDescriptor;
 import com.sun.enterprise.deployment.EjbSessionDescriptor;
@@ -57,7 +57,7 @@ public class EJBLocalHomeInvocationHandler extends EJBLocalHomeImpl implements I
     // passed in when the InvocationHandler is created.  This avoids the
     // overhead of building the method info each time a LocalHome proxy
     // is created.
-    private MethodMap invocationInfoMap_;
+    private MethodDispatchTable invocationInfoMap_;
 
     protected EJBLocalHomeInvocationHandler(EjbDescriptor ejbDescriptor, Class localHomeIntf) throws Exception {
         if (ejbDescriptor instanceof EjbSessionDescriptor) {
@@ -73,7 +73,7 @@ public class EJBLocalHomeInvocationHandler extends EJBLocalHomeImpl implements I
     }
 
 
-    public void setMethodMap(MethodMap map) {
+    public void setMethodMap(MethodDispatchTable map) {
         invocationInfoMap_ = map;
     }
 
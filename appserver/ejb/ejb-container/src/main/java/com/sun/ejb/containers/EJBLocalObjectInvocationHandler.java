@@ -19,7 +19,7 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
-import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.enterprise.container.common.spi.util.IndirectlySerializable;
 import com.sun.enterprise.util.LocalStringManagerImpl;
 import com.sun.enterprise.util.Utility;
@@ -56,14 +56,14 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
     // passed in when the InvocationHandler is created.  This avoids the
     // overhead of building the method info each time a LocalObject proxy
     // is created.
-    private final MethodMap invocationInfoMap_;
+    private final MethodDispatchTable invocationInfoMap_;
 
     private Class<?> localIntf_;
 
     /**
      * Constructor used for Local Home view
      */
-    public EJBLocalObjectInvocationHandler(MethodMap invocationInfoMap, Class<?> localIntf) throws Exception {
+    public EJBLocalObjectInvocationHandler(MethodDispatchTable invocationInfoMap, Class<?> localIntf) throws Exception {
         invocationInfoMap_ = invocationInfoMap;
 
         localIntf_ = localIntf;
@@ -77,7 +77,7 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
     /**
      * Constructor used for Local Business view.
      */
-    public EJBLocalObjectInvocationHandler(MethodMap invocationInfoMap, boolean optionalLocalBusinessView)
+    public EJBLocalObjectInvocationHandler(MethodDispatchTable invocationInfoMap, boolean optionalLocalBusinessView)
         throws Exception {
         invocationInfoMap_ = invocationInfoMap;
 
@@ -18,7 +18,7 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
-import com.sun.ejb.containers.util.MethodMap;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.enterprise.util.LocalStringManagerImpl;
 import com.sun.enterprise.util.Utility;
 
@@ -46,14 +46,14 @@ public final class EJBObjectInvocationHandler
     // Cache reference to invocation info populated during container
     // initialization. This avoids the overhead of building the method
     // info each time a proxy is created.
-    private MethodMap invocationInfoMap_;
+    private MethodDispatchTable invocationInfoMap_;
 
     private Class remoteIntf_;
 
     /**
      * Constructor used for Remote Home view.
      */
-    public EJBObjectInvocationHandler(MethodMap invocationInfoMap,
+    public EJBObjectInvocationHandler(MethodDispatchTable invocationInfoMap,
                                       Class remoteIntf)
         throws Exception {
 
@@ -69,7 +69,7 @@ public final class EJBObjectInvocationHandler
     /**
      * Constructor used for Remote Business view.
      */
-    public EJBObjectInvocationHandler(MethodMap invocationInfoMap)
+    public EJBObjectInvocationHandler(MethodDispatchTable invocationInfoMap)
         throws Exception {
 
         invocationInfoMap_ = invocationInfoMap;
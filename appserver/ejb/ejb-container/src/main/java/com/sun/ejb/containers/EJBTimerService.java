@@ -50,6 +50,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.common.util.timer.TimingWheel;
 import org.glassfish.ejb.config.EjbContainer;
 import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
@@ -446,8 +447,14 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                TimingWheel timerWheel = ejbContainerUtil.getTimerWheel();
+                if( timerWheel != null ) {
+                    timerTask.setWheelTimeout(
+                        timerWheel.schedule(timerTask, timerExpiration.getTime()));
+                } else {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                }
             }
         } else {
 
@@ -1372,14 +1379,34 @@ public class EJBTimerService {
      * launch a separate thread to invoke ejbTimeout, etc.
      */
 
+    /**
+     * Reports the timers of a container restored from the timer store on startup
+     * and the time spent restoring them.
+     */
+    protected void timersRestored(long containerId, int numTimers, long restoreTime) {
+        BaseContainer container = getContainer(containerId);
+        if( container != null ) {
+            container.timersRestored(numTimers, restoreTime);
+        }
+    }
+
     void taskExpired(TimerPrimaryKey timerId) {
         RuntimeTimerState timerState = getTimerState(timerId);
 
         if( timerState != null ) {
             synchronized(timerState) {
                 if( timerState.isScheduled() ) {
+                    EJBTimerTask timerTask = timerState.getCurrentTimerTask();
                     timerState.delivered();
 
+                    if( timerTask != null ) {
+                        long lagMillis = System.currentTimeMillis() - timerTask.getTimeout().getTime();
+                        BaseContainer container = timerState.getContainer();
+                        if( container != null ) {
+                            container.timerDeliveryLag(lagMillis);
+                        }
+                    }
+
                     if( logger.isLoggable(Level.FINE) ) {
                         logger.log(Level.FINE,
                            "Adding work pool task for timer " + timerId);
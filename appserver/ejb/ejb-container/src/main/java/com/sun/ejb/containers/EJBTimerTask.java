@@ -20,9 +20,12 @@ package com.sun.ejb.containers;
 import java.util.Date;
 import java.util.TimerTask;
 
+import org.glassfish.common.util.timer.TimingWheel;
+
 
 /*
- * JDK timer task for timer expirations.
+ * JDK timer task for timer expirations. The same task is scheduled by the
+ * {@link TimingWheel} if it is enabled.
  *
  * @author Kenneth Saks
  */
@@ -31,6 +34,7 @@ public class EJBTimerTask extends TimerTask {
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private volatile TimingWheel.Timeout wheelTimeout_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
@@ -49,5 +53,19 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    void setWheelTimeout(TimingWheel.Timeout wheelTimeout) {
+        wheelTimeout_ = wheelTimeout;
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean cancelled = super.cancel();
+        TimingWheel.Timeout wheelTimeout = wheelTimeout_;
+        if (wheelTimeout != null) {
+            return wheelTimeout.cancel();
+        }
+        return cancelled;
+    }
+
 }
 
@@ -36,6 +36,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import org.glassfish.api.invocation.ComponentInvocation;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.naming.GlassfishNamingManager;
+import org.glassfish.common.util.timer.TimingWheel;
 import org.glassfish.ejb.config.EjbContainer;
 import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.enterprise.iiop.api.GlassFishORBHelper;
@@ -82,6 +83,11 @@ public interface EjbContainerUtil {
 
     Timer getTimer();
 
+    /**
+     * @return the timing wheel scheduling the EJB timers or null if they are scheduled by the {@link #getTimer()}
+     */
+    TimingWheel getTimerWheel();
+
     void setInsideContainer(boolean bool);
 
     boolean isInsideContainer();
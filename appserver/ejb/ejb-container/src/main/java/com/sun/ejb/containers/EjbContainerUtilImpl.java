@@ -60,6 +60,7 @@ import org.glassfish.api.admin.config.ReferenceContainer;
 import org.glassfish.api.invocation.ComponentInvocation;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.naming.GlassfishNamingManager;
+import org.glassfish.common.util.timer.TimingWheel;
 import org.glassfish.ejb.config.EjbContainer;
 import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.ejb.spi.CMPDeployer;
@@ -84,6 +85,11 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     private static Logger _logger = LogDomains.getLogger(EjbContainerUtilImpl.class, LogDomains.EJB_LOGGER);
 
+    private static final String TIMER_SCHEDULER_JDK = "jdk";
+    private static final long TIMER_WHEEL_TICK_MILLIS = 10L;
+    private static final int TIMER_WHEEL_SIZE = 512;
+    private static final int TIMER_WHEEL_BATCH_SIZE = 64;
+
     private ThreadPoolExecutor defaultThreadPoolExecutor;
 
     @Inject
@@ -99,6 +105,8 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     private Timer _timer;
 
+    private TimingWheel _timerWheel;
+
     private boolean _insideContainer = true;
 
     @Inject
@@ -176,6 +184,7 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         try {
             originalClassLoader = Utility.setContextClassLoader(ejbImplClassLoader);
             _timer = new Timer(true);
+            _timerWheel = createTimerWheel();
         } finally {
             if (originalClassLoader != null) {
                 Utility.setContextClassLoader(originalClassLoader);
@@ -190,6 +199,9 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     @Override
     public void preDestroy() {
+        if (_timerWheel != null) {
+            _timerWheel.stop();
+        }
         if (defaultThreadPoolExecutor != null) {
             defaultThreadPoolExecutor.shutdown();
             defaultThreadPoolExecutor = null;
@@ -263,6 +275,11 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return _timer;
     }
 
+    @Override
+    public TimingWheel getTimerWheel() {
+        return _timerWheel;
+    }
+
     @Override
     public  void setInsideContainer(boolean bool) {
         _insideContainer = bool;
@@ -470,6 +487,22 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return env.isDas() || env.isEmbedded();
     }
 
+    private TimingWheel createTimerWheel() {
+        String val = ejbContainer.getPropertyValue(RuntimeTagNames.TIMER_SCHEDULER);
+        if (val != null && TIMER_SCHEDULER_JDK.equalsIgnoreCase(val.trim())) {
+            _logger.log(Level.FINE, "EJB timers are scheduled by the JDK timer");
+            return null;
+        }
+
+        // An expired EJBTimerTask only hands its timer over to the thread pool,
+        // as it did on the JDK timer thread, so it runs on the wheel thread
+        // instead of going through the pool twice.
+        TimingWheel timerWheel = new TimingWheel("ejb-timer-wheel", TIMER_WHEEL_TICK_MILLIS, TIMER_WHEEL_SIZE,
+            TIMER_WHEEL_BATCH_SIZE, Runnable::run);
+        timerWheel.start();
+        return timerWheel;
+    }
+
     private ThreadPoolExecutor createThreadPoolExecutor(String poolName) {
         ThreadPoolExecutor result = null;
         String val = ejbContainer.getPropertyValue(RuntimeTagNames.THREAD_CORE_POOL_SIZE);
@@ -22,6 +22,7 @@ import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.containers.util.pool.AbstractPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
+import com.sun.ejb.containers.util.pool.StripedPool;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbPoolStatsProvider;
 import com.sun.ejb.monitoring.stats.StatelessSessionBeanStatsProvider;
@@ -207,9 +208,16 @@ public class StatelessSessionContainer extends BaseContainer {
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
         String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
-        pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
-            poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
-            poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        String striped = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(STRIPED_BEAN_POOL_PROP);
+        if (Boolean.parseBoolean(val) || Boolean.FALSE.toString().equalsIgnoreCase(striped)) {
+            pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        } else {
+            pool = new StripedPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader);
+        }
     }
 
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Dispatch table resolving the {@link InvocationInfo} of a method invoked through an EJB proxy.
+ * <p>
+ * A dynamic proxy class creates its {@link Method} objects once and passes the same instances
+ * to the invocation handler on every call. The table is therefore keyed by the identity
+ * of the Method instance: a lookup is an identity hash, an array index and a reference
+ * comparison, without calling any method of the {@link Method} and without allocation.
+ * <p>
+ * The table starts with the methods of the {@link MethodMap} it was created for. A Method
+ * instance seen for the first time is resolved by the {@link MethodMap} and added to a copy
+ * of the table, so every proxy class pays the equality based lookup once per method.
+ * The number of added instances is bounded, callers passing a new Method instance on each
+ * call just fall back to the {@link MethodMap}.
+ * <p>
+ * Lookups are lock free and the table is safe to share by all proxies of a container.
+ */
+public final class MethodDispatchTable {
+
+    // Every proxy class of the container, one per client view, passes its own Method instances.
+    private static final int MAX_INSTANCES_PER_METHOD = 8;
+    private static final int MIN_MAX_ENTRIES = 64;
+
+    private final MethodMap methodMap;
+    private final int maxEntries;
+
+    // Open addressing table with linear probing, never modified after it was published.
+    private volatile Entry[] table;
+
+    // Guarded by this, only used when a new table is built.
+    private int entryCount;
+
+    public MethodDispatchTable(MethodMap methodMap) {
+        this.methodMap = methodMap;
+        this.maxEntries = Math.max(methodMap.size() * MAX_INSTANCES_PER_METHOD, MIN_MAX_ENTRIES);
+
+        Entry[] initialTable = new Entry[tableLength(methodMap.size())];
+        for (Map.Entry<Method, InvocationInfo> entry : methodMap.entrySet()) {
+            if (entry.getValue() != null) {
+                insert(initialTable, new Entry(entry.getKey(), entry.getValue()));
+                entryCount++;
+            }
+        }
+        this.table = initialTable;
+    }
+
+    /**
+     * @param method the method passed to the invocation handler
+     * @param numParams number of parameters of the method, used when the method instance is not known yet
+     * @return the {@link InvocationInfo} of the method or null
+     */
+    public InvocationInfo get(Method method, int numParams) {
+        Entry[] currentTable = table;
+        int mask = currentTable.length - 1;
+        int index = hash(method) & mask;
+        Entry entry;
+        while ((entry = currentTable[index]) != null) {
+            if (entry.method == method) {
+                return entry.info;
+            }
+            index = (index + 1) & mask;
+        }
+        return resolve(method, numParams);
+    }
+
+    /**
+     * @return the {@link MethodMap} resolving unknown method instances
+     */
+    public MethodMap getMethodMap() {
+        return methodMap;
+    }
+
+    private InvocationInfo resolve(Method method, int numParams) {
+        InvocationInfo info = methodMap.get(method, numParams);
+        if (info != null) {
+            add(method, info);
+        }
+        return info;
+    }
+
+    private synchronized void add(Method method, InvocationInfo info) {
+        if (entryCount >= maxEntries) {
+            return;
+        }
+        Entry[] currentTable = table;
+        int mask = currentTable.length - 1;
+        for (int index = hash(method) & mask; currentTable[index] != null; index = (index + 1) & mask) {
+            if (currentTable[index].method == method) {
+                return;
+            }
+        }
+
+        Entry[] newTable = new Entry[Math.max(currentTable.length, tableLength(entryCount + 1))];
+        for (Entry entry : currentTable) {
+            if (entry != null) {
+                insert(newTable, entry);
+            }
+        }
+        insert(newTable, new Entry(method, info));
+        entryCount++;
+        table = newTable;
+    }
+
+    private static void insert(Entry[] table, Entry entry) {
+        int mask = table.length - 1;
+        int index = hash(entry.method) & mask;
+        while (table[index] != null) {
+            index = (index + 1) & mask;
+        }
+        table[index] = entry;
+    }
+
+    private static int hash(Method method) {
+        int h = System.identityHashCode(method);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return power of two keeping the load factor at most one half
+     */
+    private static int tableLength(int entries) {
+        int length = 16;
+        while (length < entries * 2) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    private static final class Entry {
+
+        final Method method;
+        final InvocationInfo info;
+
+        Entry(Method method, InvocationInfo info) {
+            this.method = method;
+            this.info = info;
+        }
+    }
+}
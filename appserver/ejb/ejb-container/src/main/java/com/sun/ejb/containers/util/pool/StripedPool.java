@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * <p>
+ * Pool of stateless bean instances which does not serialize the invocations on a shared monitor.
+ *
+ * <p>
+ * Idle instances are kept in several lock-free stacks, one is picked by the calling thread.
+ * An invocation takes the most recently used instance of its own stripe and steals from the other
+ * stripes only if its stripe is empty, so the request threads mostly touch different memory.
+ * The only value shared by all invocations is the atomic count of idle instances which enforces
+ * the max pool size.
+ *
+ * <p>
+ * Steady pool size, resize quantity and idle timeout have the same meaning as in the
+ * {@link NonBlockingPool}, and the pool fires the same {@code EjbPoolProbeProvider} events.
+ * Singleton bean pools are not supported, they need the blocking behaviour of the {@link NonBlockingPool}.
+ */
+public class StripedPool extends AbstractPool {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final LongAdder success = new LongAdder();
+
+    private final AtomicBoolean addedResizeTask = new AtomicBoolean();
+    private final AtomicBoolean addedIdleBeanWork = new AtomicBoolean();
+    private final AtomicBoolean inResizing = new AtomicBoolean();
+
+    private final boolean maintainSteadySize;
+    private TimerTask poolTimerTask;
+
+    // Set to true in close(). Prevents the async resize task kicking in after close().
+    private volatile boolean poolClosed;
+
+    public StripedPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.beanId = beanId;
+        this.poolName = poolName;
+        this.pooledObjectFactory = factory;
+        this.steadyPoolSize = steadyPoolSize <= 0 ? 0 : steadyPoolSize;
+        this.resizeQuantity = resizeQuantity <= 0 ? 0 : resizeQuantity;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(this.steadyPoolSize, this.maxPoolSize);
+        this.idleTimeoutInSeconds = idleTimeoutInSeconds <= 0 ? 0 : idleTimeoutInSeconds;
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+
+        int stripeCount = 1;
+        int maxStripes = Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES), this.maxPoolSize);
+        while (stripeCount < maxStripes) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                this.poolTimerTask = new PoolResizeTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, this.idleTimeoutInSeconds * 1000L, this.idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolResizeTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Could not add" + " PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = poll();
+        if (pooledObject != null) {
+            success.increment();
+            if (size.get() < steadyPoolSize) {
+                addResizeTaskForImmediateExecution();
+            }
+            return pooledObject;
+        }
+
+        addResizeTaskForImmediateExecution();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet(); // hope that everything will be OK.
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && offer(object)) {
+            return;
+        }
+
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        destroy(object, "returnObj");
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        destroy(object, "destroyObject");
+    }
+
+    /**
+     * Preload the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        List<Object> pooledObjectNewInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                pooledObjectNewInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+
+        if (pooledObjectNewInstances.isEmpty()) {
+            return;
+        }
+
+        created.addAndGet(pooledObjectNewInstances.size());
+        for (Object pooledObjectInstance : pooledObjectNewInstances) {
+            if (poolClosed || !offer(pooledObjectInstance)) {
+                // Destroys unnecessary instances
+                destroyObject(pooledObjectInstance);
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            try {
+                poolTimerTask.cancel();
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Cancelled pool timer task " + " at: " + (new Date()));
+            } catch (Throwable th) {
+                // Can safely ignore this!!
+            }
+        }
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + size.get() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            Object pooledObject;
+            while ((pooledObject = poll()) != null) {
+                try {
+                    poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+                    destroyed.incrementAndGet();
+                    destroy(pooledObject, "close");
+                } catch (Throwable th) {
+                    _logger.log(WARNING, "[Pool-" + poolName + "]: Error while destroying", th);
+                }
+            }
+            _logger.log(FINE, "Pool-" + poolName + "]: Pool closed....");
+            unregisterProbeProvider();
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+
+        this.poolTimerTask = null;
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = poll();
+            if (pooledObject == null) {
+                return;
+            }
+            poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+            destroyed.incrementAndGet();
+            destroy(pooledObject, "remove");
+        }
+    }
+
+    /**
+     * Destroys the objects above the steady pool size which were not used for the idle timeout.
+     * The pool does not use the timer task of the {@link AbstractPool}, its own timer task resizes it.
+     */
+    @Override
+    protected void removeIdleObjects() {
+        if (idleTimeoutInSeconds <= 0) {
+            return;
+        }
+        trimStripes(size.get() - steadyPoolSize, System.currentTimeMillis() - idleTimeoutInSeconds * 1000L);
+    }
+
+    protected void doResize() {
+        if (poolClosed || !inResizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        long startTime = System.currentTimeMillis();
+        try {
+            _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize started at: " + (new Date()) + " steadyPoolSize ::"
+                        + steadyPoolSize + " resizeQuantity ::" + resizeQuantity + " maxPoolSize ::" + maxPoolSize);
+
+            int curSize = size.get();
+            if (curSize > steadyPoolSize) {
+
+                // possible to reduce pool size....
+                if ((idleTimeoutInSeconds <= 0) || (resizeQuantity <= 0)) {
+                    return;
+                }
+                int victimCount = Math.min(resizeQuantity, curSize - steadyPoolSize);
+                long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
+                trimStripes(victimCount, allowedIdleTime);
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+
+                // Need to populate....
+                int populateCount;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    populateCount = 0;
+                    while ((curSize + populateCount) < steadyPoolSize) {
+                        populateCount += resizeQuantity;
+                    }
+                    populateCount = Math.min(populateCount, maxPoolSize - curSize);
+                }
+
+                _logger.log(FINE, "[Pool-{0}]: Attempting to preload {1} beans. CurSize/MaxPoolSize: {2}/{3}",
+                    new Object[] {poolName, populateCount, curSize, maxPoolSize});
+                preload(populateCount);
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            inResizing.set(false);
+            setContextClassLoader(previousClassLoader);
+        }
+
+        if (_logger.isLoggable(FINE)) {
+            long endTime = System.currentTimeMillis();
+            _logger.log(FINE, "[Pool-" + poolName + "]: Resize completed at: " + (new Date()) + "; after reSize: " + getAllAttrValues());
+            _logger.log(FINE, "[Pool-" + poolName + "]: Resize took: " + ((endTime - startTime) / 1000.0) + " seconds.");
+        }
+    }
+
+    /**
+     * Destroys up to victimCount least recently used objects which were not used since allowedIdleTime.
+     * The oldest object of every stripe is at its tail, stripes are visited in turns until one has
+     * an object in use or the count is reached.
+     */
+    private void trimStripes(int victimCount, long allowedIdleTime) {
+        int removed = 0;
+        boolean removedAny = true;
+        while (removed < victimCount && removedAny) {
+            removedAny = false;
+            for (int i = 0; i <= stripeMask && removed < victimCount; i++) {
+                Stripe stripe = stripes[i];
+                Object pooledObject = stripe.pollLast();
+                if (pooledObject == null) {
+                    continue;
+                }
+                if (!isIdle(pooledObject, allowedIdleTime)) {
+                    stripe.offerLast(pooledObject);
+                    continue;
+                }
+                size.decrementAndGet();
+                poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+                destroyed.incrementAndGet();
+                destroy(pooledObject, "doResize");
+                removed++;
+                removedAny = true;
+            }
+        }
+    }
+
+    private static boolean isIdle(Object pooledObject, long allowedIdleTime) {
+        if (pooledObject instanceof EJBContextImpl) {
+            return ((EJBContextImpl) pooledObject).getLastTimeUsed() <= allowedIdleTime;
+        }
+        return true;
+    }
+
+    private Object poll() {
+        if (size.get() <= 0) {
+            return null;
+        }
+        int home = stripeIndex();
+        for (int i = 0; i <= stripeMask; i++) {
+            Object pooledObject = stripes[(home + i) & stripeMask].pollFirst();
+            if (pooledObject != null) {
+                size.decrementAndGet();
+                return pooledObject;
+            }
+        }
+        return null;
+    }
+
+    private boolean offer(Object pooledObject) {
+        if (size.incrementAndGet() > maxPoolSize) {
+            size.decrementAndGet();
+            return false;
+        }
+        stripes[stripeIndex()].offerFirst(pooledObject);
+        return true;
+    }
+
+    private int stripeIndex() {
+        return (int) Thread.currentThread().getId() & stripeMask;
+    }
+
+    private void destroy(Object pooledObject, String operation) {
+        ObjectFactory factory = pooledObjectFactory;
+        if (factory == null) {
+            return;
+        }
+        try {
+            factory.destroy(pooledObject);
+        } catch (Throwable th) {
+            _logger.log(FINE, "exception in " + operation, th);
+        }
+    }
+
+    private void addResizeTaskForImmediateExecution() {
+        if (!maintainSteadySize || poolClosed || !addedResizeTask.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+            _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolResizeTimerTask...");
+        } catch (Exception ex) {
+            addedResizeTask.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform " + " pool resize task");
+        }
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return success.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return size.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return size.get();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.get();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.get();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(size.get()).append("; ")
+            .append("CC=").append(created.get()).append("; ")
+            .append("DC=").append(destroyed.get()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        return "createdCount=" + created.get() + ";"
+            + "destroyedCount=" + destroyed.get() + ";"
+            + "waitCount=0;"
+            + "size=" + size.get() + ";"
+            + "maxPoolSize=" + maxPoolSize + ";";
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(created.get()).append("; ").append("DC=").append(destroyed.get()).append("; ").append("CS=")
+                .append(size.get()).append("; ").append("SS=").append(steadyPoolSize).append("; ").append("MS=").append(maxPoolSize)
+                .append(";");
+        return sbuf.toString();
+    }
+
+    /**
+     * One stack of idle objects, the most recently returned object is at the head.
+     */
+    private static final class Stripe extends ConcurrentLinkedDeque<Object> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private class ReSizeWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", ex);
+            } finally {
+                addedResizeTask.set(false);
+            }
+        }
+    }
+
+    private class IdleBeanWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+            } finally {
+                addedIdleBeanWork.set(false);
+            }
+        }
+    }
+
+    private class PoolResizeTimerTask extends TimerTask {
+        PoolResizeTimerTask() {
+        }
+
+        @Override
+        public void run() {
+            if (!addedIdleBeanWork.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                EjbContainerUtilImpl.getInstance().addWork(new IdleBeanWork());
+            } catch (Exception ex) {
+                addedIdleBeanWork.set(false);
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Cannot perform " + " pool idle bean cleanup", ex);
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.sun.ejb.monitoring.probes;
 
 import org.glassfish.external.probe.provider.annotations.Probe;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.probe.provider.annotations.ProbeProvider;
 
 /**
@@ -37,4 +38,18 @@ public class EjbTimedObjectProbeProvider {
     @Probe(name="timerDeliveredEvent")
     public void ejbTimerDeliveredEvent() {}
 
+    /**
+     * @param lagMillis time between the scheduled expiration and the expiration seen by the timer scheduler
+     */
+    @Probe(name="timerDeliveryLagEvent")
+    public void ejbTimerDeliveryLagEvent(@ProbeParam("lagMillis") long lagMillis) {}
+
+    /**
+     * @param numTimers number of timers of the container restored from the timer store
+     * @param restoreMillis time spent restoring the timers of the container
+     */
+    @Probe(name="timersRestoredEvent")
+    public void ejbTimersRestoredEvent(@ProbeParam("numTimers") int numTimers,
+            @ProbeParam("restoreMillis") long restoreMillis) {}
+
 }
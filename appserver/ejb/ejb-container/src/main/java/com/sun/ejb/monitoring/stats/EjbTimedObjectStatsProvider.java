@@ -22,8 +22,14 @@ import java.util.logging.Logger;
 
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.RangeStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -48,6 +54,17 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private CountStatisticImpl timerRestoredStat = new CountStatisticImpl("NumTimersRestored",
+            "count", "Number of timers restored from the timer store on startup");
+
+    private TimeStatisticImpl timerRestoreTimeStat = new TimeStatisticImpl(0, 0, 0, 0, "TimerRestoreTime",
+            StatisticImpl.UNIT_MILLISECOND, "Time taken to restore the timers of this timed object on startup",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
+    private RangeStatisticImpl timerDeliveryLagStat = new RangeStatisticImpl(0, 0, 0, "TimerDeliveryLag",
+            StatisticImpl.UNIT_MILLISECOND, "Time between the scheduled and the actual expiration of the timers",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -96,6 +113,20 @@ public class EjbTimedObjectStatsProvider {
         timerDeliveredStat.increment();
     }
 
+    @ProbeListener("glassfish:ejb:timers:timerDeliveryLagEvent")
+    public void ejbTimerDeliveryLagEvent(@ProbeParam("lagMillis") long lagMillis) {
+        _logger.fine("=== timerDeliveryLagEvent");
+        timerDeliveryLagStat.setCurrent(lagMillis);
+    }
+
+    @ProbeListener("glassfish:ejb:timers:timersRestoredEvent")
+    public void ejbTimersRestoredEvent(@ProbeParam("numTimers") int numTimers,
+            @ProbeParam("restoreMillis") long restoreMillis) {
+        _logger.fine("=== timersRestoredEvent");
+        timerRestoredStat.increment(numTimers);
+        timerRestoreTimeStat.incrementCount(restoreMillis);
+    }
+
     @ManagedAttribute(id="numtimerscreated")
     @Description( "Number of timers created in the system")
     public CountStatistic getNumTimersCreated() {
@@ -113,4 +144,22 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="timerdeliverylag")
+    @Description( "Time between the scheduled and the actual expiration of the timers")
+    public RangeStatistic getTimerDeliveryLag() {
+        return timerDeliveryLagStat;
+    }
+
+    @ManagedAttribute(id="numtimersrestored")
+    @Description( "Number of timers restored from the timer store on startup")
+    public CountStatistic getNumTimersRestored() {
+        return timerRestoredStat;
+    }
+
+    @ManagedAttribute(id="timerrestoretime")
+    @Description( "Time taken to restore the timers of this timed object on startup")
+    public TimeStatistic getTimerRestoreTime() {
+        return timerRestoreTimeStat;
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Resolves the methods passed by a dynamic proxy to its invocation handler, every operation
+ * resolves all methods of {@link java.util.List}, including the overloaded ones. The
+ * {@link MethodDispatchTable} finds the proxy methods by identity, so it must not take longer
+ * than the {@link MethodMap} matching them by equality.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class MethodDispatchTableBenchmarkTest {
+
+    /** How many times longer than the method map the dispatch table may take. */
+    private static final double TOLERANCE = 1.1d;
+
+    @Test
+    public void resolveInvocationInfo() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(2).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(5).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(1).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors
+            .toMap(result -> result.getParams().getParam("lookup"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("dispatchtable"), lessThan(scores.get("methodmap") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public void resolve(DispatchState state, Blackhole blackhole) {
+        Method[] methods = state.proxyMethods;
+        int[] numParams = state.numParams;
+        if (state.dispatchTable == null) {
+            for (int i = 0; i < methods.length; i++) {
+                blackhole.consume(state.methodMap.get(methods[i], numParams[i]));
+            }
+        } else {
+            for (int i = 0; i < methods.length; i++) {
+                blackhole.consume(state.dispatchTable.get(methods[i], numParams[i]));
+            }
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class DispatchState {
+
+        @Param({"methodmap", "dispatchtable"})
+        public String lookup;
+
+        MethodMap methodMap;
+        MethodDispatchTable dispatchTable;
+        Method[] proxyMethods;
+        int[] numParams;
+
+        @Setup(Level.Trial)
+        public void createTables() throws Exception {
+            Map<Method, InvocationInfo> infos = new HashMap<>();
+            for (Method method : List.class.getMethods()) {
+                infos.put(method, new InvocationInfo(method));
+            }
+            methodMap = new MethodMap(infos);
+            if ("dispatchtable".equals(lookup)) {
+                dispatchTable = new MethodDispatchTable(methodMap);
+            }
+
+            List<Method> methods = MethodDispatchTableTest.captureProxyMethods(List.class);
+            proxyMethods = methods.toArray(new Method[methods.size()]);
+            numParams = new int[proxyMethods.length];
+            for (int i = 0; i < proxyMethods.length; i++) {
+                numParams[i] = proxyMethods[i].getParameterCount();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MethodDispatchTableTest {
+
+    @Test
+    public void resolvesProxyMethods() throws Exception {
+        Map<Method, InvocationInfo> infos = new HashMap<>();
+        for (Method method : Business.class.getMethods()) {
+            infos.put(method, new InvocationInfo(method));
+        }
+        MethodDispatchTable table = new MethodDispatchTable(new MethodMap(infos));
+
+        List<Method> proxyMethods = captureProxyMethods(Business.class);
+        assertThat(proxyMethods, hasSize(4));
+        for (int i = 0; i < 2; i++) {
+            for (Method method : proxyMethods) {
+                assertThat(method, not(sameInstance(infos.get(method).method)));
+                assertThat(table.get(method, method.getParameterCount()), sameInstance(infos.get(method)));
+            }
+        }
+
+        Method foreign = Other.class.getMethod("call", String.class);
+        assertThat(table.get(foreign, 1), nullValue());
+    }
+
+
+    /**
+     * @return the method instances the proxy class passes to its invocation handler
+     */
+    static List<Method> captureProxyMethods(Class<?> intf) throws Exception {
+        List<Method> methods = new ArrayList<>();
+        Object proxy = Proxy.newProxyInstance(intf.getClassLoader(), new Class<?>[] {intf}, (p, method, args) -> {
+            if (method.getDeclaringClass() != Object.class) {
+                methods.add(method);
+            }
+            return defaultValue(method.getReturnType());
+        });
+        for (Method method : intf.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = defaultValue(parameterTypes[i]);
+            }
+            method.invoke(proxy, args);
+        }
+        return methods;
+    }
+
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        } else if (type == int.class) {
+            return Integer.valueOf(0);
+        }
+        return null;
+    }
+
+
+    public interface Business {
+
+        void call();
+
+        void call(String value);
+
+        void call(int value);
+
+        void other(String value);
+    }
+
+
+    public interface Other {
+
+        void call(String value);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.glassfish.common.util.timer.TimingWheel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Schedules one million timers expiring within the next hour and cancels them, as the timer
+ * service does when the timers of an undeployed application are removed. The
+ * {@link TimingWheel} leaves the sorting into slots to its worker thread, so it must not keep
+ * the calling thread longer than the {@link java.util.Timer} which sorts every timer into its
+ * queue and purges the cancelled ones.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class TimingWheelBenchmarkTest {
+
+    private static final int TIMERS = 1_000_000;
+    /** How many times longer than the JDK timer the timing wheel may take. */
+    private static final double TOLERANCE = 1.2d;
+
+    @Test
+    public void scheduleAndCancel() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(3).warmupBatchSize(1)
+            .measurementIterations(5).forks(1).measurementBatchSize(1)
+            .threads(1).timeout(TimeValue.seconds(60L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.SingleShotTime).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("implementation"), result -> result.getPrimaryResult().getScore()));
+        // With a single CPU the worker thread of the wheel competes with the calling thread.
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 2, "Needs at least 2 CPUs");
+        assertThat(scores.get("wheel"), lessThan(scores.get("jdk") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public int scheduleAndCancel(SchedulerState state) {
+        long now = System.currentTimeMillis();
+        long[] delays = state.delays;
+        if (state.wheel == null) {
+            TimerTask[] tasks = new TimerTask[TIMERS];
+            for (int i = 0; i < TIMERS; i++) {
+                tasks[i] = new NoopTimerTask();
+                state.timer.schedule(tasks[i], delays[i]);
+            }
+            for (TimerTask task : tasks) {
+                task.cancel();
+            }
+            return state.timer.purge();
+        }
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[TIMERS];
+        for (int i = 0; i < TIMERS; i++) {
+            timeouts[i] = state.wheel.schedule(SchedulerState.NOOP, now + delays[i]);
+        }
+        for (TimingWheel.Timeout timeout : timeouts) {
+            timeout.cancel();
+        }
+        return state.wheel.size();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class SchedulerState {
+
+        static final Runnable NOOP = () -> {
+        };
+
+        @Param({"jdk", "wheel"})
+        public String implementation;
+
+        Timer timer;
+        TimingWheel wheel;
+        long[] delays;
+
+        @Setup(Level.Trial)
+        public void createScheduler() {
+            delays = new long[TIMERS];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TIMERS; i++) {
+                delays[i] = random.nextLong(1000L, TimeUnit.HOURS.toMillis(1L));
+            }
+            if ("wheel".equals(implementation)) {
+                wheel = new TimingWheel("benchmark", 10L, 512, 64, Runnable::run);
+                wheel.start();
+            } else {
+                timer = new Timer(true);
+            }
+        }
+
+
+        @TearDown(Level.Trial)
+        public void stopScheduler() {
+            if (wheel == null) {
+                timer.cancel();
+            } else {
+                wheel.stop();
+            }
+        }
+    }
+
+
+    private static class NoopTimerTask extends TimerTask {
+
+        @Override
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Many request threads invoke the same stateless bean, every operation takes a bean instance
+ * from the pool and returns it. The {@link NonBlockingPool} serializes the threads on its
+ * monitor, so with enough CPUs to run them in parallel the {@link StripedPool} must keep at
+ * least its throughput.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class StripedPoolBenchmarkTest {
+
+    /** Fraction of the throughput of the non-blocking pool the striped pool must reach at least. */
+    private static final double TOLERANCE = 0.9d;
+
+    @Test
+    public void getAndReturnObject() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("implementation"), result -> result.getPrimaryResult().getScore()));
+        // On few CPUs the threads take turns and the numbers say nothing about contention.
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 4, "Needs at least 4 CPUs");
+        assertThat(scores.get("striped"), greaterThan(scores.get("nonblocking") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public Object getAndReturnObject(PoolState state) {
+        Object bean = state.pool.getObject(null);
+        state.pool.returnObject(bean);
+        return bean;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"nonblocking", "striped"})
+        public String implementation;
+
+        AbstractPool pool;
+
+        @Setup(Level.Trial)
+        public void createPool() {
+            ObjectFactory factory = new ObjectFactory() {
+
+                @Override
+                public Object create(Object param) {
+                    return new Object();
+                }
+
+                @Override
+                public void destroy(Object object) {
+                }
+            };
+            ClassLoader loader = StripedPoolBenchmarkTest.class.getClassLoader();
+            if ("striped".equals(implementation)) {
+                pool = new StripedPool(1L, implementation, factory, 0, 0, 32, 0, loader);
+            } else {
+                pool = new NonBlockingPool(1L, implementation, factory, 0, 0, 32, 0, loader);
+            }
+            pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        }
+
+
+        @TearDown(Level.Trial)
+        public void closePool() {
+            pool.close();
+        }
+    }
+}
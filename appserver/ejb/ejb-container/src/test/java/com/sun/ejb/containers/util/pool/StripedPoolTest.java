@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedPoolTest {
+
+    @Test
+    public void boundedByMaxPoolSize() {
+        CountingFactory factory = new CountingFactory();
+        CountingProbeProvider probes = new CountingProbeProvider();
+        StripedPool pool = createPool(factory, probes, 0, 0, 4, 0);
+
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(4)),
+            () -> assertThat(pool.getCreatedCount(), equalTo(6)),
+            () -> assertThat(pool.getDestroyedCount(), equalTo(2)),
+            () -> assertThat(factory.destroyed.get(), equalTo(2)),
+            () -> assertThat(probes.added.get(), equalTo(6)),
+            () -> assertThat(probes.destroyed.get(), equalTo(2))
+        );
+
+        Object object = pool.getObject(null);
+        pool.returnObject(object);
+        assertThat("most recently used object is reused", pool.getObject(null), sameInstance(object));
+        assertThat(pool.getPoolSuccess(), equalTo(2));
+
+        pool.destroyObject(object);
+        pool.close();
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(0)),
+            () -> assertThat(factory.destroyed.get(), equalTo(6)),
+            () -> assertThat(probes.destroyed.get(), equalTo(6))
+        );
+    }
+
+
+    @Test
+    public void failedCreation() {
+        CountingProbeProvider probes = new CountingProbeProvider();
+        StripedPool pool = createPool(new FailingFactory(), probes, 0, 0, 4, 0);
+
+        assertThrows(IllegalStateException.class, () -> pool.getObject(null));
+        assertAll(
+            () -> assertThat(pool.getCreatedCount(), equalTo(0)),
+            () -> assertThat(probes.added.get(), equalTo(1)),
+            () -> assertThat(probes.addFailed.get(), equalTo(1))
+        );
+    }
+
+
+    @Test
+    public void resizeTrimsIdleObjects() {
+        CountingFactory factory = new CountingFactory();
+        StripedPool pool = createPool(factory, new CountingProbeProvider(), 0, 2, 10, 1);
+
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            objects.add(pool.getObject(null));
+        }
+        objects.forEach(pool::returnObject);
+
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(3));
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(1));
+        assertThat(factory.destroyed.get(), equalTo(4));
+        pool.close();
+    }
+
+
+    @Test
+    public void removeIdleObjectsKeepsSteadySize() {
+        CountingFactory factory = new CountingFactory();
+        StripedPool pool = createPool(factory, new CountingProbeProvider(), 2, 1, 10, 1);
+        pool.doResize();
+        for (int i = 0; i < 3; i++) {
+            pool.returnObject(factory.create(null));
+        }
+        assertThat(pool.getSize(), equalTo(5));
+
+        pool.removeIdleObjects();
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(2)),
+            () -> assertThat(pool.getDestroyedCount(), equalTo(3)),
+            () -> assertThat(factory.destroyed.get(), equalTo(3))
+        );
+        pool.close();
+    }
+
+
+    @Test
+    public void resizeRestoresSteadySize() {
+        CountingFactory factory = new CountingFactory();
+        StripedPool pool = createPool(factory, new CountingProbeProvider(), 3, 2, 10, 0);
+
+        pool.doResize();
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(4)),
+            () -> assertThat(pool.getCreatedCount(), equalTo(4)),
+            () -> assertThat(factory.created.get(), equalTo(4))
+        );
+        pool.close();
+    }
+
+
+    @Test
+    public void concurrentInvocations() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        StripedPool pool = createPool(factory, new CountingProbeProvider(), 0, 0, 8, 0);
+        AtomicBoolean sharedInstance = new AtomicBoolean();
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        Bean bean = (Bean) pool.getObject(null);
+                        if (!bean.inUse.compareAndSet(false, true)) {
+                            sharedInstance.set(true);
+                        }
+                        bean.inUse.set(false);
+                        pool.returnObject(bean);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse(sharedInstance.get(), "An instance was handed out to two threads");
+        assertAll(
+            () -> assertThat(pool.getSize(), lessThanOrEqualTo(8)),
+            () -> assertThat(pool.getCreatedCount() - pool.getDestroyedCount(), equalTo(pool.getSize())),
+            () -> assertThat(factory.created.get() - factory.destroyed.get(), equalTo(pool.getSize()))
+        );
+        pool.close();
+        assertTrue(pool.getAllAttrValues().contains("CS=0;"));
+    }
+
+
+    private static StripedPool createPool(ObjectFactory factory, EjbPoolProbeProvider probes, int steadyPoolSize,
+        int resizeQuantity, int maxPoolSize, int idleTimeoutInSeconds) {
+        StripedPool pool = new StripedPool(1L, "test", factory, steadyPoolSize, resizeQuantity, maxPoolSize,
+            idleTimeoutInSeconds, StripedPoolTest.class.getClassLoader());
+        pool.poolProbeNotifier = probes;
+        return pool;
+    }
+
+
+    private static class Bean {
+        final AtomicBoolean inUse = new AtomicBoolean();
+    }
+
+
+    private static class CountingFactory implements ObjectFactory {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            created.incrementAndGet();
+            return new Bean();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+
+    private static class FailingFactory implements ObjectFactory {
+
+        @Override
+        public Object create(Object param) {
+            throw new IllegalStateException("Cannot create the bean");
+        }
+
+        @Override
+        public void destroy(Object object) {
+        }
+    }
+
+
+    private static class CountingProbeProvider extends EjbPoolProbeProvider {
+        final AtomicInteger added = new AtomicInteger();
+        final AtomicInteger addFailed = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public void ejbObjectAddedEvent(long beanId, String appName, String modName, String ejbName) {
+            added.incrementAndGet();
+        }
+
+        @Override
+        public void ejbObjectAddFailedEvent(long beanId, String appName, String modName, String ejbName) {
+            addFailed.incrementAndGet();
+        }
+
+        @Override
+        public void ejbObjectDestroyedEvent(long beanId, String appName, String modName, String ejbName) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
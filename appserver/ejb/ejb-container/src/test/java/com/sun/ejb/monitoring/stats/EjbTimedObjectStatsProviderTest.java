@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.ejb.monitoring.stats;
+
+import org.glassfish.external.statistics.TimeStatistic;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class EjbTimedObjectStatsProviderTest {
+
+    @Test
+    public void restoreTimeIsRecordedPerRestore() {
+        EjbTimedObjectStatsProvider provider = new EjbTimedObjectStatsProvider("app", "module", "bean");
+        provider.ejbTimersRestoredEvent(3, 120L);
+        provider.ejbTimersRestoredEvent(2, 80L);
+
+        TimeStatistic restoreTime = provider.getTimerRestoreTime();
+        assertAll(
+            () -> assertThat(provider.getNumTimersRestored().getCount(), equalTo(5L)),
+            () -> assertThat(restoreTime.getCount(), equalTo(2L)),
+            () -> assertThat(restoreTime.getTotalTime(), equalTo(200L)),
+            () -> assertThat(restoreTime.getMaxTime(), equalTo(120L)),
+            () -> assertThat(restoreTime.getMinTime(), equalTo(80L))
+        );
+    }
+
+
+    @Test
+    public void timerEventsAreCounted() {
+        EjbTimedObjectStatsProvider provider = new EjbTimedObjectStatsProvider("app", "module", "bean");
+        provider.ejbTimerCreatedEvent();
+        provider.ejbTimerCreatedEvent();
+        provider.ejbTimerDeliveredEvent();
+        provider.ejbTimerRemovedEvent();
+        provider.ejbTimerDeliveryLagEvent(40L);
+        provider.ejbTimerDeliveryLagEvent(10L);
+
+        assertAll(
+            () -> assertThat(provider.getNumTimersCreated().getCount(), equalTo(2L)),
+            () -> assertThat(provider.getNumTimersDelivered().getCount(), equalTo(1L)),
+            () -> assertThat(provider.getNumTimersRemoved().getCount(), equalTo(1L)),
+            () -> assertThat(provider.getTimerDeliveryLag().getCurrent(), equalTo(10L)),
+            () -> assertThat(provider.getTimerDeliveryLag().getHighWaterMark(), equalTo(40L))
+        );
+    }
+}
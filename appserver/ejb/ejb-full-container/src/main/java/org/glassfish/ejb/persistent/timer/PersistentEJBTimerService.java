@@ -47,10 +47,13 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -112,6 +115,12 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure;
 
+    // Number of timers loaded and restored at once on startup
+    private static final String RESTORE_BATCH_SIZE = "restore-batch-size";
+    private static final int DEFAULT_RESTORE_BATCH_SIZE = 1000;
+
+    private int restoreBatchSize = DEFAULT_RESTORE_BATCH_SIZE;
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -148,6 +157,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String batchSize = ejbt.getPropertyValue(RESTORE_BATCH_SIZE);
+                if (batchSize != null) {
+                    restoreBatchSize = Math.max(1, Integer.parseInt(batchSize.trim()));
+                }
             }
 
         } catch(Exception e) {
@@ -351,7 +365,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -389,7 +403,51 @@ public class PersistentEJBTimerService extends EJBTimerService {
             // is initialized.  In addition, there's an initialization
             // cost to generating the SQL for the underlying
             // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+            //
+            // Timers are loaded in pages ordered by timer id, each page is
+            // detached once it is restored so the persistence context does
+            // not grow with the size of the timer table. The timers of each
+            // page are restored container by container, so that every
+            // container reports the time spent restoring its own timers.
+            long restoreStart = System.currentTimeMillis();
+            Map<Long, Integer> restoredTimers = new HashMap<>();
+            Map<Long, Long> restoreNanos = new HashMap<>();
+            int numRestored = 0;
+            String lastTimerId = "";
+            List<TimerState> page;
+            do {
+                page = timerLocal_.findActiveTimersOwnedByThisServer(lastTimerId, restoreBatchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                lastTimerId = page.get(page.size() - 1).getTimerId();
+
+                // Timers restored before, when their container was loaded,
+                // are returned by _restoreTimers too but are not counted again
+                Map<Long, Set<TimerState>> toRestore = new LinkedHashMap<>();
+                for (TimerState timer : page) {
+                    if (getTimerState(getPrimaryKey(timer)) == null) {
+                        toRestore.computeIfAbsent(timer.getContainerId(), id -> new LinkedHashSet<>()).add(timer);
+                    }
+                }
+                for (Map.Entry<Long, Set<TimerState>> entry : toRestore.entrySet()) {
+                    long start = System.nanoTime();
+                    int restored = _restoreTimers(entry.getValue()).size();
+                    restoreNanos.merge(entry.getKey(), System.nanoTime() - start, Long::sum);
+                    if (restored > 0) {
+                        restoredTimers.merge(entry.getKey(), restored, Integer::sum);
+                        numRestored += restored;
+                    }
+                }
+                timerLocal_.flushAndClear();
+            } while (page.size() == restoreBatchSize);
+
+            long restoreTime = System.currentTimeMillis() - restoreStart;
+            logger.log(Level.INFO, "[" + numRestored + "] EJB Timers owned by this server restored in " + restoreTime + " ms");
+            for (Map.Entry<Long, Integer> entry : restoredTimers.entrySet()) {
+                timersRestored(entry.getKey(), entry.getValue(),
+                    TimeUnit.NANOSECONDS.toMillis(restoreNanos.get(entry.getKey())));
+            }
 
         } finally {
             // try to commit regardless of success or failure.
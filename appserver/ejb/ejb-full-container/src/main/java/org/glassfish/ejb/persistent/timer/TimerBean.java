@@ -40,6 +40,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -186,6 +187,21 @@ public class TimerBean implements TimerLocal {
     }
 
 
+    public List<TimerState> findActiveTimersOwnedByThisServer(String afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateAfterTimerId");
+        q.setParameter(1, getOwnerIdOfThisServer());
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, afterTimerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+
     //
     // Query methods for timer counts
     //
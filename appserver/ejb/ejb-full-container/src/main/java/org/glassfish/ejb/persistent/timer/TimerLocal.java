@@ -25,6 +25,7 @@ import jakarta.ejb.TimerConfig;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -98,6 +99,12 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    // Page of active timers owned by this server with ids following the given one, ordered by id
+    List<TimerState> findActiveTimersOwnedByThisServer(String afterTimerId, int maxResults);
+
+    // Write pending changes and detach all timers loaded in the current transaction
+    void flushAndClear();
+
 
     //
     // Queries returning counts
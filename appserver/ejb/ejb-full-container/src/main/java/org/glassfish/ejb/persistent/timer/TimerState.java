@@ -101,6 +101,11 @@ import java.util.logging.Logger;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        // Used for paged timer restoration, so needs to have predictable return order
+        name="findTimersByOwnerAndStateAfterTimerId",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.timerId > ?3 ORDER BY t.timerId"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -322,7 +322,7 @@ public class FileBackingStore<K extends Serializable, V extends Serializable>
         return success;
     }
 
-    private byte[] getSerializedState(K key, V value)
+    protected byte[] getSerializedState(K key, V value)
             throws BackingStoreException {
 
         byte[] data = null;
@@ -34,6 +34,10 @@ import org.jvnet.hk2.annotations.Service;
 public class FileBackingStoreFactory
         implements BackingStoreFactory {
 
+    static final String LAYOUT_PROPERTY = "file.store.layout";
+    static final String LAYOUT_SYSTEM_PROPERTY = "org.glassfish.ha.store.adapter.file.layout";
+    static final String SEGMENT_LAYOUT = "segment";
+
     private static ThreadLocal<FileStoreTransaction> _current = new ThreadLocal<>();
 
     private static ConcurrentHashMap<String, FileBackingStore> _stores
@@ -52,13 +56,25 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
-        FileBackingStore<K, V> fs = new FileBackingStore<>();
+        FileBackingStore<K, V> fs = isSegmentLayout(conf) ? new SegmentFileBackingStore<>() : new FileBackingStore<>();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
         _stores.put(conf.getStoreName(), fs);
         return fs;
     }
 
+    /**
+     * The log structured layout is used if the {@value #LAYOUT_PROPERTY} vendor specific setting
+     * or system property is set to {@value #SEGMENT_LAYOUT}.
+     */
+    private static boolean isSegmentLayout(BackingStoreConfiguration<?, ?> conf) {
+        Object layout = conf.getVendorSpecificSettings() == null ? null : conf.getVendorSpecificSettings().get(LAYOUT_PROPERTY);
+        if (layout == null) {
+            layout = System.getProperty(LAYOUT_SYSTEM_PROPERTY);
+        }
+        return SEGMENT_LAYOUT.equalsIgnoreCase(String.valueOf(layout));
+    }
+
     @Override
     public BackingStoreTransaction createBackingStoreTransaction() {
         FileStoreTransaction tx = new FileStoreTransaction();
@@ -0,0 +1,714 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+
+/**
+ * Log structured variant of the {@link FileBackingStore}.
+ * <p>
+ * Instead of one file per key, all states are appended to segment files and an in-memory index maps
+ * every key to the position of its last state. The index also holds the last access time, so neither
+ * {@link #removeExpired(long)} nor {@link #size()} touch the filesystem. Sealed segments are read
+ * through memory mapping.
+ * <p>
+ * Writers append under a short lock and, if fsync is enabled, wait for a group commit: the first
+ * waiting writer forces the segment for everybody who appended before it. The writer starting a new
+ * segment forces the sealed one after releasing the lock. Segments with less than half of live data
+ * are compacted when expired states are removed, their mapping is released with them.
+ * <p>
+ * Removed and expired states are marked by delete records, last access times updated by
+ * {@link #updateTimestamp(Serializable, long)} by touch records. Compaction keeps these records
+ * while an older segment may still contain a state of the key, so that recovery never brings back
+ * a removed state or an outdated access time. Touch records are not forced to the disk.
+ */
+public class SegmentFileBackingStore<K extends Serializable, V extends Serializable> extends FileBackingStore<K, V> {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String SEGMENT_SIZE_PROPERTY = "file.store.segment.size";
+    private static final String FSYNC_PROPERTY = "file.store.fsync";
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024L * 1024L;
+
+    private static final int RECORD_MAGIC = 0x48415331;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte TOUCH = 3;
+
+    /** magic, crc, type, timestamp, key length, value length */
+    private static final int HEADER_SIZE = 4 + 4 + 1 + 8 + 4 + 4;
+    private static final int CRC_START = 8;
+
+    /** Live data ratio under which a sealed segment is compacted. */
+    private static final double COMPACTION_THRESHOLD = 0.5d;
+
+    /** Releases a mapping without waiting for the garbage collector, null if the JDK does not allow it. */
+    private static final MethodHandle UNMAP = findUnmap();
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+    private volatile Segment active;
+    private long maxSegmentSize;
+    private boolean fsync;
+    private String debugStr;
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf) throws BackingStoreException {
+        super.initialize(conf);
+        debugStr = "[SegmentFileBackingStore - " + conf.getStoreName() + "] ";
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        maxSegmentSize = DEFAULT_SEGMENT_SIZE;
+        fsync = true;
+        if (vendorMap != null) {
+            Object segmentSize = vendorMap.get(SEGMENT_SIZE_PROPERTY);
+            if (segmentSize != null) {
+                // Sealed segments are mapped to memory, so they must not exceed 2 GB.
+                maxSegmentSize = Math.min(Integer.MAX_VALUE, Long.parseLong(segmentSize.toString()));
+            }
+            Object fsyncValue = vendorMap.get(FSYNC_PROPERTY);
+            if (fsyncValue != null) {
+                fsync = Boolean.parseBoolean(fsyncValue.toString());
+            }
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new BackingStoreException(debugStr + "Could not open segments in " + baseDir, e);
+        }
+        logger.log(Level.INFO, debugStr + "Recovered " + index.size() + " states from " + segments.size()
+            + " segments; segment size: " + maxSegmentSize + ", fsync: " + fsync);
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+        String keyName = key.toString();
+        // The location may get obsolete due to concurrent compaction, then it is looked up again.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Location location = index.get(keyName);
+            if (location == null) {
+                return null;
+            }
+            byte[] data;
+            try {
+                data = location.segment.read(location.getValuePosition(), location.valueLength);
+            } catch (IOException e) {
+                if (index.get(keyName) != location) {
+                    continue;
+                }
+                throw new BackingStoreException(debugStr + "Failed to load(" + key + ", " + version + ")", e);
+            }
+            try (ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(data))) {
+                return (V) ois.readObject();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Entered save(" + sessionKey + ")");
+        }
+        String keyName = sessionKey.toString();
+        byte[] data = getSerializedState(sessionKey, value);
+        try {
+            append(PUT, keyName, data, System.currentTimeMillis(), null);
+        } catch (IOException e) {
+            throw new BackingStoreException(debugStr + "Could not save session: " + sessionKey, e);
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        String keyName = sessionKey.toString();
+        if (!index.containsKey(keyName)) {
+            return;
+        }
+        try {
+            append(DELETE, keyName, null, System.currentTimeMillis(), null);
+        } catch (IOException e) {
+            logger.log(Level.FINE, debugStr + "Failed to remove(" + sessionKey + ")", e);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time) throws BackingStoreException {
+        String keyName = sessionKey.toString();
+        Location location = index.get(keyName);
+        if (location == null) {
+            logger.log(Level.WARNING, debugStr + ": Cannot update timestamp for: " + sessionKey + "; State does not exist");
+            return;
+        }
+        try {
+            append(TOUCH, keyName, null, time, location);
+        } catch (IOException e) {
+            throw new BackingStoreException(debugStr + "Could not update timestamp for: " + sessionKey, e);
+        }
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        final long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            if (location.lastAccessed >= threshold) {
+                continue;
+            }
+            try {
+                if (append(DELETE, entry.getKey(), null, System.currentTimeMillis(), location)) {
+                    expiredSessions++;
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, debugStr + "Failed to remove expired state " + entry.getKey(), e);
+            }
+        }
+        compact();
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        index.clear();
+        super.destroy();
+    }
+
+    /**
+     * Compacts sealed segments with too much obsolete data. Live states are appended to the active
+     * segment and the compacted segment file is deleted.
+     */
+    void compact() {
+        if (!compactionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Segments created by compaction itself wait for the next round.
+            for (Segment segment : segments.headMap(active.id).values()) {
+                // A segment still being forced after its rollover waits for the next round too.
+                if (fsync && !segment.isSynced()) {
+                    continue;
+                }
+                if (segment.liveBytes.get() < segment.size * COMPACTION_THRESHOLD) {
+                    compact(segment);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, debugStr + "Compaction failed", e);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        // Delete and touch records are only needed while an older segment may contain a state of the key.
+        final boolean olderSegments = segments.firstKey() < segment.id;
+        long position = 0;
+        int moved = 0;
+        while (position < segment.size) {
+            Record record = readRecord(segment.channel, position);
+            if (record == null) {
+                break;
+            }
+            Location location = index.get(record.key);
+            if (record.type == PUT) {
+                if (location != null && location.segment == segment && location.offset == position) {
+                    // The moved state carries the last access time, touch records of it are obsolete.
+                    append(PUT, record.key, record.value, location.lastAccessed, location);
+                    moved++;
+                }
+            } else if (!olderSegments) {
+                // Nothing to delete or touch.
+            } else if (record.type == DELETE) {
+                if (location == null) {
+                    appendTombstone(record.key, record.timestamp);
+                }
+            } else if (location != null && location.segment.id < segment.id) {
+                append(TOUCH, record.key, null, location.lastAccessed, location);
+            }
+            position += record.getLength();
+        }
+        segments.remove(segment.id);
+        segment.close();
+        if (!segment.file.delete() && segment.file.exists()) {
+            logger.log(Level.WARNING, debugStr + "Could not delete compacted segment " + segment.file);
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, debugStr + "Compacted " + segment.file + ", moved " + moved + " states");
+        }
+    }
+
+    /**
+     * Appends a delete record of a key which is not in the index, unless the key was saved meanwhile.
+     */
+    private void appendTombstone(String keyName, long timestamp) throws IOException {
+        ByteBuffer record = encode(DELETE, keyName, null, timestamp);
+        final Segment current;
+        final Segment segment;
+        final long end;
+        appendLock.lock();
+        try {
+            if (index.containsKey(keyName)) {
+                return;
+            }
+            current = active;
+            segment = write(record);
+            end = segment.size;
+        } finally {
+            appendLock.unlock();
+        }
+        if (fsync) {
+            if (segment != current) {
+                current.sync(current.size);
+            }
+            segment.sync(end);
+        }
+    }
+
+    /**
+     * Appends the record and updates the index.
+     *
+     * @param expected if not null, the record is appended only if the key is still mapped to this location.
+     * @return false if the key was not mapped to the expected location
+     */
+    private boolean append(byte type, String keyName, byte[] value, long timestamp, Location expected) throws IOException {
+        ByteBuffer record = encode(type, keyName, value, timestamp);
+        final int length = record.remaining();
+        final Segment current;
+        final Segment segment;
+        final long position;
+        appendLock.lock();
+        try {
+            Location previous = index.get(keyName);
+            if (expected != null && previous != expected) {
+                return false;
+            }
+            current = active;
+            segment = write(record);
+            position = segment.size - length;
+            if (type == PUT) {
+                Location location = new Location(segment, position, length - HEADER_SIZE - value.length, value.length);
+                location.lastAccessed = timestamp;
+                index.put(keyName, location);
+                segment.liveBytes.addAndGet(length);
+            } else if (type == TOUCH) {
+                previous.lastAccessed = timestamp;
+            } else {
+                index.remove(keyName);
+            }
+            if (previous != null && type != TOUCH) {
+                previous.segment.liveBytes.addAndGet(-previous.getRecordLength());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (fsync) {
+            if (segment != current) {
+                // This record started a new segment, the sealed one is forced with its touch records.
+                current.sync(current.size);
+            }
+            if (type != TOUCH) {
+                segment.sync(position + length);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the record to the end of the active segment, must be called under the append lock.
+     *
+     * @return the segment the record was written to.
+     */
+    private Segment write(ByteBuffer record) throws IOException {
+        final int length = record.remaining();
+        final Segment segment = active.size + length > maxSegmentSize && active.size > 0 ? rollover() : active;
+        final long position = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, position + length - record.remaining());
+        }
+        segment.size = position + length;
+        return segment;
+    }
+
+    /**
+     * Seals the active segment and starts a new one, must be called under the append lock.
+     * The caller forces the sealed segment after releasing the lock.
+     */
+    private Segment rollover() throws IOException {
+        Segment sealed = active;
+        sealed.seal();
+        Segment segment = new Segment(sealed.id + 1);
+        segments.put(segment.id, segment);
+        active = segment;
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        List<Long> ids = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    ids.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.log(Level.WARNING, debugStr + "Ignoring unexpected file " + file);
+                }
+            }
+        }
+        ids.sort(null);
+        for (Long id : ids) {
+            Segment segment = new Segment(id);
+            segments.put(id, segment);
+            long fileSize = segment.channel.size();
+            long position = 0;
+            while (position < fileSize) {
+                Record record = readRecord(segment.channel, position);
+                if (record == null) {
+                    logger.log(Level.WARNING, debugStr + "Truncating corrupted " + segment.file + " at " + position);
+                    segment.channel.truncate(position);
+                    break;
+                }
+                Location previous;
+                if (record.type == PUT) {
+                    Location location = new Location(segment, position, record.keyLength, record.value.length);
+                    location.lastAccessed = record.timestamp;
+                    previous = index.put(record.key, location);
+                    segment.liveBytes.addAndGet(record.getLength());
+                } else if (record.type == TOUCH) {
+                    Location location = index.get(record.key);
+                    if (location != null) {
+                        location.lastAccessed = record.timestamp;
+                    }
+                    previous = null;
+                } else {
+                    previous = index.remove(record.key);
+                }
+                if (previous != null) {
+                    previous.segment.liveBytes.addAndGet(-previous.getRecordLength());
+                }
+                position += record.getLength();
+            }
+            segment.size = position;
+            segment.syncedPosition = position;
+        }
+        if (segments.isEmpty()) {
+            Segment segment = new Segment(0L);
+            segments.put(segment.id, segment);
+        }
+        for (Segment segment : segments.headMap(segments.lastKey()).values()) {
+            segment.seal();
+        }
+        active = segments.lastEntry().getValue();
+    }
+
+    private static MethodHandle findUnmap() {
+        try {
+            Class<?> unsafeClass = ClassLoader.getSystemClassLoader().loadClass("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The mappings are released by the garbage collector.
+            return null;
+        }
+    }
+
+    private static ByteBuffer encode(byte type, String keyName, byte[] value, long timestamp) {
+        byte[] key = keyName.getBytes(StandardCharsets.UTF_8);
+        int valueLength = value == null ? 0 : value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + key.length + valueLength);
+        buffer.putInt(RECORD_MAGIC).putInt(0).put(type).putLong(timestamp).putInt(key.length).putInt(valueLength);
+        buffer.put(key);
+        if (value != null) {
+            buffer.put(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), CRC_START, buffer.capacity() - CRC_START);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the record or null if there is no complete valid record at the position.
+     */
+    private static Record readRecord(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (!readFully(channel, header, position)) {
+            return null;
+        }
+        header.flip();
+        int magic = header.getInt();
+        int expectedCrc = header.getInt();
+        byte type = header.get();
+        long timestamp = header.getLong();
+        int keyLength = header.getInt();
+        int valueLength = header.getInt();
+        if (magic != RECORD_MAGIC || type < PUT || type > TOUCH || keyLength < 0 || valueLength < 0) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(keyLength + valueLength);
+        if (!readFully(channel, body, position + HEADER_SIZE)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), CRC_START, HEADER_SIZE - CRC_START);
+        crc.update(body.array(), 0, body.capacity());
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        System.arraycopy(body.array(), keyLength, value, 0, valueLength);
+        return new Record(type, timestamp, new String(body.array(), 0, keyLength, StandardCharsets.UTF_8), keyLength, value);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Segment {
+
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+        /** Keeps the mapping from being released while it is read. */
+        private final ReentrantReadWriteLock mappingLock = new ReentrantReadWriteLock();
+        private volatile long size;
+        private volatile MappedByteBuffer mapped;
+        private volatile boolean sealed;
+        private boolean closed;
+        private long syncedPosition;
+        private boolean syncing;
+
+        Segment(long id) throws IOException {
+            this.id = id;
+            this.file = new File(baseDir, SEGMENT_PREFIX + String.format("%019d", id) + SEGMENT_SUFFIX);
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            byte[] data = new byte[length];
+            if (sealed) {
+                mappingLock.readLock().lock();
+                try {
+                    if (closed) {
+                        throw new IOException("Segment " + file + " is closed");
+                    }
+                    MappedByteBuffer buffer = mapped;
+                    if (buffer == null) {
+                        synchronized (this) {
+                            if (mapped == null) {
+                                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                            }
+                            buffer = mapped;
+                        }
+                    }
+                    ByteBuffer view = buffer.duplicate();
+                    view.position(Math.toIntExact(position));
+                    view.get(data);
+                    return data;
+                } finally {
+                    mappingLock.readLock().unlock();
+                }
+            }
+            if (!readFully(channel, ByteBuffer.wrap(data), position)) {
+                throw new IOException("Unexpected end of " + file + " at " + position);
+            }
+            return data;
+        }
+
+        /**
+         * Waits until the segment is forced to the disk at least up to the position. The first waiting
+         * thread forces everything appended so far, the others wait for it.
+         */
+        void sync(long position) throws IOException {
+            while (true) {
+                long target;
+                synchronized (this) {
+                    while (syncedPosition < position && syncing) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException("Interrupted while waiting for fsync of " + file, e);
+                        }
+                    }
+                    if (syncedPosition >= position) {
+                        return;
+                    }
+                    syncing = true;
+                    target = size;
+                }
+                boolean forced = false;
+                try {
+                    channel.force(false);
+                    forced = true;
+                } finally {
+                    synchronized (this) {
+                        syncing = false;
+                        if (forced && target > syncedPosition) {
+                            syncedPosition = target;
+                        }
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        synchronized boolean isSynced() {
+            return syncedPosition >= size;
+        }
+
+        /**
+         * Nothing is appended to a sealed segment any more, it is read through memory mapping.
+         */
+        void seal() {
+            sealed = true;
+        }
+
+        /**
+         * Closes the channel and releases the mapping, waiting for the running reads of it.
+         */
+        void close() {
+            mappingLock.writeLock().lock();
+            try {
+                closed = true;
+                MappedByteBuffer buffer = mapped;
+                mapped = null;
+                if (buffer != null && UNMAP != null) {
+                    UNMAP.invokeExact((ByteBuffer) buffer);
+                }
+            } catch (Throwable e) {
+                logger.log(Level.FINE, debugStr + "Could not release the mapping of " + file, e);
+            } finally {
+                mappingLock.writeLock().unlock();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.FINE, debugStr + "Error while closing " + file, e);
+            }
+        }
+    }
+
+    private final class Location {
+
+        private final Segment segment;
+        private final long offset;
+        private final int keyLength;
+        private final int valueLength;
+        private volatile long lastAccessed;
+
+        Location(Segment segment, long offset, int keyLength, int valueLength) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+        }
+
+        long getValuePosition() {
+            return offset + HEADER_SIZE + keyLength;
+        }
+
+        int getRecordLength() {
+            return HEADER_SIZE + keyLength + valueLength;
+        }
+    }
+
+    private static final class Record {
+
+        private final byte type;
+        private final long timestamp;
+        private final String key;
+        private final int keyLength;
+        private final byte[] value;
+
+        Record(byte type, long timestamp, String key, int keyLength, byte[] value) {
+            this.type = type;
+            this.timestamp = timestamp;
+            this.key = key;
+            this.keyLength = keyLength;
+            this.value = value;
+        }
+
+        int getLength() {
+            return HEADER_SIZE + keyLength + value.length;
+        }
+    }
+}
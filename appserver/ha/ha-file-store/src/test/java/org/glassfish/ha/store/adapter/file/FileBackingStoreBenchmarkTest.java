@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Saves, loads and expires {@value #SESSIONS} sessions in the per-file layout of the
+ * {@link FileBackingStore} and in the {@link SegmentFileBackingStore}. The segment layout
+ * must not be noticeably slower when saving or loading a session, and expiring sessions
+ * must not have to visit a file per session any more.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class FileBackingStoreBenchmarkTest {
+
+    private static final int SESSIONS = 10_000;
+    /** How many times longer than the per-file layout the segment layout may take. */
+    private static final double TOLERANCE = 1.5d;
+
+    @Test
+    public void saveLoadAndExpire() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(2).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(8).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getPrimaryResult().getLabel() + '-' + result.getParams().getParam("layout"),
+            result -> result.getPrimaryResult().getScore()));
+        assertAll(
+            () -> assertThat(scores.get("save-segment"), lessThan(scores.get("save-file") * TOLERANCE)),
+            () -> assertThat(scores.get("load-segment"), lessThan(scores.get("load-file") * TOLERANCE)),
+            () -> assertThat(scores.get("removeExpired-segment"), lessThan(scores.get("removeExpired-file") / 10))
+        );
+    }
+
+
+    @Benchmark
+    public String save(StoreState state) throws BackingStoreException {
+        int session = ThreadLocalRandom.current().nextInt(SESSIONS);
+        return state.store.save("session" + session, state.value, false);
+    }
+
+
+    @Benchmark
+    public SessionState load(StoreState state) throws BackingStoreException {
+        int session = ThreadLocalRandom.current().nextInt(SESSIONS);
+        SessionState value = state.store.load("session" + session, null);
+        if (value == null) {
+            throw new IllegalStateException("Session " + session + " was not loaded.");
+        }
+        return value;
+    }
+
+
+    @Benchmark
+    public int removeExpired(StoreState state) throws BackingStoreException {
+        return state.store.removeExpired(TimeUnit.HOURS.toMillis(1L));
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class StoreState {
+
+        @Param({"file", FileBackingStoreFactory.SEGMENT_LAYOUT})
+        public String layout;
+
+        BackingStore<String, SessionState> store;
+        SessionState value;
+
+        @Setup(Level.Trial)
+        public void createStore() throws Exception {
+            BackingStoreConfiguration<String, SessionState> conf = new BackingStoreConfiguration<>();
+            conf.setStoreName("benchmark-" + layout).setInstanceName("instance")
+                .setBaseDirectory(Files.createTempDirectory("ha-file-store").toFile())
+                .setKeyClazz(String.class).setValueClazz(SessionState.class)
+                .setClassLoader(FileBackingStoreBenchmarkTest.class.getClassLoader());
+            conf.getVendorSpecificSettings().put(FileBackingStoreFactory.LAYOUT_PROPERTY, layout);
+            store = new FileBackingStoreFactory().createBackingStore(conf);
+            value = new SessionState("x".repeat(2048));
+            for (int i = 0; i < SESSIONS; i++) {
+                store.save("session" + i, value, true);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void destroyStore() throws BackingStoreException {
+            store.destroy();
+        }
+    }
+
+
+    /**
+     * Loaded by the class loader of the test, values are deserialized by the loader of the value class.
+     */
+    private static final class SessionState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String attributes;
+
+        SessionState(String attributes) {
+            this.attributes = attributes;
+        }
+    }
+}
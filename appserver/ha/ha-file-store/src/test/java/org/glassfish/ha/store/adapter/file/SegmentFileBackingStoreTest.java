@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SegmentFileBackingStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void saveLoadRemove() throws Exception {
+        BackingStore<String, State> store = createStore("4096");
+        assertThat(store, instanceOf(SegmentFileBackingStore.class));
+
+        store.save("a", new State("first"), true);
+        store.save("b", new State("second"), true);
+        store.save("a", new State("third"), false);
+        store.remove("b");
+        assertAll(
+            () -> assertThat(store.size(), equalTo(1)),
+            () -> assertThat(store.load("a", null), equalTo(new State("third"))),
+            () -> assertThat(store.load("b", null), nullValue()),
+            () -> assertThat(store.load("c", null), nullValue())
+        );
+    }
+
+    @Test
+    public void recoveryAfterRestart() throws Exception {
+        BackingStore<String, State> store = createStore("512");
+        for (int i = 0; i < 100; i++) {
+            store.save("key" + (i % 10), new State("value" + i), false);
+        }
+        store.remove("key0");
+        ((FileBackingStore<String, State>) store).shutdown();
+
+        BackingStore<String, State> recovered = createStore("512");
+        assertAll(
+            () -> assertThat(recovered.size(), equalTo(9)),
+            () -> assertThat(recovered.load("key0", null), nullValue()),
+            () -> assertThat(recovered.load("key9", null), equalTo(new State("value99")))
+        );
+    }
+
+    @Test
+    public void corruptedTailIsTruncated() throws Exception {
+        BackingStore<String, State> store = createStore("1048576");
+        store.save("a", new State("first"), true);
+        store.save("b", new State("second"), true);
+        ((FileBackingStore<String, State>) store).shutdown();
+
+        File segment = tempDir.toFile().listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        BackingStore<String, State> recovered = createStore("1048576");
+        assertAll(
+            () -> assertThat(recovered.size(), equalTo(1)),
+            () -> assertThat(recovered.load("a", null), equalTo(new State("first")))
+        );
+    }
+
+    @Test
+    public void expirationAndCompaction() throws Exception {
+        BackingStore<String, State> store = createStore("1024");
+        for (int i = 0; i < 200; i++) {
+            store.save("key" + i, new State("value" + i), true);
+        }
+        final int segments = tempDir.toFile().list().length;
+        for (int i = 0; i < 190; i++) {
+            store.updateTimestamp("key" + i, 0L);
+        }
+
+        assertThat(store.removeExpired(60_000L), equalTo(190));
+        assertAll(
+            () -> assertThat(store.size(), equalTo(10)),
+            () -> assertThat(tempDir.toFile().list().length, lessThan(segments)),
+            () -> assertThat(store.load("key0", null), nullValue()),
+            () -> assertThat(store.load("key199", null), equalTo(new State("value199")))
+        );
+    }
+
+    @Test
+    public void expiredAndRemovedStatesStayGoneAfterCompactionAndRestart() throws Exception {
+        BackingStore<String, State> store = createStore("1024");
+        store.save("expired", new State("first"), true);
+        store.save("removed", new State("second"), true);
+        // Fills the first segment with live states, so it is not compacted.
+        for (int i = 0; i < 20; i++) {
+            store.save("live" + i, new State("value" + i), true);
+        }
+        for (int i = 0; i < 50; i++) {
+            store.save("overwritten", new State("value" + i), false);
+        }
+        store.updateTimestamp("expired", 0L);
+        store.remove("removed");
+        for (int i = 0; i < 50; i++) {
+            store.save("overwritten", new State("value" + i), false);
+        }
+        final int segments = tempDir.toFile().list().length;
+
+        assertThat(store.removeExpired(60_000L), equalTo(1));
+        assertThat(tempDir.toFile().list().length, lessThan(segments));
+        ((FileBackingStore<String, State>) store).shutdown();
+
+        BackingStore<String, State> recovered = createStore("1024");
+        assertAll(
+            () -> assertThat(recovered.size(), equalTo(21)),
+            () -> assertThat(recovered.load("expired", null), nullValue()),
+            () -> assertThat(recovered.load("removed", null), nullValue()),
+            () -> assertThat(recovered.load("live0", null), equalTo(new State("value0"))),
+            () -> assertThat(recovered.load("overwritten", null), equalTo(new State("value49")))
+        );
+    }
+
+    @Test
+    public void accessTimesSurviveRestart() throws Exception {
+        BackingStore<String, State> store = createStore("1024");
+        for (int i = 0; i < 20; i++) {
+            store.save("key" + i, new State("value" + i), true);
+        }
+        store.updateTimestamp("key0", 0L);
+        store.updateTimestamp("key19", 0L);
+        ((FileBackingStore<String, State>) store).shutdown();
+
+        BackingStore<String, State> recovered = createStore("1024");
+        assertThat(recovered.removeExpired(60_000L), equalTo(2));
+        assertAll(
+            () -> assertThat(recovered.size(), equalTo(18)),
+            () -> assertThat(recovered.load("key0", null), nullValue()),
+            () -> assertThat(recovered.load("key1", null), equalTo(new State("value1")))
+        );
+    }
+
+    @Test
+    public void sealedSegmentsAreForcedAndCompacted() throws Exception {
+        BackingStore<String, State> store = createStore("1024", true);
+        for (int i = 0; i < 50; i++) {
+            store.save("key" + i, new State("value" + i), true);
+        }
+        final int segments = tempDir.toFile().list().length;
+        for (int i = 0; i < 45; i++) {
+            store.updateTimestamp("key" + i, 0L);
+        }
+
+        assertThat(store.removeExpired(60_000L), equalTo(45));
+        assertThat(tempDir.toFile().list().length, lessThan(segments));
+        ((FileBackingStore<String, State>) store).shutdown();
+
+        BackingStore<String, State> recovered = createStore("1024", true);
+        assertAll(
+            () -> assertThat(recovered.size(), equalTo(5)),
+            () -> assertThat(recovered.load("key49", null), equalTo(new State("value49")))
+        );
+    }
+
+    @Test
+    public void loadsDuringCompaction() throws Exception {
+        BackingStore<String, State> store = createStore("1024");
+        for (int i = 0; i < 10; i++) {
+            store.save("live" + i, new State("value" + i), true);
+        }
+        AtomicBoolean compacting = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(() -> {
+                    while (compacting.get()) {
+                        for (int i = 0; i < 10; i++) {
+                            assertThat(store.load("live" + i, null), equalTo(new State("value" + i)));
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            // Every round moves the live states and releases the segments they were read from.
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 50; i++) {
+                    store.save("expired" + i, new State("value" + i), true);
+                    store.updateTimestamp("expired" + i, 0L);
+                }
+                assertThat(store.removeExpired(60_000L), equalTo(50));
+            }
+            compacting.set(false);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            compacting.set(false);
+            executor.shutdownNow();
+        }
+        assertThat(store.size(), equalTo(10));
+    }
+
+    @Test
+    public void concurrentSaves() throws Exception {
+        BackingStore<String, State> store = createStore("4096");
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                final int thread = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        store.save("key" + thread + "-" + i, new State("value" + i), true);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.size(), equalTo(1600));
+        assertThat(store.load("key15-99", null), equalTo(new State("value99")));
+        store.destroy();
+        assertFalse(tempDir.toFile().exists(), "Store directory was not removed");
+    }
+
+    private BackingStore<String, State> createStore(String segmentSize) throws Exception {
+        return createStore(segmentSize, false);
+    }
+
+    private BackingStore<String, State> createStore(String segmentSize, boolean fsync) throws Exception {
+        BackingStoreConfiguration<String, State> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test").setInstanceName("instance").setBaseDirectory(tempDir.toFile())
+            .setKeyClazz(String.class).setValueClazz(State.class)
+            .setClassLoader(SegmentFileBackingStoreTest.class.getClassLoader());
+        conf.getVendorSpecificSettings().put(FileBackingStoreFactory.LAYOUT_PROPERTY, FileBackingStoreFactory.SEGMENT_LAYOUT);
+        conf.getVendorSpecificSettings().put("file.store.segment.size", segmentSize);
+        conf.getVendorSpecificSettings().put("file.store.fsync", Boolean.toString(fsync));
+        return new FileBackingStoreFactory().createBackingStore(conf);
+    }
+
+    /**
+     * Value loaded by the class loader of the test, states are deserialized by the loader of the value class.
+     */
+    private static final class State implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String value;
+
+        State(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof State && ((State) obj).value.equals(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
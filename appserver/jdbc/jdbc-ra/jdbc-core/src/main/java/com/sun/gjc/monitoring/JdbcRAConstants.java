@@ -19,6 +19,7 @@ package com.sun.gjc.monitoring;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interface that contains all the constants used in the jdbc-ra module.
@@ -37,11 +38,21 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache eviction monitoring event.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
     /**
      * Represents caching of sql query event.
      */
     public static final String TRACE_SQL = "traceSQLEvent";
 
+    /**
+     * Represents execution of a traced sql query event.
+     */
+    public static final String SQL_EXECUTED = "sqlExecutedEvent";
+
     public static final String POTENTIAL_STATEMENT_LEAK = "potentialStatementLeakEvent";
 
     /**
@@ -89,4 +100,10 @@ public interface JdbcRAConstants {
      */
     public static final List<String> validSqlTracingMethodNames = Collections.unmodifiableList(Arrays.asList(
             "nativeSQL", "prepareCall", "prepareStatement", "addBatch", "execute", "executeQuery", "executeUpdate"));
+
+    /**
+     * Names of the methods executing sql, only these are timed and counted by the sql trace profiler.
+     */
+    public static final Set<String> sqlExecutionMethodNames = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
 }
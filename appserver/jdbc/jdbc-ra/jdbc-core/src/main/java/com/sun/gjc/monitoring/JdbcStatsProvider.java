@@ -17,14 +17,18 @@
 
 package com.sun.gjc.monitoring;
 
-import com.sun.gjc.util.SQLTrace;
-import com.sun.gjc.util.SQLTraceCache;
+import com.sun.gjc.spi.base.datastructure.SharedStatementCacheIndex;
+import com.sun.gjc.util.SQLTraceProfiler;
+
+import java.util.concurrent.TimeUnit;
 
 import org.glassfish.api.naming.SimpleJndiName;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
+import org.glassfish.external.statistics.BoundedRangeStatistic;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.StringStatistic;
+import org.glassfish.external.statistics.impl.BoundedRangeStatisticImpl;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
 import org.glassfish.external.statistics.impl.StringStatisticImpl;
@@ -48,6 +52,14 @@ public class JdbcStatsProvider {
             "FreqUsedSqlQueries", "List",
             "Most frequently used sql queries");
 
+    private final StringStatisticImpl timeConsumingSqlQueries = new StringStatisticImpl(
+            "TimeConsumingSqlQueries", "List",
+            "Sql queries with the highest total execution time and their execution statistics");
+
+    private final CountStatisticImpl sqlExecutionTimeP99 = new CountStatisticImpl(
+            "SqlExecutionTimeP99", StatisticImpl.UNIT_MILLISECOND,
+            "The 99th percentile of the execution time of the traced sql queries.");
+
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache hits.");
@@ -56,18 +68,33 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of cached statements closed to make space for other statements.");
+
+    private final BoundedRangeStatisticImpl statementCacheHitRatio = new BoundedRangeStatisticImpl(
+            0, 0, 100, 100, 0,
+            "StatementCacheHitRatio", "Percent",
+            "Percentage of the Statement Cache lookups which were hits. The water marks are "
+            + "the highest and lowest percentages seen when the statistic was read.",
+            System.currentTimeMillis(), System.currentTimeMillis());
+
+    private final CountStatisticImpl statementCacheSize = new CountStatisticImpl(
+            "StatementCacheSize", StatisticImpl.UNIT_COUNT,
+            "The number of statements cached by all connections of the pool. Available for the SHARED statement cache type only.");
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
 
     private final PoolInfo poolInfo;
-    private SQLTraceCache sqlTraceCache;
+    private SQLTraceProfiler sqlTraceProfiler;
 
     public JdbcStatsProvider(SimpleJndiName poolName, String appName, String moduleName, int sqlTraceCacheSize,
         long timeToKeepQueries) {
         poolInfo = new PoolInfo(poolName, appName, moduleName);
         if (sqlTraceCacheSize > 0) {
-            this.sqlTraceCache = new SQLTraceCache(poolName, appName, moduleName, sqlTraceCacheSize, timeToKeepQueries);
+            this.sqlTraceProfiler = new SQLTraceProfiler(poolName, appName, moduleName, sqlTraceCacheSize, timeToKeepQueries);
         }
     }
 
@@ -104,30 +131,44 @@ public class JdbcStatsProvider {
     }
 
     /**
-     * Whenever a sql statement that is traced is to be cache for monitoring
-     * purpose, the SQLTrace object is created for the specified sql and
-     * updated in the SQLTraceCache. This is used to update the
-     * frequently used sql queries.
+     * Whenever a cached statement is evicted, increment numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheEviction.increment();
+        }
+    }
+
+    /**
+     * Whenever a sql statement that is traced was executed, its execution
+     * is recorded in the SQLTraceProfiler. This is used to update the
+     * frequently used and the most time consuming sql queries.
      *
      * @param poolName
      * @param sql
+     * @param executionTime execution time in nanoseconds
      */
-    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.TRACE_SQL)
-    public void traceSQLEvent(
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.SQL_EXECUTED)
+    public void sqlExecutedEvent(
                                    @ProbeParam("poolName") String poolName,
                                    @ProbeParam("appName") String appName,
                                    @ProbeParam("moduleName") String moduleName,
-                                   @ProbeParam("sql") String sql) {
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("executionTime") long executionTime) {
 
+        if (sqlTraceProfiler == null || sql == null) {
+            return;
+        }
         PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
         if(this.poolInfo.equals(poolInfo)){
-            if(sqlTraceCache != null) {
-                if (sql != null) {
-                    SQLTrace cacheObj = new SQLTrace(sql, 1,
-                            System.currentTimeMillis());
-                    sqlTraceCache.checkAndUpdateCache(cacheObj);
-                }
-            }
+            sqlTraceProfiler.record(sql, executionTime);
         }
     }
 
@@ -158,26 +199,65 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
+    @ManagedAttribute(id="statementcachehitratio")
+    public BoundedRangeStatistic getStatementCacheHitRatio() {
+        long hits = numStatementCacheHit.getCount();
+        long total = hits + numStatementCacheMiss.getCount();
+        if (total > 0) {
+            statementCacheHitRatio.setCurrent(hits * 100 / total);
+        }
+        return statementCacheHitRatio;
+    }
+
+    @ManagedAttribute(id="statementcachesize")
+    public CountStatistic getStatementCacheSize() {
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        if (index != null) {
+            statementCacheSize.setCount(index.getCachedStatementCount());
+        }
+        return statementCacheSize;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
-        if(sqlTraceCache != null) {
-            //This is to ensure that only the queries in the last "time-to-keep-
-            //queries-in-minutes" is returned back.
-            freqUsedSqlQueries.setCurrent(sqlTraceCache.getTopQueries());
+        if(sqlTraceProfiler != null) {
+            freqUsedSqlQueries.setCurrent(sqlTraceProfiler.getTopQueries());
         }
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="timeconsumingsqlqueries")
+    public StringStatistic getTimeConsumingSqlQueries() {
+        if(sqlTraceProfiler != null) {
+            timeConsumingSqlQueries.setCurrent(sqlTraceProfiler.getTopQueriesByTime());
+        }
+        return timeConsumingSqlQueries;
+    }
+
+    @ManagedAttribute(id="sqlexecutiontimep99")
+    public CountStatistic getSqlExecutionTimeP99() {
+        if(sqlTraceProfiler != null) {
+            long p99 = sqlTraceProfiler.getPoolHistogram().getPercentile(99);
+            sqlExecutionTimeP99.setCount(TimeUnit.NANOSECONDS.toMillis(p99));
+        }
+        return sqlExecutionTimeP99;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
     }
 
     /**
-     * Get the SQLTraceCache associated with this stats provider.
-     * @return SQLTraceCache
+     * Get the SQLTraceProfiler associated with this stats provider.
+     * @return SQLTraceProfiler
      */
-    public SQLTraceCache getSqlTraceCache() {
-        return sqlTraceCache;
+    public SQLTraceProfiler getSqlTraceProfiler() {
+        return sqlTraceProfiler;
     }
 }
@@ -111,7 +111,12 @@ public abstract class JdbcObjectsFactory implements Serializable {
                 record.setTimeStamp(System.currentTimeMillis());
                 sqlTraceDelegator.sqlTrace(record);
 
-                return method.invoke(actualObject, args);
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(actualObject, args);
+                } finally {
+                    sqlTraceDelegator.sqlExecuted(record, null, System.nanoTime() - start);
+                }
             }
         };
 
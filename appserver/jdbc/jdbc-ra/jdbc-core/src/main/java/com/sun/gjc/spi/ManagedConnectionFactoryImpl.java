@@ -22,6 +22,7 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.spi.base.datastructure.SharedStatementCacheIndex;
 import com.sun.gjc.util.SQLTraceDelegator;
 import com.sun.logging.LogDomains;
 
@@ -1400,10 +1401,10 @@ public abstract class ManagedConnectionFactoryImpl
             StatsProviderManager.register("jdbc-connection-pool", PluginPoint.SERVER, poolMonitoringSubTreeRoot,
                     jdbcStatsProvider);
 
-            if (jdbcStatsProvider.getSqlTraceCache() != null) {
+            if (jdbcStatsProvider.getSqlTraceProfiler() != null) {
                 _logger.finest("Scheduling timer task for sql trace caching");
                 Timer timer = ((ResourceAdapterImpl) resourceAdapter).getTimer();
-                jdbcStatsProvider.getSqlTraceCache().scheduleTimerTask(timer);
+                jdbcStatsProvider.getSqlTraceProfiler().scheduleTimerTask(timer);
             }
 
             _logger.finest("Registered JDBCRA Stats Provider");
@@ -1413,11 +1414,12 @@ public abstract class ManagedConnectionFactoryImpl
     @Override
     public void mcfDestroyed() {
         _logger.finest("MCF Destroyed");
+        SharedStatementCacheIndex.release(getPoolInfo());
 
         if (jdbcStatsProvider != null) {
-            if (jdbcStatsProvider.getSqlTraceCache() != null) {
+            if (jdbcStatsProvider.getSqlTraceProfiler() != null) {
                 _logger.finest("Canceling timer task for sql trace caching");
-                jdbcStatsProvider.getSqlTraceCache().cancelTimerTask();
+                jdbcStatsProvider.getSqlTraceProfiler().cancelTimerTask();
             }
 
             StatsProviderManager.unregister(jdbcStatsProvider);
@@ -51,6 +51,9 @@ public class CacheFactory {
         } else if (cacheType.equals("FIXED")) {
             debug("Initializing FIXED Cache Implementation");
             stmtCacheStructure = new FIXEDCacheImpl(poolInfo, maxSize);
+        } else if (cacheType.equals("SHARED")) {
+            debug("Initializing SHARED Cache Implementation");
+            stmtCacheStructure = new SharedLRUCacheImpl(poolInfo, maxSize);
         } else { // consider the value of cacheType as a className
             stmtCacheStructure = initCustomCacheStructurePrivileged(cacheType, maxSize);
         }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache of a single connection which shares its metadata with the other connections
+ * of the pool through the {@link SharedStatementCacheIndex}.
+ * <p>
+ * Statements are kept in access order. When the cache is full, the new statement is admitted only
+ * if it was prepared in the pool at least as often as the least recently used cached statement,
+ * so rarely used sql does not push out the statements the whole pool keeps preparing.
+ */
+public class SharedLRUCacheImpl implements Cache {
+
+    private static final Logger LOG = LogDomains.getLogger(SharedLRUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    private final Map<CacheObjectKey, Object> statements;
+    private final int maxSize;
+    private final PoolInfo poolInfo;
+    private final SharedStatementCacheIndex index;
+    private final StatementCacheProbeProvider probeProvider;
+
+    public SharedLRUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this.maxSize = maxSize;
+        this.poolInfo = poolInfo;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+        this.index = SharedStatementCacheIndex.getIndex(poolInfo, maxSize);
+        this.probeProvider = new StatementCacheProbeProvider();
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        Object statement = statements.get(key);
+        if (statement == null) {
+            LOG.finest("Cache Miss");
+            index.recordAccess(key);
+            probeProvider.statementCacheMissEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+            return null;
+        }
+        LOG.finest("Cache Hit");
+        index.recordAccess(key);
+        probeProvider.statementCacheHitEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+            poolInfo.getModuleName());
+        return statement;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        if (!force && statements.containsKey(key)) {
+            return;
+        }
+        if (!statements.containsKey(key) && statements.size() >= maxSize) {
+            Map.Entry<CacheObjectKey, Object> eldest = statements.entrySet().iterator().next();
+            if (index.getFrequency(key) < index.getFrequency(eldest.getKey())) {
+                LOG.log(Level.FINEST, "Statement not admitted to the cache: {0}", key.getSql());
+                uncache(entry);
+                return;
+            }
+            purge();
+            index.statementRemoved();
+            probeProvider.statementCacheEvictionEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(),
+                poolInfo.getModuleName());
+        }
+        Object replaced = statements.put(key, entry);
+        if (replaced == null) {
+            index.statementCached();
+        } else if (replaced != entry) {
+            close(replaced);
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        LOG.fine("clearing objects in cache");
+        for (int i = statements.size(); i > 0; i--) {
+            index.statementRemoved();
+        }
+        statements.clear();
+    }
+
+    @Override
+    public void flushCache() {
+        while (!statements.isEmpty()) {
+            purge();
+            index.statementRemoved();
+        }
+    }
+
+    /**
+     * Removes the least recently used statement. Callers are responsible for the index update.
+     */
+    @Override
+    public void purge() {
+        Iterator<Object> iterator = statements.values().iterator();
+        if (iterator.hasNext()) {
+            Object statement = iterator.next();
+            iterator.remove();
+            close(statement);
+        }
+    }
+
+    @Override
+    public void purge(Object entry) {
+        Iterator<Object> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(entry)) {
+                LOG.log(Level.FINEST, "Purging an entry from cache");
+                iterator.remove();
+                index.statementRemoved();
+                close(entry);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return statements.size();
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return false;
+    }
+
+    private static void uncache(Object statement) {
+        if (statement instanceof PreparedStatementWrapper) {
+            ((PreparedStatementWrapper) statement).setCached(false);
+        }
+    }
+
+    private static void close(Object statement) {
+        if (!(statement instanceof PreparedStatementWrapper)) {
+            return;
+        }
+        PreparedStatementWrapper preparedStatement = (PreparedStatementWrapper) statement;
+        try {
+            preparedStatement.setCached(false);
+            preparedStatement.close();
+        } catch (SQLException e) {
+            LOG.log(Level.FINEST, "Closing of the cached statement failed", e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache metadata shared by all connections of one pool.
+ * <p>
+ * Driver statements are bound to their physical connection, so every connection still keeps its own
+ * {@link SharedLRUCacheImpl}. This index keeps what can be shared: the access frequency of every sql
+ * recently seen in the pool, which connections use to decide whether a statement is worth caching,
+ * and the number of statements cached by all connections, reported as the statement cache size.
+ * Hits, misses and evictions are counted by the {@link com.sun.gjc.monitoring.JdbcStatsProvider}
+ * from the probe events of the caches.
+ * <p>
+ * The index is split to segments, each one is a small access ordered LRU map with its own lock,
+ * so connections preparing different statements do not contend. Frequencies are halved periodically
+ * so that statements which were popular in the past do not stay in the caches forever.
+ */
+public final class SharedStatementCacheIndex {
+
+    private static final Map<PoolInfo, SharedStatementCacheIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final int SEGMENT_COUNT = 16;
+
+    /** Number of known sql strings per cached statement slot of a single connection. */
+    private static final int CAPACITY_FACTOR = 4;
+
+    /** Accesses of a segment after which its frequencies are halved, relative to its capacity. */
+    private static final int AGING_FACTOR = 10;
+
+    private final PoolInfo poolInfo;
+    private final int statementCacheSize;
+    private final Segment[] segments;
+    private final LongAdder cachedStatements;
+
+    private SharedStatementCacheIndex(PoolInfo poolInfo, int statementCacheSize, LongAdder cachedStatements) {
+        this.poolInfo = poolInfo;
+        this.statementCacheSize = statementCacheSize;
+        this.cachedStatements = cachedStatements;
+        int segmentCapacity = Math.max(1, statementCacheSize * CAPACITY_FACTOR / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns the index of the pool, creates it if it does not exist yet.
+     * <p>
+     * If the statement cache size of the pool was reconfigured, the index is replaced by one sized
+     * for the new statement cache size. The replacement keeps counting the statements cached by the
+     * connections created before, they keep using the previous index for the frequencies.
+     *
+     * @param poolInfo pool owning the statement caches
+     * @param statementCacheSize maximal number of cached statements per connection
+     * @return index shared by all connections of the pool
+     */
+    public static SharedStatementCacheIndex getIndex(PoolInfo poolInfo, int statementCacheSize) {
+        SharedStatementCacheIndex index = INDEXES.get(poolInfo);
+        if (index != null && index.statementCacheSize == statementCacheSize) {
+            return index;
+        }
+        return INDEXES.compute(poolInfo, (p, previous) -> {
+            if (previous == null) {
+                return new SharedStatementCacheIndex(p, statementCacheSize, new LongAdder());
+            }
+            if (previous.statementCacheSize == statementCacheSize) {
+                return previous;
+            }
+            return new SharedStatementCacheIndex(p, statementCacheSize, previous.cachedStatements);
+        });
+    }
+
+    /**
+     * @param poolInfo pool owning the statement caches
+     * @return existing index of the pool or null
+     */
+    public static SharedStatementCacheIndex getIndex(PoolInfo poolInfo) {
+        return INDEXES.get(poolInfo);
+    }
+
+    /**
+     * Forgets the index of the pool. Connections which still use it are not affected.
+     *
+     * @param poolInfo pool owning the statement caches
+     */
+    public static void release(PoolInfo poolInfo) {
+        INDEXES.remove(poolInfo);
+    }
+
+    public PoolInfo getPoolInfo() {
+        return poolInfo;
+    }
+
+    /**
+     * @return maximal number of cached statements per connection the index is sized for.
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Records that some connection looked up the statement in its cache.
+     *
+     * @param key statement key
+     */
+    public void recordAccess(CacheObjectKey key) {
+        segmentFor(key).touch(key);
+    }
+
+    /**
+     * Estimates how often the statement was prepared in the pool recently.
+     *
+     * @param key statement key
+     * @return access frequency, 0 for unknown statements
+     */
+    public int getFrequency(CacheObjectKey key) {
+        return segmentFor(key).getFrequency(key);
+    }
+
+    /**
+     * Records that some connection cached a statement.
+     */
+    public void statementCached() {
+        cachedStatements.increment();
+    }
+
+    /**
+     * Records that some connection removed a statement from its cache.
+     */
+    public void statementRemoved() {
+        cachedStatements.decrement();
+    }
+
+    /**
+     * @return number of statements cached by all connections of the pool.
+     */
+    public long getCachedStatementCount() {
+        return cachedStatements.sum();
+    }
+
+    /**
+     * @return number of distinct statements known to the index.
+     */
+    public int getIndexSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(CacheObjectKey key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return "SharedStatementCacheIndex[pool=" + poolInfo + ", cached=" + cachedStatements.sum() + "]";
+    }
+
+    private static final class Segment {
+
+        private final int capacity;
+        private final int agingThreshold;
+        private final LinkedHashMap<CacheObjectKey, StatementMetadata> entries;
+        private int accesses;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.agingThreshold = capacity * AGING_FACTOR;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheObjectKey, StatementMetadata> eldest) {
+                    return size() > Segment.this.capacity;
+                }
+            };
+        }
+
+        synchronized void touch(CacheObjectKey key) {
+            StatementMetadata metadata = entries.get(key);
+            if (metadata == null) {
+                entries.put(key, new StatementMetadata());
+            } else if (metadata.frequency < Integer.MAX_VALUE) {
+                metadata.frequency++;
+            }
+            if (++accesses >= agingThreshold) {
+                age();
+            }
+        }
+
+        synchronized int getFrequency(CacheObjectKey key) {
+            StatementMetadata metadata = entries.get(key);
+            return metadata == null ? 0 : metadata.frequency;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        private void age() {
+            accesses = 0;
+            Iterator<StatementMetadata> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                StatementMetadata metadata = iterator.next();
+                metadata.frequency >>>= 1;
+                if (metadata.frequency == 0) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static final class StatementMetadata {
+
+        private int frequency = 1;
+    }
+}
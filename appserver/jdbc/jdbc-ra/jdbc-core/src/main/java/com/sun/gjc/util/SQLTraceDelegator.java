@@ -94,26 +94,50 @@ public class SQLTraceDelegator implements SQLTraceListener {
 
         if (record != null) {
             record.setPoolName(poolName.toString());
-            String methodName = record.getMethodName();
-            // Check if the method name is one in which sql query is used
-            if (isMethodValidForCaching(methodName)) {
-                Object[] params = record.getParams();
-                if (params != null && params.length > 0) {
-                    String sqlQuery = null;
-                    for (Object param : params) {
-                        if (param instanceof String) {
-                            sqlQuery = param.toString();
-                        }
-                        break;
-                    }
-                    if (sqlQuery != null) {
-                        probeProvider.traceSQLEvent(poolName.toString(), appName, moduleName, sqlQuery);
-                    }
-                }
+            String sqlQuery = getSqlQuery(record);
+            if (sqlQuery != null) {
+                probeProvider.traceSQLEvent(poolName.toString(), appName, moduleName, sqlQuery);
             }
         }
     }
 
+    /**
+     * Called after the traced method returned or failed. Only executions of sql are reported.
+     *
+     * @param record record passed to {@link #sqlTrace(SQLTraceRecord)} before the invocation
+     * @param preparedSql sql of the traced prepared statement, used for executions without sql parameter; or null
+     * @param executionTimeInNanos time spent in the traced method
+     */
+    public void sqlExecuted(SQLTraceRecord record, String preparedSql, long executionTimeInNanos) {
+        // Preparing a statement or adding a batch does not execute it.
+        if (!JdbcRAConstants.sqlExecutionMethodNames.contains(record.getMethodName())) {
+            return;
+        }
+        String sqlQuery = preparedSql;
+        Object[] params = record.getParams();
+        if (params != null && params.length > 0 && params[0] instanceof String) {
+            sqlQuery = (String) params[0];
+        }
+        if (sqlQuery != null) {
+            probeProvider.sqlExecutedEvent(poolName.toString(), appName, moduleName, sqlQuery, executionTimeInNanos);
+        }
+    }
+
+    /**
+     * @return sql string passed to the traced method or null if the method does not use a sql string.
+     */
+    private String getSqlQuery(SQLTraceRecord record) {
+        // Check if the method name is one in which sql query is used
+        if (!isMethodValidForCaching(record.getMethodName())) {
+            return null;
+        }
+        Object[] params = record.getParams();
+        if (params != null && params.length > 0 && params[0] instanceof String) {
+            return (String) params[0];
+        }
+        return null;
+    }
+
     /**
      * Check if the method name from the sql trace record can be used to retrieve a
      * sql string for caching purpose. Most of the method names do not contain a sql
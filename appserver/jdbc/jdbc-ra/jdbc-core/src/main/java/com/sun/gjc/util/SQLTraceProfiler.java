@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Timer;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.api.naming.SimpleJndiName;
+
+/**
+ * Streaming profiler of the sql statements executed through a connection pool.
+ * <p>
+ * Statements are aggregated by their normalized form, see {@link #normalize(String)}. Only a bounded
+ * number of statements is monitored; when a new statement arrives and the profiler is full, the least
+ * frequently executed statement is replaced and the newcomer inherits its count (the Space-Saving
+ * algorithm), so the most frequently executed statements are always kept with a bounded error.
+ * <p>
+ * Updates of already monitored statements are lock-free, only the admission of a statement is
+ * serialized.
+ */
+public class SQLTraceProfiler {
+
+    private static final Logger LOG = LogDomains.getLogger(SQLTraceProfiler.class, LogDomains.RSR_LOGGER);
+
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    /** Number of monitored statements per reported top query, keeps the Space-Saving error low. */
+    private static final int CAPACITY_FACTOR = 32;
+
+    private final SimpleJndiName poolName;
+    private final String appName;
+    private final String moduleName;
+    private final int numTopQueriesToReport;
+    private final int capacity;
+    private final long timeToKeepQueries;
+    private final Map<String, SQLStatistics> statistics = new ConcurrentHashMap<>();
+    /** Monitored statements ordered by their ranked count, guarded by this. */
+    private final NavigableSet<SQLStatistics> ranking = new TreeSet<>(
+        Comparator.comparingLong((SQLStatistics statement) -> statement.rankedCount).thenComparing(SQLStatistics::getSql));
+    private final LatencyHistogram poolHistogram = new LatencyHistogram();
+    private SQLTraceTimerTask sqlTraceTimerTask;
+
+    /**
+     * @param poolName pool name
+     * @param appName application name or null
+     * @param moduleName module name or null
+     * @param numTopQueriesToReport number of queries reported in top lists
+     * @param timeToKeepQueries time in minutes after which unused queries are forgotten
+     */
+    public SQLTraceProfiler(SimpleJndiName poolName, String appName, String moduleName, int numTopQueriesToReport,
+        long timeToKeepQueries) {
+        this.poolName = poolName;
+        this.appName = appName;
+        this.moduleName = moduleName;
+        this.numTopQueriesToReport = numTopQueriesToReport;
+        // Without top lists one statement is still monitored, so a new statement always has a victim
+        this.capacity = Math.max(1, numTopQueriesToReport * CAPACITY_FACTOR);
+        this.timeToKeepQueries = TimeUnit.MINUTES.toMillis(timeToKeepQueries);
+    }
+
+    public SimpleJndiName getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Records an execution of the sql statement.
+     *
+     * @param sql sql statement as passed to the driver
+     * @param executionTimeInNanos execution time, negative if unknown
+     */
+    public void record(String sql, long executionTimeInNanos) {
+        if (sql == null) {
+            return;
+        }
+        String normalizedSql = normalize(sql);
+        SQLStatistics statement = statistics.get(normalizedSql);
+        if (statement == null) {
+            statement = admit(normalizedSql);
+        }
+        statement.record(executionTimeInNanos);
+        if (executionTimeInNanos >= 0) {
+            poolHistogram.record(executionTimeInNanos);
+        }
+    }
+
+    private synchronized SQLStatistics admit(String normalizedSql) {
+        SQLStatistics statement = statistics.get(normalizedSql);
+        if (statement != null) {
+            return statement;
+        }
+        long inheritedCount = 0;
+        if (statistics.size() >= capacity) {
+            SQLStatistics victim = pollLeastFrequent();
+            statistics.remove(victim.sql);
+            inheritedCount = victim.getCount();
+            if (LOG.isLoggable(Level.FINEST)) {
+                LOG.finest("Replacing sql=" + victim.sql + " by sql=" + normalizedSql);
+            }
+        }
+        statement = new SQLStatistics(normalizedSql, inheritedCount);
+        statistics.put(normalizedSql, statement);
+        ranking.add(statement);
+        return statement;
+    }
+
+    /**
+     * Counts grow without the lock, so the ranking is ordered by the count seen when a statement was
+     * ranked. A statement whose count did not change since then has the lowest count of all, others
+     * are ranked again. Each re-ranking follows at least one execution, so the cost is amortized.
+     */
+    private SQLStatistics pollLeastFrequent() {
+        while (true) {
+            SQLStatistics statement = ranking.pollFirst();
+            long count = statement.getCount();
+            if (count == statement.rankedCount) {
+                return statement;
+            }
+            statement.rankedCount = count;
+            ranking.add(statement);
+        }
+    }
+
+    /**
+     * Removes statements which were not executed within the time to keep queries.
+     */
+    public synchronized void purgeEntries() {
+        long oldestUsage = System.currentTimeMillis() - timeToKeepQueries;
+        statistics.values().removeIf(statement -> {
+            if (statement.lastUsageTime >= oldestUsage) {
+                return false;
+            }
+            if (LOG.isLoggable(Level.FINEST)) {
+                LOG.finest("removing sql=" + statement.sql);
+            }
+            ranking.remove(statement);
+            return true;
+        });
+    }
+
+    /**
+     * @return the most frequently executed statements, sorted by the number of executions.
+     */
+    public List<SQLStatistics> getTopByFrequency() {
+        return top(Comparator.comparingLong(SQLStatistics::getCount)
+            .thenComparingLong(SQLStatistics::getLastUsageTime).reversed());
+    }
+
+    /**
+     * @return statements with the highest total execution time, sorted by the total execution time.
+     */
+    public List<SQLStatistics> getTopByTime() {
+        return top(Comparator.comparingLong(SQLStatistics::getTotalTimeInNanos).reversed());
+    }
+
+    /**
+     * Returns the String representation of the most frequently used queries ordered by the number of
+     * executions, followed by the usage timestamp.
+     *
+     * @return queries separated by line breaks
+     */
+    public String getTopQueries() {
+        StringBuilder queries = new StringBuilder();
+        for (SQLStatistics statement : getTopByFrequency()) {
+            queries.append(LINE_BREAK).append(statement.sql);
+        }
+        return queries.toString();
+    }
+
+    /**
+     * Returns the String representation of the queries with the highest total execution time,
+     * including their execution statistics.
+     *
+     * @return queries separated by line breaks
+     */
+    public String getTopQueriesByTime() {
+        StringBuilder queries = new StringBuilder();
+        for (SQLStatistics statement : getTopByTime()) {
+            queries.append(LINE_BREAK).append(statement);
+        }
+        return queries.toString();
+    }
+
+    /**
+     * @return latency histogram of all statements executed through the pool.
+     */
+    public LatencyHistogram getPoolHistogram() {
+        return poolHistogram;
+    }
+
+    private List<SQLStatistics> top(Comparator<SQLStatistics> order) {
+        List<SQLStatistics> statements = new ArrayList<>(statistics.values());
+        statements.sort(order);
+        return statements.size() > numTopQueriesToReport ? statements.subList(0, numTopQueriesToReport) : statements;
+    }
+
+    /**
+     * Schedule timer to perform purgeEntries after the specified timeToKeepQueries delay and period.
+     */
+    public synchronized void scheduleTimerTask(Timer timer) {
+        if (sqlTraceTimerTask != null) {
+            sqlTraceTimerTask.cancel();
+        }
+        sqlTraceTimerTask = new SQLTraceTimerTask(this);
+        if (timer != null) {
+            timer.scheduleAtFixedRate(sqlTraceTimerTask, timeToKeepQueries, timeToKeepQueries);
+        }
+        LOG.finest("Scheduled Sql Trace Caching timer task");
+    }
+
+    /**
+     * Cancel the timer task used to perform a purgeEntries.
+     */
+    public synchronized void cancelTimerTask() {
+        LOG.finest("Cancelling Sql Trace Caching timer task");
+        if (sqlTraceTimerTask != null) {
+            sqlTraceTimerTask.cancel();
+        }
+        sqlTraceTimerTask = null;
+    }
+
+    /**
+     * Replaces string and numeric literals by <code>?</code> and collapses whitespace, so statements
+     * differing only in literal values are aggregated together. Identifiers containing digits, quoted
+     * identifiers and existing parameter markers are kept as they are.
+     *
+     * @param sql sql statement
+     * @return normalized sql statement
+     */
+    public static String normalize(String sql) {
+        final int length = sql.length();
+        final StringBuilder normalized = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                normalized.append('?');
+            } else if (c == '"') {
+                int end = sql.indexOf('"', i + 1);
+                end = end < 0 ? length : end + 1;
+                normalized.append(sql, i, end);
+                i = end;
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (normalized.length() > 0 && i < length) {
+                    normalized.append(' ');
+                }
+            } else if (isNumberStart(sql, i) && !isIdentifierPart(normalized)) {
+                i++;
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                normalized.append('?');
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int skipStringLiteral(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    // Escaped quote
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNumberStart(String sql, int index) {
+        char c = sql.charAt(index);
+        if (Character.isDigit(c)) {
+            return true;
+        }
+        return c == '.' && index + 1 < sql.length() && Character.isDigit(sql.charAt(index + 1));
+    }
+
+    private static boolean isIdentifierPart(StringBuilder normalized) {
+        if (normalized.length() == 0) {
+            return false;
+        }
+        char previous = normalized.charAt(normalized.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '@';
+    }
+
+    /**
+     * Aggregated execution statistics of a normalized sql statement.
+     */
+    public static final class SQLStatistics {
+
+        private final String sql;
+        private final long error;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private volatile long lastUsageTime;
+        /** Count used to order the ranking of the profiler, guarded by the profiler. */
+        private long rankedCount;
+
+        SQLStatistics(String sql, long error) {
+            this.sql = sql;
+            this.error = error;
+            this.count.add(error);
+            this.rankedCount = error;
+        }
+
+        void record(long executionTimeInNanos) {
+            count.increment();
+            lastUsageTime = System.currentTimeMillis();
+            if (executionTimeInNanos >= 0) {
+                totalTime.add(executionTimeInNanos);
+                maxTime.accumulate(executionTimeInNanos);
+                histogram.record(executionTimeInNanos);
+            }
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return number of executions, may be overestimated by at most {@link #getError()}.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return executions inherited from the statement this one replaced.
+         */
+        public long getError() {
+            return error;
+        }
+
+        public long getTotalTimeInNanos() {
+            return totalTime.sum();
+        }
+
+        public long getMaxTimeInNanos() {
+            return maxTime.get();
+        }
+
+        public long getLastUsageTime() {
+            return lastUsageTime;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        @Override
+        public String toString() {
+            return sql + " [count=" + getCount() + ", totalMs=" + TimeUnit.NANOSECONDS.toMillis(getTotalTimeInNanos())
+                + ", maxMs=" + TimeUnit.NANOSECONDS.toMillis(getMaxTimeInNanos()) + ", p99Ms="
+                + TimeUnit.NANOSECONDS.toMillis(histogram.getPercentile(99)) + "]";
+        }
+    }
+
+    /**
+     * Lock-free histogram of execution times with power of two microsecond buckets.
+     * Histograms can be merged, the relative error of the percentiles is at most 100 %.
+     */
+    public static final class LatencyHistogram {
+
+        private static final int BUCKETS = 48;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        /**
+         * @param timeInNanos recorded execution time
+         */
+        public void record(long timeInNanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(timeInNanos);
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            counts.incrementAndGet(bucket);
+        }
+
+        /**
+         * Adds counts of the other histogram to this one.
+         *
+         * @param other histogram to merge
+         */
+        public void merge(LatencyHistogram other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.addAndGet(i, other.counts.get(i));
+            }
+        }
+
+        /**
+         * @return number of recorded values
+         */
+        public long getCount() {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * @param percentile percentile, 1 to 100
+         * @return upper bound of the bucket containing the percentile in nanoseconds, 0 if empty.
+         */
+        public long getPercentile(int percentile) {
+            long total = getCount();
+            if (total == 0) {
+                return 0L;
+            }
+            long threshold = (total * percentile + 99) / 100;
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= threshold) {
+                    return TimeUnit.MICROSECONDS.toNanos(i == 0 ? 0L : 1L << i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
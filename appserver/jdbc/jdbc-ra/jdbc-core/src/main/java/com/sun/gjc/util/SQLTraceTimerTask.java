@@ -19,26 +19,25 @@ package com.sun.gjc.util;
 import java.util.TimerTask;
 
 /**
- * Sql Tracing Timer task used to preform a purgeEntries of the cache of objects
+ * Sql Tracing Timer task used to preform a purgeEntries of the statistics
  * maintained by the sql tracing mechanism.
  *
  * @author Shalini M
  */
 public class SQLTraceTimerTask extends TimerTask {
 
-    private SQLTraceCache cache;
+    private final SQLTraceProfiler profiler;
 
-    SQLTraceTimerTask(SQLTraceCache cache) {
-        this.cache = cache;
+    SQLTraceTimerTask(SQLTraceProfiler profiler) {
+        this.profiler = profiler;
     }
 
     /**
-     * Sql Tracing timer task to clean up the sql trace cache
+     * Sql Tracing timer task to forget the queries not used recently
      */
     @Override
     public void run() {
-        // Redirecting the purge operation of the cache to the cache factory
-        cache.purgeEntries();
+        profiler.purgeEntries();
     }
 
 }
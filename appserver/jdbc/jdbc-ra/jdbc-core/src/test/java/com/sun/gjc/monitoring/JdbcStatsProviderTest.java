@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.gjc.monitoring;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.external.statistics.BoundedRangeStatistic;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class JdbcStatsProviderTest {
+
+    private static final String POOL = "jdbc/statsPool";
+
+    @Test
+    public void statementCacheHitRatioIsBoundedPercentage() {
+        JdbcStatsProvider provider = new JdbcStatsProvider(SimpleJndiName.of(POOL), null, null, 0, 1);
+        provider.statementCacheMissEvent(POOL, null, null);
+        assertThat(provider.getStatementCacheHitRatio().getCurrent(), equalTo(0L));
+
+        for (int i = 0; i < 3; i++) {
+            provider.statementCacheHitEvent(POOL, null, null);
+        }
+        BoundedRangeStatistic ratio = provider.getStatementCacheHitRatio();
+        assertAll(
+            () -> assertThat(ratio.getCurrent(), equalTo(75L)),
+            () -> assertThat(ratio.getHighWaterMark(), equalTo(75L)),
+            () -> assertThat(ratio.getLowWaterMark(), equalTo(0L)),
+            () -> assertThat(ratio.getLowerBound(), equalTo(0L)),
+            () -> assertThat(ratio.getUpperBound(), equalTo(100L)),
+            () -> assertThat(ratio.getUnit(), equalTo("Percent"))
+        );
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+
+import java.sql.ResultSet;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.mock;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class SharedLRUCacheImplTest {
+
+    private final PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of("jdbc/sharedCachePool"));
+
+    @AfterEach
+    public void releaseIndex() {
+        SharedStatementCacheIndex.release(poolInfo);
+    }
+
+
+    @Test
+    public void indexIsReplacedWhenCacheSizeChanges() throws Exception {
+        SharedLRUCacheImpl before = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedStatementCacheIndex previous = SharedStatementCacheIndex.getIndex(poolInfo);
+        before.addToCache(key("SELECT * FROM T"), "before", false);
+
+        SharedLRUCacheImpl after = new SharedLRUCacheImpl(poolInfo, 20);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        after.addToCache(key("SELECT * FROM U"), "after", false);
+
+        assertAll(
+            () -> assertThat(index, not(sameInstance(previous))),
+            () -> assertThat(index.getStatementCacheSize(), equalTo(20)),
+            () -> assertThat(SharedStatementCacheIndex.getIndex(poolInfo, 20), sameInstance(index)),
+            () -> assertThat(index.getCachedStatementCount(), equalTo(2L))
+        );
+    }
+
+
+    @Test
+    public void connectionsOfPoolShareIndex() throws Exception {
+        SharedLRUCacheImpl first = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedLRUCacheImpl second = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        PoolInfo otherPool = new PoolInfo(SimpleJndiName.of("jdbc/otherPool"));
+        try {
+            assertAll(
+                () -> assertThat(SharedStatementCacheIndex.getIndex(poolInfo, 10), sameInstance(index)),
+                () -> assertThat(SharedStatementCacheIndex.getIndex(otherPool, 10), not(sameInstance(index)))
+            );
+
+            CacheObjectKey key = key("SELECT * FROM T");
+            assertThat(first.checkAndUpdateCache(key), nullValue());
+            first.addToCache(key, "first", false);
+            assertThat(second.checkAndUpdateCache(key), nullValue());
+            second.addToCache(key, "second", false);
+            second.addToCache(key("SELECT * FROM U"), "second", false);
+
+            assertAll(
+                () -> assertThat(first.checkAndUpdateCache(key), equalTo("first")),
+                () -> assertThat(second.checkAndUpdateCache(key), equalTo("second")),
+                () -> assertThat(index.getFrequency(key), equalTo(4)),
+                () -> assertThat(index.getCachedStatementCount(), equalTo(3L)),
+                () -> assertThat(SharedStatementCacheIndex.getIndex(otherPool).getCachedStatementCount(), equalTo(0L))
+            );
+        } finally {
+            SharedStatementCacheIndex.release(otherPool);
+        }
+    }
+
+
+    @Test
+    public void leastRecentlyUsedStatementIsEvictedAndClosed() throws Exception {
+        SharedLRUCacheImpl cache = new SharedLRUCacheImpl(poolInfo, 2);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        PreparedStatementWrapper evicted = mock(PreparedStatementWrapper.class);
+        evicted.setCached(false);
+        evicted.close();
+        PreparedStatementWrapper kept = mock(PreparedStatementWrapper.class);
+        PreparedStatementWrapper added = mock(PreparedStatementWrapper.class);
+        replay(evicted, kept, added);
+
+        prepare(cache, key("SELECT 1"), kept);
+        prepare(cache, key("SELECT 2"), evicted);
+        assertThat(cache.checkAndUpdateCache(key("SELECT 1")), sameInstance(kept));
+        prepare(cache, key("SELECT 3"), added);
+
+        verify(evicted, kept, added);
+        assertAll(
+            () -> assertThat(cache.getSize(), equalTo(2)),
+            () -> assertThat(cache.checkAndUpdateCache(key("SELECT 2")), nullValue()),
+            () -> assertThat(cache.checkAndUpdateCache(key("SELECT 3")), sameInstance(added)),
+            () -> assertThat(index.getCachedStatementCount(), equalTo(2L))
+        );
+    }
+
+
+    @Test
+    public void rarelyPreparedStatementIsNotAdmitted() throws Exception {
+        SharedLRUCacheImpl cache = new SharedLRUCacheImpl(poolInfo, 1);
+        SharedLRUCacheImpl other = new SharedLRUCacheImpl(poolInfo, 1);
+        PreparedStatementWrapper frequent = mock(PreparedStatementWrapper.class);
+        frequent.setCached(false);
+        frequent.close();
+        PreparedStatementWrapper rare = mock(PreparedStatementWrapper.class);
+        rare.setCached(false);
+        PreparedStatementWrapper popular = mock(PreparedStatementWrapper.class);
+        replay(frequent, rare, popular);
+
+        prepare(cache, key("SELECT 1"), frequent);
+        cache.checkAndUpdateCache(key("SELECT 1"));
+        // Prepared once, less often than the cached statement, so it is not cached but not closed either
+        prepare(cache, key("SELECT 2"), rare);
+        assertThat(cache.checkAndUpdateCache(key("SELECT 1")), sameInstance(frequent));
+
+        // Prepared often by the other connections of the pool
+        for (int i = 0; i < 3; i++) {
+            other.checkAndUpdateCache(key("SELECT 3"));
+        }
+        prepare(cache, key("SELECT 3"), popular);
+
+        verify(frequent, rare, popular);
+        assertAll(
+            () -> assertThat(cache.getSize(), equalTo(1)),
+            () -> assertThat(cache.checkAndUpdateCache(key("SELECT 3")), sameInstance(popular))
+        );
+    }
+
+
+    @Test
+    public void flushClosesAllStatements() throws Exception {
+        SharedLRUCacheImpl cache = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        PreparedStatementWrapper[] statements = new PreparedStatementWrapper[3];
+        for (int i = 0; i < statements.length; i++) {
+            statements[i] = mock(PreparedStatementWrapper.class);
+            statements[i].setCached(false);
+            statements[i].close();
+            replay(statements[i]);
+            prepare(cache, key("SELECT " + i), statements[i]);
+        }
+        assertThat(index.getCachedStatementCount(), equalTo(3L));
+
+        cache.flushCache();
+
+        verify((Object[]) statements);
+        assertAll(
+            () -> assertThat(cache.getSize(), equalTo(0)),
+            () -> assertThat(index.getCachedStatementCount(), equalTo(0L))
+        );
+    }
+
+
+    @Test
+    public void purgedStatementIsClosed() throws Exception {
+        SharedLRUCacheImpl cache = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        PreparedStatementWrapper purged = mock(PreparedStatementWrapper.class);
+        purged.setCached(false);
+        purged.close();
+        PreparedStatementWrapper kept = mock(PreparedStatementWrapper.class);
+        replay(purged, kept);
+        prepare(cache, key("SELECT 1"), kept);
+        prepare(cache, key("SELECT 2"), purged);
+
+        cache.purge(purged);
+
+        verify(purged, kept);
+        assertAll(
+            () -> assertThat(cache.checkAndUpdateCache(key("SELECT 2")), nullValue()),
+            () -> assertThat(cache.checkAndUpdateCache(key("SELECT 1")), sameInstance(kept)),
+            () -> assertThat(index.getCachedStatementCount(), equalTo(1L))
+        );
+    }
+
+
+    @Test
+    public void clearedAndReleasedCachesAreNotCounted() throws Exception {
+        SharedLRUCacheImpl cache = new SharedLRUCacheImpl(poolInfo, 10);
+        SharedStatementCacheIndex index = SharedStatementCacheIndex.getIndex(poolInfo);
+        PreparedStatementWrapper statement = mock(PreparedStatementWrapper.class);
+        replay(statement);
+        prepare(cache, key("SELECT 1"), statement);
+        prepare(cache, key("SELECT 2"), statement);
+
+        // The statements are closed with their connection, the cache only forgets them
+        cache.clearCache();
+        verify(statement);
+        assertThat(index.getCachedStatementCount(), equalTo(0L));
+
+        SharedStatementCacheIndex.release(poolInfo);
+        assertThat(SharedStatementCacheIndex.getIndex(poolInfo), nullValue());
+        assertThat(SharedStatementCacheIndex.getIndex(poolInfo, 10), not(sameInstance(index)));
+    }
+
+
+    /**
+     * Looks up the statement as the connection does before preparing it and caches it on a miss.
+     */
+    private static void prepare(SharedLRUCacheImpl cache, CacheObjectKey key, Object statement) {
+        if (cache.checkAndUpdateCache(key) == null) {
+            cache.addToCache(key, statement, false);
+        }
+    }
+
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+    }
+}
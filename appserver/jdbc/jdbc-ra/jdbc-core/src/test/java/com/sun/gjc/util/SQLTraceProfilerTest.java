@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.gjc.util;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static com.sun.gjc.util.SQLTraceProfiler.normalize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class SQLTraceProfilerTest {
+
+    @Test
+    public void literalsAreReplaced() {
+        assertAll(
+            () -> assertThat(normalize("SELECT * FROM T WHERE ID = 42"), equalTo("SELECT * FROM T WHERE ID = ?")),
+            () -> assertThat(normalize("SELECT * FROM T WHERE PRICE < 1.5 OR PRICE > .5"),
+                equalTo("SELECT * FROM T WHERE PRICE < ? OR PRICE > ?")),
+            () -> assertThat(normalize("SELECT * FROM T WHERE NAME = 'O''Brien' AND X='1'"),
+                equalTo("SELECT * FROM T WHERE NAME = ? AND X=?")),
+            () -> assertThat(normalize("INSERT INTO T VALUES(1,'a',2)"), equalTo("INSERT INTO T VALUES(?,?,?)")),
+            () -> assertThat(normalize("SELECT 'unterminated"), equalTo("SELECT ?"))
+        );
+    }
+
+
+    @Test
+    public void identifiersAndMarkersAreKept() {
+        assertAll(
+            () -> assertThat(normalize("SELECT COL1, T2.COL_3 FROM TABLE2 T2"), equalTo("SELECT COL1, T2.COL_3 FROM TABLE2 T2")),
+            () -> assertThat(normalize("SELECT \"Col 1\" FROM \"Table 42\""), equalTo("SELECT \"Col 1\" FROM \"Table 42\"")),
+            () -> assertThat(normalize("UPDATE T SET A = ? WHERE B = ?"), equalTo("UPDATE T SET A = ? WHERE B = ?")),
+            () -> assertThat(normalize("SELECT $1, @v2 FROM T"), equalTo("SELECT $1, @v2 FROM T"))
+        );
+    }
+
+
+    @Test
+    public void whitespaceIsCollapsed() {
+        assertAll(
+            () -> assertThat(normalize("  SELECT\n\t*   FROM T  "), equalTo("SELECT * FROM T")),
+            () -> assertThat(normalize("SELECT ' a  b ' FROM T"), equalTo("SELECT ? FROM T")),
+            () -> assertThat(normalize(""), equalTo(""))
+        );
+    }
+
+
+    @Test
+    public void leastFrequentStatementIsReplaced() {
+        // Reports one query, monitors 32 statements
+        SQLTraceProfiler profiler = new SQLTraceProfiler(new SimpleJndiName("pool"), null, null, 1, 1);
+        for (int i = 0; i < 32; i++) {
+            profiler.record("SELECT * FROM T WHERE ID = " + i + " AND COL" + i + " = 1", 10);
+        }
+        // Executions after the admission, all but COL5 are executed three times now
+        for (int i = 0; i < 32; i++) {
+            if (i != 5) {
+                profiler.record("SELECT * FROM T WHERE ID = 0 AND COL" + i + " = 2", 10);
+                profiler.record("SELECT * FROM T WHERE ID = 0 AND COL" + i + " = 3", 10);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            profiler.record("SELECT * FROM NEW", 10);
+        }
+
+        SQLTraceProfiler.SQLStatistics top = profiler.getTopByFrequency().get(0);
+        assertAll(
+            () -> assertThat(profiler.getTopByFrequency(), hasSize(1)),
+            () -> assertThat(top.getSql(), equalTo("SELECT * FROM NEW")),
+            () -> assertThat(top.getError(), equalTo(1L)),
+            () -> assertThat(top.getCount(), equalTo(101L)),
+            () -> assertThat(top.getTotalTimeInNanos(), equalTo(1000L))
+        );
+    }
+
+
+    @Test
+    public void nothingIsReportedWithoutTopQueries() {
+        SQLTraceProfiler profiler = new SQLTraceProfiler(new SimpleJndiName("pool"), null, null, 0, 1);
+        profiler.record("SELECT * FROM A", 10);
+        profiler.record("SELECT * FROM B", 10);
+        profiler.record("SELECT * FROM B", 10);
+
+        assertAll(
+            () -> assertThat(profiler.getTopByFrequency(), hasSize(0)),
+            () -> assertThat(profiler.getTopByTime(), hasSize(0))
+        );
+    }
+}
@@ -70,7 +70,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     public Statement createStatement() throws SQLException {
         Statement output = null;
         try {
-            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class });
+            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class }, null);
         } catch (Exception e) {
             // TODO SQLexception or any other type?
             throw new SQLException(e);
@@ -92,7 +92,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (Statement)
                 getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class });
+                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class }, null);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -116,7 +116,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (Statement)
                 getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf);
+                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf, null);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -150,7 +150,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -174,7 +174,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -199,7 +199,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (CallableStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -222,7 +222,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (PreparedStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
+                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -245,7 +245,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -268,7 +268,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -291,7 +291,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -317,7 +317,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         try {
             output = (PreparedStatement)
                 getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
+                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -341,7 +341,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         Class<?>[] intf = new Class[] { PreparedStatement.class };
         try {
             output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf);
+                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf, sql);
         } catch (Exception e) {
             throw new SQLException(e);
         }
@@ -388,8 +388,11 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     }
 
     // TODO refactor this method and move to a higher level
+    /**
+     * @param sql sql of the prepared statement, used to trace executions without sql parameter; null otherwise.
+     */
     @SuppressWarnings("unchecked")
-    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces) throws Exception {
+    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces, final String sql) throws Exception {
         InvocationHandler ih = new InvocationHandler() {
 
             @Override
@@ -402,7 +405,12 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
                 record.setThreadID(Thread.currentThread().getId());
                 record.setTimeStamp(System.currentTimeMillis());
                 sqlTraceDelegator.sqlTrace(record);
-                return method.invoke(actualObject, args);
+                long start = System.nanoTime();
+                try {
+                    return method.invoke(actualObject, args);
+                } finally {
+                    sqlTraceDelegator.sqlExecuted(record, sql, System.nanoTime() - start);
+                }
             }
         };
 
@@ -20,6 +20,7 @@ package org.glassfish.jdbc.pool.monitor;
 import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.resource.pool.PoolLifeCycleListenerRegistry;
 import com.sun.enterprise.resource.pool.PoolStatus;
+import com.sun.enterprise.resource.pool.monitor.WaitTimeHistogram;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -123,6 +124,7 @@ public class JdbcConnPoolStatsProvider {
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private final WaitTimeHistogram connRequestWaitTimeHistogram = new WaitTimeHistogram();
     private static final String JDBC_PROBE_LISTENER = "glassfish:jdbc:connection-pool:";
 
 
@@ -458,6 +460,7 @@ public class JdbcConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        connRequestWaitTimeHistogram.reset();
     }
 
     /**
@@ -554,6 +557,25 @@ public class JdbcConnPoolStatsProvider {
         return poolRegistry;
     }
 
+    /**
+     * When a connection request leaves the wait queue, count its wait time into the histogram.
+     */
+    @ProbeListener(JDBC_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("waitTimeInMillis") long waitTimeInMillis
+            ) {
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest("Connection request waited event received - poolName = " + poolName);
+            }
+            connRequestWaitTimeHistogram.record(waitTimeInMillis);
+        }
+    }
+
     @ManagedAttribute(id="numpotentialconnleak")
     public CountStatistic getNumPotentialConnLeakCount() {
         return numPotentialConnLeak;
@@ -629,4 +651,29 @@ public class JdbcConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="connrequestwaittimeupto1ms")
+    public CountStatistic getConnRequestWaitTimeUpTo1ms() {
+        return connRequestWaitTimeHistogram.getUpTo1ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto10ms")
+    public CountStatistic getConnRequestWaitTimeUpTo10ms() {
+        return connRequestWaitTimeHistogram.getUpTo10ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto100ms")
+    public CountStatistic getConnRequestWaitTimeUpTo100ms() {
+        return connRequestWaitTimeHistogram.getUpTo100ms();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeupto1s")
+    public CountStatistic getConnRequestWaitTimeUpTo1s() {
+        return connRequestWaitTimeHistogram.getUpTo1s();
+    }
+
+    @ManagedAttribute(id="connrequestwaittimeover1s")
+    public CountStatistic getConnRequestWaitTimeOver1s() {
+        return connRequestWaitTimeHistogram.getOver1s();
+    }
 }
@@ -18,8 +18,10 @@
 package com.sun.enterprise.security.ee.authentication.glassfish.jdbc;
 
 import com.sun.appserv.connectors.internal.api.ConnectorRuntime;
+import com.sun.appserv.util.cache.ConcurrentCache;
 import com.sun.enterprise.security.auth.digest.api.DigestAlgorithmParameter;
 import com.sun.enterprise.security.auth.digest.api.Password;
+import com.sun.enterprise.security.auth.realm.RealmAuthenticationCache;
 import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
 import com.sun.enterprise.security.auth.realm.exceptions.InvalidOperationException;
 import com.sun.enterprise.security.auth.realm.exceptions.NoSuchRealmException;
@@ -41,9 +43,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 import java.util.Vector;
 import java.util.logging.Level;
@@ -78,6 +78,10 @@ import static java.util.logging.Level.FINEST;
  * <li>group-name-column : column corresponding to group in group-table
  * </ul>
  *
+ * <P>
+ * The results of the authentications are cached if the optional property auth-cache-ttl is set, see
+ * {@link RealmAuthenticationCache} for the cache properties.
+ *
  * @see com.sun.enterprise.security.ee.auth.login.SolarisLoginModule
  *
  */
@@ -110,11 +114,11 @@ public final class JDBCRealm extends DigestRealmBase {
 
     private static final String MISSING_PROPERTY = "Missing required property {0} for {1}.";
 
-    private Map<String, Vector> groupCache;
+    private ConcurrentCache groupCache;
     private Vector<String> emptyVector;
     private String passwordQuery;
     private String groupQuery;
-    private MessageDigest messageDigest;
+    private ThreadLocal<MessageDigest> messageDigest;
 
     private ActiveDescriptor<ConnectorRuntime> connectorRuntimeDescriptor;
 
@@ -177,10 +181,12 @@ public final class JDBCRealm extends DigestRealmBase {
 
         if (!NONE.equalsIgnoreCase(digestAlgorithm)) {
             try {
-                messageDigest = MessageDigest.getInstance(digestAlgorithm);
+                MessageDigest.getInstance(digestAlgorithm);
             } catch (NoSuchAlgorithmException e) {
                 throw new BadRealmException(MessageFormat.format("Digest algorithm {0} is not supported.", digestAlgorithm));
             }
+            // MessageDigest is not thread safe, every thread digests with its own instance
+            messageDigest = ThreadLocal.withInitial(() -> createMessageDigest(digestAlgorithm));
         }
         if (messageDigest != null && encoding == null) {
             encoding = DEFAULT_ENCODING;
@@ -211,7 +217,9 @@ public final class JDBCRealm extends DigestRealmBase {
                 PARAM_CHARSET + " = " + charset);
         }
 
-        groupCache = new HashMap<>();
+        initAuthenticationCache(props);
+        groupCache = new ConcurrentCache();
+        groupCache.init(RealmAuthenticationCache.getMaxEntries(props), null);
         emptyVector = new Vector<>();
     }
 
@@ -237,16 +245,15 @@ public final class JDBCRealm extends DigestRealmBase {
      */
     @Override
     public Enumeration getGroupNames(String username) throws InvalidOperationException, NoSuchUserException {
-        Vector vector = groupCache.get(username);
+        Vector vector = (Vector) groupCache.get(username);
         if (vector == null) {
             String[] grps = findGroups(username);
-            setGroupNames(username, grps);
-            vector = groupCache.get(username);
+            vector = setGroupNames(username, grps);
         }
         return vector.elements();
     }
 
-    private void setGroupNames(String username, String[] groups) {
+    private Vector<String> setGroupNames(String username, String[] groups) {
         Vector<String> v = null;
 
         if (groups == null) {
@@ -257,9 +264,24 @@ public final class JDBCRealm extends DigestRealmBase {
             Collections.addAll(v, groups);
         }
 
-        synchronized (this) {
-            groupCache.put(username, v);
+        groupCache.put(username, v);
+        return v;
+    }
+
+    /**
+     * Removes the cached authentication results and groups of the user, or of all users.
+     *
+     * @param username name of the user, null for all users
+     * @return number of removed authentication results
+     */
+    @Override
+    public int clearAuthenticationCache(String username) {
+        if (username == null) {
+            groupCache.clear();
+        } else {
+            groupCache.remove(username);
         }
+        return super.clearAuthenticationCache(username);
     }
 
     /**
@@ -271,12 +293,28 @@ public final class JDBCRealm extends DigestRealmBase {
      *
      */
     public String[] authenticate(String username, char[] password) {
-        String[] groups = null;
-        if (isUserValid(username, password)) {
-            groups = findGroups(username);
-            groups = addAssignGroups(groups);
-            setGroupNames(username, groups);
+        RealmAuthenticationCache cache = getAuthenticationCache();
+        try {
+            if (cache == null) {
+                return authenticateUser(username, password);
+            }
+            return cache.authenticate(username, password, () -> authenticateUser(username, password));
+        } catch (LoginException e) {
+            // the failure of the database was already logged
+            return null;
         }
+    }
+
+    private String[] authenticateUser(String username, char[] password) throws LoginException {
+        if (!isUserValid(username, password)) {
+            return null;
+        }
+        String[] groups = findGroups(username);
+        if (groups == null) {
+            throw new LoginException(MessageFormat.format("Cannot load the groups of user {0}.", username));
+        }
+        groups = addAssignGroups(groups);
+        setGroupNames(username, groups);
         return groups;
     }
 
@@ -350,8 +388,9 @@ public final class JDBCRealm extends DigestRealmBase {
      * @param user user's identifier
      * @param password user's password
      * @return true if valid
+     * @throws LoginException if the password could not be verified
      */
-    private boolean isUserValid(String user, char[] password) {
+    private boolean isUserValid(String user, char[] password) throws LoginException {
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet rs = null;
@@ -397,11 +436,13 @@ public final class JDBCRealm extends DigestRealmBase {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE, "Cannot validate user", ex);
             }
+            throw (LoginException) new LoginException(MessageFormat.format("Cannot validate user {0}.", user)).initCause(ex);
         } catch (Exception ex) {
             _logger.log(Level.SEVERE, "jdbcrealm.invaliduser", user);
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE, "Cannot validate user", ex);
             }
+            throw (LoginException) new LoginException(MessageFormat.format("Cannot validate user {0}.", user)).initCause(ex);
         } finally {
             close(connection, statement, rs);
         }
@@ -415,10 +456,9 @@ public final class JDBCRealm extends DigestRealmBase {
         bytes = Utility.convertCharArrayToByteArray(password, charSet);
 
         if (messageDigest != null) {
-            synchronized (messageDigest) {
-                messageDigest.reset();
-                bytes = messageDigest.digest(bytes);
-            }
+            MessageDigest digest = messageDigest.get();
+            digest.reset();
+            bytes = digest.digest(bytes);
         }
 
         String encoding = getProperty(PARAM_ENCODING);
@@ -432,6 +472,15 @@ public final class JDBCRealm extends DigestRealmBase {
         return result;
     }
 
+    private static MessageDigest createMessageDigest(String digestAlgorithm) {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // already verified by init
+            throw new IllegalStateException(e);
+        }
+    }
+
     private char[] hexEncode(byte[] bytes) {
         StringBuilder sb = new StringBuilder(2 * bytes.length);
         for (byte element : bytes) {
@@ -60,7 +60,8 @@ public class CachedPermissionImpl extends Object implements CachedPermission {
     // epoch is used by PermissionCache to determine when result is out of date.
     static class Epoch {
 
-        int epoch;
+        // written after granted, so a reader seeing the epoch sees its result
+        volatile int epoch;
         boolean granted;
 
         Epoch() {
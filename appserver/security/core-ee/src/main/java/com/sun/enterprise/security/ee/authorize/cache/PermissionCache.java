@@ -32,14 +32,17 @@ import java.security.Policy;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Enumeration;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This class is
+ * <p>
+ * The loaded permissions are published as an immutable snapshot together with their epoch,
+ * so checking a permission does not lock. One thread loads the cache from the policy,
+ * the others bypass the cache until it is loaded.
  *
  * @author Ron Monzillo
  */
@@ -50,18 +53,14 @@ public class PermissionCache extends Object {
     private static Policy policy = Policy.getPolicy();
     private static AllPermission allPermission = new AllPermission();
 
-    private Permissions cache;
     private CodeSource codesource;
     private final Permission[] protoPerms;
     private Class[] classes;
     private final String name;
     private final String pcID;
     private final Integer factoryKey;
-    private volatile int epoch;
-    private volatile boolean loading;
-    private final ReadWriteLock rwLock;
-    private final Lock rLock;
-    private final Lock wLock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(null, 1));
+    private final AtomicBoolean loading = new AtomicBoolean();
 
     /*
      * USE OF THIS CONSTRUCTOR WITH IS DISCOURAGED PLEASE USE THE Permission (object) based CONSTRUCTOR.
@@ -89,7 +88,6 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = null;
         if (clazz != null) {
@@ -98,11 +96,6 @@ public class PermissionCache extends Object {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
     }
 
     /*
@@ -129,7 +122,6 @@ public class PermissionCache extends Object {
             this.codesource = codesource;
         }
         this.factoryKey = key;
-        this.cache = null;
         this.pcID = pcID;
         this.protoPerms = perms;
         if (perms != null && perms.length > 0) {
@@ -141,76 +133,50 @@ public class PermissionCache extends Object {
             this.classes = null;
         }
         this.name = name;
-        this.epoch = 1;
-        this.loading = false;
-        this.rwLock = new ReentrantReadWriteLock(true);
-        this.rLock = rwLock.readLock();
-        this.wLock = rwLock.writeLock();
     }
 
     public Integer getFactoryKey() {
         return this.factoryKey;
     }
 
-    private boolean checkLoadedCache(Permission p, Epoch e) {
+    private boolean checkLoadedCache(Snapshot loaded, Permission p, Epoch e) {
         if (e == null) {
-            return cache.implies(p);
+            return loaded.cache.implies(p);
         }
-        if (e.epoch != epoch) {
-            e.granted = cache.implies(p);
-            e.epoch = epoch;
+        if (e.epoch != loaded.epoch) {
+            e.granted = loaded.cache.implies(p);
+            e.epoch = loaded.epoch;
         }
         return e.granted;
     }
 
     private boolean checkCache(Permission p, Epoch e) {
+        Snapshot current = snapshot.get();
+        if (current.cache != null) {
+            return checkLoadedCache(current, p, e);
+        }
 
-        // test-and-set to guard critical section
-        rLock.lock();
+        // test-and-set to guard the load, readers bypass the cache until it is loaded
+        if (!loading.compareAndSet(false, true)) {
+            return false;
+        }
         try {
-            if (loading) {
+            Permissions nextCache = loadCache(p);
+            if (nextCache == null) {
                 return false;
             }
-            if (cache != null) {
-                // cache is loaded and readlock is held
-                // check permission and return
-                return checkLoadedCache(p, e);
+            Snapshot loaded = new Snapshot(nextCache, current.epoch);
+            if (!snapshot.compareAndSet(current, loaded)) {
+                // reset while loading, the loaded permissions may be out of date
+                return false;
             }
+            return checkLoadedCache(loaded, p, e);
         } finally {
-            rLock.unlock();
-        }
-
-        wLock.lock();
-        if (loading) {
-            // another thread started the load
-            // release the writelock and return
-            wLock.unlock();
-            return false;
-        }
-        if (cache != null) {
-            // another thread loaded the cache
-            // get readlock inside writelock.
-            // check permission and return
-            rLock.lock();
-            wLock.unlock();
-            try {
-                // cache is loaded and readlock is held
-                // check permission and return
-                return checkLoadedCache(p, e);
-            } finally {
-                rLock.unlock();
-            }
+            loading.set(false);
         }
-        // set the load indicators so that readers will
-        // bypass the cache until it is loaded
-        // release the writelock and return
-        cache = null;
-        loading = true;
-        wLock.unlock();
-
-        // cache will be null if we proceed past this point
-        // NO LOCKS ARE HELD AT THIS POINT
+    }
 
+    private Permissions loadCache(Permission p) {
         Permissions nextCache = new Permissions();
 
         boolean setPc = false;
@@ -222,7 +188,7 @@ public class PermissionCache extends Object {
             }
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         }
 
         PermissionCollection pc = null;
@@ -234,14 +200,14 @@ public class PermissionCache extends Object {
             pc = policy.getPermissions(this.codesource);
         } catch (Exception ex) {
             LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-            return false;
+            return null;
         } finally {
             if (setPc) {
                 try {
                     setPolicyContextID(oldpcID);
                 } catch (Exception ex) {
                     LOG.log(Level.SEVERE, "JACC: Unexpected security exception on access decision", ex);
-                    return false;
+                    return null;
                 }
             }
         }
@@ -282,20 +248,7 @@ public class PermissionCache extends Object {
             }
         }
 
-        // get the writelock to mark cache as loaded
-        wLock.lock();
-        cache = nextCache;
-        loading = false;
-        try {
-            // get readlock inside writelock.
-            rLock.lock();
-            wLock.unlock();
-            // cache is loaded and readlock is held
-            // check permission and return
-            return checkLoadedCache(p, e);
-        } finally {
-            rLock.unlock();
-        }
+        return nextCache;
     }
 
     boolean checkPermission(Permission p, Epoch e) {
@@ -306,17 +259,10 @@ public class PermissionCache extends Object {
         return checkCache(p, null);
     }
 
-    public synchronized void reset() {
-        wLock.lock();
-        try {
-            if (cache != null) {
-                // since cache is non-null, we know we are NOT loading
-                // setting cache to null will force a (re)load
-                cache = null;
-                epoch = epoch + 1 == 0 ? 1 : epoch + 1;
-            }
-        } finally {
-            wLock.unlock();
+    public void reset() {
+        Snapshot current = snapshot.get();
+        while (!snapshot.compareAndSet(current, new Snapshot(null, current.epoch + 1 == 0 ? 1 : current.epoch + 1))) {
+            current = snapshot.get();
         }
     }
 
@@ -342,4 +288,15 @@ public class PermissionCache extends Object {
             pc.implies(p);
         }
     }
+
+    private static final class Snapshot {
+
+        private final Permissions cache;
+        private final int epoch;
+
+        Snapshot(Permissions cache, int epoch) {
+            this.cache = cache;
+            this.epoch = epoch;
+        }
+    }
 }
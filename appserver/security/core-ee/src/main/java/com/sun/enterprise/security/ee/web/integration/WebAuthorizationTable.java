@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.web.integration;
+
+import com.sun.enterprise.deployment.WebBundleDescriptor;
+import com.sun.enterprise.deployment.web.SecurityConstraint;
+import com.sun.enterprise.deployment.web.WebResourceCollection;
+
+import java.security.Policy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.sun.enterprise.security.ee.web.integration.GlassFishToExousiaConverter.securityRoles;
+import static com.sun.enterprise.security.ee.web.integration.GlassFishToExousiaConverter.transportGuarantee;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Security constraints of a web module compiled into an immutable decision table.
+ * <p>
+ * The constraints are combined as the Servlet specification and the JACC translation of the constraints
+ * do: the url pattern best matching the request path selects the constraints (the exact match, then
+ * the longest path prefix, then the extension, then the default pattern), and the constraints
+ * of that pattern applying to the HTTP method are combined into one {@link Decision}. The path prefixes
+ * are kept in a trie of path segments, so a lookup neither locks nor consults the policy.
+ * <p>
+ * The table only answers what does not depend on the caller: whether the resource is unchecked,
+ * excluded or requires one of the roles, and which transport it requires. Checking the roles of the caller
+ * is left to the policy.
+ */
+public final class WebAuthorizationTable {
+
+    /** Policy provider of the default and simple JACC providers of the domain. */
+    static final String DEFAULT_POLICY_PROVIDER = "org.glassfish.exousia.modules.locked.SimplePolicyProvider";
+
+    private static final Decision UNCONSTRAINED = new Decision(ResourceDecision.UNCHECKED, emptySet(), UserDataDecision.NONE);
+    private static final Decision DENIED = new Decision(ResourceDecision.EXCLUDED, emptySet(), UserDataDecision.EXCLUDED);
+
+    private final Map<String, Entry> exact;
+    private final Node prefixes;
+    private final Map<String, Entry> extensions;
+    private final Entry defaultEntry;
+    private final boolean unconstrained;
+
+    private WebAuthorizationTable(Map<String, Entry> exact, Node prefixes, Map<String, Entry> extensions,
+        Entry defaultEntry, boolean unconstrained) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+        this.extensions = extensions;
+        this.defaultEntry = defaultEntry;
+        this.unconstrained = unconstrained;
+    }
+
+    /**
+     * Compiles the security constraints of the web module.
+     *
+     * @param webBundleDescriptor descriptor of the web module
+     * @return the table, or null if the url patterns of the module cannot be matched by the table
+     */
+    static WebAuthorizationTable compile(WebBundleDescriptor webBundleDescriptor) {
+        Builder builder = new Builder().denyUncoveredHttpMethods(webBundleDescriptor.isDenyUncoveredHttpMethods());
+        for (SecurityConstraint constraint : webBundleDescriptor.getSecurityConstraints()) {
+            Set<String> roles = securityRoles(constraint);
+            boolean confidential = "confidential".equalsIgnoreCase(transportGuarantee(constraint));
+            for (WebResourceCollection collection : constraint.getWebResourceCollections()) {
+                for (String urlPattern : collection.getUrlPatterns()) {
+                    // JACC escapes colons of the patterns, leave those to the policy
+                    if (urlPattern.indexOf(':') >= 0) {
+                        return null;
+                    }
+                }
+                builder.addConstraint(collection.getUrlPatterns(), collection.getHttpMethods(),
+                    collection.getHttpMethodOmissions(), roles, confidential);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param policy installed policy
+     * @return true if the policy is the default JACC provider, which decides as the table does
+     */
+    static boolean isDefaultPolicy(Policy policy) {
+        // the provider may be wrapped by a subclassing proxy
+        return policy != null && policy.getClass().getName().startsWith(DEFAULT_POLICY_PROVIDER);
+    }
+
+    /**
+     * @return true if the module has no security constraints
+     */
+    public boolean isUnconstrained() {
+        return unconstrained;
+    }
+
+    /**
+     * @param path request path without the context path
+     * @param httpMethod HTTP method of the request
+     * @return the decision of the constraints applying to the request, never null
+     */
+    public Decision decide(String path, String httpMethod) {
+        Entry entry = match(path);
+        return entry == null ? UNCONSTRAINED : entry.decide(httpMethod);
+    }
+
+    private Entry match(String path) {
+        if (path == null || path.isEmpty() || "/".equals(path)) {
+            // the empty pattern matches the context root
+            Entry entry = exact.get("");
+            if (entry != null) {
+                return entry;
+            }
+            path = "/";
+        } else {
+            Entry entry = exact.get(path);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        Entry entry = prefixes.match(path);
+        if (entry != null) {
+            return entry;
+        }
+        if (!extensions.isEmpty()) {
+            int dot = path.lastIndexOf('.');
+            if (dot > path.lastIndexOf('/')) {
+                entry = extensions.get(path.substring(dot + 1));
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return defaultEntry;
+    }
+
+    /**
+     * What the resource requires from the caller.
+     */
+    public enum ResourceDecision {
+        /** Everybody may access the resource. */
+        UNCHECKED,
+        /** The caller must be in one of the roles. */
+        CHECKED,
+        /** Nobody may access the resource. */
+        EXCLUDED
+    }
+
+    /**
+     * What the resource requires from the connection.
+     */
+    public enum UserDataDecision {
+        /** Any connection. */
+        NONE,
+        /** Confidential connection only. */
+        CONFIDENTIAL,
+        /** No connection at all. */
+        EXCLUDED
+    }
+
+    /**
+     * Combined constraints applying to an url pattern and HTTP method.
+     */
+    public static final class Decision {
+
+        private final ResourceDecision resource;
+        private final Set<String> roles;
+        private final UserDataDecision userData;
+
+        Decision(ResourceDecision resource, Set<String> roles, UserDataDecision userData) {
+            this.resource = resource;
+            this.roles = roles;
+            this.userData = userData;
+        }
+
+        public ResourceDecision getResourceDecision() {
+            return resource;
+        }
+
+        /**
+         * @return roles allowed to access a {@link ResourceDecision#CHECKED} resource
+         */
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        public UserDataDecision getUserDataDecision() {
+            return userData;
+        }
+
+        /**
+         * @param secure true if the request came over a confidential connection
+         * @return the result of {@link WebSecurityManager#hasUserDataPermission}: 1 if the connection is permitted,
+         *         -1 if a confidential connection would be, 0 if no connection is.
+         */
+        public int getUserDataPermission(boolean secure) {
+            switch (userData) {
+                case NONE:
+                    return 1;
+                case CONFIDENTIAL:
+                    return secure ? 1 : -1;
+                default:
+                    return 0;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return resource + (resource == ResourceDecision.CHECKED ? roles.toString() : "") + "/" + userData;
+        }
+    }
+
+    /**
+     * Collects the security constraints of a web module.
+     */
+    public static final class Builder {
+
+        private final Map<String, List<Constraint>> constraints = new LinkedHashMap<>();
+        private boolean denyUncoveredHttpMethods;
+
+        /**
+         * @param deny true to exclude the HTTP methods not covered by the constraints of an url pattern
+         * @return this builder
+         */
+        public Builder denyUncoveredHttpMethods(boolean deny) {
+            this.denyUncoveredHttpMethods = deny;
+            return this;
+        }
+
+        /**
+         * Adds a web resource collection of a security constraint.
+         *
+         * @param urlPatterns url patterns of the collection
+         * @param httpMethods HTTP methods of the collection, empty for all methods
+         * @param httpMethodOmissions HTTP methods omitted by the collection
+         * @param roles roles of the auth constraint, empty to exclude everybody, null if there is no auth constraint
+         * @param confidential true if the user data constraint requires a confidential transport
+         * @return this builder
+         */
+        public Builder addConstraint(Collection<String> urlPatterns, Collection<String> httpMethods,
+            Collection<String> httpMethodOmissions, Collection<String> roles, boolean confidential) {
+            Constraint constraint = new Constraint(httpMethods, httpMethodOmissions, roles, confidential);
+            for (String urlPattern : urlPatterns) {
+                constraints.computeIfAbsent(urlPattern, pattern -> new ArrayList<>()).add(constraint);
+            }
+            return this;
+        }
+
+        public WebAuthorizationTable build() {
+            Map<String, Entry> exact = new HashMap<>();
+            Map<String, Entry> extensions = new HashMap<>();
+            Node prefixes = new Node();
+            Entry defaultEntry = null;
+            for (Map.Entry<String, List<Constraint>> pattern : constraints.entrySet()) {
+                String urlPattern = pattern.getKey();
+                Entry entry = compile(pattern.getValue());
+                if ("/".equals(urlPattern)) {
+                    defaultEntry = entry;
+                } else if (urlPattern.startsWith("/") && urlPattern.endsWith("/*")) {
+                    prefixes.add(urlPattern.substring(0, urlPattern.length() - 2), entry);
+                } else if (urlPattern.startsWith("*.")) {
+                    extensions.put(urlPattern.substring(2), entry);
+                } else {
+                    exact.put(urlPattern, entry);
+                }
+            }
+            return new WebAuthorizationTable(exact, prefixes, extensions, defaultEntry, constraints.isEmpty());
+        }
+
+        private Entry compile(List<Constraint> patternConstraints) {
+            Set<String> namedMethods = new HashSet<>();
+            for (Constraint constraint : patternConstraints) {
+                namedMethods.addAll(constraint.httpMethods);
+                namedMethods.addAll(constraint.httpMethodOmissions);
+            }
+            Map<String, Decision> methods = new HashMap<>();
+            for (String httpMethod : namedMethods) {
+                methods.put(httpMethod, combine(patternConstraints, httpMethod));
+            }
+            return new Entry(methods.isEmpty() ? emptyMap() : methods, combine(patternConstraints, null));
+        }
+
+        private Decision combine(List<Constraint> patternConstraints, String httpMethod) {
+            boolean covered = false;
+            boolean unchecked = false;
+            boolean anyTransport = false;
+            Set<String> roles = new HashSet<>();
+            for (Constraint constraint : patternConstraints) {
+                if (!constraint.appliesTo(httpMethod)) {
+                    continue;
+                }
+                covered = true;
+                if (constraint.roles == null) {
+                    unchecked = true;
+                } else if (constraint.roles.isEmpty()) {
+                    return DENIED;
+                } else {
+                    roles.addAll(constraint.roles);
+                }
+                anyTransport |= !constraint.confidential;
+            }
+            if (!covered) {
+                return denyUncoveredHttpMethods ? DENIED : UNCONSTRAINED;
+            }
+            UserDataDecision userData = anyTransport ? UserDataDecision.NONE : UserDataDecision.CONFIDENTIAL;
+            if (unchecked) {
+                return userData == UserDataDecision.NONE ? UNCONSTRAINED : new Decision(ResourceDecision.UNCHECKED, emptySet(), userData);
+            }
+            return new Decision(ResourceDecision.CHECKED, unmodifiableSet(roles), userData);
+        }
+    }
+
+    private static final class Constraint {
+
+        private final Set<String> httpMethods;
+        private final Set<String> httpMethodOmissions;
+        private final Set<String> roles;
+        private final boolean confidential;
+
+        Constraint(Collection<String> httpMethods, Collection<String> httpMethodOmissions, Collection<String> roles,
+            boolean confidential) {
+            this.httpMethods = httpMethods == null ? emptySet() : new HashSet<>(httpMethods);
+            this.httpMethodOmissions = httpMethodOmissions == null ? emptySet() : new HashSet<>(httpMethodOmissions);
+            this.roles = roles == null ? null : new HashSet<>(roles);
+            this.confidential = confidential;
+        }
+
+        /**
+         * @param httpMethod named method, null for the methods no constraint of the pattern names
+         */
+        boolean appliesTo(String httpMethod) {
+            if (httpMethod == null) {
+                return httpMethods.isEmpty();
+            }
+            return httpMethods.isEmpty() ? !httpMethodOmissions.contains(httpMethod) : httpMethods.contains(httpMethod);
+        }
+    }
+
+    /**
+     * Decisions of one url pattern.
+     */
+    private static final class Entry {
+
+        private final Map<String, Decision> methods;
+        private final Decision otherMethods;
+
+        Entry(Map<String, Decision> methods, Decision otherMethods) {
+            this.methods = methods;
+            this.otherMethods = otherMethods;
+        }
+
+        Decision decide(String httpMethod) {
+            if (httpMethod == null) {
+                return otherMethods;
+            }
+            return methods.getOrDefault(httpMethod, otherMethods);
+        }
+    }
+
+    /**
+     * Trie of the path prefix patterns, one node per path segment.
+     */
+    private static final class Node {
+
+        private Map<String, Node> children;
+        private Entry entry;
+
+        void add(String prefix, Entry prefixEntry) {
+            Node node = this;
+            int start = 1;
+            while (start <= prefix.length()) {
+                int end = prefix.indexOf('/', start);
+                if (end < 0) {
+                    end = prefix.length();
+                }
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(prefix.substring(start, end), segment -> new Node());
+                start = end + 1;
+            }
+            node.entry = prefixEntry;
+        }
+
+        Entry match(String path) {
+            Node node = this;
+            Entry best = entry;
+            int start = 1;
+            while (node.children != null && start <= path.length()) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    break;
+                }
+                if (node.entry != null) {
+                    best = node.entry;
+                }
+                start = end + 1;
+            }
+            return best;
+        }
+    }
+}
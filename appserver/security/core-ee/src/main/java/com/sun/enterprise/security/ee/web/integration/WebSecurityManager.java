@@ -35,6 +35,7 @@ import com.sun.enterprise.security.ee.authorize.cache.CachedPermission;
 import com.sun.enterprise.security.ee.authorize.cache.CachedPermissionImpl;
 import com.sun.enterprise.security.ee.authorize.cache.PermissionCache;
 import com.sun.enterprise.security.ee.authorize.cache.PermissionCacheFactory;
+import com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.Decision;
 
 import jakarta.security.jacc.PolicyContext;
 import jakarta.security.jacc.PolicyContextException;
@@ -48,6 +49,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.CodeSource;
 import java.security.Permission;
+import java.security.Policy;
 import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.List;
@@ -122,6 +124,9 @@ public class WebSecurityManager {
 
     private boolean register = true;
 
+    // constraints compiled at deployment, null when the policy has to decide every request
+    private volatile WebAuthorizationTable authorizationTable;
+
     AuthorizationService authorizationService;
 
     WebSecurityManager(WebBundleDescriptor webBundleDescriptor, ServerContext serverContext, WebSecurityManagerFactory webSecurityManagerFactory, boolean register) throws PolicyContextException {
@@ -153,6 +158,8 @@ public class WebSecurityManager {
                .collect(toSet()),
             webBundleDescriptor.isDenyUncoveredHttpMethods(),
             getSecurityRoleRefsFromBundle(webBundleDescriptor));
+
+        authorizationTable = compileAuthorizationTable();
     }
 
     // fix for CR 6155144
@@ -168,6 +175,12 @@ public class WebSecurityManager {
      * request.
      */
     public boolean hasNoConstrainedResources() {
+        WebAuthorizationTable table = authorizationTable;
+        if (table != null && table.isUnconstrained()) {
+            AuthorizationService.setThreadContextId(contextId);
+            return true;
+        }
+
         boolean result = false;
 
         if (allResourcesCachedPermission != null && allConnectionsCachedPermission != null) {
@@ -188,6 +201,19 @@ public class WebSecurityManager {
 
     public boolean permitAll(HttpServletRequest httpServletRequest) {
         setSecurityInfo(httpServletRequest);
+
+        WebAuthorizationTable table = authorizationTable;
+        if (table != null) {
+            switch (table.decide(getConstrainedUri(httpServletRequest), httpServletRequest.getMethod()).getResourceDecision()) {
+                case UNCHECKED:
+                    return true;
+                case EXCLUDED:
+                    return false;
+                default:
+                    break;
+            }
+        }
+
         return authorizationService.checkWebResourcePermission(httpServletRequest, null);
     }
 
@@ -209,6 +235,21 @@ public class WebSecurityManager {
     public int hasUserDataPermission(HttpServletRequest httpServletRequest, String uri, String httpMethod) {
         setSecurityInfo(httpServletRequest);
 
+        WebAuthorizationTable table = authorizationTable;
+        if (table != null) {
+            Decision decision = uri == null
+                ? table.decide(getConstrainedUri(httpServletRequest), httpServletRequest.getMethod())
+                : table.decide(uri, httpMethod);
+            int result = decision.getUserDataPermission(httpServletRequest.isSecure());
+
+            if (logger.isLoggable(FINE)) {
+                logger.log(FINE, "[Web-Security] hasUserDataPermission decision: {0}", decision);
+            }
+
+            recordWebInvocation(httpServletRequest, USERDATA, result == 1);
+            return result;
+        }
+
         boolean isGranted = false;
         if (uri == null) {
             isGranted = authorizationService.checkWebUserDataPermission(httpServletRequest);
@@ -257,10 +298,18 @@ public class WebSecurityManager {
         setSecurityInfo(httpServletRequest);
         SecurityContext.setCurrent(getSecurityContext(httpServletRequest.getUserPrincipal()));
 
-        boolean isGranted = authorizationService.checkWebResourcePermission(httpServletRequest);
+        boolean isGranted;
+        WebAuthorizationTable table = authorizationTable;
+        Decision decision = table == null ? null : table.decide(getConstrainedUri(httpServletRequest), httpServletRequest.getMethod());
+        if (decision == null || decision.getResourceDecision() == WebAuthorizationTable.ResourceDecision.CHECKED) {
+            // the roles of the caller are checked by the policy
+            isGranted = authorizationService.checkWebResourcePermission(httpServletRequest);
+        } else {
+            isGranted = decision.getResourceDecision() == WebAuthorizationTable.ResourceDecision.UNCHECKED;
+        }
 
         if (logger.isLoggable(FINE)) {
-            logger.log(FINE, "[Web-Security] hasResource isGranted: {0}", isGranted);
+            logger.log(FINE, "[Web-Security] hasResource isGranted: {0}, decision: {1}", new Object[] {isGranted, decision});
             logger.log(FINE, "[Web-Security] hasResource perm: {0}", getUriMinusContextPath(httpServletRequest));
         }
 
@@ -338,6 +387,7 @@ public class WebSecurityManager {
      * @throws PolicyContextException
      */
     public void release() throws PolicyContextException {
+        authorizationTable = null;
         authorizationService.removeStatementsFromPolicy(null);
 
         PermissionCacheFactory.removePermissionCache(uncheckedPermissionCache);
@@ -346,6 +396,7 @@ public class WebSecurityManager {
     }
 
     public void destroy() throws PolicyContextException {
+        authorizationTable = null;
         authorizationService.refresh();
 
         PermissionCacheFactory.removePermissionCache(uncheckedPermissionCache);
@@ -408,6 +459,21 @@ public class WebSecurityManager {
         }
     }
 
+    private WebAuthorizationTable compileAuthorizationTable() {
+        Policy policy = Policy.getPolicy();
+        if (!WebAuthorizationTable.isDefaultPolicy(policy)) {
+            logger.log(FINE, "[Web-Security] Policy {0} decides all requests of {1}", new Object[] {policy, contextId});
+            return null;
+        }
+
+        WebAuthorizationTable table = WebAuthorizationTable.compile(webBundleDescriptor);
+        if (logger.isLoggable(FINE)) {
+            logger.log(FINE, "[Web-Security] Compiled security constraints of {0}: {1}",
+                new Object[] {contextId, table == null ? "left to the policy" : "unconstrained=" + table.isUnconstrained()});
+        }
+        return table;
+    }
+
     private void handleAdminVirtualServer() {
         LoginConfiguration loginConfiguration = webBundleDescriptor.getLoginConfiguration();
         if (loginConfiguration == null) {
@@ -525,6 +591,20 @@ public class WebSecurityManager {
         return withSpaces.replace(' ', '_');
     }
 
+    /**
+     * @return the path the constraints apply to, as the policy gets it from the request
+     */
+    private static String getConstrainedUri(HttpServletRequest request) {
+        Object uri = request.getAttribute(CONSTRAINT_URI);
+        if (uri != null) {
+            return uri.toString();
+        }
+
+        String path = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? path : path + pathInfo;
+    }
+
     private static String getUriMinusContextPath(HttpServletRequest request) {
         String uri = request.getRequestURI();
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.web.integration;
+
+import com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.Decision;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Measures the authorization decisions of many request threads. The fair read lock the
+ * permission cache took for every check makes the threads queue behind each other, the
+ * lock free lookup of the {@link WebAuthorizationTable} must be faster.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class WebAuthorizationTableBenchmarkTest {
+
+    @Test
+    public void decide() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("lookup"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("lockfree"), greaterThan(scores.get("readLock")));
+    }
+
+
+    @Benchmark
+    public Decision decide(TableState state) {
+        String path = state.nextPath();
+        if ("readLock".equals(state.lookup)) {
+            state.readLock.lock();
+            try {
+                return state.table.decide(path, "GET");
+            } finally {
+                state.readLock.unlock();
+            }
+        }
+        return state.table.decide(path, "GET");
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class TableState {
+
+        private static final String[] PATHS = {
+            "/index.html", "/css/site.css", "/admin/users/42", "/admin/public/logo.png",
+            "/orders/42/items", "/api/v1/orders", "/", "/login"};
+
+        @Param({"readLock", "lockfree"})
+        public String lookup;
+
+        WebAuthorizationTable table;
+        Lock readLock;
+        private int index;
+
+        @Setup(Level.Trial)
+        public void compileTable() {
+            Set<String> all = Set.of();
+            table = new WebAuthorizationTable.Builder()
+                .addConstraint(Set.of("/admin/*"), all, all, Set.of("admin"), true)
+                .addConstraint(Set.of("/admin/public/*", "*.css", ""), all, all, null, false)
+                .addConstraint(Set.of("/orders/*", "/api/*"), Set.of("GET"), all, Set.of("clerk"), false)
+                .addConstraint(Set.of("/login"), all, all, null, true)
+                .build();
+            readLock = new ReentrantReadWriteLock(true).readLock();
+        }
+
+        String nextPath() {
+            // racy on purpose, any path will do
+            index = (index + 1) & (PATHS.length - 1);
+            return PATHS[index];
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.ee.web.integration;
+
+import com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.Decision;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.ResourceDecision.CHECKED;
+import static com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.ResourceDecision.EXCLUDED;
+import static com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.ResourceDecision.UNCHECKED;
+import static com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.UserDataDecision.CONFIDENTIAL;
+import static com.sun.enterprise.security.ee.web.integration.WebAuthorizationTable.UserDataDecision.NONE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebAuthorizationTableTest {
+
+    private static final Set<String> ALL = Set.of();
+
+    @Test
+    public void noConstraints() {
+        WebAuthorizationTable table = new WebAuthorizationTable.Builder().build();
+        Decision decision = table.decide("/index.html", "GET");
+        assertAll(
+            () -> assertTrue(table.isUnconstrained()),
+            () -> assertThat(decision.getResourceDecision(), equalTo(UNCHECKED)),
+            () -> assertThat(decision.getUserDataDecision(), equalTo(NONE)),
+            () -> assertThat(decision.getUserDataPermission(false), equalTo(1))
+        );
+    }
+
+
+    @Test
+    public void bestMatchingPatternWins() {
+        WebAuthorizationTable table = new WebAuthorizationTable.Builder()
+            .addConstraint(Set.of("/*"), ALL, ALL, Set.of("user"), false)
+            .addConstraint(Set.of("/admin/*"), ALL, ALL, Set.of("admin"), false)
+            .addConstraint(Set.of("/admin/public/*"), ALL, ALL, null, false)
+            .addConstraint(Set.of("/admin/secret.html"), ALL, ALL, Set.of(), false)
+            .addConstraint(Set.of("*.css"), ALL, ALL, null, false)
+            .addConstraint(Set.of(""), ALL, ALL, null, false)
+            .build();
+
+        assertAll(
+            () -> assertFalse(table.isUnconstrained()),
+            () -> assertThat(table.decide("/app/page", "GET").getRoles(), containsInAnyOrder("user")),
+            () -> assertThat(table.decide("/admin", "GET").getRoles(), containsInAnyOrder("admin")),
+            () -> assertThat(table.decide("/admin/users/list", "GET").getRoles(), containsInAnyOrder("admin")),
+            () -> assertThat(table.decide("/administrator", "GET").getRoles(), containsInAnyOrder("user")),
+            () -> assertThat(table.decide("/admin/public/logo.png", "GET").getResourceDecision(), equalTo(UNCHECKED)),
+            () -> assertThat(table.decide("/admin/secret.html", "GET").getResourceDecision(), equalTo(EXCLUDED)),
+            () -> assertThat(table.decide("/admin/secret.html", "GET").getUserDataPermission(true), equalTo(0)),
+            // path prefixes are more specific than extensions
+            () -> assertThat(table.decide("/admin/style.css", "GET").getResourceDecision(), equalTo(CHECKED)),
+            () -> assertThat(table.decide("/style.css", "GET").getResourceDecision(), equalTo(CHECKED)),
+            () -> assertThat(table.decide("/", "GET").getResourceDecision(), equalTo(UNCHECKED)),
+            () -> assertThat(table.decide("", "GET").getResourceDecision(), equalTo(UNCHECKED))
+        );
+    }
+
+
+    @Test
+    public void extensionAndDefaultPatterns() {
+        WebAuthorizationTable table = new WebAuthorizationTable.Builder()
+            .addConstraint(Set.of("/"), ALL, ALL, Set.of("user"), false)
+            .addConstraint(Set.of("*.jsp"), ALL, ALL, Set.of("developer"), false)
+            .build();
+
+        assertAll(
+            () -> assertThat(table.decide("/pages/index.jsp", "GET").getRoles(), containsInAnyOrder("developer")),
+            () -> assertThat(table.decide("/pages.jsp/index", "GET").getRoles(), containsInAnyOrder("user")),
+            () -> assertThat(table.decide("/", "GET").getRoles(), containsInAnyOrder("user"))
+        );
+    }
+
+
+    @Test
+    public void constraintsOfPatternAreCombinedPerMethod() {
+        WebAuthorizationTable table = new WebAuthorizationTable.Builder()
+            .addConstraint(Set.of("/orders/*"), Set.of("GET"), ALL, Set.of("clerk"), false)
+            .addConstraint(Set.of("/orders/*"), Set.of("GET", "POST"), ALL, Set.of("manager"), true)
+            .addConstraint(Set.of("/orders/*"), ALL, Set.of("GET", "POST"), Set.of(), false)
+            .build();
+
+        Decision get = table.decide("/orders/42", "GET");
+        Decision post = table.decide("/orders/42", "POST");
+        assertAll(
+            () -> assertThat(get.getResourceDecision(), equalTo(CHECKED)),
+            () -> assertThat(get.getRoles(), containsInAnyOrder("clerk", "manager")),
+            () -> assertThat(get.getUserDataDecision(), equalTo(NONE)),
+            () -> assertThat(post.getRoles(), containsInAnyOrder("manager")),
+            () -> assertThat(post.getUserDataDecision(), equalTo(CONFIDENTIAL)),
+            () -> assertThat(post.getUserDataPermission(false), equalTo(-1)),
+            () -> assertThat(post.getUserDataPermission(true), equalTo(1)),
+            () -> assertThat(table.decide("/orders/42", "DELETE").getResourceDecision(), equalTo(EXCLUDED)),
+            () -> assertThat(table.decide("/orders/42", null).getResourceDecision(), equalTo(EXCLUDED))
+        );
+    }
+
+
+    @Test
+    public void uncoveredMethods() {
+        WebAuthorizationTable.Builder builder = new WebAuthorizationTable.Builder()
+            .addConstraint(Set.of("/api/*"), Set.of("PUT"), ALL, Set.of("writer"), true);
+        WebAuthorizationTable permitted = builder.build();
+        WebAuthorizationTable denied = builder.denyUncoveredHttpMethods(true).build();
+
+        assertAll(
+            () -> assertThat(permitted.decide("/api/items", "PUT").getResourceDecision(), equalTo(CHECKED)),
+            () -> assertThat(permitted.decide("/api/items", "GET").getResourceDecision(), equalTo(UNCHECKED)),
+            () -> assertThat(permitted.decide("/api/items", "GET").getUserDataPermission(false), equalTo(1)),
+            () -> assertThat(denied.decide("/api/items", "PUT").getResourceDecision(), equalTo(CHECKED)),
+            () -> assertThat(denied.decide("/api/items", "GET").getResourceDecision(), equalTo(EXCLUDED)),
+            () -> assertThat(denied.decide("/api/items", "GET").getUserDataPermission(true), equalTo(0)),
+            // only the methods of the constrained patterns are denied
+            () -> assertThat(denied.decide("/other", "GET").getResourceDecision(), equalTo(UNCHECKED))
+        );
+    }
+
+
+    @Test
+    public void transportOfUncheckedResource() {
+        WebAuthorizationTable table = new WebAuthorizationTable.Builder()
+            .addConstraint(Set.of("/login"), ALL, ALL, null, true)
+            .build();
+
+        Decision decision = table.decide("/login", "POST");
+        assertAll(
+            () -> assertThat(decision.getResourceDecision(), equalTo(UNCHECKED)),
+            () -> assertThat(decision.getUserDataDecision(), equalTo(CONFIDENTIAL)),
+            () -> assertThat(decision.getUserDataPermission(false), equalTo(-1))
+        );
+    }
+
+
+    @Test
+    public void onlyDefaultPolicyProviderIsTrusted() {
+        assertAll(
+            () -> assertFalse(WebAuthorizationTable.isDefaultPolicy(null)),
+            () -> assertFalse(WebAuthorizationTable.isDefaultPolicy(new CustomPolicy()))
+        );
+    }
+
+
+    private static final class CustomPolicy extends java.security.Policy {
+    }
+}
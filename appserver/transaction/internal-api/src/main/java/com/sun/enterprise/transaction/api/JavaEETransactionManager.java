@@ -384,12 +384,18 @@ public interface JavaEETransactionManager extends TransactionManager {
 
     /**
      * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks
+     *
+     * @deprecated cancelled transaction timeouts are released without purging, the value has no effect
      */
+    @Deprecated
     int getPurgeCancelledTtransactionsAfter();
 
     /**
      * Allows to purge transaction tasks after the specified value of cancelled tasks
+     *
+     * @deprecated cancelled transaction timeouts are released without purging, the value has no effect
      */
+    @Deprecated
     void setPurgeCancelledTtransactionsAfter(int value);
 
 
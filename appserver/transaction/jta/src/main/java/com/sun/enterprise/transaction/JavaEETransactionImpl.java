@@ -38,8 +38,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,6 +45,8 @@ import java.util.logging.Logger;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 
+import org.glassfish.common.util.timer.TimingWheel;
+
 /**
  * This class implements the JTA Transaction API for the J2EE RI. It is a wrapper over the JTS Transaction object that
  * provides optimized local transaction support when a transaction uses zero/one non-XA resource, and delegates to JTS
@@ -54,11 +54,11 @@ import javax.transaction.xa.Xid;
  * delegated to jtsTx.
  *
  *
- * Time out capability is added to the local transactions. This class extends the TimerTask. When the transaction needs
- * to be timedout, this schedules with the timer. At the commit and rollback time, task will be cancelled. If the
- * transaction is timedout, run() method will be called and transaction will be marked for rollback.
+ * Time out capability is added to the local transactions. When the transaction needs to be timedout, this schedules
+ * a timeout with the {@link TransactionTimeoutScheduler}. At the commit and rollback time, the timeout will be cancelled.
+ * If the transaction is timedout, run() method will be called and transaction will be marked for rollback.
  */
-public final class JavaEETransactionImpl extends TimerTask implements JavaEETransaction {
+public final class JavaEETransactionImpl implements JavaEETransaction, Runnable {
 
     static Logger _logger = LogDomains.getLogger(JavaEETransactionImpl.class, LogDomains.JTA_LOGGER);
 
@@ -92,6 +92,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     private boolean timedOut = false;
     private boolean isTimerTask = false;
     private int timeout = 0;
+    private TimingWheel.Timeout timeoutHandle;
     // END: local transaction timeout
     private boolean imported = false;
 
@@ -112,17 +113,6 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // tx-specific ejb container info associated with this tx
     private Object containerData = null;
 
-    static private boolean isTimerInitialized = false;
-    static private Timer timer = null;
-    static private long timerTasksScheduled = 0; // Global counter
-
-    static synchronized private void initializeTimer() {
-        if (isTimerInitialized)
-            return;
-        timer = new Timer(true); // daemon
-        isTimerInitialized = true;
-    }
-
     JavaEETransactionImpl(JavaEETransactionManager javaEETM) {
         this.javaEETM = javaEETM;
         this.txId = getNewTxId();
@@ -138,10 +128,7 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     // START: local transaction timeout
     JavaEETransactionImpl(int timeout, JavaEETransactionManager javaEETM) {
         this(javaEETM);
-        if (!isTimerInitialized)
-            initializeTimer();
-        timer.schedule(this, timeout * 1000L);
-        timerTasksScheduled++;
+        timeoutHandle = TransactionTimeoutScheduler.getLocalTransactionTimeouts().schedule(this, timeout * 1000L);
         isTimerTask = true;
         this.timeout = timeout;
     }
@@ -154,7 +141,8 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
     }
 
     // START: local transaction timeout
-    // TimerTask run() method implementation
+    // Runs on the timeout dispatcher thread when the transaction times out
+    @Override
     public void run() {
         timedOut = true;
         try {
@@ -176,16 +164,9 @@ public final class JavaEETransactionImpl extends TimerTask implements JavaEETran
         return isTimerTask;
     }
 
-    // Cancels the timertask and returns the timeout
+    // Cancels the timeout and returns it, the timing wheel releases cancelled timeouts within one tick
     public int cancelTimerTask() {
-        cancel();
-        int mod = javaEETM.getPurgeCancelledTtransactionsAfter();
-        if (mod > 0 && timerTasksScheduled % mod == 0) {
-            int purged = timer.purge();
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE, "Purged " + purged + " timer tasks from canceled queue");
-            }
-        }
+        timeoutHandle.cancel();
         return timeout;
     }
 
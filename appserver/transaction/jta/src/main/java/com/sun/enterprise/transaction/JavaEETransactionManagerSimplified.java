@@ -49,13 +49,15 @@ import jakarta.transaction.TransactionManager;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -123,11 +125,13 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     // admin and monitoring related parameters
     private static final Hashtable statusMap = new Hashtable();
-    private final List activeTransactions = Collections.synchronizedList(new ArrayList());
+    // Keyed by the transaction id through Transaction.equals, the map locks only the bin of the transaction
+    // and the monitoring snapshot iterates it without locking.
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
     private boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
-    private Hashtable txnTable = null;
+    private volatile Map<String, Transaction> txnTable = null;
 
     private Cache resourceTable;
 
@@ -202,7 +206,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
                 String v = txnService.getPropertyValue("purge-cancelled-transactions-after");
                 if (v != null && v.length() > 0) {
-                    purgeCancelledTtransactions = Integer.parseInt(v);
+                    setPurgeCancelledTtransactionsAfter(Integer.parseInt(v));
                 }
 
                 TransactionServiceConfigListener listener = habitat.getService(TransactionServiceConfigListener.class);
@@ -1023,15 +1027,24 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
 
     /**
      * Modify the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     *
+     * @deprecated the value is ignored, cancelled timeouts are released by the timing wheel within one tick.
      */
+    @Deprecated
     @Override
     public void setPurgeCancelledTtransactionsAfter(int num) {
+        if (num > 0) {
+            LOG.log(Level.WARNING, "enterprise_distributedtx.purge_cancelled_ignored");
+        }
         purgeCancelledTtransactions = num;
     }
 
     /**
      * Returns the value to be used to purge transaction tasks after the specified number of cancelled tasks.
+     *
+     * @deprecated the value is ignored, cancelled timeouts are released by the timing wheel within one tick.
      */
+    @Deprecated
     @Override
     public int getPurgeCancelledTtransactionsAfter() {
         return purgeCancelledTtransactions;
@@ -1125,11 +1138,9 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public ArrayList getActiveTransactions() {
         ArrayList tranBeans = new ArrayList();
-        txnTable = new Hashtable();
-        Object[] activeCopy = activeTransactions.toArray(); // get the clone of the active transactions
-        for (Object element : activeCopy) {
+        Map<String, Transaction> table = new HashMap<>();
+        for (Transaction tran : activeTransactions) {
             try {
-                Transaction tran = (Transaction) element;
                 TransactionAdminBean tBean = getDelegate().getTransactionAdminBean(tran);
                 if (tBean == null) {
                     // Shouldn't happen
@@ -1139,13 +1150,14 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                         LOG.log(Level.FINE, "TM: Adding txnId " + tBean.getId() + " to txnTable");
                     }
 
-                    txnTable.put(tBean.getId(), tran);
+                    table.put(tBean.getId(), tran);
                     tranBeans.add(tBean);
                 }
             } catch (Exception ex) {
                 LOG.log(Level.SEVERE, "transaction.monitor.error_while_getting_monitor_attr", ex);
             }
         }
+        txnTable = table;
         return tranBeans;
     }
 
@@ -1179,7 +1191,8 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
         // XXX - WORK AROUND MONITORING BUG
         }
 
-        if (txnTable == null || txnTable.get(txnId) == null) {
+        Map<String, Transaction> table = txnTable;
+        if (table == null || table.get(txnId) == null) {
             String result = sm.getString("transaction.monitor.rollback_invalid_id");
             throw new IllegalStateException(result);
         } else {
@@ -1187,7 +1200,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                 LOG.log(Level.FINE, "TM: Marking txnId " + txnId + " for rollback");
             }
 
-            ((Transaction) txnTable.get(txnId)).setRollbackOnly();
+            table.get(txnId).setRollbackOnly();
         }
 
     }
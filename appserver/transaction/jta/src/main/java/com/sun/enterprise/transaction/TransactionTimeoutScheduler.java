@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.transaction;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.common.util.timer.TimingWheel;
+
+/**
+ * Holds a {@link TimingWheel} timing out transactions.
+ * <p>
+ * The JTA local transactions and the JTS coordinators have separate schedulers, each with its own
+ * wheel and dispatcher thread, so a slow coordinator rollback never delays the timeout of a local
+ * transaction and vice versa. Each wheel has 512 slots of 100 ms, so a transaction times out at most
+ * 100 ms after its deadline. Expired timeouts run on the dispatcher thread, not on the thread of the
+ * wheel.
+ */
+public final class TransactionTimeoutScheduler {
+
+    private static final long TICK_MILLIS = 100L;
+    private static final int WHEEL_SIZE = 512;
+    private static final int BATCH_SIZE = 64;
+
+    private final TimingWheel wheel;
+
+    private TransactionTimeoutScheduler(String name) {
+        this.wheel = createTimingWheel(name);
+    }
+
+    /**
+     * @return the scheduler of the JTA local transaction timeouts
+     */
+    public static TransactionTimeoutScheduler getLocalTransactionTimeouts() {
+        return LocalTransactionHolder.SCHEDULER;
+    }
+
+    /**
+     * @return the scheduler of the JTS coordinator timeouts
+     */
+    public static TransactionTimeoutScheduler getCoordinatorTimeouts() {
+        return CoordinatorHolder.SCHEDULER;
+    }
+
+    /**
+     * @return the timing wheel of this scheduler
+     */
+    public TimingWheel getTimingWheel() {
+        return wheel;
+    }
+
+    /**
+     * Schedules the timeout of a transaction.
+     *
+     * @param task task to run when the timeout expires
+     * @param delayMillis time in milliseconds until the timeout expires
+     * @return handle to cancel the timeout
+     */
+    public TimingWheel.Timeout schedule(Runnable task, long delayMillis) {
+        return wheel.schedule(task, System.currentTimeMillis() + Math.max(delayMillis, 0L));
+    }
+
+    private static TimingWheel createTimingWheel(String name) {
+        ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, name + "-dispatcher");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(TransactionTimeoutScheduler.class.getClassLoader());
+            return thread;
+        });
+        dispatcher.allowCoreThreadTimeOut(true);
+        TimingWheel wheel = new TimingWheel(name, TICK_MILLIS, WHEEL_SIZE, BATCH_SIZE, dispatcher);
+        // the first transaction may be started by an application thread
+        Thread thread = Thread.currentThread();
+        ClassLoader loader = thread.getContextClassLoader();
+        thread.setContextClassLoader(TransactionTimeoutScheduler.class.getClassLoader());
+        try {
+            wheel.start();
+        } finally {
+            thread.setContextClassLoader(loader);
+        }
+        return wheel;
+    }
+
+    private static final class LocalTransactionHolder {
+        static final TransactionTimeoutScheduler SCHEDULER = new TransactionTimeoutScheduler("transaction-timeout");
+    }
+
+    private static final class CoordinatorHolder {
+        static final TransactionTimeoutScheduler SCHEDULER = new TransactionTimeoutScheduler("jts-timeout");
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Measures the registration of monitored transactions when many request threads begin
+ * and complete transactions while thousands of other transactions are active. The
+ * synchronized list the transaction manager used before searches all active transactions
+ * to remove a completed one, the registry must be faster.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class ActiveTransactionsBenchmarkTest {
+
+    @Test
+    public void beginAndComplete() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("implementation"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("registry"), greaterThan(scores.get("synchronizedList")));
+    }
+
+
+    @Benchmark
+    public Object beginAndComplete(RegistryState registry, TransactionState transactions) {
+        JavaEETransactionImpl tx = transactions.next();
+        if ("synchronizedList".equals(registry.implementation)) {
+            registry.list.add(tx);
+            registry.list.remove(tx);
+        } else {
+            registry.manager.monitorTxBegin(tx);
+            registry.manager.monitorTxCompleted(tx, true);
+        }
+        return tx;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+
+        private static final int ACTIVE_TRANSACTIONS = 2000;
+
+        @Param({"synchronizedList", "registry"})
+        public String implementation;
+
+        JavaEETransactionManagerSimplified manager;
+        List<Object> list;
+
+        @Setup(Level.Trial)
+        public void createRegistry() {
+            manager = new JavaEETransactionManagerSimplified();
+            JavaEETransactionManagerSimplifiedDelegate delegate = new JavaEETransactionManagerSimplifiedDelegate();
+            manager.setDelegate(delegate);
+            delegate.setTransactionManager(manager);
+            manager.postConstruct();
+            manager.setMonitoringEnabled(true);
+            list = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < ACTIVE_TRANSACTIONS; i++) {
+                JavaEETransactionImpl tx = new JavaEETransactionImpl(manager);
+                manager.monitorTxBegin(tx);
+                list.add(tx);
+            }
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class TransactionState {
+
+        private final JavaEETransactionImpl[] transactions = new JavaEETransactionImpl[64];
+        private int index;
+
+        @Setup(Level.Trial)
+        public void createTransactions(RegistryState registry) {
+            for (int i = 0; i < transactions.length; i++) {
+                transactions[i] = new JavaEETransactionImpl(registry.manager);
+            }
+        }
+
+        JavaEETransactionImpl next() {
+            index = (index + 1) & (transactions.length - 1);
+            return transactions[index];
+        }
+    }
+}
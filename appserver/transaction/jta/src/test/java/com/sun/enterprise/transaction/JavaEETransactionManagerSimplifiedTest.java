@@ -223,6 +223,29 @@ public class JavaEETransactionManagerSimplifiedTest {
     }
 
 
+    @Test
+    public void testMonitoredActiveTransactions() throws Exception {
+        JavaEETransactionManagerSimplified tm = (JavaEETransactionManagerSimplified) txManager;
+        tm.postConstruct();
+        tm.setMonitoringEnabled(true);
+        JavaEETransactionImpl tx1 = new JavaEETransactionImpl(tm);
+        JavaEETransactionImpl tx2 = new JavaEETransactionImpl(tm);
+        tm.monitorTxBegin(tx1);
+        tm.monitorTxBegin(tx2);
+        assertEquals(2, tm.getActiveTransactions().size());
+
+        tm.forceRollback(tx1.getTransactionId());
+        tm.monitorTxCompleted(tx1, false);
+        assertAll(
+            () -> assertEquals("MarkedRollback", getStatusAsString(tx1.getStatus())),
+            () -> assertEquals(1, tm.getActiveTransactions().size())
+        );
+
+        tm.monitorTxCompleted(tx2, true);
+        assertEquals(0, tm.getActiveTransactions().size());
+    }
+
+
     @Test
     public void testTxCommit() throws Exception {
         txManager.begin();
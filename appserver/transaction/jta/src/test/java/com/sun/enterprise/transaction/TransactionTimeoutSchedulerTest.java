@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.transaction;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.common.util.timer.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionTimeoutSchedulerTest {
+
+    @Test
+    public void expiresOnDaemonDispatcherAfterDelay() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicLong expiredAfter = new AtomicLong();
+        long start = System.currentTimeMillis();
+        TimingWheel.Timeout timeout = TransactionTimeoutScheduler.getLocalTransactionTimeouts().schedule(() -> {
+            expiredAfter.set(System.currentTimeMillis() - start);
+            thread.set(Thread.currentThread());
+            expired.countDown();
+        }, 150L);
+
+        assertTrue(expired.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(expiredAfter.get(), greaterThanOrEqualTo(150L)),
+            () -> assertTrue(thread.get().isDaemon()),
+            () -> assertThat(thread.get().getName(), startsWith("transaction-timeout-dispatcher")),
+            () -> assertThat(thread.get().getContextClassLoader(), not(equalTo(null))),
+            () -> assertTrue(timeout.isExpired())
+        );
+    }
+
+
+    @Test
+    public void cancelledTimeoutNeverExpires() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        TimingWheel.Timeout cancelled = TransactionTimeoutScheduler.getLocalTransactionTimeouts().schedule(expired::countDown, 100L);
+        assertTrue(cancelled.cancel());
+
+        CountDownLatch marker = new CountDownLatch(1);
+        TransactionTimeoutScheduler.getLocalTransactionTimeouts().schedule(marker::countDown, 300L);
+
+        assertTrue(marker.await(5L, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(expired.getCount(), equalTo(1L)),
+            () -> assertTrue(cancelled.isCancelled()),
+            () -> assertFalse(cancelled.isExpired()),
+            () -> assertThat(TransactionTimeoutScheduler.getLocalTransactionTimeouts(),
+                sameInstance(TransactionTimeoutScheduler.getLocalTransactionTimeouts()))
+        );
+    }
+
+
+    @Test
+    public void blockedCoordinatorTimeoutDoesNotDelayLocalTimeouts() throws Exception {
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> coordinatorThread = new AtomicReference<>();
+        TransactionTimeoutScheduler.getCoordinatorTimeouts().schedule(() -> {
+            coordinatorThread.set(Thread.currentThread());
+            blocking.countDown();
+            try {
+                release.await(10L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0L);
+        try {
+            assertTrue(blocking.await(5L, TimeUnit.SECONDS));
+            CountDownLatch expired = new CountDownLatch(1);
+            AtomicReference<Thread> localThread = new AtomicReference<>();
+            TransactionTimeoutScheduler.getLocalTransactionTimeouts().schedule(() -> {
+                localThread.set(Thread.currentThread());
+                expired.countDown();
+            }, 0L);
+
+            assertTrue(expired.await(5L, TimeUnit.SECONDS));
+            assertAll(
+                () -> assertThat(coordinatorThread.get().getName(), startsWith("jts-timeout-dispatcher")),
+                () -> assertThat(localThread.get(), not(sameInstance(coordinatorThread.get()))),
+                () -> assertThat(TransactionTimeoutScheduler.getCoordinatorTimeouts().getTimingWheel(),
+                    not(sameInstance(TransactionTimeoutScheduler.getLocalTransactionTimeouts().getTimingWheel())))
+            );
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -187,6 +187,19 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property key used to enable group commit of forced log writes.  Concurrent
+     * forced writes are buffered and the log is forced once for all of them, so a
+     * larger value can increase commit throughput at the cost of commit latency.
+     * <p>
+     * The value is <em><b>com.sun.jts.groupCommitDelay</b></em>.
+     * <p>
+     * The value is the maximum time in microseconds a forced write waits for other
+     * writes to join its force; zero batches only the writes that arrive during a
+     * force.  If the value is negative, illegal or unspecified, every forced write
+     * forces the log itself.
+     */
+    public final static String GROUP_COMMIT_DELAY = "com.sun.jts.groupCommitDelay";
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
@@ -23,8 +23,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -63,9 +66,16 @@ class LogDBHelper {
     private static final String createTableStatement =
                  "create table txn_log_table (localtid varchar(20), servername varchar(150), instancename varchar(150), gtrid blob)";
     private static final boolean useNonTxConnectionForAddRecord = Boolean.getBoolean("com.sun.jts.dblogging.use.nontx.connection.for.add");
+    // Batching is enabled if the delay in milliseconds an insert waits for other inserts is not negative
+    private static final int batchDelay = Integer.getInteger("com.sun.jts.dblogging.batch.delay", -1);
+    private static final int batchSize = Math.max(1, Integer.getInteger("com.sun.jts.dblogging.batch.size", 100));
+    // Max time in milliseconds records of completed transactions wait to be deleted
+    private static final int batchDeleteInterval = Integer.getInteger("com.sun.jts.dblogging.batch.deleteinterval", 1000);
     private static Logger _logger = LogDomains.getLogger(LogDBHelper.class, LogDomains.TRANSACTION_LOGGER);
     private static LogDBHelper _instance = new LogDBHelper();
 
+    private BatchWriter batchWriter;
+
     static LogDBHelper getInstance() {
         return _instance;
     }
@@ -83,6 +93,10 @@ class LogDBHelper {
 
             createTable();
 
+            if (batchDelay >= 0) {
+                batchWriter = new BatchWriter(batchDelay, batchSize, batchDeleteInterval);
+            }
+
         } catch (Throwable t) {
             _logger.log(Level.SEVERE,"jts.unconfigured_db_log_resource",resName);
             _logger.log(Level.SEVERE,"",t);
@@ -91,6 +105,30 @@ class LogDBHelper {
             _logger.fine("LogDBHelper.resName: " + resName);
             _logger.fine("LogDBHelper.ds: " + ds);
             _logger.fine("LogDBHelper.getNonTxConnectionMethod: " + getNonTxConnectionMethod);
+            _logger.fine("LogDBHelper.batchDelay: " + batchDelay);
+        }
+    }
+
+    /** Creates a helper writing to the given data source, without creating the table.
+      * Used by tests.
+      */
+    LogDBHelper(DataSource ds, String serverName, String instanceName,
+            int batchDelay, int batchSize, int batchDeleteInterval) throws NoSuchMethodException {
+        this.ds = ds;
+        this.serverName = serverName;
+        this.instanceName = instanceName;
+        getNonTxConnectionMethod = ds.getClass().getMethod("getNonTxConnection");
+        if (batchDelay >= 0) {
+            batchWriter = new BatchWriter(batchDelay, Math.max(1, batchSize), batchDeleteInterval);
+        }
+    }
+
+    /** Stops the batch writer once the queued records are written.
+      * The writer is started again by the next record.
+      */
+    void shutdown() {
+        if (batchWriter != null) {
+            batchWriter.shutdown();
         }
     }
 
@@ -131,6 +169,9 @@ class LogDBHelper {
                 _logger.fine("LogDBHelper.addRecord for serverName: " + serverName);
                 _logger.fine("LogDBHelper.addRecord for instanceName: " + instanceName);
             }
+            if (batchWriter != null && data != null) {
+                return batchWriter.insert(localTID, data);
+            }
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             try {
@@ -167,6 +208,11 @@ class LogDBHelper {
     }
 
     boolean deleteRecord(long localTID) {
+        if (batchWriter != null) {
+            // The transaction completed, its record is deleted lazily with other records
+            batchWriter.delete(localTID, serverName);
+            return true;
+        }
         return deleteRecord(localTID, serverName);
     }
 
@@ -309,6 +355,20 @@ class LogDBHelper {
         return serverName0;
     }
 
+    private Connection getNonTxConnection() throws Exception {
+        // To avoid compile time dependency to get NonTxConnection
+        return (Connection)(getNonTxConnectionMethod.invoke(ds));
+    }
+
+    private static void close(AutoCloseable closeable) {
+        try {
+            if (closeable != null)
+                closeable.close();
+        } catch (Exception ex) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+        }
+    }
+
     private void createTable() {
         if (ds != null) {
             if (_logger.isLoggable(Level.FINE)) {
@@ -336,4 +396,244 @@ class LogDBHelper {
             }
         }
     }
+
+    /** A record to be inserted or deleted by the BatchWriter.
+     */
+    private static final class PendingRecord {
+        final String localTID;
+        final String serverName;
+        final byte[] data;
+        final CountDownLatch written = new CountDownLatch(1);
+        volatile boolean result;
+
+        PendingRecord(long localTID, String serverName, byte[] data) {
+            this.localTID = Long.toString(localTID);
+            this.serverName = serverName;
+            this.data = data;
+        }
+    }
+
+    /** Writes the records of concurrent transactions in JDBC batches on a
+      * dedicated connection. An insert waits up to the batch delay for other
+      * inserts and returns once its batch is committed. Deletes of completed
+      * transactions do not wait, they are executed with the next batch of
+      * inserts, or when enough of them are queued, or after the delete interval.
+      * The writer thread writes all queued records before it is stopped.
+      */
+    private final class BatchWriter implements Runnable {
+
+        private final int delay;
+        private final int size;
+        private final int deleteInterval;
+
+        // Guarded by this
+        private final List<PendingRecord> inserts = new ArrayList<>();
+        private final List<PendingRecord> deletes = new ArrayList<>();
+        private Thread writer;
+        private boolean stopping;
+
+        // Used by the writer thread only
+        private Connection conn;
+
+        BatchWriter(int delay, int size, int deleteInterval) {
+            this.delay = delay;
+            this.size = size;
+            this.deleteInterval = deleteInterval;
+        }
+
+        boolean insert(long localTID, byte[] data) {
+            PendingRecord record = new PendingRecord(localTID, serverName, data);
+            synchronized (this) {
+                inserts.add(record);
+                startWriter();
+                notifyAll();
+            }
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    record.written.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // The record must be written before the commit can proceed
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return record.result;
+        }
+
+        synchronized void delete(long localTID, String serverName0) {
+            deletes.add(new PendingRecord(localTID, serverName0, null));
+            startWriter();
+            if (deletes.size() >= size) {
+                notifyAll();
+            }
+        }
+
+        private void startWriter() {
+            if (writer == null) {
+                writer = new Thread(this, "JTS DB log writer");
+                writer.setDaemon(true);
+                writer.start();
+            }
+        }
+
+        /** Writes the queued records and stops the writer thread.
+          */
+        void shutdown() {
+            Thread stopped;
+            synchronized (this) {
+                stopped = writer;
+                if (stopped == null) {
+                    return;
+                }
+                stopping = true;
+                notifyAll();
+            }
+
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    stopped.join();
+                    break;
+                } catch (InterruptedException e) {
+                    // The queued records must be written before the shutdown proceeds
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    List<PendingRecord> insertBatch;
+                    List<PendingRecord> deleteBatch;
+                    synchronized (this) {
+                        awaitRecords();
+                        if (stopping && inserts.isEmpty() && deletes.isEmpty()) {
+                            exit();
+                            return;
+                        }
+                        insertBatch = drain(inserts, size);
+                        deleteBatch = drain(deletes, deletes.size());
+                    }
+
+                    boolean result = executeBatch(insertStatement, insertBatch, true);
+                    for (PendingRecord record : insertBatch) {
+                        record.result = result;
+                        record.written.countDown();
+                    }
+                    executeBatch(deleteStatement, deleteBatch, false);
+                }
+            } catch (InterruptedException e) {
+                synchronized (this) {
+                    exit();
+                    // Records queued meanwhile are written by a new thread
+                    if (!inserts.isEmpty() || !deletes.isEmpty()) {
+                        startWriter();
+                    }
+                }
+            }
+        }
+
+        /** Releases the connection and the thread slot, so the next record
+          * starts a new writer. Called by the writer thread holding the lock.
+          */
+        private void exit() {
+            close(conn);
+            conn = null;
+            writer = null;
+            stopping = false;
+        }
+
+        /** Waits until there are inserts to write or deletes to flush,
+          * then gives other inserts the batch delay to join the batch.
+          * Returns without waiting when the writer is stopping.
+          */
+        private void awaitRecords() throws InterruptedException {
+            long deleteDeadline = 0;
+            while (!stopping && inserts.isEmpty() && deletes.size() < size) {
+                if (deletes.isEmpty()) {
+                    wait();
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                if (deleteDeadline == 0) {
+                    deleteDeadline = now + deleteInterval;
+                }
+                if (now >= deleteDeadline) {
+                    return;
+                }
+                wait(deleteDeadline - now);
+            }
+
+            if (delay > 0 && !inserts.isEmpty()) {
+                long deadline = System.currentTimeMillis() + delay;
+                long remaining = delay;
+                while (!stopping && inserts.size() < size && remaining > 0) {
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+        }
+
+        private List<PendingRecord> drain(List<PendingRecord> records, int max) {
+            int count = Math.min(max, records.size());
+            List<PendingRecord> batch = new ArrayList<>(records.subList(0, count));
+            records.subList(0, count).clear();
+            return batch;
+        }
+
+        private boolean executeBatch(String statement, List<PendingRecord> batch, boolean insert) {
+            if (batch.isEmpty()) {
+                return true;
+            }
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("LogDBHelper.BatchWriter " + (insert ? "inserting " : "deleting ") + batch.size() + " records");
+            }
+            PreparedStatement prepStmt1 = null;
+            try {
+                if (conn == null) {
+                    conn = getNonTxConnection();
+                    conn.setAutoCommit(false);
+                }
+                prepStmt1 = conn.prepareStatement(statement);
+                for (PendingRecord record : batch) {
+                    prepStmt1.setString(1,record.localTID);
+                    prepStmt1.setString(2,record.serverName);
+                    if (insert) {
+                        prepStmt1.setString(3,instanceName);
+                        prepStmt1.setBytes(4,record.data);
+                    }
+                    prepStmt1.addBatch();
+                }
+                prepStmt1.executeBatch();
+                conn.commit();
+                return true;
+            } catch (Throwable ex) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+                // Do not reuse a connection which might be broken
+                close(prepStmt1);
+                prepStmt1 = null;
+                try {
+                    if (conn != null)
+                        conn.rollback();
+                } catch (Exception ex1) {
+                    _logger.log(Level.FINE,"jts.exception_in_db_log_resource",ex1);
+                }
+                close(conn);
+                conn = null;
+                return false;
+            } finally {
+                close(prepStmt1);
+            }
+        }
+    }
 }
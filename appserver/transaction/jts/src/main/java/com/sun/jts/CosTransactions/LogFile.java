@@ -34,6 +34,8 @@ import com.sun.jts.utils.LogFormatter;
 import com.sun.logging.LogDomains;
 
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -80,6 +82,24 @@ class LogFile {
      */
     LogHandle handle = null;
 
+    /**Time in nanoseconds a forced write waits for other forced writes to join
+     * its group commit, or -1 if every forced write forces the log itself.
+     */
+    private final long groupCommitDelay;
+
+    /**Number of records appended to the log, guarded by this.
+     */
+    private long recordsAppended;
+
+    /**Number of appended records known to be forced, whether a force is
+     * in progress and the number of forces done by group commit, guarded
+     * by forceLock.
+     */
+    private final Object forceLock = new Object();
+    private long recordsForced;
+    private boolean forcing;
+    private long groupForces;
+
     /**LogFile constructor.
      *
      * @param LogHandle
@@ -89,10 +109,25 @@ class LogFile {
      * @see
      */
     LogFile( LogHandle handle ) {
+        this(handle, getGroupCommitDelay());
+    }
+
+    /**LogFile constructor.
+     *
+     * @param handle  The handle of the log file.
+     * @param groupCommitDelay  Maximum group commit delay in microseconds,
+     *                          negative to force the log on every forced write.
+     *
+     * @return
+     *
+     * @see
+     */
+    LogFile( LogHandle handle, long groupCommitDelay ) {
 
         // Set up the instance variables to those values passed in.
 
         this.handle = handle;
+        this.groupCommitDelay = groupCommitDelay < 0 ? -1 : TimeUnit.MICROSECONDS.toNanos(groupCommitDelay);
 
     }
 
@@ -116,13 +151,43 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
+        // Without group commit the record is forced by the write itself.
+        // With group commit a forced record is only buffered, and the caller
+        // waits until a force covers it.
+
+        if( writeType != LogFile.FORCED || groupCommitDelay < 0 ) {
+            append(writeType,record,recordType,recordLSN);
+        } else {
+            long recordNumber = append(LogFile.UNFORCED,record,recordType,recordLSN);
+            awaitForce(recordNumber);
+        }
+
+        return result;
+    }
+
+    /**Writes a log record to the physical log.
+     *
+     * @param writeType   Forced/non-forced write indicator.
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     * @param recordLSN   LSN of the written record.
+     *
+     * @return  The number of records appended so far.
+     *
+     * @see
+     */
+    private synchronized long append( int    writeType,
+                                      byte[] record,
+                                      int    recordType,
+                                      LogLSN recordLSN ) {
+
         // Write the record.
         // Set the result based on return code from log write.
 
@@ -132,16 +197,123 @@ class LogFile {
             if( recordLSN != null )
                 recordLSN.copy(resultLSN);
         } catch( LogException le ) {
-            _logger.log(Level.SEVERE,"jts.log_error",le.toString());
-             String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
-                                        new java.lang.Object[] {le.toString()});
-             throw (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+            throw logError(le);
             //if( recordLSN != null )
             //recordLSN.copy(LogLSN.NULL_LSN);
             //result = false;
         }
 
-        return result;
+        return ++recordsAppended;
+    }
+
+    /**Waits until the given record is forced to the physical log.
+     * <p>
+     * The first waiter becomes the leader of the next group: it waits up to the
+     * group commit delay for other writers to append their records, forces the
+     * log once and wakes up all waiters whose records were covered. The force
+     * holds the log, so writers arriving during the force wait for it to end
+     * before they append, and their records are covered by the next group.
+     *
+     * @param recordNumber  The number of the record returned by append.
+     *
+     * @return
+     *
+     * @see
+     */
+    private void awaitForce( long recordNumber ) {
+        boolean interrupted = false;
+        synchronized( forceLock ) {
+            while( recordsForced < recordNumber && forcing ) {
+                try {
+                    forceLock.wait();
+                } catch( InterruptedException e ) {
+                    // The record must be forced before the caller can go on.
+                    interrupted = true;
+                }
+            }
+            if( recordsForced >= recordNumber ) {
+                if( interrupted )
+                    Thread.currentThread().interrupt();
+                return;
+            }
+            forcing = true;
+        }
+
+        long recordsCovered = 0;
+        boolean forced = false;
+        try {
+            if( groupCommitDelay > 0 )
+                LockSupport.parkNanos(groupCommitDelay);
+
+            synchronized( this ) {
+                recordsCovered = recordsAppended;
+                handle.forceLog();
+            }
+            forced = true;
+        } catch( LogException le ) {
+            throw logError(le);
+        } finally {
+            synchronized( forceLock ) {
+                forcing = false;
+                if( forced ) {
+                    groupForces++;
+                    if( recordsCovered > recordsForced )
+                        recordsForced = recordsCovered;
+                }
+                forceLock.notifyAll();
+            }
+            if( interrupted )
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**Returns the number of forces done by group commit.
+     *
+     * @param
+     *
+     * @return  The number of forces.
+     *
+     * @see
+     */
+    long getGroupForces() {
+        synchronized( forceLock ) {
+            return groupForces;
+        }
+    }
+
+    /**Reads the group commit delay in microseconds from the configuration.
+     *
+     * @param
+     *
+     * @return  The delay, or -1 if group commit is not enabled.
+     *
+     * @see
+     */
+    private static long getGroupCommitDelay() {
+        String delay = Configuration.getPropertyValue(Configuration.GROUP_COMMIT_DELAY);
+        if( delay == null )
+            return -1;
+        try {
+            return Long.parseLong(delay.trim());
+        } catch( NumberFormatException e ) {
+            _logger.log(Level.FINE,"Invalid group commit delay " + delay,e);
+            return -1;
+        }
+    }
+
+    /**Logs the log failure and converts it to a system exception.
+     *
+     * @param le  The log failure.
+     *
+     * @return  The exception to be thrown.
+     *
+     * @see
+     */
+    private static org.omg.CORBA.INTERNAL logError( LogException le ) {
+        _logger.log(Level.SEVERE,"jts.log_error",le.toString());
+         String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
+                                    new java.lang.Object[] {le.toString()});
+         return (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
     }
 
     /**Informs the log that all log records older than the one with the given LSN
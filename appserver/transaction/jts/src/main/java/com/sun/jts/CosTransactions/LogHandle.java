@@ -533,20 +533,8 @@ class LogHandle {
         //       Set 'extent written' flag to FALSE
         //   ENDLOOP
 
-        if( writeMode == FORCE ) {
-            Enumeration extents = extentTable.elements();
-            while( extents.hasMoreElements() ) {
-                LogExtent nextEDP = (LogExtent)extents.nextElement();
-                if( nextEDP.writtenSinceLastForce )
-                    try {
-                        nextEDP.fileHandle.fileSync();
-                        nextEDP.writtenSinceLastForce = false;
-                    } catch (LogException le) {
-                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
-                                sm.getString("jts.log_file_sync_failed"), le);
-                    }
-            }
-        }
+        if( writeMode == FORCE )
+            forceExtents();
 
         // Update the head LSN and 'next free' LSN in the Log_FileDescriptor
         // block
@@ -582,6 +570,56 @@ class LogHandle {
         return result;
     }
 
+    /**Forces all log records written so far to permanent storage.
+     * <p>
+     * Used by group commit to force the records buffered by several writers
+     * with one FSYNC per extent.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException  The force failed.
+     *
+     * @see
+     */
+    synchronized void forceLog() throws LogException {
+
+        // Check BlockValid field in Log_FileDescriptor block pointed to
+        // by logHandle parameter, and ensure it is valid
+
+        if( blockValid != this )
+            throw new LogException(null,LogException.LOG_INVALID_FILE_DESCRIPTOR,1);
+
+        forceExtents();
+    }
+
+    /**Issues FSYNC for each extent written since the last force.
+     * This internal method does not need to be synchronized.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException  The FSYNC failed.
+     *
+     * @see
+     */
+    private void forceExtents() throws LogException {
+        Enumeration extents = extentTable.elements();
+        while( extents.hasMoreElements() ) {
+            LogExtent nextEDP = (LogExtent)extents.nextElement();
+            if( nextEDP.writtenSinceLastForce )
+                try {
+                    nextEDP.fileHandle.fileSync();
+                    nextEDP.writtenSinceLastForce = false;
+                } catch (LogException le) {
+                    throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                            sm.getString("jts.log_file_sync_failed"), le);
+                }
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
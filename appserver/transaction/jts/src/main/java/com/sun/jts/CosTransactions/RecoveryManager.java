@@ -746,6 +746,12 @@ public class RecoveryManager {
             CoordinatorLog.finalizeAll();
         }
 
+        // Write the records queued by the database log and stop its writer.
+
+        if (Configuration.isDBLoggingEnabled()) {
+            LogDBHelper.getInstance().shutdown();
+        }
+
         //$Continue with shutdown/quiesce.
     }
 
@@ -31,21 +31,24 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.TransactionTimeoutScheduler;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
-import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.glassfish.common.util.timer.TimingWheel;
 import org.omg.CosTransactions.Status;
 
 /**
- * This class records state for timing out transactions, and runs a thread
- * which performs occasional checks to time out transactions.
+ * This class records state for timing out transactions. The timeouts are
+ * scheduled with the coordinator {@link TransactionTimeoutScheduler}, which
+ * calls back each timed out transaction, so the pending transactions are
+ * never scanned.
  *
  * @version 0.01
  *
@@ -77,11 +80,16 @@ class TimeoutManager {
 
     private static Hashtable     pendingTimeouts = new Hashtable();
     private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
     private static boolean       isSetTimeout = false;
 
+    /**
+     * Interval in milliseconds after which a timed out transaction which
+     * did not complete yet is timed out again.
+     */
+    private static long          recheckInterval = 10000;
+
     /*
         Logger to log transaction messages
     */
@@ -105,11 +113,7 @@ class TimeoutManager {
 
         initialised = true;
 
-        // Start the timeout thread.
-
-        if (!timeoutActive && timeoutThread == null) {
-            //  timeoutThread = new TimeoutThread();
-            //  timeoutThread.start();
+        if (!timeoutActive) {
             timeoutActive = true;
         }
     }
@@ -119,9 +123,15 @@ class TimeoutManager {
         if (isSetTimeout) {
             return;
         }
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                recheckInterval = Math.max(Integer.parseInt(timeout_interval) * 1000L, 10000L);
+            }
+        } catch (Exception e) {
+            recheckInterval = 10000;
+        }
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
     }
 
     /**
@@ -159,21 +169,26 @@ class TimeoutManager {
                         initSetTimeout();
                     }
                     timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
+                    timeoutInfo.expireTime = System.currentTimeMillis() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    cancel((TimeoutInfo) pendingTimeouts.put(localTID, timeoutInfo));
+                    timeoutInfo.schedule(seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
+                    // Like an active timeout, the first in-doubt timeout
+                    // enables the timeouts, so in-doubt transactions are
+                    // timed out even if no active timeout was set before.
                     if (!isSetTimeout) {
                         initSetTimeout();
                         // isSetTimeout = true;
                     }
                     timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
+                    timeoutInfo.expireTime = System.currentTimeMillis() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    cancel((TimeoutInfo) indoubtTimeouts.put(localTID, timeoutInfo));
+                    timeoutInfo.schedule(seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -182,17 +197,18 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = (TimeoutInfo) pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = (TimeoutInfo) indoubtTimeouts.remove(localTID);
                     }
+                    result = (timeoutInfo != null);
+                    cancel(timeoutInfo);
 
                     // If the transaction service is quiescing and
                     // there are no more pending timeouts,
-                    // deactivate timeout and stop the timeout thread.
+                    // deactivate timeout.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -323,100 +339,49 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
+     * Checks whether the timeout is still established for its transaction.
      * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
+     * A timeout is no longer established once it was cancelled or replaced by
+     * a timeout of another type or duration.
      *
-     * @param
+     * @param timeoutInfo  The timeout to check.
      *
-     * @return  The information for transactions which have timed out.
+     * @return  Indicates whether the timeout is established.
      *
      * @see
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
-        }
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
+    static boolean isEstablished(TimeoutInfo timeoutInfo) {
+        Hashtable timeouts = timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT ? indoubtTimeouts : pendingTimeouts;
+        return timeouts != null && timeouts.get(timeoutInfo.localTID) == timeoutInfo;
+    }
 
-            }
-            // Enumerate the transactions which have timed out.
+    /**
+     * Returns the interval after which a timed out transaction which did
+     * not complete yet is timed out again.
+     *
+     * @param
+     *
+     * @return  The interval in milliseconds.
+     *
+     * @see
+     */
+    static long getRecheckInterval() {
+        return recheckInterval;
+    }
 
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
+    /**
+     * Cancels the scheduled timeout, if any.
+     *
+     * @param timeoutInfo  The timeout to cancel, may be null.
+     *
+     * @return
+     *
+     * @see
+     */
+    private static void cancel(TimeoutInfo timeoutInfo) {
+        if (timeoutInfo != null) {
+            timeoutInfo.cancel();
         }
-
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
-
-        return result;
     }
 
     /**
@@ -470,7 +435,7 @@ class TimeoutManager {
         }
         long result = -1;
         if (timeoutInfo != null) {
-            result = timeoutInfo.expireTime - new Date().getTime();
+            result = timeoutInfo.expireTime - System.currentTimeMillis();
             if (result < 0) {
                 result = 0;
             }
@@ -481,10 +446,10 @@ class TimeoutManager {
 
     /**
      * Informs the TimeoutManager that the transaction service
-     * is being shut down. For immediate shutdown, the timeout thread is
-     * stopped and all timeout information discarded.
+     * is being shut down. For immediate shutdown, the scheduled timeouts are
+     * cancelled and all timeout information discarded.
      *
-     * For quiesce, the timeout thread is stopped when there are no running
+     * For quiesce, timeouts are deactivated when there are no running
      * transactions left.
      *
      * @param immediate  Indicates whether to stop immediately.
@@ -495,23 +460,31 @@ class TimeoutManager {
      */
     static void shutdown(boolean immediate) {
 
-        // For immediate, kill the timeout thread and throw
+        // For immediate, cancel the scheduled timeouts and throw
         // away all information. Also, if there are no pending
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
         if (immediate ||
             pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
-            }
-
             if (pendingTimeouts != null) {
+                synchronized (pendingTimeouts) {
+                    Enumeration timeouts = pendingTimeouts.elements();
+                    while (timeouts.hasMoreElements()) {
+                        cancel((TimeoutInfo) timeouts.nextElement());
+                    }
+                }
                 pendingTimeouts.clear();
             }
 
+            synchronized (indoubtTimeouts) {
+                Enumeration timeouts = indoubtTimeouts.elements();
+                while (timeouts.hasMoreElements()) {
+                    cancel((TimeoutInfo) timeouts.nextElement());
+                }
+            }
+
             pendingTimeouts = null;
-            timeoutThread = null;
             timeoutActive = false;
         } else {
             quiescing = true;
@@ -579,66 +552,48 @@ class TimeoutManager {
 //   0.1   SAJH   Initial implementation.
 //----------------------------------------------------------------------------
 
-class TimeoutInfo extends Object {
+class TimeoutInfo implements Runnable {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- * @see
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
+    private volatile TimingWheel.Timeout timeout = null;
 
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
+    /**
+     * Schedules the timeout of the transaction.
+     *
+     * @param delay  The time in milliseconds until the timeout expires.
+     *
+     * @return
+     *
+     * @see
+     */
+    void schedule(long delay) {
+        timeout = TransactionTimeoutScheduler.getCoordinatorTimeouts().schedule(this, delay);
+    }
 
     /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
+     * Cancels the scheduled timeout, if it did not expire yet.
      *
      * @param
+     *
      * @return
+     *
      * @see
      */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
+    void cancel() {
+        TimingWheel.Timeout scheduled = timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
         }
     }
 
     /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
+     * Tells the timed-out Coordinator to do something appropriate.
+     * <p>
+     * We rely on the Coordinator calling removeCoordinator when it has
+     * finished, which will remove the timeout, and remove other associations
+     * as well. Until then the timeout is rescheduled, so that the Coordinator
+     * is timed out again after the recheck interval.
      *
      * @param
      *
@@ -646,38 +601,16 @@ class TimeoutThread extends Thread {
      *
      * @see
      */
+    @Override
     public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
+        if (!TimeoutManager.isEstablished(this)) {
+            return;
+        }
 
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
+        TimeoutManager.timeoutCoordinator(localTID, timeoutType);
 
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
+        if (TimeoutManager.isEstablished(this)) {
+            schedule(TimeoutManager.getRecheckInterval());
         }
     }
 }
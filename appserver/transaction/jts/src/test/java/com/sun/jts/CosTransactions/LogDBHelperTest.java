@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogDBHelperTest {
+
+    private final RecordingDataSource ds = new RecordingDataSource();
+    private LogDBHelper helper;
+
+    @AfterEach
+    public void stopWriter() {
+        if (helper != null) {
+            helper.shutdown();
+        }
+    }
+
+
+    @Test
+    public void concurrentInsertsAreWrittenInOneBatch() throws Exception {
+        helper = new LogDBHelper(ds, "server", "instance", 500, 16, 60_000);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long localTID = t + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return helper.addRecord(localTID, new byte[] {1, 2, 3});
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertAll(
+            () -> assertThat(ds.batches, contains("insert:16")),
+            () -> assertThat(ds.commits.get(), equalTo(1)),
+            () -> assertThat(ds.connections.get(), equalTo(1))
+        );
+    }
+
+
+    @Test
+    public void deletesAreFlushedAfterInterval() throws Exception {
+        helper = new LogDBHelper(ds, "server", "instance", 0, 100, 200);
+        helper.deleteRecord(1L);
+        helper.deleteRecord(2L);
+        assertThat(ds.batches, empty());
+
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (ds.batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(ds.batches, contains("delete:2"));
+    }
+
+
+    @Test
+    public void deletesAreFlushedWithNextInsert() throws Exception {
+        helper = new LogDBHelper(ds, "server", "instance", 0, 100, 60_000);
+        helper.deleteRecord(1L);
+        helper.deleteRecord(2L);
+        assertTrue(helper.addRecord(3L, new byte[] {3}));
+        helper.shutdown();
+        assertThat(ds.batches, contains("insert:1", "delete:2"));
+    }
+
+
+    @Test
+    public void shutdownFlushesDeletesAndStopsWriter() throws Exception {
+        helper = new LogDBHelper(ds, "server", "instance", 0, 100, 60_000);
+        helper.deleteRecord(1L);
+        Thread writer = findWriter();
+        helper.shutdown();
+        writer.join(10_000L);
+        assertAll(
+            () -> assertThat(ds.batches, contains("delete:1")),
+            () -> assertThat(writer.isAlive(), equalTo(false)),
+            () -> assertThat(ds.closed.get(), equalTo(ds.connections.get()))
+        );
+
+        // The next record starts a new writer
+        assertTrue(helper.addRecord(2L, new byte[] {2}));
+        assertThat(ds.batches, contains("delete:1", "insert:1"));
+    }
+
+
+    private static Thread findWriter() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("JTS DB log writer") && thread.isAlive()) {
+                return thread;
+            }
+        }
+        throw new AssertionError("The writer thread is not running");
+    }
+
+
+    /**
+     * Data source recording the JDBC batches written through its connections.
+     */
+    public static final class RecordingDataSource implements DataSource {
+
+        final List<String> batches = new CopyOnWriteArrayList<>();
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicInteger commits = new AtomicInteger();
+
+        /** Called by LogDBHelper through reflection. */
+        public Connection getNonTxConnection() {
+            connections.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            return prepareStatement((String) args[0]);
+                        case "commit":
+                            commits.incrementAndGet();
+                            return null;
+                        case "close":
+                            closed.incrementAndGet();
+                            return null;
+                        default:
+                            return defaultValue(method);
+                    }
+                });
+        }
+
+        private PreparedStatement prepareStatement(String sql) {
+            String type = sql.trim().split(" ")[0];
+            AtomicInteger added = new AtomicInteger();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "addBatch":
+                            added.incrementAndGet();
+                            return null;
+                        case "executeBatch":
+                            batches.add(type + ":" + added.get());
+                            return new int[added.getAndSet(0)];
+                        default:
+                            return defaultValue(method);
+                    }
+                });
+        }
+
+        private static Object defaultValue(Method method) {
+            Class<?> type = method.getReturnType();
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return getNonTxConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getNonTxConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return null;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return 0;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return null;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) {
+            return null;
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return false;
+        }
+    }
+}
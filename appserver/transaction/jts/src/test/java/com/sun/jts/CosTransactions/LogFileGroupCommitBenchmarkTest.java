@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Measures forced writes to the {@link LogFile} by many threads, each write standing for
+ * the commit record of a transaction. With group commit one force covers the records of all
+ * threads waiting for it, so it must keep at least the throughput of a force per write.
+ * On a file system ignoring the force both are about the same.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class LogFileGroupCommitBenchmarkTest {
+
+    /** Fraction of the throughput of a force per write the group commit must reach at least. */
+    private static final double TOLERANCE = 0.9d;
+
+    @Test
+    public void commit() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.SECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("groupCommitDelay"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("0"), greaterThan(scores.get("-1") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public boolean commit(LogState state) {
+        return state.logFile.write(LogFile.FORCED, state.record, LogFile.NORMAL, null);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class LogState {
+
+        /** Group commit delay in microseconds, -1 forces the log on every forced write. */
+        @Param({"-1", "0"})
+        public long groupCommitDelay;
+
+        final byte[] record = new byte[128];
+        LogFile logFile;
+
+        @Setup(Level.Trial)
+        public void openLog() throws Exception {
+            Path logDirectory = Files.createTempDirectory("jts-log");
+            LogControl logControl = new LogControl();
+            logControl.initLog(false, false, logDirectory.toString());
+            logFile = new LogFile(logControl.openFile("benchmark", reason -> { }, null, new boolean[1]),
+                groupCommitDelay);
+        }
+
+
+        @TearDown(Level.Trial)
+        public void closeLog() {
+            // Deletes the log directory too
+            logFile.close(true);
+        }
+    }
+}
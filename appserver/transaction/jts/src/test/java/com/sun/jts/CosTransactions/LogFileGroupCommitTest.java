@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Forced writes of concurrent transactions to the {@link LogFile} with group commit.
+ */
+public class LogFileGroupCommitTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    public void groupCommitKeepsAllRecords() throws Exception {
+        LogControl logControl = new LogControl();
+        logControl.initLog(false, false, logDirectory.toString());
+        LogFile logFile = new LogFile(logControl.openFile("groupCommit", reason -> { }, null, new boolean[1]), 100L);
+
+        int threads = 16;
+        int recordsPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        byte[] record = (thread + ":" + i).getBytes(StandardCharsets.US_ASCII);
+                        logFile.write(LogFile.FORCED, record, LogFile.NORMAL, new LogLSN());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(logFile.getLogRecords().size(), equalTo(threads * recordsPerThread));
+        logFile.close(true);
+    }
+
+
+    @Test
+    public void concurrentCommitsShareOneForce() throws Exception {
+        LogControl logControl = new LogControl();
+        logControl.initLog(false, false, logDirectory.toString());
+        // The leader waits long enough for all writers to join its group.
+        LogFile logFile = new LogFile(logControl.openFile("sharedForce", reason -> { }, null, new boolean[1]),
+            TimeUnit.MILLISECONDS.toMicros(500L));
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                byte[] record = ("commit:" + t).getBytes(StandardCharsets.US_ASCII);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return logFile.write(LogFile.FORCED, record, LogFile.NORMAL, new LogLSN());
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertAll(
+            () -> assertThat(logFile.getLogRecords().size(), equalTo(threads)),
+            () -> assertThat(logFile.getGroupForces(), equalTo(1L))
+        );
+        logFile.close(true);
+    }
+}
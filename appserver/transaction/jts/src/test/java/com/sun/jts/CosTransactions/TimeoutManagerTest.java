@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.jts.CosTransactions;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timeouts of the JTS transactions without registered coordinators.
+ */
+public class TimeoutManagerTest {
+
+    @BeforeAll
+    public static void initialise() {
+        TimeoutManager.initialise();
+    }
+
+
+    @Test
+    public void inDoubtTimeoutExpiresWithoutActiveTimeout() throws Exception {
+        Long localTID = 1001L;
+        assertTrue(TimeoutManager.setTimeout(localTID, TimeoutManager.IN_DOUBT_TIMEOUT, 0));
+
+        // the transaction has no coordinator, so the expired timeout is cancelled
+        assertTrue(awaitRemoved(localTID), "in-doubt timeout did not expire");
+    }
+
+
+    @Test
+    public void activeTimeoutExpires() throws Exception {
+        Long localTID = 1002L;
+        assertTrue(TimeoutManager.setTimeout(localTID, TimeoutManager.ACTIVE_TIMEOUT, 0));
+
+        assertTrue(awaitRemoved(localTID), "active timeout did not expire");
+    }
+
+
+    @Test
+    public void cancelledTimeoutIsRemoved() {
+        Long localTID = 1003L;
+        assertTrue(TimeoutManager.setTimeout(localTID, TimeoutManager.ACTIVE_TIMEOUT, 60));
+        long timeLeft = TimeoutManager.timeLeft(localTID);
+
+        assertAll(
+            () -> assertThat(timeLeft, greaterThan(0L)),
+            () -> assertTrue(TimeoutManager.setTimeout(localTID, TimeoutManager.CANCEL_TIMEOUT, 0)),
+            () -> assertThat(TimeoutManager.timeLeft(localTID), equalTo(-1L)),
+            () -> assertFalse(TimeoutManager.setTimeout(localTID, TimeoutManager.CANCEL_TIMEOUT, 0))
+        );
+    }
+
+
+    private static boolean awaitRemoved(Long localTID) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (TimeoutManager.timeLeft(localTID) >= 0) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10L);
+        }
+        return true;
+    }
+}
@@ -3607,4 +3607,10 @@ public class LogFacade {
             level = "WARNING"
     )
     public static final String REPOSITORY_PATH_CONTAIN_NULL_CHARACTER = prefix + "00550";
+
+    @LogMessageInfo(
+            message = "Unable to look up the data source {0} of the session store",
+            level = "WARNING"
+    )
+    public static final String DATA_SOURCE_LOOKUP_FAILED = prefix + "00551";
 }
@@ -21,6 +21,7 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 import org.apache.catalina.LogFacade;
@@ -115,6 +116,21 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Write the remaining bytes of the buffer without copying them to the
+     * response buffer. The content of the buffer must not change afterwards.
+     */
+    public void write(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.write(buffer);
+    }
+
+
     /**
      * Will send the buffer to the client.
      */
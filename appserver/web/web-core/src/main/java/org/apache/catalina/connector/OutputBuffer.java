@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -300,6 +301,25 @@ public class OutputBuffer extends Writer
     }
 
 
+    /**
+     * Writes the remaining bytes of the buffer without copying them to the
+     * response buffer. The buffer is handed over to the connection and may be
+     * written after this method returns, so its content must not change.
+     */
+    public void write(ByteBuffer buffer) throws IOException {
+
+        if (suspended)
+            return;
+
+        if (grizzlyOutputBuffer.isClosed())
+            return;
+
+        int len = buffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(buffer);
+        bytesWritten += len;
+    }
+
+
     // XXX Char or byte ?
     public void writeByte(int b)
         throws IOException {
@@ -60,7 +60,8 @@ final class ApplicationFilterChain implements FilterChain {
     // -------------------------------------------------------------- Constants
 
 
-    public static final int INCREMENT = 10;
+    private static final ApplicationFilterConfig[] NO_FILTERS =
+        new ApplicationFilterConfig[0];
 
 
     // ----------------------------------------------------------- Constructors
@@ -78,10 +79,10 @@ final class ApplicationFilterChain implements FilterChain {
 
 
     /**
-     * Filters.
+     * Filters, shared by all chains of the same servlet and request path,
+     * never modified.
      */
-    private ApplicationFilterConfig[] filters =
-        new ApplicationFilterConfig[0];
+    private ApplicationFilterConfig[] filters = NO_FILTERS;
 
 
     /**
@@ -309,18 +310,16 @@ final class ApplicationFilterChain implements FilterChain {
 
 
     /**
-     * Add a filter to the set of filters that will be executed in this chain.
+     * Set the filters that will be executed in this chain and restart the
+     * chain at the first filter.
      *
-     * @param filterConfig The FilterConfig for the servlet to be executed
+     * @param filters The FilterConfigs of the filters to be executed, the
+     * array is not copied and must not be modified
      */
-    void addFilter(ApplicationFilterConfig filterConfig) {
-        if (n == filters.length) {
-            ApplicationFilterConfig[] newFilters =
-                new ApplicationFilterConfig[n + INCREMENT];
-            System.arraycopy(filters, 0, newFilters, 0, n);
-            filters = newFilters;
-        }
-        filters[n++] = filterConfig;
+    void setFilters(ApplicationFilterConfig[] filters) {
+        this.filters = filters;
+        n = filters.length;
+        pos = 0;
     }
 
 
@@ -328,6 +327,7 @@ final class ApplicationFilterChain implements FilterChain {
      * Release references to the filters and wrapper executed by this chain.
      */
     void release() {
+        filters = NO_FILTERS;
         n = 0;
         pos = 0;
         servlet = null;
@@ -21,9 +21,12 @@ import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRequest;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.Request;
@@ -106,10 +109,9 @@ public final class ApplicationFilterFactory {
 
         // Acquire the filter mappings for this Context
         StandardContext context = (StandardContext) wrapper.getParent();
-        List<FilterMap> filterMaps = context.findFilterMaps();
 
         // If there are no filter mappings, we are done
-        if (filterMaps.isEmpty()) {
+        if (context.findFilterMaps().isEmpty()) {
             return (filterChain);
         }
 
@@ -122,67 +124,26 @@ public final class ApplicationFilterFactory {
             requestPath = attribute.toString();
         }
 
-        // Acquire the information we will need to match filter mappings
-        String servletName = wrapper.getName();
-
-        int n = 0;
-
-        // Add the relevant path-mapped filters to this filter chain
-        Iterator<FilterMap> i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            /* SJSWS 6324431
-            if (!matchFiltersURL(filterMaps[i], requestPath))
-                continue;
-            */
-            // START SJSWS 6324431
-            if (!matchFiltersURL(filterMap, requestPath,
-                                 context.isCaseSensitiveMapping()))
-                continue;
-            // END SJSWS 6324431
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
-                context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+        // Reuse the filters matched for this servlet and dispatcher type,
+        // unless the filter mappings changed since
+        StandardWrapper standardWrapper = (StandardWrapper) wrapper;
+        int generation = context.getFilterChainGeneration();
+        FilterChainTemplate template =
+            standardWrapper.getFilterChainTemplate(dispatcher);
+        if (template == null || template.generation != generation) {
+            template = new FilterChainTemplate(context, wrapper.getName(),
+                                               dispatcher, generation);
+            standardWrapper.setFilterChainTemplate(dispatcher, template);
         }
 
-        // Add filters that match on servlet name second
-        i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            if (!matchFiltersServlet(filterMap, servletName))
-                continue;
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
-                context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+        ApplicationFilterConfig[] filters = template.getFilters(requestPath);
+        // START IASRI 4665318
+        // Create a filter chain only when there are filters to add
+        if (filters.length > 0) {
+            filterChain = internalCreateFilterChain(request, wrapper, servlet);
+            filterChain.setFilters(filters);
         }
+        // END IASRI 4665318
 
         // Return the completed filter chain
         return (filterChain);
@@ -205,8 +166,8 @@ public final class ApplicationFilterFactory {
     private boolean matchFiltersURL(FilterMap filterMap, String requestPath) {
     */
     // START SJSWS 6324431
-    private boolean matchFiltersURL(FilterMap filterMap, String requestPath,
-                                    boolean caseSensitiveMapping) {
+    static boolean matchFiltersURL(FilterMap filterMap, String requestPath,
+                                   boolean caseSensitiveMapping) {
     // END SJSWS 6324431
 
         if (requestPath == null)
@@ -270,8 +231,8 @@ public final class ApplicationFilterFactory {
      * @param filterMap Filter mapping being checked
      * @param servletName Servlet name being checked
      */
-    private boolean matchFiltersServlet(FilterMap filterMap,
-                                        String servletName) {
+    static boolean matchFiltersServlet(FilterMap filterMap,
+                                       String servletName) {
 
         if (servletName == null) {
             return (false);
@@ -310,4 +271,134 @@ public final class ApplicationFilterFactory {
     // END IASRI 4665318
 
 
+    /**
+     * The filters matched for a servlet and dispatcher type. The filters
+     * mapped by servlet name are the same for every request, the filters
+     * mapped by URL pattern are matched once per request path, unless
+     * they are all mapped to every path.
+     * <p>
+     * Instances are immutable except for the cache of the request paths,
+     * and the returned arrays are shared by all requests, they must not
+     * be modified.
+     */
+    static final class FilterChainTemplate {
+
+        /**
+         * Max number of request paths whose filters are cached. A new path
+         * evicts an arbitrary cached one, so concurrent requests may exceed
+         * the limit by a few paths.
+         */
+        static final int MAX_CACHED_PATHS = 1024;
+
+        final int generation;
+
+        private final boolean caseSensitiveMapping;
+        private final FilterMap[] urlFilterMaps;
+        private final ApplicationFilterConfig[] urlFilters;
+        private final ApplicationFilterConfig[] servletFilters;
+
+        // filters of every request path, or null if they depend on the path
+        private final ApplicationFilterConfig[] anyPathFilters;
+        private final Map<String, ApplicationFilterConfig[]> pathFilters =
+            new ConcurrentHashMap<>();
+
+        FilterChainTemplate(StandardContext context, String servletName,
+                            DispatcherType dispatcher, int generation) {
+            this.generation = generation;
+            this.caseSensitiveMapping = context.isCaseSensitiveMapping();
+
+            List<FilterMap> urlMaps = new ArrayList<>();
+            List<ApplicationFilterConfig> urlConfigs = new ArrayList<>();
+            List<ApplicationFilterConfig> servletConfigs = new ArrayList<>();
+            boolean everyPath = true;
+            for (FilterMap filterMap : context.findFilterMaps()) {
+                if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
+                    continue;
+                }
+                ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
+                    context.findFilterConfig(filterMap.getFilterName());
+                if (filterConfig == null) {
+                    // FIXME - log configuration problem
+                    continue;
+                }
+                if (filterMap.getURLPattern() != null) {
+                    urlMaps.add(filterMap);
+                    urlConfigs.add(filterConfig);
+                    everyPath &= "/*".equals(filterMap.getURLPattern());
+                }
+                if (matchFiltersServlet(filterMap, servletName)) {
+                    servletConfigs.add(filterConfig);
+                }
+            }
+
+            this.urlFilterMaps = urlMaps.toArray(new FilterMap[urlMaps.size()]);
+            this.urlFilters = urlConfigs.toArray(
+                new ApplicationFilterConfig[urlConfigs.size()]);
+            this.servletFilters = servletConfigs.toArray(
+                new ApplicationFilterConfig[servletConfigs.size()]);
+            this.anyPathFilters = everyPath ? concat(urlFilters, urlFilters.length) : null;
+        }
+
+        /**
+         * @param requestPath Context-relative request path, may be null
+         * @return the filters to execute, in order
+         */
+        ApplicationFilterConfig[] getFilters(String requestPath) {
+            // Filters mapped by URL pattern never match without a path
+            if (requestPath == null) {
+                return servletFilters;
+            }
+            if (anyPathFilters != null) {
+                return anyPathFilters;
+            }
+            ApplicationFilterConfig[] filters = pathFilters.get(requestPath);
+            if (filters == null) {
+                filters = matchPath(requestPath);
+                if (pathFilters.size() >= MAX_CACHED_PATHS) {
+                    Iterator<String> paths = pathFilters.keySet().iterator();
+                    if (paths.hasNext()) {
+                        paths.next();
+                        paths.remove();
+                    }
+                }
+                pathFilters.put(requestPath, filters);
+            }
+            return filters;
+        }
+
+        /**
+         * @return the number of request paths whose filters are cached
+         */
+        int getCachedPathCount() {
+            return pathFilters.size();
+        }
+
+        private ApplicationFilterConfig[] matchPath(String requestPath) {
+            ApplicationFilterConfig[] matched =
+                new ApplicationFilterConfig[urlFilters.length];
+            int n = 0;
+            for (int i = 0; i < urlFilterMaps.length; i++) {
+                if (matchFiltersURL(urlFilterMaps[i], requestPath,
+                                    caseSensitiveMapping)) {
+                    matched[n++] = urlFilters[i];
+                }
+            }
+            return concat(matched, n);
+        }
+
+        /**
+         * @return the first n URL filters followed by the servlet name filters
+         */
+        private ApplicationFilterConfig[] concat(ApplicationFilterConfig[] urlMatches, int n) {
+            if (n == 0) {
+                return servletFilters;
+            }
+            ApplicationFilterConfig[] filters =
+                new ApplicationFilterConfig[n + servletFilters.length];
+            System.arraycopy(urlMatches, 0, filters, 0, n);
+            System.arraycopy(servletFilters, 0, filters, n, servletFilters.length);
+            return filters;
+        }
+    }
+
 }
@@ -434,6 +434,12 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * Incremented whenever the filter mappings or filter configurations change, invalidating the filter chains cached by
+     * the wrappers of this context.
+     */
+    private final AtomicInteger filterChainGeneration = new AtomicInteger();
+
     /**
      * The list of classnames of InstanceListeners that will be added to each newly created Wrapper by
      * <code>createWrapper()</code>.
@@ -863,6 +869,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        invalidateFilterChains();
     }
 
     /**
@@ -2118,6 +2125,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         } else {
             filterMaps.add(0, filterMap);
         }
+        invalidateFilterChains();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -3624,6 +3632,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         filterMaps.clear();
+        invalidateFilterChains();
     }
 
     @Override
@@ -3900,6 +3909,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
                 }
             }
         }
+        invalidateFilterChains();
 
         return ok;
     }
@@ -3922,6 +3932,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             }
             filterConfigs.clear();
         }
+        invalidateFilterChains();
 
         return true;
     }
@@ -3937,6 +3948,20 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return filterConfigs.get(name);
     }
 
+    /**
+     * @return the current generation of the filter mappings and configurations, see {@link ApplicationFilterFactory}
+     */
+    int getFilterChainGeneration() {
+        return filterChainGeneration.get();
+    }
+
+    /**
+     * Discards the filter chains cached by the wrappers of this context.
+     */
+    void invalidateFilterChains() {
+        filterChainGeneration.incrementAndGet();
+    }
+
     /**
      * Notifies all ServletContextListeners at their contextInitialized method.
      */
@@ -18,6 +18,7 @@
 
 package org.apache.catalina.core;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
@@ -45,6 +46,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 
 import javax.management.Notification;
@@ -146,6 +148,12 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
      */
     private volatile Servlet instance;
 
+    /**
+     * The initialized non-STM instance, returned by {@link #allocate()} without locking.
+     * Set by the first allocation of the instance and cleared as soon as the instance is being unloaded.
+     */
+    private volatile Servlet allocatableInstance;
+
     /**
      * Flag that indicates if this instance has been initialized
      */
@@ -227,6 +235,12 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
      */
     private Stack<Servlet> instancePool;
 
+    /**
+     * The filter chains of this servlet cached by the {@link ApplicationFilterFactory}, indexed by dispatcher type.
+     */
+    private final AtomicReferenceArray<ApplicationFilterFactory.FilterChainTemplate> filterChainTemplates =
+        new AtomicReferenceArray<>(DispatcherType.values().length);
+
     /**
      * Wait time for servlet unload in ms.
      */
@@ -352,6 +366,20 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
         return instanceSupport;
     }
 
+    /**
+     * @return the cached filter chain of this servlet for the given dispatcher type, or null
+     */
+    ApplicationFilterFactory.FilterChainTemplate getFilterChainTemplate(DispatcherType dispatcherType) {
+        return filterChainTemplates.get(dispatcherType.ordinal());
+    }
+
+    /**
+     * Caches the filter chain of this servlet for the given dispatcher type.
+     */
+    void setFilterChainTemplate(DispatcherType dispatcherType, ApplicationFilterFactory.FilterChainTemplate template) {
+        filterChainTemplates.set(dispatcherType.ordinal(), template);
+    }
+
     /**
      * Return the context-relative URI of the JSP file for this servlet.
      */
@@ -936,12 +964,26 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
      * the servlet class does not implement <code>SingleThreadModel</code>, the (only) initialized instance may be returned
      * immediately. If the servlet class implements <code>SingleThreadModel</code>, the Wrapper implementation must ensure
      * that this instance is not allocated again until it is deallocated by a call to <code>deallocate()</code>.
+     * Once initialized, the non-STM instance is returned without locking the wrapper.
      *
      * @exception ServletException if the servlet init() method threw an exception
      * @exception ServletException if a loading error occurs
      */
     @Override
-    public synchronized Servlet allocate() throws ServletException {
+    public Servlet allocate() throws ServletException {
+        Servlet servlet = allocatableInstance;
+        if (servlet != null) {
+            countAllocated.incrementAndGet();
+            // unload() clears the instance before it waits for the active allocations
+            if (allocatableInstance == servlet) {
+                return servlet;
+            }
+            countAllocated.decrementAndGet();
+        }
+        return allocateInstance();
+    }
+
+    private synchronized Servlet allocateInstance() throws ServletException {
         // If we are currently unloading this servlet, throw an exception
         if (unloading) {
             throw new ServletException(format(rb.getString(CANNOT_ALLOCATE_SERVLET_EXCEPTION), getName()));
@@ -972,6 +1014,7 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
             if (!singleThreadModel) {
                 log.log(FINEST, "Returning non-STM instance");
                 countAllocated.incrementAndGet();
+                allocatableInstance = instance;
                 return (instance);
             }
         }
@@ -1504,6 +1547,7 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
         if (!singleThreadModel && instance == null) {
             return;
         }
+        allocatableInstance = null;
         unloading = true;
 
         // Loaf a while if the current instance is allocated
@@ -32,7 +32,18 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.LifecycleException;
@@ -45,6 +56,14 @@ import org.apache.catalina.util.CustomObjectInputStream;
  * Implementation of the <code>Store</code> interface that stores
  * serialized session objects in a database.  Sessions that are
  * saved are still subject to being expired based on inactivity.
+ * <p>
+ * By default the store opens its own connection from the driver and
+ * connection URL and serializes all database access on it. If the
+ * <code>dataSourceName</code> of a JDBC resource is set, every operation
+ * borrows a pooled connection instead, so sessions are loaded and saved
+ * concurrently. Saves arriving within <code>saveBatchDelay</code>
+ * milliseconds are then written together in one JDBC batch and expired
+ * sessions are deleted by one statement.
  *
  * @author Bip Thelin
  * @version $Revision: 1.4 $, $Date: 2006/11/09 01:12:51 $
@@ -89,6 +108,84 @@ public class JDBCStore extends StoreBase {
      */
     protected String driverName = null;
 
+    /**
+     * Name of the JDBC resource to borrow connections from. If set, the
+     * driver and connection URL are not used.
+     */
+    protected String dataSourceName = null;
+
+    /**
+     * Time in milliseconds a save waits for other saves to be written
+     * in the same batch, <code>0</code> writes every save immediately.
+     * Used with the <code>dataSourceName</code> only.
+     */
+    protected int saveBatchDelay = 0;
+
+    /**
+     * Max count of sessions written in one batch.
+     */
+    protected int saveBatchSize = 100;
+
+    /**
+     * The data source found by the <code>dataSourceName</code>.
+     */
+    private volatile DataSource dataSource = null;
+
+    /**
+     * Guards the batch of saves which is not written yet.
+     */
+    private final Object saveBatchLock = new Object();
+
+    /**
+     * Saves waiting for the batch delay, null if there are none.
+     */
+    private SaveBatch openSaveBatch = null;
+
+    /**
+     * Sequence number of the next batch opened, guarded by the
+     * <code>saveBatchLock</code>.
+     */
+    private long nextSaveBatch = 0;
+
+    /**
+     * Sessions saved in batches which are not written yet, by session id.
+     */
+    private final Map<String, PendingSave> pendingSaves = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes the batches in the order they were opened, so the later
+     * save of a session always wins.
+     */
+    private final Object saveBatchWriteLock = new Object();
+
+    /**
+     * Sequence number of the next batch to be written, guarded by the
+     * <code>saveBatchWriteLock</code>.
+     */
+    private long nextWrittenSaveBatch = 0;
+
+    /**
+     * Count of the locks serializing the unbatched saves.
+     */
+    private static final int SAVE_LOCK_COUNT = 64;
+
+    /**
+     * Serializes the unbatched saves and removes of the same session,
+     * so their statements replacing its row do not interleave.
+     */
+    private final Object[] saveLocks = new Object[SAVE_LOCK_COUNT];
+
+    {
+        for (int i = 0; i < saveLocks.length; i++) {
+            saveLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Thread expiring the sessions, their rows are deleted by one statement.
+     */
+    private volatile Thread expiringThread = null;
+
     // ------------------------------------------------------------- Table & cols
 
     /**
@@ -224,6 +321,68 @@ public class JDBCStore extends StoreBase {
         return(this.driverName);
     }
 
+    /**
+     * Set the name of the JDBC resource to borrow connections from.
+     *
+     * @param dataSourceName The JNDI name of the data source
+     */
+    public void setDataSourceName(String dataSourceName) {
+        String oldDataSourceName = this.dataSourceName;
+        this.dataSourceName = dataSourceName;
+        support.firePropertyChange("dataSourceName",
+                                   oldDataSourceName,
+                                   this.dataSourceName);
+        this.dataSource = null;
+    }
+
+    /**
+     * Return the name of the JDBC resource to borrow connections from.
+     */
+    public String getDataSourceName() {
+        return(this.dataSourceName);
+    }
+
+    /**
+     * Set the time in milliseconds a save waits for other saves to be
+     * written in the same batch.
+     *
+     * @param saveBatchDelay The delay, <code>0</code> disables batching
+     */
+    public void setSaveBatchDelay(int saveBatchDelay) {
+        int oldSaveBatchDelay = this.saveBatchDelay;
+        this.saveBatchDelay = saveBatchDelay;
+        support.firePropertyChange("saveBatchDelay",
+                                   Integer.valueOf(oldSaveBatchDelay),
+                                   Integer.valueOf(this.saveBatchDelay));
+    }
+
+    /**
+     * Return the time in milliseconds a save waits for other saves.
+     */
+    public int getSaveBatchDelay() {
+        return(this.saveBatchDelay);
+    }
+
+    /**
+     * Set the max count of sessions written in one batch.
+     *
+     * @param saveBatchSize The new batch size
+     */
+    public void setSaveBatchSize(int saveBatchSize) {
+        int oldSaveBatchSize = this.saveBatchSize;
+        this.saveBatchSize = Math.max(1, saveBatchSize);
+        support.firePropertyChange("saveBatchSize",
+                                   Integer.valueOf(oldSaveBatchSize),
+                                   Integer.valueOf(this.saveBatchSize));
+    }
+
+    /**
+     * Return the max count of sessions written in one batch.
+     */
+    public int getSaveBatchSize() {
+        return(this.saveBatchSize);
+    }
+
     /**
      * Set the Connection URL for this Store.
      *
@@ -401,6 +560,11 @@ public class JDBCStore extends StoreBase {
         String keys[] = null;
         int i;
 
+        if (dataSourceName != null) {
+            awaitPendingSaves();
+            return selectKeys(keysSql, null);
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
 
@@ -456,6 +620,22 @@ public class JDBCStore extends StoreBase {
             " WHERE " + sessionAppCol + " = ?";
         ResultSet rst = null;
 
+        if (dataSourceName != null) {
+            awaitPendingSaves();
+            try (Connection _conn = getDataSource().getConnection();
+                 PreparedStatement sizeStmt = _conn.prepareStatement(sizeSql)) {
+                sizeStmt.setString(1, getName());
+                try (ResultSet sizeRst = sizeStmt.executeQuery()) {
+                    if (sizeRst.next()) {
+                        size = sizeRst.getInt(1);
+                    }
+                }
+            } catch(SQLException e) {
+                logSQLError(e);
+            }
+            return(size);
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
 
@@ -504,16 +684,17 @@ public class JDBCStore extends StoreBase {
         throws ClassNotFoundException, IOException {
         ResultSet rst = null;
         StandardSession _session = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
         ObjectInputStream ois = null;
         BufferedInputStream bis = null;
-        Container container = manager.getContainer();
         String loadSql =
             "SELECT " + sessionIdCol + ", " + sessionDataCol + " FROM " +
             sessionTable + " WHERE " + sessionIdCol + " = ? AND " +
             sessionAppCol + " = ?";
 
+        if (dataSourceName != null) {
+            return loadPooled(id, loadSql);
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
             if(_conn == null) {
@@ -530,19 +711,7 @@ public class JDBCStore extends StoreBase {
                 rst = preparedLoadSql.executeQuery();
                 if (rst.next()) {
                     bis = new BufferedInputStream(rst.getBinaryStream(2));
-
-                    if (container != null) {
-                        loader = container.getLoader();
-                    }
-                    if (loader != null) {
-                        classLoader = loader.getClassLoader();
-                    }
-                    if (classLoader != null) {
-                        ois = new CustomObjectInputStream(bis,
-                                                          classLoader);
-                    } else {
-                        ois = new ObjectInputStream(bis);
-                    }
+                    ois = createObjectInputStream(bis);
 
                     if (debug > 0) {
                         String msg = MessageFormat.format(rb.getString(LogFacade.LOADING_SESSION_FROM_DATABASE),
@@ -592,9 +761,31 @@ public class JDBCStore extends StoreBase {
      * @exception IOException if an input/output error occurs
      */
     public void remove(String id) throws IOException {
-        String removeSql =
-            "DELETE FROM " + sessionTable + " WHERE " + sessionIdCol +
-            " = ?  AND " + sessionAppCol + " = ?";
+        String removeSql = getRemoveSql();
+
+        if (dataSourceName != null) {
+            if (expiringThread == Thread.currentThread()) {
+                // processExpires deletes all expired sessions at once
+                return;
+            }
+            awaitPendingSave(id);
+            synchronized (getSaveLock(id)) {
+                try (Connection _conn = getDataSource().getConnection();
+                     PreparedStatement removeStmt = _conn.prepareStatement(removeSql)) {
+                    removeStmt.setString(1, id);
+                    removeStmt.setString(2, getName());
+                    removeStmt.execute();
+                } catch(SQLException e) {
+                    logSQLError(e);
+                }
+            }
+            if (debug > 0) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.REMOVING_SESSION_FROM_DATABASE),
+                                                  new Object[] {id, sessionTable});
+                log(msg);
+            }
+            return;
+        }
 
         synchronized(this) {
             Connection _conn = getConnection();
@@ -636,6 +827,18 @@ public class JDBCStore extends StoreBase {
         String clearSql =
             "DELETE FROM " + sessionTable + " WHERE " + sessionAppCol + " = ?";
 
+        if (dataSourceName != null) {
+            discardPendingSaves();
+            try (Connection _conn = getDataSource().getConnection();
+                 PreparedStatement clearStmt = _conn.prepareStatement(clearSql)) {
+                clearStmt.setString(1, getName());
+                clearStmt.execute();
+            } catch(SQLException e) {
+                logSQLError(e);
+            }
+            return;
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
             if(_conn == null) {
@@ -666,18 +869,29 @@ public class JDBCStore extends StoreBase {
      * @exception IOException if an input/output error occurs
      */
     public void save(Session session) throws IOException {
-        String saveSql =
-            "INSERT INTO " + sessionTable + " (" + sessionIdCol + ", " +
-            sessionAppCol + ", " +
-            sessionDataCol + ", " +
-            sessionValidCol + ", " +
-            sessionMaxInactiveCol + ", " +
-            sessionLastAccessedCol + ") VALUES (?, ?, ?, ?, ?, ?)";
+        String saveSql = getSaveSql();
         ObjectOutputStream oos = null;
         ByteArrayOutputStream bos = null;
         ByteArrayInputStream bis = null;
         InputStream in = null;
 
+        if (dataSourceName != null) {
+            PendingSave pending = serialize(session);
+            if (saveBatchDelay > 0) {
+                saveBatched(pending);
+            } else {
+                synchronized (getSaveLock(pending.id)) {
+                    writeSaves(Collections.singletonList(pending));
+                }
+            }
+            if (debug > 0) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.SAVING_SESSION_TO_DATABASE),
+                                                  new Object[] {session.getIdInternal(), sessionTable});
+                log(msg);
+            }
+            return;
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
             if(_conn == null) {
@@ -740,8 +954,423 @@ public class JDBCStore extends StoreBase {
         }
     }
 
+    /**
+     * Called by our background reaper thread to expire the sessions saved
+     * in this Store. With the data source, only the sessions which were
+     * idle long enough since their previous access are loaded, and the rows
+     * of the expired ones are deleted by one batch.
+     */
+    @Override
+    public void processExpires() {
+        if (dataSourceName == null) {
+            super.processExpires();
+            return;
+        }
+        if (!started) {
+            return;
+        }
+
+        awaitPendingSaves();
+        long timeNow = System.currentTimeMillis();
+        // The column holds the previous access time of the session, so the
+        // query finds candidates only, the last access is checked below.
+        String expiredCondition =
+            sessionAppCol + " = ? AND " + sessionMaxInactiveCol + " >= 0 AND " +
+            sessionLastAccessedCol + " + " + sessionMaxInactiveCol + " * 1000 <= ?";
+        String expiredSql =
+            "SELECT " + sessionIdCol + " FROM " + sessionTable + " WHERE " + expiredCondition;
+        String[] keys = selectKeys(expiredSql, Long.valueOf(timeNow));
+
+        ArrayList<String> expiredKeys = new ArrayList<String>();
+        expiringThread = Thread.currentThread();
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                try {
+                    StandardSession session = (StandardSession) load(keys[i]);
+                    if (session == null) {
+                        continue;
+                    }
+                    int timeIdle = (int) ((timeNow - session.thisAccessedTime) / 1000L);
+                    if (timeIdle < session.getMaxInactiveInterval()) {
+                        continue;
+                    }
+                    expiredKeys.add(keys[i]);
+                    if (((PersistentManagerBase) manager).isLoaded(keys[i])) {
+                        // recycle old backup session
+                        session.recycle();
+                    } else {
+                        // expire swapped out session
+                        session.expire();
+                    }
+                } catch (IOException | ClassNotFoundException e) {
+                    log("Error during processExpires", e);
+                }
+            }
+        } finally {
+            expiringThread = null;
+        }
+
+        if (expiredKeys.isEmpty()) {
+            return;
+        }
+        // A row saved meanwhile with a later access does not match anymore
+        String deleteSql =
+            "DELETE FROM " + sessionTable + " WHERE " + sessionIdCol + " = ? AND " + expiredCondition;
+        try (Connection _conn = getDataSource().getConnection();
+             PreparedStatement deleteStmt = _conn.prepareStatement(deleteSql)) {
+            for (String key : expiredKeys) {
+                deleteStmt.setString(1, key);
+                deleteStmt.setString(2, getName());
+                deleteStmt.setLong(3, timeNow);
+                deleteStmt.addBatch();
+            }
+            deleteStmt.executeBatch();
+        } catch(SQLException e) {
+            logSQLError(e);
+        }
+    }
+
+    // --------------------------------------------------- Data Source Methods
+
+    /**
+     * Look up the data source by the <code>dataSourceName</code>.
+     *
+     * @return the data source
+     * @exception NamingException if the lookup failed
+     */
+    protected DataSource lookupDataSource() throws NamingException {
+        return (DataSource) new InitialContext().lookup(dataSourceName);
+    }
+
+    /**
+     * Return the data source, look it up if it was not found yet.
+     */
+    private DataSource getDataSource() throws SQLException {
+        DataSource ds = dataSource;
+        if (ds == null) {
+            try {
+                ds = lookupDataSource();
+            } catch (NamingException | ClassCastException e) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.DATA_SOURCE_LOOKUP_FAILED),
+                                                  dataSourceName);
+                throw new SQLException(msg, e);
+            }
+            dataSource = ds;
+        }
+        return ds;
+    }
+
+    /**
+     * Return the ids selected by the query, the first parameter of which
+     * is the name of this Store and the second one the given value.
+     */
+    private String[] selectKeys(String sql, Long parameter) {
+        try (Connection _conn = getDataSource().getConnection();
+             PreparedStatement keysStmt = _conn.prepareStatement(sql)) {
+            keysStmt.setString(1, getName());
+            if (parameter != null) {
+                keysStmt.setLong(2, parameter.longValue());
+            }
+            ArrayList<String> tmpkeys = new ArrayList<String>();
+            try (ResultSet rst = keysStmt.executeQuery()) {
+                while (rst.next()) {
+                    tmpkeys.add(rst.getString(1));
+                }
+            }
+            return tmpkeys.toArray(new String[tmpkeys.size()]);
+        } catch(SQLException e) {
+            logSQLError(e);
+            return new String[0];
+        }
+    }
+
+    /**
+     * Load the session from its pending save or stream it from the database.
+     */
+    private Session loadPooled(String id, String loadSql)
+        throws ClassNotFoundException, IOException {
+        StandardSession _session = null;
+        PendingSave pending = pendingSaves.get(id);
+        if (pending != null) {
+            try (ObjectInputStream ois = createObjectInputStream(
+                     new ByteArrayInputStream(pending.data, 0, pending.length))) {
+                _session = StandardSession.deserialize(ois, manager);
+                _session.setManager(manager);
+            }
+            return(_session);
+        }
+
+        try (Connection _conn = getDataSource().getConnection();
+             PreparedStatement loadStmt = _conn.prepareStatement(loadSql)) {
+            loadStmt.setString(1, id);
+            loadStmt.setString(2, getName());
+            try (ResultSet rst = loadStmt.executeQuery()) {
+                if (rst.next()) {
+                    if (debug > 0) {
+                        String msg = MessageFormat.format(rb.getString(LogFacade.LOADING_SESSION_FROM_DATABASE),
+                                                          new Object[] {id, sessionTable});
+                        log(msg);
+                    }
+                    try (ObjectInputStream ois = createObjectInputStream(
+                             new BufferedInputStream(rst.getBinaryStream(2)))) {
+                        _session = StandardSession.deserialize(ois, manager);
+                        _session.setManager(manager);
+                    }
+                } else if (debug > 0) {
+                    log(getStoreName()+": No persisted data object found");
+                }
+            }
+        } catch(SQLException e) {
+            logSQLError(e);
+        }
+        return(_session);
+    }
+
+    /**
+     * Serialize the session into a buffer handed to the driver without
+     * copying it.
+     */
+    private PendingSave serialize(Session session) throws IOException {
+        SessionOutputStream bos = new SessionOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(bos))) {
+            oos.writeObject(session);
+        }
+        return new PendingSave(session, bos.getBuffer(), bos.size());
+    }
+
+    /**
+     * Add the save to the open batch. The first save of the batch waits
+     * for the others up to the <code>saveBatchDelay</code>, or until the
+     * batch is full, and writes them after all earlier batches. The others
+     * wait until their batch was written.
+     */
+    private void saveBatched(PendingSave pending) {
+        SaveBatch batch;
+        boolean leader;
+        synchronized (saveBatchLock) {
+            batch = openSaveBatch;
+            leader = batch == null;
+            if (leader) {
+                batch = new SaveBatch(nextSaveBatch++);
+                openSaveBatch = batch;
+            }
+            pending.batch = batch;
+            // a later save of the same session replaces the earlier one
+            batch.saves.put(pending.id, pending);
+            pendingSaves.put(pending.id, pending);
+            if (batch.saves.size() >= saveBatchSize) {
+                // the next save opens a new batch, the leader writes this one now
+                openSaveBatch = null;
+                saveBatchLock.notifyAll();
+            }
+        }
+        if (!leader) {
+            batch.await();
+            return;
+        }
+
+        synchronized (saveBatchLock) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(saveBatchDelay);
+            long remaining;
+            while (started && openSaveBatch == batch
+                   && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(saveBatchLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (openSaveBatch == batch) {
+                openSaveBatch = null;
+            }
+        }
+
+        try {
+            synchronized (saveBatchWriteLock) {
+                awaitEarlierSaveBatches(batch);
+                try {
+                    writeSaves(batch.saves.values());
+                } finally {
+                    nextWrittenSaveBatch++;
+                    saveBatchWriteLock.notifyAll();
+                }
+            }
+        } finally {
+            for (PendingSave save : batch.saves.values()) {
+                pendingSaves.remove(save.id, save);
+            }
+            batch.written.countDown();
+        }
+    }
+
+    /**
+     * Wait until all batches opened before the given one were written.
+     * Called with the <code>saveBatchWriteLock</code> held.
+     */
+    private void awaitEarlierSaveBatches(SaveBatch batch) {
+        boolean interrupted = false;
+        while (nextWrittenSaveBatch != batch.sequence) {
+            try {
+                saveBatchWriteLock.wait();
+            } catch (InterruptedException e) {
+                // The earlier saves must not overwrite this batch
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replace the rows of the sessions by one transaction.
+     */
+    private void writeSaves(Collection<PendingSave> saves) {
+        if (saves.isEmpty()) {
+            return;
+        }
+        try (Connection _conn = getDataSource().getConnection()) {
+            boolean autoCommit = _conn.getAutoCommit();
+            _conn.setAutoCommit(false);
+            try (PreparedStatement removeStmt = _conn.prepareStatement(getRemoveSql());
+                 PreparedStatement saveStmt = _conn.prepareStatement(getSaveSql())) {
+                for (PendingSave save : saves) {
+                    removeStmt.setString(1, save.id);
+                    removeStmt.setString(2, getName());
+                    removeStmt.addBatch();
+
+                    saveStmt.setString(1, save.id);
+                    saveStmt.setString(2, getName());
+                    saveStmt.setBinaryStream(3, new ByteArrayInputStream(save.data, 0, save.length), save.length);
+                    saveStmt.setString(4, save.valid?"1":"0");
+                    saveStmt.setInt(5, save.maxInactiveInterval);
+                    saveStmt.setLong(6, save.lastAccessedTime);
+                    saveStmt.addBatch();
+                }
+                removeStmt.executeBatch();
+                saveStmt.executeBatch();
+                _conn.commit();
+            } catch (SQLException e) {
+                _conn.rollback();
+                throw e;
+            } finally {
+                _conn.setAutoCommit(autoCommit);
+            }
+        } catch(SQLException e) {
+            logSQLError(e);
+        }
+    }
+
+    /**
+     * Wait until the pending save of the session is written, or drop it if
+     * it still waits for its batch.
+     */
+    private void awaitPendingSave(String id) {
+        SaveBatch batch = null;
+        synchronized (saveBatchLock) {
+            PendingSave pending = pendingSaves.remove(id);
+            if (pending != null) {
+                if (pending.batch == openSaveBatch) {
+                    openSaveBatch.saves.remove(id);
+                } else {
+                    batch = pending.batch;
+                }
+            }
+        }
+        if (batch != null) {
+            batch.await();
+        }
+    }
+
+    /**
+     * Wait until all pending saves are written.
+     */
+    private void awaitPendingSaves() {
+        for (PendingSave pending : pendingSaves.values()) {
+            pending.batch.await();
+        }
+    }
+
+    /**
+     * Drop the saves waiting for their batch and wait for the batches
+     * being written.
+     */
+    private void discardPendingSaves() {
+        ArrayList<SaveBatch> batches = new ArrayList<SaveBatch>();
+        synchronized (saveBatchLock) {
+            if (openSaveBatch != null) {
+                openSaveBatch.saves.clear();
+            }
+            for (PendingSave pending : pendingSaves.values()) {
+                if (pending.batch != openSaveBatch) {
+                    batches.add(pending.batch);
+                }
+            }
+            pendingSaves.clear();
+        }
+        for (SaveBatch batch : batches) {
+            batch.await();
+        }
+    }
+
+    /**
+     * Return the lock serializing the unbatched saves of the session.
+     */
+    private Object getSaveLock(String id) {
+        return saveLocks[(id.hashCode() & Integer.MAX_VALUE) % SAVE_LOCK_COUNT];
+    }
+
+    private void logSQLError(SQLException e) {
+        String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
+                                          e);
+        log(msg);
+    }
+
+
     // --------------------------------------------------------- Protected Methods
 
+    /**
+     * Return the statement inserting a session.
+     */
+    private String getSaveSql() {
+        return "INSERT INTO " + sessionTable + " (" + sessionIdCol + ", " +
+            sessionAppCol + ", " +
+            sessionDataCol + ", " +
+            sessionValidCol + ", " +
+            sessionMaxInactiveCol + ", " +
+            sessionLastAccessedCol + ") VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * Return the statement deleting a session.
+     */
+    private String getRemoveSql() {
+        return "DELETE FROM " + sessionTable + " WHERE " + sessionIdCol +
+            " = ?  AND " + sessionAppCol + " = ?";
+    }
+
+    /**
+     * Create the stream deserializing sessions by the class loader of
+     * the web application.
+     */
+    private ObjectInputStream createObjectInputStream(InputStream in)
+        throws IOException {
+        Container container = manager.getContainer();
+        Loader loader = null;
+        ClassLoader classLoader = null;
+        if (container != null) {
+            loader = container.getLoader();
+        }
+        if (loader != null) {
+            classLoader = loader.getClassLoader();
+        }
+        if (classLoader != null) {
+            return new CustomObjectInputStream(in, classLoader);
+        }
+        return new ObjectInputStream(in);
+    }
+
     /**
      * Check the connection associated with this store, if it's
      * <code>null</code> or closed try to reopen it.
@@ -792,6 +1421,11 @@ public class JDBCStore extends StoreBase {
     public void start() throws LifecycleException {
         super.start();
 
+        if (dataSourceName != null) {
+            // Connections are borrowed from the pool when needed
+            return;
+        }
+
         // Open connection to the database
         this.conn = getConnection();
     }
@@ -804,6 +1438,15 @@ public class JDBCStore extends StoreBase {
     public void stop() throws LifecycleException {
         super.stop();
 
+        if (dataSourceName != null) {
+            synchronized (saveBatchLock) {
+                // the open batch is written without waiting for the delay
+                saveBatchLock.notifyAll();
+            }
+            awaitPendingSaves();
+            this.dataSource = null;
+        }
+
         // Close and release everything associated with our db.
         if(conn != null) {
             try {
@@ -875,4 +1518,78 @@ public class JDBCStore extends StoreBase {
             this.conn = null;
         }
     }
+
+
+    // --------------------------------------------------------- Inner Classes
+
+    /**
+     * Serialized session waiting to be written.
+     */
+    private static final class PendingSave {
+
+        final String id;
+        final byte[] data;
+        final int length;
+        final boolean valid;
+        final int maxInactiveInterval;
+        final long lastAccessedTime;
+
+        // Guarded by saveBatchLock
+        SaveBatch batch;
+
+        PendingSave(Session session, byte[] data, int length) {
+            this.id = session.getIdInternal();
+            this.data = data;
+            this.length = length;
+            this.valid = session.isValid();
+            this.maxInactiveInterval = session.getMaxInactiveInterval();
+            this.lastAccessedTime = session.getLastAccessedTime();
+        }
+    }
+
+    /**
+     * Saves written by one transaction.
+     */
+    private static final class SaveBatch {
+
+        // Modified under saveBatchLock until the batch is closed
+        final Map<String, PendingSave> saves = new LinkedHashMap<String, PendingSave>();
+        final CountDownLatch written = new CountDownLatch(1);
+        final long sequence;
+
+        SaveBatch(long sequence) {
+            this.sequence = sequence;
+        }
+
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    written.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // The session must be written before the caller continues
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Output stream giving access to its buffer, so the serialized session
+     * is not copied.
+     */
+    private static final class SessionOutputStream extends ByteArrayOutputStream {
+
+        SessionOutputStream() {
+            super(1024);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
 }
@@ -18,7 +18,6 @@
 package org.apache.catalina.session;
 
 import com.sun.enterprise.util.uuid.UuidGenerator;
-import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -144,7 +143,7 @@ public abstract class ManagerBase implements Manager {
     /**
      * A random number generator to use when generating session identifiers.
      */
-    private Random random = null;
+    private volatile Random random;
 
 
     /**
@@ -152,7 +151,7 @@ public abstract class ManagerBase implements Manager {
      * when generating universally unique session identifiers.
      * HERCULES: add
      */
-    protected UuidGenerator uuidGenerator = new UuidGeneratorImpl();
+    protected UuidGenerator uuidGenerator = new SessionIdGenerator();
 
 
     /**
@@ -254,6 +253,9 @@ public abstract class ManagerBase implements Manager {
      * HERCULES:added
      */
     public void setUuidGenerator(UuidGenerator aUuidGenerator) {
+        if (aUuidGenerator instanceof SessionIdGenerator) {
+            ((SessionIdGenerator) aUuidGenerator).setIdLength(sessionIdLength);
+        }
         uuidGenerator = aUuidGenerator;
     }
 
@@ -424,6 +426,9 @@ public abstract class ManagerBase implements Manager {
 
         int oldSessionIdLength = this.sessionIdLength;
         this.sessionIdLength = idLength;
+        if (uuidGenerator instanceof SessionIdGenerator) {
+            ((SessionIdGenerator) uuidGenerator).setIdLength(idLength);
+        }
         support.firePropertyChange("sessionIdLength",
                                    Integer.valueOf(oldSessionIdLength),
                                    Integer.valueOf(this.sessionIdLength));
@@ -516,7 +521,18 @@ public abstract class ManagerBase implements Manager {
      * generating session identifiers.  If there is no such generator
      * currently defined, construct and seed a new one.
      */
-    public synchronized Random getRandom() {
+    public Random getRandom() {
+        Random current = this.random;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return initRandom();
+        }
+    }
+
+
+    private Random initRandom() {
         if (this.random == null) {
             // Calculate the new random number generator seed
             long seed = System.currentTimeMillis();
@@ -526,19 +542,22 @@ public abstract class ManagerBase implements Manager {
                  long update = ((byte) entropy[i]) << ((i % 8) * 8);
                  seed ^= update;
             }
+            // Publish only the seeded instance, getRandom() reads it without a lock
+            Random newRandom;
             try {
                  // Construct and seed a new random number generator
                  Class<?> clazz = Class.forName(randomClass);
-                 this.random = (Random) clazz.newInstance();
-                 this.random.setSeed(seed);
+                 newRandom = (Random) clazz.newInstance();
+                 newRandom.setSeed(seed);
             } catch (Exception e) {
                  // Fall back to the simple case
                 String msg = MessageFormat.format(rb.getString(LogFacade.INIT_RANDOM_NUMBER_GENERATOR_EXCEPTION),
                                                   randomClass);
                  log.log(Level.SEVERE, msg, e);
-                 this.random = new java.util.Random();
-                 this.random.setSeed(seed);
+                 newRandom = new java.util.Random();
+                 newRandom.setSeed(seed);
             }
+            this.random = newRandom;
             long t2=System.currentTimeMillis();
             if( (t2-t1) > 100 )
                  if (log.isLoggable(Level.FINE)) {
@@ -928,17 +947,25 @@ public abstract class ManagerBase implements Manager {
 
     /**
      * Generate and return a new session identifier.
+     * The default {@link SessionIdGenerator} is called without any lock,
+     * custom generators are still serialized on this manager.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+    protected String generateSessionId(Object obj) {
+        UuidGenerator generator = uuidGenerator;
+        if (generator instanceof SessionIdGenerator) {
+            return generator.generateUuid(obj);
+        }
+        synchronized (this) {
+            return generator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
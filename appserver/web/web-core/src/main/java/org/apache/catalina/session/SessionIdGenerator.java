@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.catalina.LogFacade;
+
+/**
+ * Thread safe session identifier generator which does not serialize the request threads.
+ * <p>
+ * Every thread owns its {@link SecureRandom} and the buffers the identifier is encoded to,
+ * so creating a session takes no shared lock and allocates only the resulting String.
+ * The random bytes are generated a kilobyte at a time, as a single call of the
+ * generator costs about as much as the bytes of a few dozen identifiers.
+ * The identifier is a lower case hex encoding of {@link #getIdLength()} random bytes.
+ * It never contains a dot, so the jvmRoute suffix appended to the session cookie can still
+ * be stripped at the first dot.
+ * <p>
+ * The random generators are shared by all generator instances, so a web module does not add
+ * new seeded generators per request thread.
+ */
+public class SessionIdGenerator implements UuidGenerator {
+
+    private static final Logger log = LogFacade.getLogger();
+
+    /** Default number of random bytes, same as the default session id length of the managers. */
+    public static final int DEFAULT_ID_LENGTH = 16;
+
+    /**
+     * Instances of the DRBG algorithm do not share any state. The default NativePRNG reads
+     * all its instances from a single locked stream.
+     */
+    private static final String RANDOM_ALGORITHM = "DRBG";
+
+    /** Number of random bytes a thread takes from its generator at once. */
+    private static final int RANDOM_BUFFER_SIZE = 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    private volatile int idLength;
+
+    /**
+     * Creates a generator of identifiers with {@value #DEFAULT_ID_LENGTH} random bytes.
+     */
+    public SessionIdGenerator() {
+        this(DEFAULT_ID_LENGTH);
+    }
+
+    /**
+     * @param idLength number of random bytes of the identifier
+     */
+    public SessionIdGenerator(int idLength) {
+        setIdLength(idLength);
+    }
+
+    /**
+     * @return number of random bytes of the identifier, the identifier has twice as many characters.
+     */
+    public int getIdLength() {
+        return idLength;
+    }
+
+    /**
+     * @param idLength number of random bytes of the identifier
+     */
+    public void setIdLength(int idLength) {
+        if (idLength <= 0) {
+            throw new IllegalArgumentException("Session id length must be positive: " + idLength);
+        }
+        this.idLength = idLength;
+    }
+
+    @Override
+    public String generateUuid() {
+        ThreadState state = STATE.get();
+        int length = idLength;
+        char[] chars = state.getChars(length * 2);
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = state.nextByte();
+            chars[position++] = HEX[(b >> 4) & 0xF];
+            chars[position++] = HEX[b & 0xF];
+        }
+        return new String(chars, 0, position);
+    }
+
+    /**
+     * The identifier does not depend on the session, the argument is ignored.
+     */
+    @Override
+    public String generateUuid(Object obj) {
+        return generateUuid();
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance(RANDOM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            log.log(Level.FINE, "SecureRandom algorithm " + RANDOM_ALGORITHM + " is not available, using the default one.", e);
+            return new SecureRandom();
+        }
+    }
+
+    private static final class ThreadState {
+
+        private final SecureRandom random = createRandom();
+        private final byte[] randomBytes = new byte[RANDOM_BUFFER_SIZE];
+        private int randomPosition = RANDOM_BUFFER_SIZE;
+        private char[] chars = new char[DEFAULT_ID_LENGTH * 2];
+
+        byte nextByte() {
+            if (randomPosition == randomBytes.length) {
+                random.nextBytes(randomBytes);
+                randomPosition = 0;
+            }
+            return randomBytes[randomPosition++];
+        }
+
+        char[] getChars(int length) {
+            if (chars.length < length) {
+                chars = new char[length];
+            }
+            return chars;
+        }
+    }
+}
@@ -352,7 +352,7 @@ public abstract class StoreBase
      * @param message the message
      * @param t the Throwable
      */
-    private void log(String message, Throwable t) {
+    protected void log(String message, Throwable t) {
         Logger logger = null;
         String containerName = null;
         Container container = manager.getContainer();
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.core.ApplicationFilterFactory.FilterChainTemplate;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ApplicationFilterFactoryTest {
+
+    private static final String[] PATHS = {
+        null, "/", "/index.jsp", "/admin", "/admin/users", "/admin/users.jsp", "/exact", "/EXACT", "/other/page"};
+
+    private StandardContext context;
+
+    @BeforeEach
+    public void createContext() {
+        context = new StandardContext();
+        context.setName("filters");
+        for (String name : new String[] {"all", "servlet", "jsp", "admin", "any", "exact", "other"}) {
+            FilterDef filterDef = new FilterDef();
+            filterDef.setFilterName(name);
+            filterDef.setFilterClass(PassFilter.class);
+            context.addFilterDef(filterDef);
+        }
+        context.filterStart();
+    }
+
+
+    @Test
+    public void filtersMatchUncachedOrder() {
+        addUrlMap("all", "/*", DispatcherType.REQUEST);
+        addServletMap("servlet", "servlet", DispatcherType.REQUEST, DispatcherType.FORWARD);
+        addUrlMap("jsp", "*.jsp", DispatcherType.values());
+        addUrlMap("admin", "/admin/*", DispatcherType.REQUEST, DispatcherType.ERROR);
+        addServletMap("any", "*", DispatcherType.INCLUDE, DispatcherType.ASYNC);
+        addUrlMap("exact", "/exact", DispatcherType.FORWARD, DispatcherType.REQUEST);
+        addServletMap("other", "other", DispatcherType.REQUEST);
+        addUrlMap("servlet", "/other/*", DispatcherType.values());
+
+        for (DispatcherType dispatcher : DispatcherType.values()) {
+            for (String servletName : new String[] {"servlet", "other"}) {
+                FilterChainTemplate template = new FilterChainTemplate(context, servletName, dispatcher, 0);
+                for (String path : PATHS) {
+                    // twice, the second result is cached
+                    for (int i = 0; i < 2; i++) {
+                        assertThat(dispatcher + " " + servletName + " " + path, names(template.getFilters(path)),
+                            equalTo(uncachedFilters(servletName, dispatcher, path)));
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void filtersMappedToEveryPathMatchUncachedOrder() {
+        addServletMap("servlet", "servlet", DispatcherType.REQUEST);
+        addUrlMap("all", "/*", DispatcherType.REQUEST, DispatcherType.FORWARD);
+        addUrlMap("any", "/*", DispatcherType.REQUEST);
+
+        for (DispatcherType dispatcher : DispatcherType.values()) {
+            FilterChainTemplate template = new FilterChainTemplate(context, "servlet", dispatcher, 0);
+            for (String path : PATHS) {
+                assertThat(dispatcher + " " + path, names(template.getFilters(path)),
+                    equalTo(uncachedFilters("servlet", dispatcher, path)));
+            }
+        }
+    }
+
+
+    @Test
+    public void caseInsensitiveMappingMatchesUncachedOrder() {
+        context.setCaseSensitiveMapping(false);
+        addUrlMap("exact", "/exact", DispatcherType.REQUEST);
+        addUrlMap("admin", "/admin/*", DispatcherType.REQUEST);
+
+        FilterChainTemplate template = new FilterChainTemplate(context, "servlet", DispatcherType.REQUEST, 0);
+        for (String path : PATHS) {
+            assertThat(path, names(template.getFilters(path)),
+                equalTo(uncachedFilters("servlet", DispatcherType.REQUEST, path)));
+        }
+        assertThat(names(template.getFilters("/EXACT")), contains("exact"));
+    }
+
+
+    @Test
+    public void filterMapChangesInvalidateTemplates() {
+        addUrlMap("admin", "/admin/*", DispatcherType.REQUEST);
+        StandardWrapper wrapper = new StandardWrapper();
+        wrapper.setName("servlet");
+        wrapper.setParent(context);
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 1L;
+        };
+
+        ApplicationFilterChain chain = createFilterChain(wrapper, servlet, "/admin/users");
+        FilterChainTemplate template = wrapper.getFilterChainTemplate(DispatcherType.REQUEST);
+        assertThat(chain, not(nullValue()));
+        assertThat(names(template.getFilters("/admin/users")), contains("admin"));
+        createFilterChain(wrapper, servlet, "/admin/users");
+        assertThat(wrapper.getFilterChainTemplate(DispatcherType.REQUEST), sameInstance(template));
+
+        addUrlMap("all", "/*", DispatcherType.REQUEST);
+        createFilterChain(wrapper, servlet, "/admin/users");
+        template = wrapper.getFilterChainTemplate(DispatcherType.REQUEST);
+        assertThat(names(template.getFilters("/admin/users")), contains("admin", "all"));
+
+        context.removeFilterMaps();
+        assertThat(createFilterChain(wrapper, servlet, "/admin/users"), nullValue());
+        addServletMap("servlet", "servlet", DispatcherType.REQUEST);
+        createFilterChain(wrapper, servlet, "/admin/users");
+        template = wrapper.getFilterChainTemplate(DispatcherType.REQUEST);
+        assertThat(names(template.getFilters("/admin/users")), contains("servlet"));
+    }
+
+
+    @Test
+    public void pathCacheEvictsWhenFull() {
+        addUrlMap("admin", "/admin/*", DispatcherType.REQUEST);
+        FilterChainTemplate template = new FilterChainTemplate(context, "servlet", DispatcherType.REQUEST, 0);
+        int paths = FilterChainTemplate.MAX_CACHED_PATHS * 2;
+        for (int i = 0; i < paths; i++) {
+            template.getFilters("/admin/page" + i);
+        }
+        assertThat(template.getCachedPathCount(), lessThanOrEqualTo(FilterChainTemplate.MAX_CACHED_PATHS));
+
+        // The latest path is cached
+        String last = "/admin/page" + (paths - 1);
+        assertThat(template.getFilters(last), sameInstance(template.getFilters(last)));
+        assertThat(names(template.getFilters(last)), contains("admin"));
+    }
+
+
+    /**
+     * Filters matched the way the factory did before the templates: URL mappings first,
+     * then servlet name mappings, each in the order of the filter maps.
+     */
+    private List<String> uncachedFilters(String servletName, DispatcherType dispatcher, String path) {
+        List<String> names = new ArrayList<>();
+        for (FilterMap filterMap : context.findFilterMaps()) {
+            if (filterMap.getDispatcherTypes().contains(dispatcher)
+                && ApplicationFilterFactory.matchFiltersURL(filterMap, path, context.isCaseSensitiveMapping())) {
+                names.add(filterMap.getFilterName());
+            }
+        }
+        for (FilterMap filterMap : context.findFilterMaps()) {
+            if (filterMap.getDispatcherTypes().contains(dispatcher)
+                && ApplicationFilterFactory.matchFiltersServlet(filterMap, servletName)) {
+                names.add(filterMap.getFilterName());
+            }
+        }
+        return names;
+    }
+
+
+    private ApplicationFilterChain createFilterChain(StandardWrapper wrapper, HttpServlet servlet, String path) {
+        HttpServletRequest request = createNiceMock(HttpServletRequest.class);
+        expect(request.getDispatcherType()).andReturn(DispatcherType.REQUEST).anyTimes();
+        expect(request.getAttribute(Globals.DISPATCHER_REQUEST_PATH_ATTR)).andReturn(path).anyTimes();
+        replay(request);
+        return ApplicationFilterFactory.getInstance().createFilterChain(request, wrapper, servlet);
+    }
+
+
+    private void addUrlMap(String filterName, String urlPattern, DispatcherType... dispatchers) {
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setURLPattern(urlPattern);
+        filterMap.setDispatcherTypes(EnumSet.of(dispatchers[0], dispatchers));
+        context.addFilterMap(filterMap);
+    }
+
+
+    private void addServletMap(String filterName, String servletName, DispatcherType... dispatchers) {
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setServletName(servletName);
+        filterMap.setDispatcherTypes(EnumSet.of(dispatchers[0], dispatchers));
+        context.addFilterMap(filterMap);
+    }
+
+
+    private static List<String> names(ApplicationFilterConfig[] filters) {
+        List<String> names = new ArrayList<>();
+        for (ApplicationFilterConfig filter : filters) {
+            names.add(filter.getFilterName());
+        }
+        return names;
+    }
+
+
+    public static class PassFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+        }
+    }
+}
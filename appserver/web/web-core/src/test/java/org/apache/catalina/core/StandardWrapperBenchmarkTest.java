@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Measures the allocation of an initialized servlet by many request threads. The lock free
+ * {@link StandardWrapper#allocate()} must be faster than the same call serialized by the
+ * wrapper monitor, as it was when the method was synchronized.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class StandardWrapperBenchmarkTest {
+
+    @Test
+    public void allocateAndDeallocate() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("allocation"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("lockfree"), greaterThan(scores.get("synchronized")));
+    }
+
+
+    @Benchmark
+    public Servlet allocateAndDeallocate(WrapperState state) throws ServletException {
+        StandardWrapper wrapper = state.wrapper;
+        Servlet servlet;
+        if ("synchronized".equals(state.allocation)) {
+            synchronized (wrapper) {
+                servlet = wrapper.allocate();
+            }
+        } else {
+            servlet = wrapper.allocate();
+        }
+        wrapper.deallocate(servlet);
+        return servlet;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class WrapperState {
+
+        @Param({"synchronized", "lockfree"})
+        public String allocation;
+
+        StandardWrapper wrapper;
+
+        @Setup(Level.Trial)
+        public void createWrapper() throws ServletException {
+            wrapper = new StandardWrapper();
+            wrapper.setName("benchmark");
+            wrapper.setServlet(new HttpServlet() {
+                private static final long serialVersionUID = 1L;
+            });
+            wrapper.deallocate(wrapper.allocate());
+        }
+    }
+}
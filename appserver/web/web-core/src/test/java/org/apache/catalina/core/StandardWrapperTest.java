@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StandardWrapperTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void allocateReturnsTheInitializedInstance() throws Exception {
+        TrackingServlet servlet = new TrackingServlet();
+        StandardWrapper wrapper = createWrapper(servlet);
+
+        Servlet first = wrapper.allocate();
+        Servlet second = wrapper.allocate();
+        assertAll(
+            () -> assertSame(servlet, first),
+            () -> assertSame(servlet, second),
+            () -> assertThat(wrapper.getCountAllocated(), equalTo(2))
+        );
+        wrapper.deallocate(first);
+        wrapper.deallocate(second);
+        assertThat(wrapper.getCountAllocated(), equalTo(0));
+    }
+
+
+    @Test
+    public void unloadWhileAllocating() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                TrackingServlet servlet = new TrackingServlet();
+                StandardWrapper wrapper = createWrapper(servlet);
+                AtomicBoolean unloaded = new AtomicBoolean();
+                AtomicInteger allocations = new AtomicInteger();
+                CountDownLatch started = new CountDownLatch(THREADS);
+                List<Future<Void>> callers = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    callers.add(executor.submit(() -> {
+                        started.countDown();
+                        while (!unloaded.get()) {
+                            Servlet allocated;
+                            try {
+                                allocated = wrapper.allocate();
+                            } catch (ServletException e) {
+                                // the instance is being unloaded or was unloaded
+                                continue;
+                            }
+                            servlet.use();
+                            allocations.incrementAndGet();
+                            wrapper.deallocate(allocated);
+                        }
+                        return null;
+                    }));
+                }
+
+                assertTrue(started.await(5L, TimeUnit.SECONDS));
+                Thread.sleep(1L);
+                wrapper.unload();
+                unloaded.set(true);
+                for (Future<Void> caller : callers) {
+                    caller.get(10L, TimeUnit.SECONDS);
+                }
+
+                final int finalRound = round;
+                assertAll("round " + finalRound,
+                    () -> assertThat(servlet.destroyCount.get(), equalTo(1)),
+                    () -> assertThat(servlet.usedWhileDestroyed.get(), equalTo(0)),
+                    () -> assertThat(servlet.destroyedWhileInUse.get(), equalTo(0)),
+                    () -> assertThat(allocations.get(), greaterThan(0)),
+                    () -> assertThat(wrapper.getCountAllocated(), equalTo(0))
+                );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static StandardWrapper createWrapper(TrackingServlet servlet) throws ServletException {
+        StandardWrapper wrapper = new StandardWrapper();
+        wrapper.setName("test");
+        wrapper.setServlet(servlet);
+        // unload() waits for the active allocations in steps of unloadDelay / 20
+        wrapper.unloadDelay = 20L;
+        // the first allocation publishes the instance to the lock free path
+        wrapper.deallocate(wrapper.allocate());
+        return wrapper;
+    }
+
+    /**
+     * Servlet recording calls made while it was destroyed and a destroy made while it was in use.
+     */
+    private static final class TrackingServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger destroyCount = new AtomicInteger();
+        final AtomicInteger usedWhileDestroyed = new AtomicInteger();
+        final AtomicInteger destroyedWhileInUse = new AtomicInteger();
+        volatile boolean destroyed;
+
+        void use() {
+            inUse.incrementAndGet();
+            if (destroyed) {
+                usedWhileDestroyed.incrementAndGet();
+            }
+            Thread.onSpinWait();
+            inUse.decrementAndGet();
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+            destroyCount.incrementAndGet();
+            if (inUse.get() > 0) {
+                destroyedWhileInUse.incrementAndGet();
+            }
+        }
+    }
+}
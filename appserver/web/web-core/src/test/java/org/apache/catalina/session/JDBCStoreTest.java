@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Tests the pooled mode of the {@link JDBCStore} against an in-memory table.
+ */
+public class JDBCStoreTest {
+
+    private SessionTable table;
+    private PersistentManager manager;
+    private JDBCStore store;
+
+    @BeforeEach
+    public void createStore() throws Exception {
+        table = new SessionTable();
+        StandardContext context = new StandardContext();
+        context.setName("/test");
+        manager = new PersistentManager();
+        manager.setContainer(context);
+        store = new JDBCStore() {
+
+            @Override
+            protected DataSource lookupDataSource() {
+                return table.getDataSource();
+            }
+        };
+        store.setDataSourceName("jdbc/sessions");
+        manager.setStore(store);
+        store.start();
+    }
+
+
+    @AfterEach
+    public void stopStore() throws Exception {
+        store.stop();
+    }
+
+
+    @Test
+    public void saveLoadRemove() throws Exception {
+        store.save(createSession("a", 60, 0L));
+        store.save(createSession("b", 120, 0L));
+        store.save(createSession("a", 180, 0L));
+
+        Session loaded = store.load("a");
+        assertAll(
+            () -> assertThat(store.getSize(), equalTo(2)),
+            () -> assertThat(store.keys(), arrayContainingInAnyOrder("a", "b")),
+            () -> assertThat(loaded, notNullValue()),
+            () -> assertThat(loaded.getIdInternal(), equalTo("a")),
+            () -> assertThat(loaded.getMaxInactiveInterval(), equalTo(180))
+        );
+
+        store.remove("a");
+        assertThat(store.load("a"), nullValue());
+        store.clear();
+        assertThat(store.getSize(), equalTo(0));
+    }
+
+
+    @Test
+    public void batchedSavesShareTransactions() throws Exception {
+        store.setSaveBatchDelay(100);
+        int sessions = 20;
+        List<Callable<Void>> saves = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < sessions; i++) {
+            StandardSession session = createSession("s" + i, 60, 0L);
+            saves.add(() -> {
+                start.await();
+                store.save(session);
+                return null;
+            });
+        }
+        runConcurrently(saves, start);
+
+        assertAll(
+            () -> assertThat(table.size(), equalTo(sessions)),
+            () -> assertThat(table.commits.get(), lessThan(sessions)),
+            () -> assertThat(store.load("s7").getIdInternal(), equalTo("s7"))
+        );
+    }
+
+
+    @Test
+    public void removedBatchedSaveIsNotWritten() throws Exception {
+        store.setSaveBatchDelay(200);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> save = executor.submit(() -> {
+                store.save(createSession("a", 60, 0L));
+                return null;
+            });
+            // The pending save is visible before its batch is written
+            while (store.load("a") == null) {
+                Thread.sleep(5L);
+            }
+            assertThat(table.size(), equalTo(0));
+            store.remove("a");
+            save.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(table.size(), equalTo(0));
+    }
+
+
+    @Test
+    public void fullBatchIsWrittenWithoutDelay() throws Exception {
+        store.setSaveBatchDelay(10_000);
+        store.setSaveBatchSize(2);
+        List<Callable<Void>> saves = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            StandardSession session = createSession("s" + i, 60, 0L);
+            saves.add(() -> {
+                start.await();
+                store.save(session);
+                return null;
+            });
+        }
+        long startTime = System.nanoTime();
+        runConcurrently(saves, start);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        assertAll(
+            () -> assertThat(elapsedMillis, lessThan(5_000L)),
+            () -> assertThat(table.size(), equalTo(4)),
+            () -> assertThat(table.commits.get(), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void batchesAreWrittenInOrder() throws Exception {
+        store.setSaveBatchDelay(1);
+        store.setSaveBatchSize(1);
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        table.connectionGate = () -> {
+            connecting.countDown();
+            release.await();
+        };
+        // The first batch holds the writes until both batches of the session wait for it
+        Thread blocking = startSave(createSession("b", 60, 0L));
+        connecting.await();
+        Thread earlier = startSave(createSession("a", 60, 0L));
+        awaitBlocked(earlier);
+        Thread later = startSave(createSession("a", 120, 0L));
+        awaitBlocked(later);
+        release.countDown();
+        for (Thread thread : List.of(blocking, earlier, later)) {
+            thread.join(10_000L);
+        }
+
+        assertAll(
+            () -> assertThat(table.size(), equalTo(2)),
+            () -> assertThat(store.load("a").getMaxInactiveInterval(), equalTo(120))
+        );
+    }
+
+
+    @Test
+    public void expirationChecksLastAccess() throws Exception {
+        // Both are saved with the same previous access, only the idle one expires.
+        StandardSession active = createSession("active", 2, 1_500L);
+        active.access();
+        active.endAccess();
+        StandardSession idle = createSession("idle", 2, 1_500L);
+        store.save(active);
+        store.save(idle);
+        Thread.sleep(700L);
+
+        store.processExpires();
+        assertAll(
+            () -> assertThat(store.keys(), arrayContainingInAnyOrder("active")),
+            () -> assertThat(table.deletes.get(), equalTo(1))
+        );
+    }
+
+
+    @Test
+    public void concurrentSavesOfOneSession() throws Exception {
+        List<Callable<Void>> saves = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 16; i++) {
+            saves.add(() -> {
+                start.await();
+                for (int j = 0; j < 10; j++) {
+                    store.save(createSession("a", 60, 0L));
+                }
+                return null;
+            });
+        }
+        runConcurrently(saves, start);
+
+        assertAll(
+            () -> assertThat(table.duplicateKeys.get(), equalTo(0)),
+            () -> assertThat(table.size(), equalTo(1))
+        );
+    }
+
+
+    private StandardSession createSession(String id, int maxInactiveInterval, long idleMillis) {
+        StandardSession session = new StandardSession(manager);
+        session.setValid(true);
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        session.setCreationTime(System.currentTimeMillis() - idleMillis);
+        session.setId(id);
+        return session;
+    }
+
+
+    private Thread startSave(StandardSession session) {
+        Thread thread = new Thread(() -> {
+            try {
+                store.save(session);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(5L);
+        }
+    }
+
+
+    private static void runConcurrently(List<Callable<Void>> tasks, CountDownLatch start) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Session table understanding the statements of the {@link JDBCStore}. Statements are applied
+     * immediately, transactions only count commits. Every execution takes a while, so concurrent
+     * statements interleave like with a real database.
+     */
+    private static final class SessionTable {
+
+        private final Map<String, Object[]> rows = new HashMap<>();
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger deletes = new AtomicInteger();
+        final AtomicInteger duplicateKeys = new AtomicInteger();
+        volatile Gate connectionGate;
+
+        synchronized int size() {
+            return rows.size();
+        }
+
+        DataSource getDataSource() {
+            return proxy(DataSource.class, (method, args) -> {
+                if ("getConnection".equals(method)) {
+                    Gate gate = connectionGate;
+                    if (gate != null) {
+                        connectionGate = null;
+                        gate.pass();
+                    }
+                    return createConnection();
+                }
+                throw new UnsupportedOperationException(method);
+            });
+        }
+
+        private Connection createConnection() {
+            boolean[] autoCommit = {true};
+            return proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "prepareStatement":
+                        return createStatement((String) args[0]);
+                    case "getAutoCommit":
+                        return autoCommit[0];
+                    case "setAutoCommit":
+                        autoCommit[0] = (Boolean) args[0];
+                        return null;
+                    case "commit":
+                        commits.incrementAndGet();
+                        return null;
+                    case "rollback":
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+        }
+
+        private PreparedStatement createStatement(String sql) {
+            Map<Integer, Object> parameters = new HashMap<>();
+            List<Map<Integer, Object>> batch = new ArrayList<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                switch (method) {
+                    case "setString":
+                    case "setInt":
+                    case "setLong":
+                        parameters.put((Integer) args[0], args[1]);
+                        return null;
+                    case "setBinaryStream":
+                        parameters.put((Integer) args[0], ((InputStream) args[1]).readAllBytes());
+                        return null;
+                    case "addBatch":
+                        batch.add(new HashMap<>(parameters));
+                        return null;
+                    case "executeBatch":
+                        int[] counts = new int[batch.size()];
+                        for (int i = 0; i < counts.length; i++) {
+                            counts[i] = execute(sql, batch.get(i));
+                        }
+                        batch.clear();
+                        return counts;
+                    case "execute":
+                        execute(sql, parameters);
+                        return false;
+                    case "executeQuery":
+                        return query(sql, parameters);
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+        }
+
+        private int execute(String sql, Map<Integer, Object> parameters) throws SQLException {
+            roundTrip();
+            synchronized (this) {
+                if (sql.startsWith("INSERT")) {
+                    Object[] row = {parameters.get(3), parameters.get(5), parameters.get(6)};
+                    if (rows.putIfAbsent((String) parameters.get(1), row) != null) {
+                        duplicateKeys.incrementAndGet();
+                        throw new SQLException("Duplicate key " + parameters.get(1));
+                    }
+                    return 1;
+                }
+                if (!sql.startsWith("DELETE")) {
+                    throw new SQLException(sql);
+                }
+                if (!sql.contains(" id = ?")) {
+                    int count = rows.size();
+                    rows.clear();
+                    return count;
+                }
+                Object[] row = rows.get(parameters.get(1));
+                if (row == null || sql.contains("lastaccess") && !isExpired(row, (Long) parameters.get(3))) {
+                    return 0;
+                }
+                rows.remove(parameters.get(1));
+                deletes.incrementAndGet();
+                return 1;
+            }
+        }
+
+        private ResultSet query(String sql, Map<Integer, Object> parameters) {
+            roundTrip();
+            List<Object[]> result = new ArrayList<>();
+            synchronized (this) {
+                if (sql.startsWith("SELECT COUNT")) {
+                    result.add(new Object[] {rows.size()});
+                } else if (sql.contains(", data")) {
+                    Object[] row = rows.get(parameters.get(1));
+                    if (row != null) {
+                        result.add(new Object[] {parameters.get(1), row[0]});
+                    }
+                } else {
+                    rows.forEach((id, row) -> {
+                        if (!sql.contains("lastaccess") || isExpired(row, (Long) parameters.get(2))) {
+                            result.add(new Object[] {id});
+                        }
+                    });
+                }
+            }
+            int[] position = {-1};
+            return proxy(ResultSet.class, (method, args) -> {
+                switch (method) {
+                    case "next":
+                        return ++position[0] < result.size();
+                    case "getString":
+                    case "getInt":
+                        return result.get(position[0])[(Integer) args[0] - 1];
+                    case "getBinaryStream":
+                        return new ByteArrayInputStream((byte[]) result.get(position[0])[(Integer) args[0] - 1]);
+                    case "close":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method);
+                }
+            });
+        }
+
+        private static boolean isExpired(Object[] row, long timeNow) {
+            int maxInactive = (Integer) row[1];
+            return maxInactive >= 0 && (Long) row[2] + maxInactive * 1000L <= timeNow;
+        }
+
+        private static void roundTrip() {
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(JDBCStoreTest.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> handler.invoke(method.getName(), args)));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Gate {
+
+        void pass() throws InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object invoke(String method, Object[] args) throws Exception;
+    }
+}
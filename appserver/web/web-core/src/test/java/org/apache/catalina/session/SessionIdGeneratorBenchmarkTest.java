@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Creates session ids by the {@link ManagerBase} from many request threads. The
+ * {@link SessionIdGenerator} must keep up with the former {@link UuidGeneratorImpl}, although
+ * that one takes just two random ints per id, from a generator shared under a class lock.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class SessionIdGeneratorBenchmarkTest {
+
+    /** The new ids carry four times more random bytes, a small loss is acceptable. */
+    private static final double TOLERANCE = 0.8;
+
+    @Test
+    public void generateSessionIds() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("generator"), result -> result.getPrimaryResult().getScore()));
+        assertThat(scores.get("sessionid"), greaterThan(scores.get("uuid") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public String generateSessionId(ManagerState state) {
+        return state.manager.generateSessionId();
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ManagerState {
+
+        @Param({"uuid", "sessionid"})
+        public String generator;
+
+        StandardManager manager;
+
+        @Setup(Level.Trial)
+        public void createManager() {
+            manager = new StandardManager();
+            if ("uuid".equals(generator)) {
+                manager.setUuidGenerator(new UuidGeneratorImpl());
+            }
+        }
+    }
+}
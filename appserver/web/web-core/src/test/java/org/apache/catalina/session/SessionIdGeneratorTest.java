@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SessionIdGeneratorTest {
+
+    @Test
+    public void defaultLength() {
+        String id = new SessionIdGenerator().generateUuid();
+        assertThat(id, matchesPattern("[0-9a-f]{32}"));
+    }
+
+
+    @Test
+    public void changedLength() {
+        SessionIdGenerator generator = new SessionIdGenerator(8);
+        assertThat(generator.generateUuid(new Object()), matchesPattern("[0-9a-f]{16}"));
+        generator.setIdLength(20);
+        assertThat(generator.generateUuid(), matchesPattern("[0-9a-f]{40}"));
+        generator.setIdLength(4);
+        assertThat(generator.generateUuid(), matchesPattern("[0-9a-f]{8}"));
+        assertThrows(IllegalArgumentException.class, () -> generator.setIdLength(0));
+    }
+
+
+    @Test
+    public void managerPropagatesLength() {
+        StandardManager manager = new StandardManager();
+        manager.setSessionIdLength(10);
+        assertThat(manager.generateSessionId(), matchesPattern("[0-9a-f]{20}"));
+
+        SessionIdGenerator generator = new SessionIdGenerator();
+        manager.setUuidGenerator(generator);
+        assertThat(generator.getIdLength(), equalTo(10));
+    }
+
+
+    @Test
+    public void uniqueAcrossThreads() throws Exception {
+        int threads = 16;
+        int idsPerThread = 10_000;
+        SessionIdGenerator generator = new SessionIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(generator.generateUuid());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids, hasSize(threads * idsPerThread));
+    }
+}
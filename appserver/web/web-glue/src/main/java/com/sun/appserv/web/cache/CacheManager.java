@@ -17,19 +17,24 @@
 package com.sun.appserv.web.cache;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.util.cache.Constants;
+import com.sun.appserv.web.cache.filter.HttpCacheEntry;
 import com.sun.appserv.web.cache.mapping.CacheMapping;
 
 import jakarta.servlet.ServletContext;
 
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,6 +53,8 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    public static final long DEFAULT_MAX_DIRECT_BUFFER_SIZE = 64L * Constants.MB;
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -60,6 +67,14 @@ public class CacheManager {
     int defaultTimeout = DEFAULT_CACHE_TIMEOUT;
     String cacheClassName = DEFAULT_CACHE_CLASSNAME;
 
+    // store the cached response bodies off-heap, up to maxDirectBufferSize bytes
+    boolean directBuffers;
+    long maxDirectBufferSize = DEFAULT_MAX_DIRECT_BUFFER_SIZE;
+
+    // bytes of the response bodies held by the default cache
+    private final AtomicLong heapBodySize = new AtomicLong();
+    private final AtomicLong directBodySize = new AtomicLong();
+
     boolean enabled = false;
 
     // application servlet context
@@ -133,6 +148,10 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+        } else if (name.equalsIgnoreCase("directBuffers")) {
+            directBuffers = Boolean.parseBoolean(value);
+        } else if (name.equalsIgnoreCase("maxDirectBufferSize")) {
+            setMaxDirectBufferSize(value);
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -141,6 +160,32 @@ public class CacheManager {
         }
     }
 
+    /**
+     * set the upper bound of the off-heap memory used by the cached bodies
+     * @param value size in bytes, or with a KB or MB suffix
+     */
+    private void setMaxDirectBufferSize(String value) {
+        String size = value.trim().toUpperCase(Locale.ENGLISH);
+        long multiplier = 1;
+        if (size.endsWith("KB")) {
+            multiplier = Constants.KB;
+            size = size.substring(0, size.length() - 2);
+        } else if (size.endsWith("MB")) {
+            multiplier = Constants.MB;
+            size = size.substring(0, size.length() - 2);
+        }
+        try {
+            long maxSize = Long.parseLong(size.trim()) * multiplier;
+            if (maxSize >= 0) {
+                maxDirectBufferSize = maxSize;
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        _logger.log(Level.WARNING, LogFacade.CACHE_MANAGER_ILLEGAL_MAX_DIRECT_BUFFER_SIZE, value);
+    }
+
     /**
      * add a CacheHelper definition
      * @param name CacheHelper name
@@ -196,6 +241,7 @@ public class CacheManager {
         // create the default cache
         try {
             defaultCache = createCache(maxEntries, cacheClassName);
+            defaultCache.addCacheListener((key, value) -> release(value));
         } catch (Exception e) {
             _logger.log(Level.WARNING, LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE, e);
             throw new LifecycleException(_rb.getString(LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE), e);
@@ -295,6 +341,109 @@ public class CacheManager {
         return defaultCache;
     }
 
+    /**
+     * allocate off-heap storage for a response body about to be cached
+     * @param size of the body in bytes
+     * @return a direct buffer of the given capacity; null if direct buffers
+     *         are disabled or the off-heap limit would be exceeded
+     */
+    public ByteBuffer allocateDirectBody(int size) {
+        if (!directBuffers || size <= 0) {
+            return null;
+        }
+
+        long used;
+        do {
+            used = directBodySize.get();
+            if (used + size > maxDirectBufferSize) {
+                return null;
+            }
+        } while (!directBodySize.compareAndSet(used, used + size));
+
+        try {
+            return ByteBuffer.allocateDirect(size);
+        } catch (OutOfMemoryError e) {
+            // the JVM direct memory limit is lower than ours
+            directBodySize.addAndGet(-size);
+            return null;
+        }
+    }
+
+    /**
+     * account a response body cached on the heap
+     * @param size of the body in bytes
+     */
+    public void heapBodyCached(int size) {
+        heapBodySize.addAndGet(size);
+    }
+
+    /**
+     * release the memory accounted for a response body which left the cache
+     * @param size of the body in bytes
+     * @param direct true if the body was stored off-heap
+     */
+    public void bodyReleased(int size, boolean direct) {
+        if (direct) {
+            directBodySize.addAndGet(-size);
+        } else {
+            heapBodySize.addAndGet(-size);
+        }
+    }
+
+    /**
+     * remove all the entries from the default cache and release the memory
+     * accounted for them. <code>Cache.clear()</code> does not notify the
+     * cache listeners, so the entries are removed one by one instead.
+     * @return the number of entries removed
+     */
+    public int clearDefaultCache() {
+        int count = 0;
+        if (defaultCache == null) {
+            return count;
+        }
+
+        Iterator<?> keys = defaultCache.keys();
+        while (keys.hasNext()) {
+            Object value = defaultCache.remove(keys.next());
+            if (value != null) {
+                release(value);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * release the memory accounted for a value which left the default cache
+     * @param value entry trimmed, replaced or removed; may be null
+     */
+    private void release(Object value) {
+        if (value instanceof HttpCacheEntry) {
+            ((HttpCacheEntry) value).release(this);
+        }
+    }
+
+    /**
+     * @return bytes of the response bodies cached on the heap
+     */
+    public long getHeapBodySize() {
+        return heapBodySize.get();
+    }
+
+    /**
+     * @return bytes of the response bodies cached off-heap
+     */
+    public long getDirectBodySize() {
+        return directBodySize.get();
+    }
+
+    /**
+     * @return upper bound of the bytes cached off-heap
+     */
+    public long getMaxDirectBufferSize() {
+        return maxDirectBufferSize;
+    }
+
     /**
      * add cache mapping
      * @param name unique name of the mapping
@@ -401,5 +550,8 @@ public class CacheManager {
         cacheMappings.clear();
         cacheHelpersByFilterName.clear();
         listeners.clear();
+
+        // the entries left in the cache are no longer served
+        clearDefaultCache();
     }
 }
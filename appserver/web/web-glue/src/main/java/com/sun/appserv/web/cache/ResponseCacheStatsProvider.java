@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.appserv.web.cache;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Provides the monitoring data of the response cache of a web module
+ */
+@AMXMetadata(type="response-cache-mon", group="monitoring")
+@ManagedObject
+@Description("Web Module Response Cache Statistics")
+public class ResponseCacheStatsProvider {
+
+    private static final String UNIT_BYTES = "bytes";
+
+    private static final String ENTRY_COUNT_DESCRIPTION =
+        "Number of responses in the cache";
+
+    private static final String HEAP_BODY_SIZE_DESCRIPTION =
+        "Bytes of the response bodies cached on the heap";
+
+    private static final String DIRECT_BODY_SIZE_DESCRIPTION =
+        "Bytes of the response bodies cached off-heap";
+
+    private static final String MAX_DIRECT_BUFFER_SIZE_DESCRIPTION =
+        "Maximum bytes of the response bodies cached off-heap";
+
+    private final CacheManager manager;
+    private final CountStatisticImpl entryCount = new CountStatisticImpl(
+        "EntryCount", StatisticImpl.UNIT_COUNT, ENTRY_COUNT_DESCRIPTION);
+    private final CountStatisticImpl heapBodySize = new CountStatisticImpl(
+        "HeapBodySize", UNIT_BYTES, HEAP_BODY_SIZE_DESCRIPTION);
+    private final CountStatisticImpl directBodySize = new CountStatisticImpl(
+        "DirectBodySize", UNIT_BYTES, DIRECT_BODY_SIZE_DESCRIPTION);
+    private final CountStatisticImpl maxDirectBufferSize = new CountStatisticImpl(
+        "MaxDirectBufferSize", UNIT_BYTES, MAX_DIRECT_BUFFER_SIZE_DESCRIPTION);
+
+    public ResponseCacheStatsProvider(CacheManager manager) {
+        this.manager = manager;
+    }
+
+    @ManagedAttribute(id="entrycount")
+    @Description(ENTRY_COUNT_DESCRIPTION)
+    public CountStatistic getEntryCount() {
+        if (manager.getDefaultCache() != null) {
+            entryCount.setCount(manager.getDefaultCache().getEntryCount());
+        }
+        return entryCount;
+    }
+
+    @ManagedAttribute(id="heapbodysize")
+    @Description(HEAP_BODY_SIZE_DESCRIPTION)
+    public CountStatistic getHeapBodySize() {
+        heapBodySize.setCount(manager.getHeapBodySize());
+        return heapBodySize;
+    }
+
+    @ManagedAttribute(id="directbodysize")
+    @Description(DIRECT_BODY_SIZE_DESCRIPTION)
+    public CountStatistic getDirectBodySize() {
+        directBodySize.setCount(manager.getDirectBodySize());
+        return directBodySize;
+    }
+
+    @ManagedAttribute(id="maxdirectbuffersize")
+    @Description(MAX_DIRECT_BUFFER_SIZE_DESCRIPTION)
+    public CountStatistic getMaxDirectBufferSize() {
+        maxDirectBufferSize.setCount(manager.getMaxDirectBufferSize());
+        return maxDirectBufferSize;
+    }
+}
@@ -35,12 +35,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.glassfish.web.LogFacade;
 
 public class CachingFilter implements Filter, CacheManagerListener {
@@ -48,6 +50,8 @@ public class CachingFilter implements Filter, CacheManagerListener {
     private static final String PROCESSING_SET =
         "com.sun.appserv.web.cache.filter.CachingFilter.PROCESSING_SET";
 
+    private static final int BODY_CHUNK_SIZE = 8192;
+
     // this servlet filter name
     String filterName;
     String servletName;
@@ -210,7 +214,7 @@ public class CachingFilter implements Filter, CacheManagerListener {
                         int timeout = helper.getTimeout(request);
 
                         // previous entry gets replaced
-                        entry = wrapper.cacheResponse();
+                        entry = wrapper.cacheResponse(manager);
 
                         if (timeout == CacheHelper.TIMEOUT_VALUE_NOT_SET) {
                             // extracts this from the Expires: date header
@@ -229,7 +233,7 @@ public class CachingFilter implements Filter, CacheManagerListener {
                             entry.computeExpireTime(timeout);
                         }
 
-                        cache.put(key, entry, entry.getSize());
+                        release(cache.put(key, entry, entry.getSize()));
 
                         cache.notifyRefresh(index);
                         needNotify = false;
@@ -241,7 +245,7 @@ public class CachingFilter implements Filter, CacheManagerListener {
                          *  resource is not cacheable anymore; so, remove the
                          *  old entry from the cache.
                          */
-                        cache.remove(key);
+                        release(cache.remove(key));
                     }
                 } finally {
                     // IT 12891
@@ -345,7 +349,36 @@ public class CachingFilter implements Filter, CacheManagerListener {
                            HttpServletResponse response)
                            throws IOException {
         ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+        if (!entry.isDirect()) {
+            out.write(entry.bytes);
+            return;
+        }
+
+        // the duplicate keeps the position of the shared buffer untouched
+        ByteBuffer body = entry.body.duplicate();
+        if (out instanceof CoyoteOutputStream) {
+            // hand the off-heap bytes to the connection without a copy
+            ((CoyoteOutputStream) out).write(body);
+            return;
+        }
+
+        // the response was wrapped; copy through a small chunk
+        byte[] chunk = new byte[Math.min(BODY_CHUNK_SIZE, body.remaining())];
+        while (body.hasRemaining()) {
+            int len = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, len);
+            out.write(chunk, 0, len);
+        }
+    }
+
+    /**
+     * release the memory accounted for the entry which left the cache
+     * @param value entry replaced or removed from the cache; may be null
+     */
+    private void release(Object value) {
+        if (value instanceof HttpCacheEntry) {
+            ((HttpCacheEntry) value).release(manager);
+        }
     }
 
     /**
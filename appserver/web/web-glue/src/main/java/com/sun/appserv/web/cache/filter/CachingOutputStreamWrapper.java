@@ -21,16 +21,17 @@ import jakarta.servlet.WriteListener;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * an output stream wrapper to cache response bytes
  */
 public class CachingOutputStreamWrapper extends ServletOutputStream {
 
-    ByteArrayOutputStream baos;
+    BodyOutputStream baos;
 
     public CachingOutputStreamWrapper() {
-        this.baos = new ByteArrayOutputStream(4096);
+        this.baos = new BodyOutputStream();
     }
 
     /**
@@ -111,4 +112,30 @@ public class CachingOutputStreamWrapper extends ServletOutputStream {
     public byte[] getBytes() {
         return baos.toByteArray();
     }
+
+    /**
+     * return the number of cached bytes
+     */
+    public int getSize() {
+        return baos.size();
+    }
+
+    /**
+     * copy the cached bytes to the buffer, without an intermediate array
+     * @param buffer target buffer with enough remaining space
+     */
+    public void copyTo(ByteBuffer buffer) {
+        baos.copyTo(buffer);
+    }
+
+    private static final class BodyOutputStream extends ByteArrayOutputStream {
+
+        BodyOutputStream() {
+            super(4096);
+        }
+
+        void copyTo(ByteBuffer buffer) {
+            buffer.put(buf, 0, count);
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package com.sun.appserv.web.cache.filter;
 
+import com.sun.appserv.web.cache.CacheManager;
+
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,6 +26,7 @@ import jakarta.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
@@ -347,6 +350,16 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
      * @return the entry with cached response headers and body.
      */
     public HttpCacheEntry cacheResponse() throws IOException {
+        return cacheResponse(null);
+    }
+
+    /**
+     * called by doFilter to cache the response that was just sent out
+     * @param manager the cache manager which provides the off-heap storage and
+     *        accounts the memory of the entry; may be null
+     * @return the entry with cached response headers and body.
+     */
+    public HttpCacheEntry cacheResponse(CacheManager manager) throws IOException {
         // create a new entry
         HttpCacheEntry entry = new HttpCacheEntry();
         entry.responseHeaders = headers;
@@ -366,7 +379,22 @@ public class CachingResponseWrapper extends HttpServletResponseWrapper {
 
 
         // IT 12891
-        entry.bytes = ((cosw != null)? cosw.getBytes() : EMPTY_BYTE_ARRAY);
+        if (cosw == null) {
+            entry.bytes = EMPTY_BYTE_ARRAY;
+            return entry;
+        }
+
+        ByteBuffer body = (manager == null) ? null : manager.allocateDirectBody(cosw.getSize());
+        if (body == null) {
+            entry.bytes = cosw.getBytes();
+            if (manager != null) {
+                manager.heapBodyCached(entry.bytes.length);
+            }
+        } else {
+            cosw.copyTo(body);
+            body.flip();
+            entry.body = body;
+        }
 
         return entry;
     }
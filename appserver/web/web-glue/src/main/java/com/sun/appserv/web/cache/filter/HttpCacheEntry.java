@@ -16,11 +16,15 @@
 
 package com.sun.appserv.web.cache.filter;
 
+import com.sun.appserv.web.cache.CacheManager;
+
 import jakarta.servlet.http.Cookie;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /** HttpCacheEntry
  *  Each entry holds cached (HTTP) response:
@@ -47,6 +51,11 @@ public class HttpCacheEntry {
     // XXX: other cacheable response info
     byte[] bytes;
 
+    // off-heap response bytes; used instead of bytes when set
+    ByteBuffer body;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
     volatile long expireTime = 0;
 
     /**
@@ -81,20 +90,47 @@ public class HttpCacheEntry {
      */
     public void clear() {
         bytes = null;
+        body = null;
         responseHeaders = null;
         cookies = null;
     }
 
+    /**
+     * @return true if the response bytes are stored off-heap
+     */
+    public boolean isDirect() {
+        return body != null;
+    }
+
+    /**
+     * @return size of the response bytes
+     */
+    public int getBodySize() {
+        if (body != null) {
+            return body.remaining();
+        }
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    /**
+     * release the memory accounted for this entry once it left the cache;
+     * further calls are ignored. A direct buffer is not reused as it may still
+     * be written by a request which obtained this entry before.
+     * @param manager the cache manager which accounted the entry
+     */
+    public void release(CacheManager manager) {
+        if (released.compareAndSet(false, true)) {
+            manager.bodyReleased(getBodySize(), isDirect());
+        }
+    }
+
     /**
      * get the size
      * @return size of this entry in bytes
      * Note: this is only approximate
      */
     public int getSize() {
-        int size = 0;
-        if (bytes != null) {
-            size = bytes.length;
-        }
+        int size = getBodySize();
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
         return (size + (40 * responseHeaders.size()) );
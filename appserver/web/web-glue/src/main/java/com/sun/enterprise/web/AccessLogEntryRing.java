@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.web;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring of encoded access log entries, filled by the request
+ * threads and drained by one thread at a time, the one holding the write lock
+ * of the {@link PEAccessLogValve}.
+ * <p>
+ * A producer claims the next sequence with a CAS and then publishes its entry
+ * in the slot; the consumer stops at the first claimed but not yet published
+ * slot, so the entries are written in the order of their sequences.
+ */
+final class AccessLogEntryRing {
+
+    private final AtomicReferenceArray<ByteBuffer> entries;
+    private final int mask;
+
+    /** Next sequence to be claimed by a producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next sequence to be drained, written only by the consumer. */
+    private volatile long head;
+
+    /**
+     * @param capacity maximum number of entries, rounded up to a power of two
+     */
+    AccessLogEntryRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+
+    /**
+     * @return maximum number of entries
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+
+    /**
+     * Adds the entry unless the ring is full.
+     *
+     * @param entry The encoded access log entry
+     * @return false if the ring is full and has to be drained first
+     */
+    boolean offer(ByteBuffer entry) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                entries.set((int) sequence & mask, entry);
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * @return true if the next entry to be drained is published
+     */
+    boolean hasPublished() {
+        return entries.get((int) head & mask) != null;
+    }
+
+
+    /**
+     * Moves the published entries to the given array, in the order they were
+     * added. Must not be called by two threads concurrently.
+     *
+     * @param batch The array to fill from its first element
+     * @return number of entries moved to the batch
+     */
+    int drain(ByteBuffer[] batch) {
+        long sequence = head;
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) sequence & mask;
+            ByteBuffer entry = entries.get(index);
+            if (entry == null) {
+                break;
+            }
+            // the slot must be empty before the producers may claim it again
+            entries.lazySet(index, null);
+            batch[count++] = entry;
+            sequence++;
+        }
+        head = sequence;
+        return count;
+    }
+}
@@ -61,6 +61,8 @@ public abstract class BasePersistenceStrategyBuilder
     protected int sessionMaxInactiveInterval = DEFAULT_SESSION_TIMEOUT;
     protected String persistentCookieName = "GLASSFISHCOOKIE";
     protected boolean relaxCacheVersionSemantics;
+    protected String compression = null;
+    protected boolean classDescriptorDictionary;
 
     // Special constant for Java Server Faces
     protected static final String JSF_HA_ENABLED = "com.sun.appserver.enableHighAvailability";
@@ -308,6 +310,10 @@ public abstract class BasePersistenceStrategyBuilder
                         _persistenceScope = value;
                     } else if (name.equalsIgnoreCase("cookieName")) {
                         persistentCookieName = value;
+                    } else if (name.equalsIgnoreCase("compression")) {
+                        compression = value;
+                    } else if (name.equalsIgnoreCase("classDescriptorDictionary")) {
+                        classDescriptorDictionary = Boolean.parseBoolean(value);
                     } else {
                         if (_logger.isLoggable(Level.INFO)) {
                             Object[] params = { name };
@@ -34,16 +34,19 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
-import java.nio.charset.Charset;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,8 +68,11 @@ import static java.time.Instant.ofEpochMilli;
  * Apache <code>mod_log_config</code> module.  As an additional feature,
  * automatic rollover of log files at a specified interval is also supported.
  *
- * </p>This class uses a direct <code>ByteBuffer</code> to store and write
- * logs.
+ * </p>Each request thread formats and encodes its entries into its own
+ * byte buffers and publishes them to a lock-free ring. The ring is drained
+ * with gathering writes to the <code>FileChannel</code> by the writer thread,
+ * woken up early once the buffer size is reached, or by a request thread if
+ * the ring is full or no write interval is set.
  *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
@@ -105,6 +111,27 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The number of entries the ring can hold. It does not depend on the
+     * buffer size, so the writer thread, not the request threads, writes
+     * the entries under load.
+     */
+    private static final int RING_CAPACITY = 8192;
+
+
+    /**
+     * The maximum number of entries written by one gathering write.
+     */
+    private static final int MAX_WRITE_BATCH = 1024;
+
+
+    /**
+     * The number of times a request thread yields before it parks while
+     * waiting for room in a full ring.
+     */
+    private static final int BACK_OFF_YIELDS = 8;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -214,13 +241,26 @@ public final class PEAccessLogValve
 
 
     /**
-     * The <code>CharBuffer</code> used to store the logs.
+     * The encoded entries waiting to be written.
      */
-    private CharBuffer charBuffer;
+    private AccessLogEntryRing entries;
 
 
     /**
-     * The <code>byteBuffer</code> used to store the log.
+     * The entries of the current gathering write, used under the lock.
+     */
+    private ByteBuffer[] writeBatch;
+
+
+    /**
+     * The number of bytes of the entries waiting in the ring.
+     */
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+
+    /**
+     * The approximate number of bytes buffered before the entries are
+     * written, also the maximum length of an entry.
      */
     private int bufferSize = MIN_BUFFER_SIZE;
 
@@ -274,9 +314,22 @@ public final class PEAccessLogValve
 
 
     /**
-     * Simple lock
+     * Lock of the consumer of the entries and of the file channel
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+
+    /**
+     * Monitor the writer thread waits on until the next write.
      */
-    private final Object lock = new Object();
+    private final Object writerSignal = new Object();
+
+
+    /**
+     * Set when the buffer size is reached before the write interval
+     * elapsed, guarded by the <code>writerSignal</code>.
+     */
+    private boolean writeRequested;
 
 
     /**
@@ -548,46 +601,82 @@ public final class PEAccessLogValve
             return;
         }
 
-        synchronized (lock){
-            // Reset properly the buffer in case of an unexpected
-            // exception.
-            if (charBuffer.position() == charBuffer.limit()){
-                charBuffer.limit(charBuffer.capacity());
-            }
+        if (formatter == null) {
+            return;
+        }
 
-            int pos = charBuffer.position();
-            // We've flushed our buffer to make room for the current request.
-            // Now process the current request
-            for (int i=0; i < 2; i++){
-                try {
-                    if (formatter!=null) {
-                        formatter.appendLogEntry(request, response, charBuffer);
-                        charBuffer.put("\n");
+        ByteBuffer entry;
+        try {
+            entry = formatter.encodeLogEntry(request, response, bufferSize);
+        } catch (BufferOverflowException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            return;
+        }
 
-                        if (flushRealTime){
-                            log();
-                        }
-                        break;
-                    }
-                 } catch (BufferOverflowException ex) {
-                    charBuffer.position(pos);
-                    log();
-                    if (i == 1) {
-                        _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
-                        return;
-                    }
-                }
+        // Write the buffered entries to make room for the current one. Back
+        // off if nothing could be written, the next slots were claimed but
+        // their entries are not published yet.
+        final int size = entry.remaining();
+        for (int attempts = 0; !entries.offer(entry); attempts++) {
+            if (writeEntries() == 0) {
+                backOff(attempts);
+            }
+        }
+
+        long buffered = bufferedBytes.addAndGet(size);
+        if (flushRealTime) {
+            rotate();
+            writePublishedEntries();
+        } else if (buffered >= bufferSize && buffered - size < bufferSize) {
+            // Only the entry reaching the buffer size triggers the write
+            if (writerThread == null) {
+                rotate();
+                writePublishedEntries();
+            } else {
+                requestWrite();
             }
         }
     }
 
 
+    /**
+     * Waits before a request thread tries again to add its entry to a full
+     * ring, yielding first and then parking for up to a millisecond.
+     */
+    private static void backOff(int attempts) {
+        if (attempts < BACK_OFF_YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1000L << Math.min(attempts - BACK_OFF_YIELDS, 10));
+        }
+    }
+
+
+    /**
+     * Wakes up the writer thread before its write interval elapsed.
+     */
+    private void requestWrite() {
+        synchronized (writerSignal) {
+            writeRequested = true;
+            writerSignal.notify();
+        }
+    }
+
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
      */
     public void log() throws IOException {
+        rotate();
+        writeEntries();
+    }
 
+
+    /**
+     * Switches files if the date has changed since the previous log call.
+     */
+    private void rotate() throws IOException {
         if (rotatable){
             long systime = System.currentTimeMillis();
             long rotationIntervalLong = rotationInterval * 1000L;
@@ -609,18 +698,82 @@ public final class PEAccessLogValve
                 }
             }
         }
+    }
+
+
+    /**
+     * Writes the entries published to the ring.
+     *
+     * @return number of entries written
+     */
+    private int writeEntries() {
+        lock.lock();
+        try {
+            return drainEntries();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Writes the entries published to the ring unless another thread is
+     * writing them already. That thread looks at the ring again when it is
+     * done, so the request threads do not queue up on the lock to write
+     * one entry each.
+     */
+    private void writePublishedEntries() {
+        while (lock.tryLock()) {
+            try {
+                drainEntries();
+            } finally {
+                lock.unlock();
+            }
+            if (!entries.hasPublished()) {
+                return;
+            }
+        }
+    }
+
 
-        synchronized (lock) {
+    /**
+     * Writes the entries published to the ring, the lock must be held.
+     *
+     * @return number of entries written
+     */
+    private int drainEntries() {
+        // Don't chase the request threads forever, the entries added
+        // meanwhile are written by the next call
+        int written = 0;
+        int count;
+        while (written < entries.capacity() && (count = entries.drain(writeBatch)) > 0) {
+            written += count;
+            long bytes = 0;
+            for (int i = 0; i < count; i++) {
+                bytes += writeBatch[i].remaining();
+            }
             try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
-                }
+                write(writeBatch, count);
             } catch (IOException ex) {
 
             } finally {
-                charBuffer.clear();
+                bufferedBytes.addAndGet(-bytes);
+                Arrays.fill(writeBatch, 0, count, null);
+            }
+        }
+        return written;
+    }
+
+
+    /**
+     * Writes the given entries to the log file with gathering writes.
+     */
+    private void write(ByteBuffer[] batch, int count) throws IOException {
+        int offset = 0;
+        while (offset < count) {
+            fileChannel.write(batch, offset, count - offset);
+            while (offset < count && !batch[offset].hasRemaining()) {
+                offset++;
             }
         }
     }
@@ -993,7 +1146,9 @@ public final class PEAccessLogValve
             bufferSize = MIN_BUFFER_SIZE;
         }
 
-        charBuffer = CharBuffer.allocate(bufferSize);
+        entries = new AccessLogEntryRing(RING_CAPACITY);
+        bufferedBytes.set(0L);
+        writeBatch = new ByteBuffer[Math.min(entries.capacity(), MAX_WRITE_BATCH)];
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1066,7 +1221,7 @@ public final class PEAccessLogValve
 
     /**
      * Sleep for the duration specified by the <code>writeInterval</code>
-     * property.
+     * property, or until the buffer size is reached.
      */
     private void threadSleep() {
 
@@ -1074,10 +1229,17 @@ public final class PEAccessLogValve
             return;
         }
 
-        try {
-            Thread.sleep(writeInterval * 1000L);
-        } catch (InterruptedException e) {
+        synchronized (writerSignal) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(writeInterval);
+            long delay;
+            try {
+                while (!writeRequested && (delay = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(writerSignal, delay);
+                }
+            } catch (InterruptedException e) {
 
+            }
+            writeRequested = false;
         }
 
     }
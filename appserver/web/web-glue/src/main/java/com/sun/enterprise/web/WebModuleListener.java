@@ -17,6 +17,7 @@
 package com.sun.enterprise.web;
 
 import com.sun.appserv.web.cache.CacheManager;
+import com.sun.appserv.web.cache.ResponseCacheStatsProvider;
 import com.sun.enterprise.container.common.spi.CDIService;
 import com.sun.enterprise.deployment.WebBundleDescriptor;
 import com.sun.enterprise.deployment.WebComponentDescriptor;
@@ -50,6 +51,8 @@ import org.apache.catalina.LifecycleListener;
 import org.apache.catalina.Wrapper;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.web.TldProvider;
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.hk2.api.DynamicConfigurationService;
 import org.glassfish.hk2.api.MultiException;
 import org.glassfish.hk2.api.Populator;
@@ -83,6 +86,11 @@ final class WebModuleListener implements LifecycleListener {
     private final WebBundleDescriptor webBundleDescriptor;
     private final WebContainer webContainer;
 
+    /**
+     * Monitoring data of the response cache, registered while the cache manager runs.
+     */
+    private ResponseCacheStatsProvider cacheStatsProvider;
+
     /**
      * Constructor.
      *
@@ -396,6 +404,11 @@ final class WebModuleListener implements LifecycleListener {
                     ServletContext ctxt = webModule.getServletContext();
                     ctxt.setAttribute(CacheManager.CACHE_MANAGER_ATTR_NAME, cm);
 
+                    cacheStatsProvider = new ResponseCacheStatsProvider(cm);
+                    StatsProviderManager.register("web-container", PluginPoint.APPLICATIONS,
+                        webModule.getMonitoringNodeName() + "/" + webModule.getParent().getName(),
+                        cacheStatsProvider);
+
                 } catch (LifecycleException ee) {
                     _logger.log(WARNING, ee.getMessage(), ee.getCause());
                 }
@@ -404,6 +417,11 @@ final class WebModuleListener implements LifecycleListener {
     }
 
     private void stopCacheManager(WebModule webModule) {
+        if (cacheStatsProvider != null) {
+            StatsProviderManager.unregister(cacheStatsProvider);
+            cacheStatsProvider = null;
+        }
+
         ServletContext ctxt = webModule.getServletContext();
         CacheManager cm = (CacheManager) ctxt.getAttribute(CacheManager.CACHE_MANAGER_ATTR_NAME);
         if (cm != null) {
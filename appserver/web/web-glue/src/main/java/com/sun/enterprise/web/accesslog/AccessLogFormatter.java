@@ -17,7 +17,12 @@
 
 package com.sun.enterprise.web.accesslog;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.time.OffsetDateTime;
 
 import org.apache.catalina.Request;
@@ -29,8 +34,20 @@ import org.apache.catalina.Response;
  */
 public abstract class AccessLogFormatter {
 
+    /**
+     * Size of the byte buffers shared by the encoded entries of a thread.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Initial capacity of the character buffer of a thread.
+     */
+    private static final int INITIAL_ENTRY_SIZE = 256;
+
     private final AccessLogPattern pattern;
 
+    private final ThreadLocal<EntryEncoder> encoders = ThreadLocal.withInitial(EntryEncoder::new);
+
     public AccessLogFormatter(AccessLogPattern pattern) {
         this.pattern = pattern;
     }
@@ -47,6 +64,26 @@ public abstract class AccessLogFormatter {
     public abstract void appendLogEntry(Request request, Response response, CharBuffer charBuffer);
 
 
+    /**
+     * Formats an access log entry line, terminated by a new line, and encodes it
+     * with the default charset into a byte buffer of the calling thread.
+     * <p>
+     * The entries of a thread are encoded one after another into the same chunk,
+     * which is never rewritten: a new chunk is allocated when it is full. So the
+     * returned entry is not copied and stays valid until it is written, even when
+     * the thread formats its next entries meanwhile.
+     *
+     * @param request The request object from which to obtain access log info
+     * @param response The response object from which to obtain access log info
+     * @param maxEntrySize The maximum number of characters of the entry
+     * @return buffer containing the encoded entry between its position and limit
+     * @throws BufferOverflowException if the entry is longer than maxEntrySize
+     */
+    public ByteBuffer encodeLogEntry(Request request, Response response, int maxEntrySize) {
+        return encoders.get().encode(request, response, maxEntrySize);
+    }
+
+
     /**
      * @return current timestamp
      */
@@ -58,4 +95,53 @@ public abstract class AccessLogFormatter {
     public AccessLogPattern getPattern() {
         return pattern;
     }
+
+
+    /**
+     * Reusable formatting and encoding buffers of a thread.
+     */
+    private final class EntryEncoder {
+
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private CharBuffer chars = CharBuffer.allocate(INITIAL_ENTRY_SIZE);
+
+        private ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+        ByteBuffer encode(Request request, Response response, int maxEntrySize) {
+            CharBuffer entry = format(request, response, maxEntrySize);
+            int maxBytes = (int) Math.ceil(entry.remaining() * (double) encoder.maxBytesPerChar());
+            if (chunk.remaining() < maxBytes) {
+                chunk = ByteBuffer.allocate(Math.max(CHUNK_SIZE, maxBytes));
+            }
+            int start = chunk.position();
+            encoder.reset();
+            encoder.encode(entry, chunk, true);
+            encoder.flush(chunk);
+
+            ByteBuffer encoded = chunk.duplicate();
+            encoded.limit(chunk.position());
+            encoded.position(start);
+            return encoded;
+        }
+
+        private CharBuffer format(Request request, Response response, int maxEntrySize) {
+            while (true) {
+                chars.clear();
+                try {
+                    appendLogEntry(request, response, chars);
+                    chars.put('\n');
+                    chars.flip();
+                    return chars;
+                } catch (BufferOverflowException e) {
+                    if (chars.capacity() >= maxEntrySize) {
+                        throw e;
+                    }
+                    chars = CharBuffer.allocate(Math.min(chars.capacity() * 2, maxEntrySize));
+                }
+            }
+        }
+    }
 }
@@ -1549,4 +1549,9 @@ public class LogFacade {
         message = "Exception getting Validator Factory from JNDI: {0}",
         level = "WARNING")
     public static final String EXCEPTION_GETTING_VALIDATOR_FACTORY = prefix + "00285";
+
+    @LogMessageInfo(
+        message = "Illegal maxDirectBufferSize value [{0}] of the cache; using the default",
+        level = "WARNING")
+    public static final String CACHE_MANAGER_ILLEGAL_MAX_DIRECT_BUFFER_SIZE = prefix + "00286";
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.appserv.web.cache;
+
+import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.web.cache.filter.CachingResponseWrapper;
+import com.sun.appserv.web.cache.filter.HttpCacheEntry;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CacheManagerTest {
+
+    private static final int MAX_ENTRIES = 4;
+
+    private final CacheManager manager = new CacheManager();
+
+    @BeforeEach
+    public void startManager() throws Exception {
+        manager.setEnabled(true);
+        manager.setMaxEntries(MAX_ENTRIES);
+        manager.setDefaultHelperProps(new HashMap<>());
+        manager.addProperty("directBuffers", "true");
+        manager.addProperty("maxDirectBufferSize", "1KB");
+        manager.start();
+    }
+
+    @AfterEach
+    public void stopManager() throws Exception {
+        manager.stop();
+    }
+
+
+    @Test
+    public void directBodiesAreAllocatedUpToTheLimit() {
+        ByteBuffer first = manager.allocateDirectBody(600);
+        assertAll(
+            () -> assertThat(first.isDirect(), equalTo(true)),
+            () -> assertThat(first.capacity(), equalTo(600)),
+            () -> assertThat(manager.getDirectBodySize(), equalTo(600L)),
+            () -> assertThat(manager.getMaxDirectBufferSize(), equalTo(1024L))
+        );
+
+        assertThat(manager.allocateDirectBody(600), nullValue());
+        assertThat(manager.getDirectBodySize(), equalTo(600L));
+        assertThat(manager.allocateDirectBody(424), notNullValue());
+        assertThat(manager.getDirectBodySize(), equalTo(1024L));
+        assertThat(manager.allocateDirectBody(1), nullValue());
+    }
+
+
+    @Test
+    public void bodiesAreCachedOnTheHeapOverTheLimit() throws Exception {
+        HttpCacheEntry direct = cacheResponse(600);
+        HttpCacheEntry heap = cacheResponse(600);
+        assertAll(
+            () -> assertTrue(direct.isDirect()),
+            () -> assertFalse(heap.isDirect()),
+            () -> assertThat(manager.getDirectBodySize(), equalTo(600L)),
+            () -> assertThat(manager.getHeapBodySize(), equalTo(600L))
+        );
+
+        // released only once
+        direct.release(manager);
+        direct.release(manager);
+        heap.release(manager);
+        assertThat(manager.getDirectBodySize(), equalTo(0L));
+        assertThat(manager.getHeapBodySize(), equalTo(0L));
+    }
+
+
+    @Test
+    public void evictedEntriesAreReleased() throws Exception {
+        Cache cache = manager.getDefaultCache();
+        int count = 0;
+        while (cache.getEntryCount() == count) {
+            HttpCacheEntry entry = cacheResponse(100);
+            cache.put("key" + count, entry, entry.getSize());
+            count++;
+        }
+
+        // the entries left in the cache are accounted, the trimmed one is not
+        int cached = cache.getEntryCount();
+        assertThat(cached, equalTo(count - 1));
+        assertThat(manager.getHeapBodySize() + manager.getDirectBodySize(), equalTo(cached * 100L));
+        assertThat(cache.get("key0"), nullValue());
+    }
+
+
+    @Test
+    public void clearReleasesAllEntries() throws Exception {
+        Cache cache = manager.getDefaultCache();
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            HttpCacheEntry entry = cacheResponse(400);
+            cache.put("key" + i, entry, entry.getSize());
+        }
+        assertThat(manager.getDirectBodySize(), equalTo(800L));
+        assertThat(manager.getHeapBodySize(), equalTo(800L));
+
+        assertThat(manager.clearDefaultCache(), equalTo(MAX_ENTRIES));
+        assertAll(
+            () -> assertThat(cache.getEntryCount(), equalTo(0)),
+            () -> assertThat(manager.getDirectBodySize(), equalTo(0L)),
+            () -> assertThat(manager.getHeapBodySize(), equalTo(0L))
+        );
+
+        // the released off-heap storage can be used again
+        assertThat(manager.allocateDirectBody(1024), notNullValue());
+    }
+
+
+    @Test
+    public void statsProviderReportsTheAccountedBytes() throws Exception {
+        Cache cache = manager.getDefaultCache();
+        for (int i = 0; i < 3; i++) {
+            HttpCacheEntry entry = cacheResponse(400);
+            cache.put("key" + i, entry, entry.getSize());
+        }
+
+        ResponseCacheStatsProvider stats = new ResponseCacheStatsProvider(manager);
+        assertAll(
+            () -> assertThat(stats.getEntryCount().getCount(), equalTo(3L)),
+            () -> assertThat(stats.getDirectBodySize().getCount(), equalTo(800L)),
+            () -> assertThat(stats.getHeapBodySize().getCount(), equalTo(400L)),
+            () -> assertThat(stats.getMaxDirectBufferSize().getCount(), equalTo(1024L))
+        );
+
+        manager.stop();
+        assertThat(stats.getDirectBodySize().getCount(), equalTo(0L));
+        assertThat(stats.getHeapBodySize().getCount(), equalTo(0L));
+        manager.start();
+    }
+
+
+    private HttpCacheEntry cacheResponse(int size) throws Exception {
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> null);
+        CachingResponseWrapper wrapper = new CachingResponseWrapper(response);
+        wrapper.getOutputStream().write(new byte[size]);
+        return wrapper.cacheResponse(manager);
+    }
+}
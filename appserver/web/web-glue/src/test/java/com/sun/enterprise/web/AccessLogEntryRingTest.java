@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.web;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessLogEntryRingTest {
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertAll(
+            () -> assertThat(new AccessLogEntryRing(1).capacity(), equalTo(2)),
+            () -> assertThat(new AccessLogEntryRing(64).capacity(), equalTo(64)),
+            () -> assertThat(new AccessLogEntryRing(100).capacity(), equalTo(128))
+        );
+    }
+
+
+    @Test
+    public void entriesAreDrainedInOrder() {
+        AccessLogEntryRing ring = new AccessLogEntryRing(16);
+        ByteBuffer[] entries = entries(10);
+        for (ByteBuffer entry : entries) {
+            assertTrue(ring.offer(entry));
+        }
+
+        ByteBuffer[] batch = new ByteBuffer[16];
+        assertThat(ring.drain(batch), equalTo(10));
+        for (int i = 0; i < entries.length; i++) {
+            assertThat(batch[i], sameInstance(entries[i]));
+        }
+        assertThat(ring.drain(batch), equalTo(0));
+    }
+
+
+    @Test
+    public void drainIsLimitedByBatchLength() {
+        AccessLogEntryRing ring = new AccessLogEntryRing(16);
+        ByteBuffer[] entries = entries(10);
+        for (ByteBuffer entry : entries) {
+            ring.offer(entry);
+        }
+
+        ByteBuffer[] batch = new ByteBuffer[4];
+        assertThat(ring.drain(batch), equalTo(4));
+        assertThat(batch[3], sameInstance(entries[3]));
+        assertThat(ring.drain(batch), equalTo(4));
+        assertThat(batch[0], sameInstance(entries[4]));
+        assertThat(ring.drain(batch), equalTo(2));
+        assertThat(batch[1], sameInstance(entries[9]));
+    }
+
+
+    @Test
+    public void hasPublishedUntilDrained() {
+        AccessLogEntryRing ring = new AccessLogEntryRing(4);
+        assertThat(ring.hasPublished(), equalTo(false));
+        ring.offer(entries(1)[0]);
+        assertThat(ring.hasPublished(), equalTo(true));
+        ring.drain(new ByteBuffer[4]);
+        assertThat(ring.hasPublished(), equalTo(false));
+    }
+
+
+    @Test
+    public void sequencesWrapAroundTheRing() {
+        AccessLogEntryRing ring = new AccessLogEntryRing(4);
+        ByteBuffer[] entries = entries(4 * 10 + 3);
+        ByteBuffer[] batch = new ByteBuffer[4];
+        int drained = 0;
+        for (int i = 0; i < entries.length; i++) {
+            assertTrue(ring.offer(entries[i]), "offer " + i);
+            // Drain three entries at a time, so the head moves around the ring
+            if (i % 3 == 2) {
+                int count = ring.drain(batch);
+                assertThat(count, equalTo(3));
+                for (int j = 0; j < count; j++) {
+                    assertThat(batch[j], sameInstance(entries[drained++]));
+                }
+            }
+        }
+        int count = ring.drain(batch);
+        for (int j = 0; j < count; j++) {
+            assertThat(batch[j], sameInstance(entries[drained++]));
+        }
+        assertThat(drained, equalTo(entries.length));
+    }
+
+
+    @Test
+    public void fullRingRejectsEntriesUntilDrained() {
+        AccessLogEntryRing ring = new AccessLogEntryRing(8);
+        ByteBuffer[] entries = entries(9);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(ring.offer(entries[i]));
+        }
+        assertFalse(ring.offer(entries[8]));
+        assertFalse(ring.offer(entries[8]));
+
+        ByteBuffer[] batch = new ByteBuffer[1];
+        assertThat(ring.drain(batch), equalTo(1));
+        assertThat(batch[0], sameInstance(entries[0]));
+        assertTrue(ring.offer(entries[8]));
+        assertFalse(ring.offer(entries[8]));
+
+        batch = new ByteBuffer[8];
+        assertThat(ring.drain(batch), equalTo(8));
+        assertThat(batch[7], sameInstance(entries[8]));
+    }
+
+
+    @Test
+    public void concurrentProducersKeepTheirOrder() throws Exception {
+        final int producers = 8;
+        final int entriesPerProducer = 10_000;
+        AccessLogEntryRing ring = new AccessLogEntryRing(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                tasks.add(() -> {
+                    for (int i = 0; i < entriesPerProducer; i++) {
+                        ByteBuffer entry = ByteBuffer.allocate(8).putInt(producer).putInt(i);
+                        entry.flip();
+                        while (!ring.offer(entry)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+
+            int[] next = new int[producers];
+            ByteBuffer[] batch = new ByteBuffer[16];
+            int drained = 0;
+            while (drained < producers * entriesPerProducer) {
+                int count = ring.drain(batch);
+                for (int i = 0; i < count; i++) {
+                    int producer = batch[i].getInt(0);
+                    assertThat(batch[i].getInt(4), equalTo(next[producer]++));
+                }
+                drained += count;
+                if (count == 0) {
+                    Thread.yield();
+                }
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            assertThat(ring.drain(batch), equalTo(0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static ByteBuffer[] entries(int count) {
+        ByteBuffer[] entries = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            entries[i] = ByteBuffer.wrap(("entry " + i + "\n").getBytes());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the access log throughput of many request threads logging to the same
+ * {@link PEAccessLogValve} with the common pattern, both with the background writer
+ * thread and with entries written in real time. With either setting the lock free valve
+ * must be at least as fast as the same call serialized by one lock, as it was when the
+ * entries were formatted into a shared buffer.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class PEAccessLogValveBenchmarkTest {
+
+    /** Both variants end up in file writes of the same entries, which limit the gain. */
+    private static final double TOLERANCE = 0.9;
+
+    @Test
+    public void postInvoke() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(64).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Map<String, Double> scores = new Runner(options).run().stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("logging") + '-' + result.getParams().getParam("writerInterval"),
+            result -> result.getPrimaryResult().getScore()));
+        // On few CPUs the threads take turns and the numbers say nothing about contention.
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= 4, "Needs at least 4 CPUs");
+        assertThat(scores.get("lockfree-0"), greaterThan(scores.get("synchronized-0") * TOLERANCE));
+        assertThat(scores.get("lockfree-1"), greaterThan(scores.get("synchronized-1") * TOLERANCE));
+    }
+
+
+    @Benchmark
+    public void postInvoke(ValveState state) throws IOException {
+        if ("synchronized".equals(state.logging)) {
+            synchronized (state.valve) {
+                state.valve.postInvoke(state.request, state.response);
+            }
+        } else {
+            state.valve.postInvoke(state.request, state.response);
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ValveState {
+
+        @Param({"synchronized", "lockfree"})
+        public String logging;
+
+        @Param({"0", "1"})
+        public int writerInterval;
+
+        PEAccessLogValve valve;
+        Request request;
+        Response response;
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void startValve() throws IOException, LifecycleException {
+            directory = Files.createTempDirectory("access-log");
+            valve = new PEAccessLogValve();
+            valve.setDirectory(directory.toString());
+            valve.setPrefix("server_access_log.");
+            valve.setSuffix(".txt");
+            valve.setPattern("common");
+            valve.setWriterInterval(writerInterval);
+            if (writerInterval > 0) {
+                valve.setBufferSize(32768);
+            }
+            valve.start();
+
+            HttpServletRequest servletRequest = proxy(HttpServletRequest.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getRemoteHost":
+                        return "127.0.0.1";
+                    case "getMethod":
+                        return "GET";
+                    case "getRequestURI":
+                        return "/benchmark/index.html";
+                    case "getProtocol":
+                        return "HTTP/1.1";
+                    default:
+                        return null;
+                }
+            });
+            request = proxy(Request.class, (proxy, method, args) -> "getRequest".equals(method.getName()) ? servletRequest : null);
+            response = proxy(HttpResponse.class, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getStatus":
+                        return 200;
+                    case "getContentCount":
+                        return 1024;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        @TearDown(Level.Trial)
+        public void stopValve() throws IOException, LifecycleException {
+            valve.stop();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+    }
+}
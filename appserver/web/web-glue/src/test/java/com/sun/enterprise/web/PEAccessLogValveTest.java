@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+public class PEAccessLogValveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void entriesAreWrittenWhenBufferSizeIsReached() throws Exception {
+        PEAccessLogValve valve = createValve(3600, 5120);
+        valve.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                valve.postInvoke(request("/entry/" + i), response());
+            }
+            Thread.sleep(200L);
+            assertThat(readLog(), empty());
+
+            // The writer thread does not wait for its interval
+            for (int i = 10; i < 200; i++) {
+                valve.postInvoke(request("/entry/" + i), response());
+            }
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (readLog().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertOrdered(readLog(), 1);
+        } finally {
+            valve.stop();
+        }
+
+        List<String> lines = readLog();
+        assertThat(lines, hasSize(200));
+        assertOrdered(lines, 1);
+    }
+
+
+    @Test
+    public void entriesOfAFullRingAreAllWrittenInOrder() throws Exception {
+        final int threads = 16;
+        final int entriesPerThread = 2_000;
+        PEAccessLogValve valve = createValve(3600, 1024 * 1024 * 1024);
+        valve.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < entriesPerThread; i++) {
+                        valve.postInvoke(request("/entry/" + i + "/" + thread), response());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            // More entries than the ring holds, the request threads wrote some of them
+            assertThat(readLog().size(), lessThan(threads * entriesPerThread));
+            assertThat(readLog().isEmpty(), equalTo(false));
+        } finally {
+            executor.shutdownNow();
+            valve.stop();
+        }
+
+        List<String> lines = readLog();
+        assertThat(lines, hasSize(threads * entriesPerThread));
+        assertOrdered(lines, threads);
+    }
+
+
+    @Test
+    public void entriesAreWrittenInRealTimeByConcurrentThreads() throws Exception {
+        final int threads = 16;
+        final int entriesPerThread = 2_000;
+        PEAccessLogValve valve = createValve(0, 0);
+        valve.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < entriesPerThread; i++) {
+                        valve.postInvoke(request("/entry/" + i + "/" + thread), response());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            // The threads which found the lock taken left their entries to its holder
+            List<String> lines = readLog();
+            assertThat(lines, hasSize(threads * entriesPerThread));
+            assertOrdered(lines, threads);
+        } finally {
+            executor.shutdownNow();
+            valve.stop();
+        }
+    }
+
+
+    /**
+     * Checks that the entries of each thread were written in the order they were logged.
+     */
+    private static void assertOrdered(List<String> lines, int threads) {
+        int[] next = new int[threads];
+        for (String line : lines) {
+            String[] uri = line.split(" ")[6].split("/");
+            int thread = uri.length > 3 ? Integer.parseInt(uri[3]) : 0;
+            assertThat(line, Integer.parseInt(uri[2]), equalTo(next[thread]++));
+        }
+    }
+
+
+    private PEAccessLogValve createValve(int writerInterval, int bufferSize) {
+        PEAccessLogValve valve = new PEAccessLogValve();
+        valve.setDirectory(directory.toString());
+        valve.setPrefix("server_access_log.");
+        valve.setSuffix(".txt");
+        valve.setPattern("common");
+        valve.setWriterInterval(writerInterval);
+        valve.setBufferSize(bufferSize);
+        return valve;
+    }
+
+
+    private List<String> readLog() throws Exception {
+        File[] files = directory.toFile().listFiles();
+        assertThat(files, arrayWithSize(1));
+        return Files.readAllLines(files[0].toPath());
+    }
+
+
+    private static Request request(String uri) {
+        HttpServletRequest servletRequest = proxy(HttpServletRequest.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getRemoteHost":
+                    return "127.0.0.1";
+                case "getMethod":
+                    return "GET";
+                case "getRequestURI":
+                    return uri;
+                case "getProtocol":
+                    return "HTTP/1.1";
+                default:
+                    return null;
+            }
+        });
+        return proxy(Request.class, (proxy, method, args) -> "getRequest".equals(method.getName()) ? servletRequest : null);
+    }
+
+
+    private static Response response() {
+        return proxy(HttpResponse.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getStatus":
+                    return 200;
+                case "getContentCount":
+                    return 1024;
+                default:
+                    return null;
+            }
+        });
+    }
+
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.web.accesslog;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccessLogFormatterTest {
+
+    private static final int MAX_ENTRY_SIZE = 5120;
+
+    private final AccessLogFormatter formatter = new CommonAccessLogFormatterImpl() {
+
+        @Override
+        protected OffsetDateTime getTimestamp() {
+            return OffsetDateTime.of(2026, 10, 18, 12, 30, 45, 0, ZoneOffset.UTC);
+        }
+    };
+
+
+    @Test
+    public void encodedEntriesMatchAppendedEntries() {
+        // Enough entries to fill several chunks of the thread
+        List<ByteBuffer> encoded = new ArrayList<>();
+        List<ByteBuffer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String uri = "/app/été/" + i;
+            encoded.add(formatter.encodeLogEntry(request(uri), response(), MAX_ENTRY_SIZE));
+            expected.add(appendLogEntry(request(uri), response()));
+        }
+
+        // The entries encoded before are not overwritten by the next ones
+        for (int i = 0; i < encoded.size(); i++) {
+            assertThat("entry " + i, encoded.get(i), equalTo(expected.get(i)));
+        }
+    }
+
+
+    @Test
+    public void longEntryIsEncodedUpToMaxEntrySize() {
+        String uri = "/" + "a".repeat(MAX_ENTRY_SIZE / 2);
+        ByteBuffer entry = formatter.encodeLogEntry(request(uri), response(), MAX_ENTRY_SIZE);
+        assertThat(entry, equalTo(appendLogEntry(request(uri), response())));
+
+        String tooLong = "/" + "a".repeat(MAX_ENTRY_SIZE);
+        assertThrows(BufferOverflowException.class,
+            () -> formatter.encodeLogEntry(request(tooLong), response(), MAX_ENTRY_SIZE));
+
+        // The thread still encodes the next entries
+        entry = formatter.encodeLogEntry(request("/next"), response(), MAX_ENTRY_SIZE);
+        assertThat(entry, equalTo(appendLogEntry(request("/next"), response())));
+    }
+
+
+    /**
+     * Formats the entry into a character buffer and encodes it, as the access log
+     * valve did before the entries were encoded by the request threads.
+     */
+    private ByteBuffer appendLogEntry(Request request, Response response) {
+        CharBuffer chars = CharBuffer.allocate(2 * MAX_ENTRY_SIZE);
+        formatter.appendLogEntry(request, response, chars);
+        chars.put('\n');
+        chars.flip();
+        return Charset.defaultCharset().encode(chars);
+    }
+
+
+    private static Request request(String uri) {
+        HttpServletRequest servletRequest = proxy(HttpServletRequest.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getRemoteHost":
+                    return "127.0.0.1";
+                case "getMethod":
+                    return "GET";
+                case "getRequestURI":
+                    return uri;
+                case "getProtocol":
+                    return "HTTP/1.1";
+                default:
+                    return null;
+            }
+        });
+        return proxy(Request.class, (proxy, method, args) -> "getRequest".equals(method.getName()) ? servletRequest : null);
+    }
+
+
+    private static Response response() {
+        return proxy(HttpResponse.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getStatus":
+                    return 200;
+                case "getContentCount":
+                    return 1024;
+                default:
+                    return null;
+            }
+        });
+    }
+
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
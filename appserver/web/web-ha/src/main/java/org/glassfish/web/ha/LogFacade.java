@@ -91,4 +91,9 @@ public class LogFacade {
             level = "WARNING")
     public static final String COULD_NOT_CREATE_BACKING_STORE = prefix + "00008";
 
+    @LogMessageInfo(
+            message = "Invalid session compression {0}, the sessions are saved without compression",
+            level = "WARNING")
+    public static final String INVALID_SESSION_COMPRESSION = prefix + "00009";
+
 }
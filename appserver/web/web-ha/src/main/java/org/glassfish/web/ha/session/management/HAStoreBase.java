@@ -25,15 +25,12 @@ package org.glassfish.web.ha.session.management;
 
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
 
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.GZIPOutputStream;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.Manager;
@@ -164,53 +161,122 @@ public abstract class HAStoreBase extends StoreBase {
     *
     * @param session
     *   The session we are serializing
+    * @param compress
+    *   true to compress with GZIP, false to use the compression of the store
     *
     */
     protected byte[] getByteArray(Session session, boolean compress)
       throws IOException {
-        ByteArrayOutputStream bos = null;
-        ObjectOutputStream oos = null;
+        SessionCodec codec = getSessionCodec();
+        return codec.encode(oos -> writeSession(session, oos),
+            compress ? SessionCodec.Compression.GZIP : codec.getCompression());
+    }
 
+    // ------------------------------------------------------------- Codec
 
+    /**
+     * Compression of the serialized sessions: none, gzip or fast.
+     */
+    protected String compression = "none";
+
+    /**
+     * Whether the class descriptors are written through the dictionary
+     * of the store.
+     */
+    protected boolean classDescriptorDictionary = false;
 
-        byte[] obs;
-        try {
-            bos = new ByteArrayOutputStream();
-            // ObjectInputOutputStreamFactory oiosf = ObjectInputOutputStreamFactoryFactory.getFactory();
+    private volatile SessionCodec sessionCodec;
 
+    private final Object sessionCodecLock = new Object();
 
-            try {
-                if (compress) {
-                    oos = ioUtils.createObjectOutputStream(
-                        new GZIPOutputStream(new BufferedOutputStream(bos)), true);
-                } else {
-                    oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
-                }
-            } catch (Exception ex) {}
-
-            //use normal ObjectOutputStream if there is a failure during stream creation
-            if(oos == null) {
-                if (compress) {
-                    oos = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(bos)));
-                } else {
-                    oos = new ObjectOutputStream(new BufferedOutputStream(bos));
+    /**
+     * Return the compression of the serialized sessions.
+     */
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * Set the compression of the serialized sessions: none, gzip or fast.
+     * The sessions saved before keep their compression.
+     *
+     * @param compression The new compression
+     */
+    public void setCompression(String compression) {
+        String oldCompression = this.compression;
+        SessionCodec.Compression.valueOf(compression.toUpperCase(Locale.ENGLISH));
+        this.compression = compression;
+        resetSessionCodec();
+        support.firePropertyChange("compression", oldCompression, this.compression);
+    }
+
+    /**
+     * Return true if the class descriptors are written through
+     * the dictionary of the store.
+     */
+    public boolean isClassDescriptorDictionary() {
+        return classDescriptorDictionary;
+    }
+
+    /**
+     * Set whether the class descriptors are written through
+     * the dictionary of the store.
+     *
+     * @param classDescriptorDictionary The new value
+     */
+    public void setClassDescriptorDictionary(boolean classDescriptorDictionary) {
+        boolean oldClassDescriptorDictionary = this.classDescriptorDictionary;
+        this.classDescriptorDictionary = classDescriptorDictionary;
+        resetSessionCodec();
+        support.firePropertyChange("classDescriptorDictionary", oldClassDescriptorDictionary,
+            this.classDescriptorDictionary);
+    }
+
+    /**
+     * Return the codec serializing the sessions, created by
+     * {@link #createSessionCodec()} on the first call.
+     */
+    protected SessionCodec getSessionCodec() {
+        SessionCodec codec = sessionCodec;
+        if (codec == null) {
+            synchronized (sessionCodecLock) {
+                codec = sessionCodec;
+                if (codec == null) {
+                    codec = createSessionCodec();
+                    sessionCodec = codec;
                 }
             }
+        }
+        return codec;
+    }
+
+    /**
+     * Create the codec serializing the sessions. This store does not
+     * replicate class descriptor dictionaries, subclasses which can do so
+     * override this method.
+     */
+    protected SessionCodec createSessionCodec() {
+        return new SessionCodec(ioUtils, getCodecCompression(), null, false);
+    }
 
-            writeSession(session, oos);
-            oos.close();
-            oos = null;
+    /**
+     * Return the configured compression.
+     */
+    protected SessionCodec.Compression getCodecCompression() {
+        return SessionCodec.Compression.valueOf(compression.toUpperCase(Locale.ENGLISH));
+    }
 
-            obs = bos.toByteArray();
-            //for monitoring
-        }
-        finally {
-            if ( oos != null )  {
-                oos.close();
+    /**
+     * Release the pooled resources of the codec, a new one is created
+     * when needed.
+     */
+    protected void resetSessionCodec() {
+        synchronized (sessionCodecLock) {
+            if (sessionCodec != null) {
+                sessionCodec.close();
+                sessionCodec = null;
             }
         }
-
-        return obs;
     }
 
     //SJSAS 6406580 START
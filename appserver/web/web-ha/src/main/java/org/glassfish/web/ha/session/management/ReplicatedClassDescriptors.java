@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.web.ha.session.management;
+
+import com.sun.enterprise.container.common.spi.util.ClassDescriptorDictionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.web.ha.LogFacade;
+
+/**
+ * Class descriptor dictionaries of one replicated session store.
+ * <p>
+ * Each store writes the sessions through its own dictionary, kept in the backing store
+ * of the application under the key of {@link #getLocalId()}, so any instance of the cluster can read them.
+ * A class gets its id the first time it is serialized and the dictionary is saved again
+ * before the first session referring to a new id, see {@link #publish()}. The dictionary
+ * of another instance is loaded when one of its sessions is read and reloaded when a session
+ * refers to an id added later.
+ * <p>
+ * The backing store expires the dictionaries like sessions, so the store touches its dictionary
+ * before writing a session, see {@link #touch()}. A session loaded by another instance is saved
+ * again through the dictionary of that instance, so a dictionary is needed only as long as the
+ * sessions written through it are not expired.
+ * <p>
+ * Dictionaries only grow, up to {@link #MAX_DESCRIPTORS} classes. Descriptors of classes
+ * beyond that limit are written in full.
+ */
+public final class ReplicatedClassDescriptors {
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    /** Prefix of the backing store keys of the dictionaries. */
+    public static final String KEY_PREFIX = "class-descriptors:";
+
+    /** Maximal number of classes in a dictionary. */
+    public static final int MAX_DESCRIPTORS = 4096;
+
+    /** Time the last access time of the dictionary is set ahead, so it is touched at most once per interval. */
+    static final long TOUCH_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Storage storage;
+    private final Dictionary local;
+    private final ConcurrentMap<Long, Dictionary> remote = new ConcurrentHashMap<>();
+    private final Object publishLock = new Object();
+    private final AtomicLong touchedUntil = new AtomicLong();
+
+    /**
+     * @param storage access to the backing store of the application
+     */
+    public ReplicatedClassDescriptors(Storage storage) {
+        this.storage = storage;
+        this.local = new Dictionary(new SecureRandom().nextLong());
+    }
+
+    /**
+     * @return the id of the dictionary written by this store, random for every store instance
+     */
+    public long getLocalId() {
+        return local.id;
+    }
+
+    /**
+     * @return the dictionary written by this store
+     */
+    public ClassDescriptorDictionary getLocal() {
+        return local;
+    }
+
+    /**
+     * @param id id of a dictionary, read from the session data
+     * @return the dictionary, its content is loaded when a descriptor is needed
+     */
+    public ClassDescriptorDictionary get(long id) {
+        if (local.id == id) {
+            return local;
+        }
+        return remote.computeIfAbsent(id, Dictionary::new);
+    }
+
+    /**
+     * @param id id of a dictionary
+     * @return the backing store key of the dictionary
+     */
+    public static String getKey(long id) {
+        return KEY_PREFIX + Long.toHexString(id);
+    }
+
+    /**
+     * @return number of dictionaries this store saved or loaded, so known to be in the backing store
+     */
+    public int getStoredCount() {
+        int count = local.published == 0 ? 0 : 1;
+        for (Dictionary dictionary : remote.values()) {
+            if (dictionary.size() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Saves the local dictionary if classes were added since it was saved last time.
+     * Must be called after serializing a session and before saving it.
+     *
+     * @throws IOException if the dictionary could not be saved
+     */
+    public void publish() throws IOException {
+        if (local.published >= local.size()) {
+            return;
+        }
+        synchronized (publishLock) {
+            byte[][] descriptors = local.descriptors;
+            if (local.published >= descriptors.length) {
+                return;
+            }
+            long saved = System.currentTimeMillis();
+            storage.save(local.key, descriptors.length, toByteArray(descriptors), local.published == 0);
+            local.published = descriptors.length;
+            // The saved dictionary is not ahead of the sessions any more.
+            touchedUntil.set(saved);
+        }
+    }
+
+    /**
+     * Refreshes the last access time of the local dictionary, so that the backing store does not remove
+     * it before the sessions written through it. Must be called before saving a session or updating its
+     * last access time, and by the reaper of the store.
+     * <p>
+     * The last access time is set {@link #TOUCH_INTERVAL} ahead, so the dictionary is touched at most once
+     * per interval and is still never older than the sessions.
+     */
+    public void touch() {
+        int published = local.published;
+        if (published == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long until = touchedUntil.get();
+        long next = now + TOUCH_INTERVAL;
+        if (now < until || !touchedUntil.compareAndSet(until, next)) {
+            return;
+        }
+        try {
+            storage.touch(local.key, published, next);
+        } catch (IOException e) {
+            // Touch again with the next session.
+            touchedUntil.compareAndSet(next, until);
+            _logger.log(Level.FINE, "Failed to update the timestamp of " + local.key, e);
+        }
+    }
+
+    private static byte[] toByteArray(byte[][] descriptors) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(descriptors.length * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(descriptors.length);
+            for (byte[] descriptor : descriptors) {
+                out.writeInt(descriptor.length);
+                out.write(descriptor);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[][] fromByteArray(byte[] state) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            int count = in.readInt();
+            if (count < 0 || count > MAX_DESCRIPTORS) {
+                throw new StreamCorruptedException("Invalid number of class descriptors: " + count);
+            }
+            byte[][] descriptors = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                descriptors[i] = new byte[in.readInt()];
+                in.readFully(descriptors[i]);
+            }
+            return descriptors;
+        }
+    }
+
+    private static byte[] encode(ObjectStreamClass descriptor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DescriptorOutputStream out = new DescriptorOutputStream(bytes)) {
+            out.writeDescriptor(descriptor);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ObjectStreamClass decode(byte[] descriptor) throws IOException {
+        try (DescriptorInputStream in = new DescriptorInputStream(new ByteArrayInputStream(descriptor))) {
+            return in.readDescriptor();
+        }
+    }
+
+    /**
+     * Access to the backing store of the application.
+     */
+    public interface Storage {
+
+        /**
+         * Saves the dictionary.
+         *
+         * @param key backing store key
+         * @param version number of classes in the dictionary
+         * @param state serialized dictionary
+         * @param isNew true if the dictionary is saved for the first time
+         */
+        void save(String key, long version, byte[] state, boolean isNew) throws IOException;
+
+        /**
+         * @param key backing store key
+         * @return serialized dictionary or null if the backing store does not have it
+         */
+        byte[] load(String key) throws IOException;
+
+        /**
+         * Updates the last access time of the dictionary.
+         *
+         * @param key backing store key
+         * @param version number of classes in the dictionary
+         * @param lastAccessTime new last access time, may be ahead of the current time
+         */
+        void touch(String key, long version, long lastAccessTime) throws IOException;
+    }
+
+    /**
+     * One dictionary. Descriptors are kept serialized in the standard format
+     * and decoded when a stream reads them for the first time.
+     */
+    private final class Dictionary implements ClassDescriptorDictionary {
+
+        private final long id;
+        private final String key;
+        private final ConcurrentMap<Class<?>, Integer> ids = new ConcurrentHashMap<>();
+        private volatile byte[][] descriptors = new byte[0][];
+        private volatile ObjectStreamClass[] decoded = new ObjectStreamClass[0];
+        private volatile int published;
+
+        Dictionary(long id) {
+            this.id = id;
+            this.key = getKey(id);
+        }
+
+        int size() {
+            return descriptors.length;
+        }
+
+        @Override
+        public int getId(ObjectStreamClass descriptor) throws IOException {
+            Class<?> cl = descriptor.forClass();
+            if (cl == null) {
+                return UNKNOWN;
+            }
+            Integer id = ids.get(cl);
+            return id == null ? add(cl, descriptor) : id;
+        }
+
+        @Override
+        public ObjectStreamClass getDescriptor(int id) throws IOException {
+            ObjectStreamClass[] current = decoded;
+            if (id >= 0 && id < current.length && current[id] != null) {
+                return current[id];
+            }
+            return decode(id);
+        }
+
+        private synchronized int add(Class<?> cl, ObjectStreamClass descriptor) throws IOException {
+            Integer existing = ids.get(cl);
+            if (existing != null) {
+                return existing;
+            }
+            byte[][] current = descriptors;
+            if (this != local || current.length >= MAX_DESCRIPTORS) {
+                return UNKNOWN;
+            }
+            byte[][] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = encode(descriptor);
+            descriptors = grown;
+            ids.put(cl, current.length);
+            return current.length;
+        }
+
+        private synchronized ObjectStreamClass decode(int id) throws IOException {
+            if (id < 0 || id >= MAX_DESCRIPTORS) {
+                throw new StreamCorruptedException("Invalid class descriptor id " + id);
+            }
+            if (id >= descriptors.length && this != local) {
+                load();
+            }
+            byte[][] current = descriptors;
+            if (id >= current.length) {
+                throw new InvalidClassException("Class descriptor " + id + " not found in " + key);
+            }
+            ObjectStreamClass[] copy = Arrays.copyOf(decoded, current.length);
+            if (copy[id] == null) {
+                copy[id] = ReplicatedClassDescriptors.decode(current[id]);
+            }
+            decoded = copy;
+            return copy[id];
+        }
+
+        private void load() throws IOException {
+            byte[] state = storage.load(key);
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("ReplicatedClassDescriptors>>load " + key + ", length=" + (state == null ? -1 : state.length));
+            }
+            if (state != null) {
+                byte[][] loaded = fromByteArray(state);
+                if (loaded.length > descriptors.length) {
+                    descriptors = loaded;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a descriptor in the standard format.
+     */
+    private static final class DescriptorOutputStream extends ObjectOutputStream {
+
+        DescriptorOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        void writeDescriptor(ObjectStreamClass descriptor) throws IOException {
+            writeClassDescriptor(descriptor);
+        }
+    }
+
+    /**
+     * Reads a descriptor in the standard format without resolving its class.
+     */
+    private static final class DescriptorInputStream extends ObjectInputStream {
+
+        DescriptorInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        ObjectStreamClass readDescriptor() throws IOException {
+            try {
+                return readClassDescriptor();
+            } catch (ClassNotFoundException e) {
+                throw new InvalidClassException("Invalid class descriptor: " + e);
+            }
+        }
+    }
+}
@@ -19,13 +19,8 @@ package org.glassfish.web.ha.session.management;
 
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -149,6 +144,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + session.getIdInternal());
             }
+            touchClassDescriptors();
             replicator.save(session.getIdInternal(), //id
                     compositeMetadata, !((HASession) session).isPersistent());
             modAttrSession.resetAttributeState();
@@ -194,6 +190,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
                 _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + session.getIdInternal());
             }
 
+            touchClassDescriptors();
             replicator.save(session.getIdInternal(), //id
                     compositeMetadata, !((HASession) session).isPersistent());
             modAttrSession.resetAttributeState();
@@ -210,6 +207,33 @@ public class ReplicationAttributeStore extends ReplicationStore {
         return mgr.getBackingStore();
     }
 
+    @Override
+    protected void saveClassDescriptors(String key, long version, byte[] state, boolean isNew) throws IOException {
+        CompositeMetadata compositeMetadata
+            = new CompositeMetadata(version, System.currentTimeMillis(),
+                getClassDescriptorsMaxInactiveInterval(),
+                new ArrayList<SessionAttributeMetadata>(), state, null);
+        try {
+            getCompositeMetadataBackingStore().save(key, compositeMetadata, isNew);
+        } catch (BackingStoreException ex) {
+            IOException ex1 =
+                    (IOException) new IOException("Error during save: " + ex.getMessage()).initCause(ex);
+            throw ex1;
+        }
+    }
+
+    @Override
+    protected byte[] loadClassDescriptors(String key) throws IOException {
+        try {
+            CompositeMetadata metaData = getCompositeMetadataBackingStore().load(key, null);
+            return metaData == null ? null : metaData.getState();
+        } catch (BackingStoreException ex) {
+            IOException ex1 =
+                    (IOException) new IOException("Error during load: " + ex.getMessage()).initCause(ex);
+            throw ex1;
+        }
+    }
+
     @Override
     public Session load(String id, String version)
             throws ClassNotFoundException, IOException {
@@ -254,11 +278,6 @@ public class ReplicationAttributeStore extends ReplicationStore {
         }
         byte[] state = metadata.getState();
         Session _session = null;
-        BufferedInputStream bis = null;
-        ByteArrayInputStream bais = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
-        ObjectInputStream ois = null;
         Container container = manager.getContainer();
         java.security.Principal pal=null; //MERGE chg added
         String ssoId = null;
@@ -266,9 +285,6 @@ public class ReplicationAttributeStore extends ReplicationStore {
 
         try
         {
-            bais = new ByteArrayInputStream(state);
-            bis = new BufferedInputStream(bais);
-
             //Get the username, ssoId from metadata
             //ssoId = metadata.getSsoId();
             ssoId = metadata.getStringExtraParam();
@@ -278,39 +294,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
             if(_logger.isLoggable(Level.FINEST)) {
                 _logger.finest("loaded session from replicationstore, length = "+state.length);
             }
-            if (container != null) {
-                loader = container.getLoader();
-            }
-
-            if (loader != null) {
-                classLoader = loader.getClassLoader();
-            }
-
-            if (classLoader != null) {
-
-                try {
-                    ois = ioUtils.createObjectInputStream(bis, true, classLoader);
-                } catch (Exception ex) {}
-
-            }
-            if (ois == null) {
-                ois = new ObjectInputStream(bis);
-            }
-
-            if(ois != null) {
-                try {
-                    _session = readSession(manager, ois);
-                }
-                finally {
-
-                    try {
-                        ois.close();
-                        bis = null;
-                    }
-                    catch (IOException e) {
-                    }
-                }
-            }
+            _session = getSessionCodec().decode(state, getClassLoader(), ois -> readSession(manager, ois));
         }
         catch(ClassNotFoundException e)
         {
@@ -318,10 +302,6 @@ public class ReplicationAttributeStore extends ReplicationStore {
                     "Error during deserialization: " + e.getMessage()).initCause(e);
             throw ex1;
         }
-        catch(IOException e)
-        {
-            throw e;
-        }
         String username = ((HASession)_session).getUserName();
         if((username !=null) && (!username.equals("")) && _session.getPrincipal() == null) {
             if (_debug > 0) {
@@ -468,36 +448,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
     */
     protected byte[] getByteArray(Object attributeValue)
       throws IOException {
-        ByteArrayOutputStream bos = null;
-        ObjectOutputStream oos = null;
-
-
-        byte[] obs;
-        try {
-            bos = new ByteArrayOutputStream();
-
-
-            try {
-                oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
-            } catch (Exception ex) {}
-
-            //use normal ObjectOutputStream if there is a failure during stream creation
-            if(oos == null) {
-                oos = new ObjectOutputStream(new BufferedOutputStream(bos));
-            }
-            oos.writeObject(attributeValue);
-            oos.close();
-            oos = null;
-
-            obs = bos.toByteArray();
-        }
-        finally {
-            if ( oos != null )  {
-                oos.close();
-            }
-        }
-
-        return obs;
+        return getSessionCodec().encode(oos -> oos.writeObject(attributeValue));
     }
 
     /**
@@ -513,54 +464,8 @@ public class ReplicationAttributeStore extends ReplicationStore {
     protected Object getAttributeValue(byte[] state)
         throws IOException, ClassNotFoundException
     {
-        Object attributeValue = null;
-        BufferedInputStream bis = null;
-        ByteArrayInputStream bais = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
-        ObjectInputStream ois = null;
-        Container container = manager.getContainer();
-
-
-        try
-        {
-            bais = new ByteArrayInputStream(state);
-            bis = new BufferedInputStream(bais);
-
-            if (container != null) {
-                loader = container.getLoader();
-            }
-
-            if (loader != null) {
-                classLoader = loader.getClassLoader();
-            }
-
-            if (classLoader != null) {
-
-                try {
-                    ois = ioUtils.createObjectInputStream(bis, true, classLoader);
-                } catch (Exception ex) {}
-
-            }
-            if (ois == null) {
-                ois = new ObjectInputStream(bis);
-            }
-
-            if(ois != null) {
-                try {
-                    attributeValue = ois.readObject();
-                }
-                finally {
-
-                    try {
-                        ois.close();
-                        bis = null;
-                    }
-                    catch (IOException e) {
-                    }
-
-                }
-            }
+        try {
+            return getSessionCodec().decode(state, getClassLoader(), ObjectInputStream::readObject);
         }
         catch(ClassNotFoundException e)
         {
@@ -570,12 +475,6 @@ public class ReplicationAttributeStore extends ReplicationStore {
             }
             throw e;
         }
-        catch(IOException e)
-        {
-            throw e;
-        }
-
-        return attributeValue;
     }
 
     //new serialization code for Collection
@@ -589,23 +488,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
     */
     protected byte[] getByteArrayFromCollection(Collection entries)
       throws IOException {
-        ByteArrayOutputStream bos = null;
-        ObjectOutputStream oos = null;
-
-
-        byte[] obs;
-        try {
-            bos = new ByteArrayOutputStream();
-
-
-            try {
-                oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
-            } catch (Exception ex) {}
-
-            //use normal ObjectOutputStream if there is a failure during stream creation
-            if(oos == null) {
-                oos = new ObjectOutputStream(new BufferedOutputStream(bos));
-            }
+        return getSessionCodec().encode(oos -> {
             //first write out the entriesSize
             int entriesSize = entries.size();
             oos.writeObject(Integer.valueOf(entriesSize));
@@ -614,18 +497,7 @@ public class ReplicationAttributeStore extends ReplicationStore {
             while(it.hasNext()) {
                 oos.writeObject(it.next());
             }
-            oos.close();
-            oos = null;
-
-            obs = bos.toByteArray();
-        }
-        finally {
-            if ( oos != null )  {
-                oos.close();
-            }
-        }
-
-        return obs;
+        });
     }
 
     /**
@@ -641,59 +513,21 @@ public class ReplicationAttributeStore extends ReplicationStore {
     protected Object getAttributeValueCollection(byte[] state)
         throws IOException, ClassNotFoundException
     {
-        Collection<Object> attributeValueList = new ArrayList<Object>();
-        BufferedInputStream bis = null;
-        ByteArrayInputStream bais = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
-        ObjectInputStream ois = null;
-        Container container = manager.getContainer();
-
-        try
-        {
-            bais = new ByteArrayInputStream(state);
-            bis = new BufferedInputStream(bais);
-
-            if (container != null) {
-                loader = container.getLoader();
-            }
-
-            if (loader != null) {
-                classLoader = loader.getClassLoader();
-            }
-
-            if (classLoader != null) {
-
-                try {
-                    ois = ioUtils.createObjectInputStream(bis, true, classLoader);
-                } catch (Exception ex) {}
-
-            }
-            if (ois == null) {
-                ois = new ObjectInputStream(bis);
-            }
-            if(ois != null) {
-                try {
-                    //first get List size
-                    Object whatIsIt = ois.readObject();
-                    int entriesSize = 0;
-                    if(whatIsIt instanceof Integer) {
-                        entriesSize = ((Integer)whatIsIt).intValue();
-                    }
-                    for (int i = 0; i < entriesSize; i++) {
-                        Object nextAttributeValue = ois.readObject();
-                        attributeValueList.add(nextAttributeValue);
-                    }
+        try {
+            return getSessionCodec().decode(state, getClassLoader(), ois -> {
+                Collection<Object> attributeValueList = new ArrayList<Object>();
+                //first get List size
+                Object whatIsIt = ois.readObject();
+                int entriesSize = 0;
+                if(whatIsIt instanceof Integer) {
+                    entriesSize = ((Integer)whatIsIt).intValue();
                 }
-                finally {
-                    try {
-                        ois.close();
-                        bis = null;
-                    }
-                    catch (IOException e) {
-                    }
+                for (int i = 0; i < entriesSize; i++) {
+                    Object nextAttributeValue = ois.readObject();
+                    attributeValueList.add(nextAttributeValue);
                 }
-            }
+                return attributeValueList;
+            });
         }
         catch(ClassNotFoundException e)
         {
@@ -702,12 +536,12 @@ public class ReplicationAttributeStore extends ReplicationStore {
             }
             throw e;
         }
-        catch(IOException e)
-        {
-            throw e;
-        }
+    }
 
-        return attributeValueList;
+    private ClassLoader getClassLoader() {
+        Container container = manager.getContainer();
+        Loader loader = container == null ? null : container.getLoader();
+        return loader == null ? null : loader.getClassLoader();
     }
 
     //end new serialization code for Collection
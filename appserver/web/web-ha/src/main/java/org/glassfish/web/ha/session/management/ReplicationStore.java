@@ -26,13 +26,8 @@ package org.glassfish.web.ha.session.management;
 import com.sun.appserv.util.cache.BaseCache;
 import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.util.logging.Level;
-import java.util.zip.GZIPInputStream;
 
 import org.apache.catalina.Container;
 import org.apache.catalina.LifecycleException;
@@ -149,6 +144,7 @@ public class ReplicationStore extends HAStoreBase {
         if (_logger.isLoggable(Level.FINEST)) {
             _logger.finest("In doValveSave metadata is " + simpleMetadata);
         }
+        touchClassDescriptors();
         try {
             HASession haSess = (HASession)session;
             replicator.save(session.getIdInternal(), //id
@@ -182,6 +178,7 @@ public class ReplicationStore extends HAStoreBase {
     public void stop() {
         try {
             super.stop();
+            resetSessionCodec();
             BackingStore<String, ? extends Storeable> backingStore = getStoreableBackingStore();
             backingStore.destroy();
         } catch (BackingStoreException e) {
@@ -244,6 +241,7 @@ public class ReplicationStore extends HAStoreBase {
                 session.getMaxInactiveInterval()*1000L, //maxinactiveinterval
                 sessionState); //state
 
+        touchClassDescriptors();
         try {
             backingStore.save(session.getIdInternal(), //id
                     simpleMetadata, !((HASession)session).isPersistent());  //TODO: Revist the last param
@@ -338,6 +336,7 @@ public class ReplicationStore extends HAStoreBase {
         }
         BackingStore<String, ? extends Storeable> backingStore = mgr.getBackingStore();
         if (backingStore != null) {
+            touchClassDescriptors();
             try {
                 result = backingStore.removeExpired(mgr.getMaxInactiveInterval());
             } catch (BackingStoreException ex) {
@@ -427,6 +426,7 @@ public class ReplicationStore extends HAStoreBase {
         if(_logger.isLoggable(Level.FINE)) {
             _logger.fine("ReplicationStore>>updateLastAccessTime: replicator: " + backingStore);
         }
+        touchClassDescriptors();
         try {
             String time = backingStore.updateTimestamp(session.getIdInternal(), ""+session.getVersion(),
                     ((BaseHASession)session).getLastAccessedTimeInternal());
@@ -455,6 +455,10 @@ public class ReplicationStore extends HAStoreBase {
         }
         try {
             result = replicator.size();
+            if (classDescriptors != null) {
+                // The dictionaries are not sessions, others than the known ones cannot be told apart.
+                result = Math.max(0, result - classDescriptors.getStoredCount());
+            }
         } catch (BackingStoreException ex) {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.log(Level.FINE, "Exception is getSize",ex);
@@ -466,6 +470,111 @@ public class ReplicationStore extends HAStoreBase {
 
     // Store methods end
 
+    // Codec methods begin
+
+    /**
+     * Dictionaries of the codec, kept when the codec is recreated so that
+     * the sessions saved before can still be read.
+     */
+    private volatile ReplicatedClassDescriptors classDescriptors;
+
+    @Override
+    protected SessionCodec createSessionCodec() {
+        if (classDescriptors == null) {
+            classDescriptors = new ReplicatedClassDescriptors(new ClassDescriptorStorage());
+        }
+        return new SessionCodec(ioUtils, getCodecCompression(), classDescriptors, isClassDescriptorDictionary());
+    }
+
+    /**
+     * Save a class descriptor dictionary of the codec.
+     *
+     * @param key backing store key of the dictionary
+     * @param version number of classes in the dictionary
+     * @param state serialized dictionary
+     * @param isNew true if the dictionary is saved for the first time
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    protected void saveClassDescriptors(String key, long version, byte[] state, boolean isNew) throws IOException {
+        SimpleMetadata simpleMetadata =
+            SimpleMetadataFactory.createSimpleMetadata(version, System.currentTimeMillis(),
+                getClassDescriptorsMaxInactiveInterval(), state);
+        try {
+            getSimpleMetadataBackingStore().save(key, simpleMetadata, isNew);
+        } catch (BackingStoreException ex) {
+            IOException ex1 =
+                (IOException) new IOException("Error during save: " + ex.getMessage()).initCause(ex);
+            throw ex1;
+        }
+    }
+
+    /**
+     * Load a class descriptor dictionary of the codec.
+     *
+     * @param key backing store key of the dictionary
+     * @return the serialized dictionary or null if not found
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    protected byte[] loadClassDescriptors(String key) throws IOException {
+        try {
+            SimpleMetadata metaData = getSimpleMetadataBackingStore().load(key, null);
+            return metaData == null ? null : metaData.getState();
+        } catch (BackingStoreException ex) {
+            IOException ex1 =
+                (IOException) new IOException("Error during load: " + ex.getMessage()).initCause(ex);
+            throw ex1;
+        }
+    }
+
+    /**
+     * Return the max inactive interval saved with the dictionaries, twice
+     * the session timeout. The backing store may expire all entries by the
+     * session timeout, so the dictionaries are kept alive by
+     * {@link #touchClassDescriptors()} and not by this interval.
+     */
+    protected long getClassDescriptorsMaxInactiveInterval() {
+        return manager.getMaxInactiveInterval() * 2000L;
+    }
+
+    /**
+     * Refresh the last access time of the class descriptor dictionary of
+     * this store, called before a session is saved or its last access time
+     * is updated.
+     */
+    protected void touchClassDescriptors() {
+        if (classDescriptors != null) {
+            classDescriptors.touch();
+        }
+    }
+
+    private class ClassDescriptorStorage implements ReplicatedClassDescriptors.Storage {
+
+        @Override
+        public void save(String key, long version, byte[] state, boolean isNew) throws IOException {
+            saveClassDescriptors(key, version, state, isNew);
+        }
+
+        @Override
+        public byte[] load(String key) throws IOException {
+            return loadClassDescriptors(key);
+        }
+
+        @Override
+        public void touch(String key, long version, long lastAccessTime) throws IOException {
+            try {
+                getStoreableBackingStore().updateTimestamp(key, String.valueOf(version), lastAccessTime);
+            } catch (BackingStoreException ex) {
+                IOException ex1 =
+                    (IOException) new IOException("Error during update: " + ex.getMessage()).initCause(ex);
+                throw ex1;
+            }
+        }
+    }
+
+    // Codec methods end
+
     private Session getSession(SimpleMetadata metaData) throws IOException {
         ClassLoader classLoader;
         if (metaData == null || metaData.getState() == null) {
@@ -478,25 +587,12 @@ public class ReplicationStore extends HAStoreBase {
 
     public Session getSession(byte[] state,  long version) throws IOException {
         Session _session = null;
-        InputStream is;
-        BufferedInputStream bis;
-        ByteArrayInputStream bais;
-        ObjectInputStream ois = null;
         Loader loader = null;
         ClassLoader classLoader = null;
         Container container = manager.getContainer();
         java.security.Principal pal=null; //MERGE chg added
         try
         {
-            bais = new ByteArrayInputStream(state);
-            bis = new BufferedInputStream(bais);
-            if(isReplicationCompressionEnabled()) {
-                is = new GZIPInputStream(bis);
-            } else {
-                is = bis;
-            }
-
-
             if(_logger.isLoggable(Level.FINEST)) {
                 _logger.finest("loaded session from replicationstore, length = "+state.length);
             }
@@ -506,31 +602,8 @@ public class ReplicationStore extends HAStoreBase {
                 classLoader = loader.getClassLoader();
             }
 
-            if (classLoader != null) {
-                try {
-                    ois = ioUtils.createObjectInputStream(is,true,classLoader);
-                } catch (Exception ex) {
-                    _logger.log(Level.WARNING, LogFacade.ERROR_CREATING_INPUT_STREAM, ex);
-                }
-            }
-
-
-            if (ois == null) {
-                ois = new ObjectInputStream(is);
-            }
-            try {
-                _session = readSession(manager, ois);
-            }
-            finally {
-                if (ois != null) {
-                    try {
-                        ois.close();
-                        bis = null;
-                    }
-                    catch (IOException e) {
-                    }
-                }
-            }
+            // the codec recognizes compressed data itself
+            _session = getSessionCodec().decode(state, classLoader, ois -> readSession(manager, ois));
         } catch(ClassNotFoundException e) {
             IOException ex1 = (IOException) new IOException(
                     _logger.getResourceBundle().getString(LogFacade.EXCEPTION_DESERIALIZING_SESSION) + e.getMessage()).initCause(e);
@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.web.ha.session.management;
+
+import com.sun.enterprise.container.common.spi.util.ClassDescriptorDictionary;
+import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+import org.glassfish.web.ha.LogFacade;
+
+/**
+ * Serializes sessions and session attributes of the replicated stores.
+ * <p>
+ * The buffers, deflaters and inflaters are pooled, a save allocates little more than
+ * the returned array and the object stream. Without the class descriptor dictionary and
+ * the {@link Compression#FAST} compression the data have the format of the previous
+ * releases, a plain or a GZIP compressed object stream. Otherwise they start with a header:
+ * <pre>
+ * byte    FORMAT
+ * byte    flags: DICTIONARY, GZIP, FAST
+ * long    dictionary id, if DICTIONARY
+ * int     length of the uncompressed object stream, if FAST
+ * byte[]  object stream, compressed if GZIP or FAST
+ * </pre>
+ * Any data can be read whatever the settings of the reading codec are,
+ * so the instances of a cluster can be reconfigured one by one.
+ */
+public final class SessionCodec {
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    private static final byte FORMAT = (byte) 0xC5;
+    private static final int FLAG_DICTIONARY = 1;
+    private static final int FLAG_GZIP = 2;
+    private static final int FLAG_FAST = 4;
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MIN_FAST_COMPRESSION_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final JavaEEIOUtils ioUtils;
+    private final Compression compression;
+    private final ReplicatedClassDescriptors descriptors;
+    private final boolean writeDictionary;
+    private final BlockingQueue<Buffers> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private volatile boolean closed;
+
+    /**
+     * @param ioUtils creates the object streams, null to use the plain JDK streams
+     * @param compression compression of the written data
+     * @param descriptors dictionaries of the store, null if the store cannot read nor write them
+     * @param writeDictionary true to write the class descriptors through the local dictionary
+     */
+    public SessionCodec(JavaEEIOUtils ioUtils, Compression compression, ReplicatedClassDescriptors descriptors,
+        boolean writeDictionary) {
+        this.ioUtils = ioUtils;
+        this.compression = compression;
+        this.descriptors = descriptors;
+        this.writeDictionary = writeDictionary && descriptors != null;
+    }
+
+    /**
+     * @return compression of the written data
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * @return true if the class descriptors are written through the local dictionary
+     */
+    public boolean isWriteDictionary() {
+        return writeDictionary;
+    }
+
+    /**
+     * Serializes with the compression of the codec.
+     *
+     * @param writer writes the objects
+     * @return the serialized data
+     */
+    public byte[] encode(ObjectWriter writer) throws IOException {
+        return encode(writer, compression);
+    }
+
+    /**
+     * Serializes the objects. When the local dictionary is used, it is replicated
+     * before this method returns.
+     *
+     * @param writer writes the objects
+     * @param compression compression of the data
+     * @return the serialized data
+     */
+    public byte[] encode(ObjectWriter writer, Compression compression) throws IOException {
+        ClassDescriptorDictionary dictionary = writeDictionary ? descriptors.getLocal() : null;
+        Buffers buffers = acquire();
+        try {
+            CodecBuffer raw = buffers.raw;
+            raw.reset();
+            byte[] result;
+            if (compression == Compression.FAST) {
+                serialize(raw, dictionary, writer);
+                if (raw.size() < MIN_FAST_COMPRESSION_SIZE && dictionary == null) {
+                    result = raw.toByteArray();
+                } else {
+                    CodecBuffer packed = buffers.packed();
+                    packed.reset();
+                    if (raw.size() < MIN_FAST_COMPRESSION_SIZE) {
+                        writeHeader(packed, FLAG_DICTIONARY, 0);
+                        raw.writeTo(packed);
+                    } else {
+                        writeHeader(packed, dictionary == null ? FLAG_FAST : FLAG_FAST | FLAG_DICTIONARY, raw.size());
+                        packed.deflate(buffers.deflater(), raw);
+                    }
+                    result = packed.toByteArray();
+                }
+            } else if (compression == Compression.GZIP) {
+                if (dictionary != null) {
+                    writeHeader(raw, FLAG_GZIP | FLAG_DICTIONARY, 0);
+                }
+                serialize(new GZIPOutputStream(raw, INITIAL_BUFFER_SIZE), dictionary, writer);
+                result = raw.toByteArray();
+            } else {
+                if (dictionary != null) {
+                    writeHeader(raw, FLAG_DICTIONARY, 0);
+                }
+                serialize(raw, dictionary, writer);
+                result = raw.toByteArray();
+            }
+            if (dictionary != null) {
+                descriptors.publish();
+            }
+            return result;
+        } finally {
+            release(buffers);
+        }
+    }
+
+    /**
+     * Deserializes data written by any codec of the application.
+     *
+     * @param state serialized data
+     * @param classLoader class loader of the application, null to use the plain JDK stream
+     * @param reader reads the objects
+     * @return the result of the reader
+     */
+    public <T> T decode(byte[] state, ClassLoader classLoader, ObjectReader<T> reader)
+        throws IOException, ClassNotFoundException {
+        if (state.length < 2 || state[0] != FORMAT) {
+            InputStream in = new ByteArrayInputStream(state);
+            if (state.length >= 2 && (state[0] & 0xFF) == 0x1F && (state[1] & 0xFF) == 0x8B) {
+                in = new GZIPInputStream(in, INITIAL_BUFFER_SIZE);
+            }
+            return deserialize(in, classLoader, null, reader);
+        }
+        int flags = state[1];
+        int position = 2;
+        ClassDescriptorDictionary dictionary = null;
+        if ((flags & FLAG_DICTIONARY) != 0) {
+            checkLength(state, position + 8);
+            long id = ((long) readInt(state, position) << 32) | (readInt(state, position + 4) & 0xFFFFFFFFL);
+            position += 8;
+            if (descriptors == null) {
+                throw new StreamCorruptedException("Class descriptor dictionary " + Long.toHexString(id) + " is not available");
+            }
+            dictionary = descriptors.get(id);
+        }
+        if ((flags & FLAG_FAST) != 0) {
+            checkLength(state, position + 4);
+            int rawLength = readInt(state, position);
+            position += 4;
+            Buffers buffers = acquire();
+            try {
+                CodecBuffer raw = buffers.raw;
+                raw.inflate(buffers.inflater(), state, position, state.length - position, rawLength);
+                return deserialize(new ByteArrayInputStream(raw.getBuffer(), 0, rawLength), classLoader, dictionary,
+                    reader);
+            } finally {
+                release(buffers);
+            }
+        }
+        InputStream in = new ByteArrayInputStream(state, position, state.length - position);
+        if ((flags & FLAG_GZIP) != 0) {
+            in = new GZIPInputStream(in, INITIAL_BUFFER_SIZE);
+        }
+        return deserialize(in, classLoader, dictionary, reader);
+    }
+
+    /**
+     * Releases the pooled deflaters and inflaters.
+     */
+    public void close() {
+        closed = true;
+        Buffers buffers;
+        while ((buffers = pool.poll()) != null) {
+            buffers.end();
+        }
+    }
+
+    private void writeHeader(CodecBuffer out, int flags, int rawLength) {
+        out.write(FORMAT);
+        out.write(flags);
+        if ((flags & FLAG_DICTIONARY) != 0) {
+            long id = descriptors.getLocalId();
+            writeInt(out, (int) (id >>> 32));
+            writeInt(out, (int) id);
+        }
+        if ((flags & FLAG_FAST) != 0) {
+            writeInt(out, rawLength);
+        }
+    }
+
+    private static void writeInt(CodecBuffer out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(byte[] state, int position) {
+        return ((state[position] & 0xFF) << 24) | ((state[position + 1] & 0xFF) << 16)
+            | ((state[position + 2] & 0xFF) << 8) | (state[position + 3] & 0xFF);
+    }
+
+    private void serialize(OutputStream out, ClassDescriptorDictionary dictionary, ObjectWriter writer)
+        throws IOException {
+        ObjectOutputStream oos = null;
+        if (ioUtils != null) {
+            try {
+                oos = ioUtils.createObjectOutputStream(out, true, dictionary);
+            } catch (Exception ex) {
+                // use the plain stream below
+            }
+        }
+        if (oos == null) {
+            oos = new DictionaryObjectOutputStream(out, dictionary);
+        }
+        try (ObjectOutputStream stream = oos) {
+            writer.write(stream);
+        }
+    }
+
+    private <T> T deserialize(InputStream in, ClassLoader classLoader, ClassDescriptorDictionary dictionary,
+        ObjectReader<T> reader) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = null;
+        if (ioUtils != null && classLoader != null) {
+            try {
+                ois = ioUtils.createObjectInputStream(in, true, classLoader, dictionary);
+            } catch (Exception ex) {
+                _logger.log(Level.WARNING, LogFacade.ERROR_CREATING_INPUT_STREAM, ex);
+            }
+        }
+        if (ois == null) {
+            ois = new DictionaryObjectInputStream(in, dictionary);
+        }
+        try {
+            return reader.read(ois);
+        } finally {
+            try {
+                ois.close();
+            } catch (IOException e) {
+                // nothing to release
+            }
+        }
+    }
+
+    private static void checkLength(byte[] state, int length) throws StreamCorruptedException {
+        if (length > state.length) {
+            throw new StreamCorruptedException("Truncated session data, length " + state.length);
+        }
+    }
+
+    private Buffers acquire() {
+        Buffers buffers = pool.poll();
+        return buffers == null ? new Buffers() : buffers;
+    }
+
+    private void release(Buffers buffers) {
+        buffers.trim();
+        if (closed || !pool.offer(buffers)) {
+            buffers.end();
+        }
+    }
+
+    /**
+     * Compression of the serialized data.
+     */
+    public enum Compression {
+        /** Not compressed. */
+        NONE,
+        /** GZIP stream, as written by the previous releases. */
+        GZIP,
+        /**
+         * One zlib block compressed with the fastest level by a pooled deflater.
+         * Typically several times cheaper than {@link #GZIP} for a slightly lower ratio.
+         * Data shorter than 1 KB are not compressed.
+         */
+        FAST
+    }
+
+    /**
+     * Writes the objects to the stream.
+     */
+    @FunctionalInterface
+    public interface ObjectWriter {
+        void write(ObjectOutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads the objects from the stream.
+     */
+    @FunctionalInterface
+    public interface ObjectReader<T> {
+        T read(ObjectInputStream in) throws IOException, ClassNotFoundException;
+    }
+
+    /**
+     * Pooled buffers of one thread.
+     */
+    private static final class Buffers {
+
+        final CodecBuffer raw = new CodecBuffer();
+        private CodecBuffer packed;
+        private Deflater deflater;
+        private Inflater inflater;
+
+        CodecBuffer packed() {
+            if (packed == null) {
+                packed = new CodecBuffer();
+            }
+            return packed;
+        }
+
+        Deflater deflater() {
+            if (deflater == null) {
+                deflater = new Deflater(Deflater.BEST_SPEED);
+            }
+            return deflater;
+        }
+
+        Inflater inflater() {
+            if (inflater == null) {
+                inflater = new Inflater();
+            }
+            return inflater;
+        }
+
+        void trim() {
+            raw.trim();
+            if (packed != null) {
+                packed.trim();
+            }
+        }
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Growable buffer giving access to its array.
+     */
+    private static final class CodecBuffer extends ByteArrayOutputStream {
+
+        CodecBuffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        byte[] getBuffer() {
+            return buf;
+        }
+
+        void trim() {
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            }
+            count = 0;
+        }
+
+        void deflate(Deflater deflater, CodecBuffer input) {
+            deflater.reset();
+            deflater.setInput(input.buf, 0, input.count);
+            deflater.finish();
+            ensureCapacity(count + input.count / 2 + 64);
+            while (!deflater.finished()) {
+                if (count == buf.length) {
+                    ensureCapacity(buf.length * 2);
+                }
+                count += deflater.deflate(buf, count, buf.length - count);
+            }
+        }
+
+        void inflate(Inflater inflater, byte[] input, int offset, int length, int rawLength) throws IOException {
+            if (rawLength < 0) {
+                throw new StreamCorruptedException("Invalid length of the session data: " + rawLength);
+            }
+            inflater.reset();
+            inflater.setInput(input, offset, length);
+            count = 0;
+            ensureCapacity(rawLength);
+            try {
+                while (count < rawLength) {
+                    int inflated = inflater.inflate(buf, count, rawLength - count);
+                    if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    count += inflated;
+                }
+            } catch (DataFormatException e) {
+                throw (IOException) new StreamCorruptedException("Invalid compressed session data: " + e.getMessage()).initCause(e);
+            }
+            if (count != rawLength) {
+                throw new StreamCorruptedException("Expected " + rawLength + " bytes of session data, found " + count);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Plain JDK stream used when the container streams cannot be created.
+     */
+    private static final class DictionaryObjectOutputStream extends ObjectOutputStream {
+
+        private final ClassDescriptorDictionary dictionary;
+
+        DictionaryObjectOutputStream(OutputStream out, ClassDescriptorDictionary dictionary) throws IOException {
+            super(out);
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            if (dictionary == null) {
+                super.writeClassDescriptor(desc);
+                return;
+            }
+            int id = dictionary.getId(desc);
+            writeInt(id);
+            if (id == ClassDescriptorDictionary.UNKNOWN) {
+                super.writeClassDescriptor(desc);
+            }
+        }
+    }
+
+    /**
+     * Plain JDK stream used when the container streams cannot be created.
+     */
+    private static final class DictionaryObjectInputStream extends ObjectInputStream {
+
+        private final ClassDescriptorDictionary dictionary;
+
+        DictionaryObjectInputStream(InputStream in, ClassDescriptorDictionary dictionary) throws IOException {
+            super(in);
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            if (dictionary == null) {
+                return super.readClassDescriptor();
+            }
+            int id = readInt();
+            if (id == ClassDescriptorDictionary.UNKNOWN) {
+                return super.readClassDescriptor();
+            }
+            return dictionary.getDescriptor(id);
+        }
+    }
+}
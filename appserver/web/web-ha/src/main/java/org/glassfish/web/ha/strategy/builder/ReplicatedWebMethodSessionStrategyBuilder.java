@@ -25,6 +25,7 @@ import jakarta.inject.Inject;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.logging.Level;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.core.StandardContext;
@@ -32,6 +33,7 @@ import org.glassfish.ha.store.api.Storeable;
 import org.glassfish.ha.store.util.SimpleMetadata;
 import org.glassfish.hk2.api.PerLookup;
 import org.glassfish.web.deployment.runtime.SessionManager;
+import org.glassfish.web.ha.LogFacade;
 import org.glassfish.web.ha.session.management.CompositeMetadata;
 import org.glassfish.web.ha.session.management.FullSessionFactory;
 import org.glassfish.web.ha.session.management.HASessionStoreValve;
@@ -111,6 +113,14 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
         rwepMgr.setMaxActiveSessions(maxSessions);
         rwepMgr.setMaxIdleBackup(0);
         rwepMgr.setRelaxCacheVersionSemantics(relaxCacheVersionSemantics);
+        if (compression != null) {
+            try {
+                store.setCompression(compression);
+            } catch (IllegalArgumentException e) {
+                LogFacade.getLogger().log(Level.WARNING, LogFacade.INVALID_SESSION_COMPRESSION, compression);
+            }
+        }
+        store.setClassDescriptorDictionary(classDescriptorDictionary);
         rwepMgr.setStore(store);
         rwepMgr.setDisableJreplica(disableJreplica);
 
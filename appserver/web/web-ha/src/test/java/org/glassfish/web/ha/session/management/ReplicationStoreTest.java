@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.web.ha.session.management;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.glassfish.web.ha.session.management.SessionCodecTest.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class ReplicationStoreTest {
+
+    private final MapBackingStore backingStore = new MapBackingStore();
+    private ReplicationStore store;
+
+    @BeforeEach
+    public void createStore() {
+        ReplicationWebEventPersistentManager<SimpleMetadata> manager = new ReplicationWebEventPersistentManager<>();
+        manager.setBackingStore(backingStore);
+        store = new ReplicationStore(null);
+        store.setManager(manager);
+        store.setClassDescriptorDictionary(true);
+    }
+
+
+    @Test
+    public void dictionaryIsNotCountedAsSession() throws Exception {
+        store.getSessionCodec().encode(out -> out.writeObject(new Item("book", 2, 1999L)));
+        backingStore.save("session-1", new SimpleMetadata(1L, System.currentTimeMillis(), 60_000L, new byte[0]), true);
+        backingStore.save("session-2", new SimpleMetadata(1L, System.currentTimeMillis(), 60_000L, new byte[0]), true);
+        assertAll(
+            () -> assertThat(backingStore.size(), equalTo(3)),
+            () -> assertThat(store.getSize(), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void dictionaryIsTouchedAheadOfSessions() throws Exception {
+        store.getSessionCodec().encode(out -> out.writeObject(new Item("book", 2, 1999L)));
+        String key = backingStore.entries.keySet().iterator().next();
+        long now = System.currentTimeMillis();
+        store.touchClassDescriptors();
+        assertThat(backingStore.entries.get(key).getLastAccessTime(),
+            greaterThanOrEqualTo(now + ReplicatedClassDescriptors.TOUCH_INTERVAL));
+    }
+
+
+    private static final class MapBackingStore extends BackingStore<String, SimpleMetadata> {
+
+        final Map<String, SimpleMetadata> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public BackingStoreFactory getBackingStoreFactory() {
+            return null;
+        }
+
+        @Override
+        public SimpleMetadata load(String key, String version) {
+            return entries.get(key);
+        }
+
+        @Override
+        public String save(String key, SimpleMetadata value, boolean isNew) {
+            entries.put(key, value);
+            return null;
+        }
+
+        @Override
+        public void remove(String key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public String updateTimestamp(String key, String version, Long lastAccessTime) {
+            SimpleMetadata value = entries.get(key);
+            if (value != null) {
+                value.setLastAccessTime(lastAccessTime);
+            }
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+}
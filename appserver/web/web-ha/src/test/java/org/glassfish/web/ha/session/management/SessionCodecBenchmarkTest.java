@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import org.glassfish.web.ha.session.management.SessionCodec.Compression;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Measures the serialization of a session of about 50 KB and of one of its attributes,
+ * as the modified-attribute persistence scope saves them. The codec with its compressions
+ * and the class descriptor dictionary is compared with the streams created for every save
+ * as before. The secondary results "bytes" and "saves" give the size of the saved data.
+ * <p>
+ * The pooled codec must not be slower than the former streams, the {@link Compression#FAST}
+ * compression must be several times cheaper than GZIP and the dictionary must make the saved
+ * attribute smaller.
+ * <p>
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@EnabledIfSystemProperty(named = "glassfish.benchmarks", matches = "true")
+public class SessionCodecBenchmarkTest {
+
+    /** Both variants spend most of the time in the same object stream. */
+    private static final double TOLERANCE = 0.9;
+
+    @Test
+    public void save() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            // The object streams take seconds to be compiled
+            .warmupIterations(3).warmupTime(TimeValue.seconds(1L))
+            .measurementIterations(3).forks(1).measurementTime(TimeValue.seconds(1L))
+            // The codec pools buffers for twice as many threads
+            .threads(Runtime.getRuntime().availableProcessors()).timeout(TimeValue.seconds(30L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        Map<String, Double> scores = collect(results, result -> result.getPrimaryResult().getScore());
+        assertThat(scores.get("pooled-session"), greaterThan(scores.get("legacy-session") * TOLERANCE));
+        assertThat(scores.get("pooled-attribute"), greaterThan(scores.get("legacy-attribute") * TOLERANCE));
+        assertThat(scores.get("fast-session"), greaterThan(scores.get("gzip-session") * 2));
+
+        Map<String, Double> sizes = collect(results, result -> result.getSecondaryResults().get("bytes").getScore()
+            / result.getSecondaryResults().get("saves").getScore());
+        assertThat(sizes.get("dictionary-attribute"), lessThan(sizes.get("legacy-attribute")));
+    }
+
+
+    private static Map<String, Double> collect(Collection<RunResult> results, ToDoubleFunction<RunResult> value) {
+        return results.stream().collect(Collectors.toMap(
+            result -> result.getParams().getParam("codecType") + '-' + result.getParams().getParam("saved"),
+            value::applyAsDouble));
+    }
+
+
+    @Benchmark
+    public byte[] save(CodecState state, SaveCounters counters) throws IOException {
+        byte[] data;
+        if (state.codec == null) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(bos))) {
+                oos.writeObject(state.value);
+            }
+            data = bos.toByteArray();
+        } else {
+            data = state.codec.encode(out -> out.writeObject(state.value));
+        }
+        counters.bytes += data.length;
+        counters.saves++;
+        return data;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class CodecState {
+
+        @Param({"legacy", "pooled", "gzip", "fast", "dictionary", "dictionary-fast"})
+        public String codecType;
+
+        @Param({"session", "attribute"})
+        public String saved;
+
+        SessionCodec codec;
+        Object value;
+
+        @Setup(Level.Trial)
+        public void createCodec() {
+            Map<String, Object> session = SessionCodecTest.createSession(150);
+            value = "session".equals(saved) ? session : session.get("cart-0");
+            ReplicatedClassDescriptors descriptors = new ReplicatedClassDescriptors(new SessionCodecTest.MapStorage());
+            switch (codecType) {
+                case "pooled":
+                    codec = new SessionCodec(null, Compression.NONE, null, false);
+                    break;
+                case "gzip":
+                    codec = new SessionCodec(null, Compression.GZIP, null, false);
+                    break;
+                case "fast":
+                    codec = new SessionCodec(null, Compression.FAST, null, false);
+                    break;
+                case "dictionary":
+                    codec = new SessionCodec(null, Compression.NONE, descriptors, true);
+                    break;
+                case "dictionary-fast":
+                    codec = new SessionCodec(null, Compression.FAST, descriptors, true);
+                    break;
+                default:
+                    codec = null;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void closeCodec() {
+            if (codec != null) {
+                codec.close();
+            }
+        }
+    }
+
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SaveCounters {
+
+        public long bytes;
+        public long saves;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            saves = 0;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.glassfish.web.ha.session.management.SessionCodec.Compression;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class SessionCodecTest {
+
+    private final MapStorage storage = new MapStorage();
+
+    @Test
+    public void roundTripInEveryMode() throws Exception {
+        Map<String, Object> session = createSession(20);
+        for (Compression compression : Compression.values()) {
+            for (boolean dictionary : new boolean[] {false, true}) {
+                SessionCodec codec = new SessionCodec(null, compression,
+                    new ReplicatedClassDescriptors(storage), dictionary);
+                byte[] state = codec.encode(out -> out.writeObject(session));
+                assertThat(compression + ", dictionary " + dictionary,
+                    codec.decode(state, null, ObjectInputStream::readObject), equalTo(session));
+                codec.close();
+            }
+        }
+    }
+
+
+    @Test
+    public void readsDataOfPreviousReleases() throws Exception {
+        Map<String, Object> session = createSession(5);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(plain)) {
+            out.writeObject(session);
+        }
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(gzip))) {
+            out.writeObject(session);
+        }
+
+        SessionCodec codec = new SessionCodec(null, Compression.FAST, new ReplicatedClassDescriptors(storage), true);
+        assertAll(
+            () -> assertThat(codec.decode(plain.toByteArray(), null, ObjectInputStream::readObject), equalTo(session)),
+            () -> assertThat(codec.decode(gzip.toByteArray(), null, ObjectInputStream::readObject), equalTo(session))
+        );
+    }
+
+
+    @Test
+    public void otherInstanceReadsThroughReplicatedDictionary() throws Exception {
+        SessionCodec writer = new SessionCodec(null, Compression.NONE, new ReplicatedClassDescriptors(storage), true);
+        SessionCodec reader = new SessionCodec(null, Compression.NONE, new ReplicatedClassDescriptors(storage), false);
+
+        Item item = new Item("book", 2, 1999L);
+        byte[] first = writer.encode(out -> out.writeObject(item));
+        assertThat(reader.decode(first, null, ObjectInputStream::readObject), equalTo(item));
+
+        Cart cart = new Cart();
+        cart.items.add(item);
+        byte[] second = writer.encode(out -> out.writeObject(cart));
+        assertAll(
+            () -> assertThat(reader.decode(second, null, ObjectInputStream::readObject), equalTo(cart)),
+            () -> assertThat(reader.decode(first, null, ObjectInputStream::readObject), equalTo(item)),
+            () -> assertThat(storage.saves.get(), equalTo(2)),
+            () -> assertThat(storage.loads.get(), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void dictionaryIsSavedOnlyWhenItGrows() throws Exception {
+        SessionCodec codec = new SessionCodec(null, Compression.NONE, new ReplicatedClassDescriptors(storage), true);
+        for (int i = 0; i < 10; i++) {
+            codec.encode(out -> out.writeObject(new Item("pen", 1, 100L)));
+        }
+        assertThat(storage.saves.get(), equalTo(1));
+    }
+
+
+    @Test
+    public void dictionaryShrinksSmallAttributes() throws Exception {
+        Item item = new Item("book", 2, 1999L);
+        byte[] full = new SessionCodec(null, Compression.NONE, null, false).encode(out -> out.writeObject(item));
+        byte[] compact = new SessionCodec(null, Compression.NONE, new ReplicatedClassDescriptors(storage), true)
+            .encode(out -> out.writeObject(item));
+        assertThat(compact.length, lessThan(full.length / 2));
+    }
+
+
+    @Test
+    public void dictionaryIsTouchedAheadOncePerInterval() throws Exception {
+        ReplicatedClassDescriptors descriptors = new ReplicatedClassDescriptors(storage);
+        String key = ReplicatedClassDescriptors.getKey(descriptors.getLocalId());
+        descriptors.touch();
+        assertThat("Not published yet", storage.touches.get(), equalTo(0));
+
+        SessionCodec codec = new SessionCodec(null, Compression.NONE, descriptors, true);
+        codec.encode(out -> out.writeObject(new Item("pen", 1, 100L)));
+        long now = System.currentTimeMillis();
+        descriptors.touch();
+        descriptors.touch();
+        assertAll(
+            () -> assertThat(storage.touches.get(), equalTo(1)),
+            () -> assertThat(storage.lastAccessTimes.get(key),
+                greaterThanOrEqualTo(now + ReplicatedClassDescriptors.TOUCH_INTERVAL))
+        );
+
+        codec.encode(out -> out.writeObject(new Cart()));
+        descriptors.touch();
+        assertThat("Saved again, so touched again", storage.touches.get(), equalTo(2));
+    }
+
+
+    @Test
+    public void storedCountIncludesPublishedAndLoadedDictionaries() throws Exception {
+        ReplicatedClassDescriptors writerDescriptors = new ReplicatedClassDescriptors(storage);
+        ReplicatedClassDescriptors readerDescriptors = new ReplicatedClassDescriptors(storage);
+        SessionCodec writer = new SessionCodec(null, Compression.NONE, writerDescriptors, true);
+        SessionCodec reader = new SessionCodec(null, Compression.NONE, readerDescriptors, true);
+        assertThat(writerDescriptors.getStoredCount(), equalTo(0));
+
+        byte[] state = writer.encode(out -> out.writeObject(new Item("book", 2, 1999L)));
+        reader.decode(state, null, ObjectInputStream::readObject);
+        assertAll(
+            () -> assertThat(writerDescriptors.getStoredCount(), equalTo(1)),
+            () -> assertThat(readerDescriptors.getStoredCount(), equalTo(1))
+        );
+    }
+
+
+    static Map<String, Object> createSession(int carts) {
+        Map<String, Object> session = new HashMap<>();
+        for (int i = 0; i < carts; i++) {
+            Cart cart = new Cart();
+            for (int j = 0; j < 10; j++) {
+                cart.items.add(new Item("item-" + i + "-" + j, j, 100L * j));
+            }
+            session.put("cart-" + i, cart);
+            session.put("label-" + i, "Label of the cart number " + i);
+        }
+        return session;
+    }
+
+
+    static final class Item implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String name;
+        final int quantity;
+        final long priceInCents;
+
+        Item(String name, int quantity, long priceInCents) {
+            this.name = name;
+            this.quantity = quantity;
+            this.priceInCents = priceInCents;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Item)) {
+                return false;
+            }
+            Item other = (Item) obj;
+            return name.equals(other.name) && quantity == other.quantity && priceInCents == other.priceInCents;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, quantity, priceInCents);
+        }
+    }
+
+
+    static final class Cart implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final List<Item> items = new ArrayList<>();
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Cart && items.equals(((Cart) obj).items);
+        }
+
+        @Override
+        public int hashCode() {
+            return items.hashCode();
+        }
+    }
+
+
+    static final class MapStorage implements ReplicatedClassDescriptors.Storage {
+
+        final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+        final AtomicInteger saves = new AtomicInteger();
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger touches = new AtomicInteger();
+        final Map<String, Long> lastAccessTimes = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(String key, long version, byte[] state, boolean isNew) {
+            saves.incrementAndGet();
+            entries.put(key, state);
+        }
+
+        @Override
+        public byte[] load(String key) {
+            loads.incrementAndGet();
+            return entries.get(key);
+        }
+
+        @Override
+        public void touch(String key, long version, long lastAccessTime) {
+            touches.incrementAndGet();
+            lastAccessTimes.put(key, lastAccessTime);
+        }
+    }
+}
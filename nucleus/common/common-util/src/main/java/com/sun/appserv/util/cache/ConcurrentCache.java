@@ -0,0 +1,814 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * ConcurrentCache
+ * in-memory bounded cache with lock-free reads; a drop-in alternative to
+ * the {@link LruCache} and {@link BoundedMultiLruCache}.
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, so a cache hit takes no
+ * lock and only marks the entry as referenced. All statistics are
+ * {@link LongAdder}s. Once the cache holds more than <code>maxEntries</code>
+ * entries or more than <code>MaxSize</code> bytes (an optional property,
+ * e.g. 200KB or 2MB, same as for the {@link BoundedMultiLruCache}), entries
+ * are evicted by the CLOCK algorithm: an entry referenced since the last
+ * sweep gets a second chance, others are trimmed and reported to the
+ * {@link CacheListener}s. Only one thread sweeps at a time; other writers
+ * do not wait for it.
+ * <p>
+ * {@link #get(Object, Function)} loads a missing value once for all threads
+ * missing the same key at the same time. The index based
+ * {@link #waitRefresh(int)} and {@link #notifyRefresh(int)} are implemented
+ * with latches instead of the bucket monitors.
+ */
+public class ConcurrentCache implements Cache {
+
+    // the item never expires
+    public static final long NO_TIMEOUT = -1;
+
+    // upper bound of the refresh slots used by waitRefresh/notifyRefresh
+    static final int MAX_REFRESH_SLOTS = 1 << 16;
+
+    // minimal number of removed entries left in the clock before it is purged
+    private static final int MIN_PURGE_THRESHOLD = 64;
+
+    // maximum number of entries this cache may hold
+    protected int maxEntries;
+
+    // upper bound on the cache size in bytes
+    protected long maxSize = Constants.DEFAULT_MAX_CACHE_SIZE;
+
+    protected long timeout = NO_TIMEOUT;
+
+    private ConcurrentHashMap<Object, Node> table;
+    private AtomicReferenceArray<CountDownLatch> refreshLatches;
+    private int refreshSlots;
+
+    private final ConcurrentLinkedQueue<Node> clock = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger entryCount = new AtomicInteger();
+    private final AtomicLong currentSize = new AtomicLong();
+    private final AtomicInteger removedNodes = new AtomicInteger();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder removalCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder trimCount = new LongAdder();
+
+    /**
+     * default constructor
+     */
+    public ConcurrentCache() { }
+
+    /**
+     * initialize the cache with the default load factor (0.75)
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, Properties props) {
+        init(maxEntries, BaseCache.DEFAULT_LOAD_FACTOR, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param timeout to be used to trim the expired entries
+     * @param loadFactor the load factor
+     * @param props opaque list of properties for a given cache implementation
+     */
+    public void init(int maxEntries, long timeout, float loadFactor, Properties props) {
+        setTimeout(timeout);
+        init(maxEntries, loadFactor, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param loadFactor the load factor of the underlying table
+     * @param props opaque list of properties for a given cache implementation;
+     *        <code>MaxSize</code> bounds the total size of the cached values
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.illegalMaxEntries);
+            throw new IllegalArgumentException(MessageFormat.format(msg, maxEntries));
+        }
+
+        this.maxEntries = Math.min(maxEntries, BaseCache.MAX_ENTRIES);
+        if (props != null && props.getProperty("MaxSize") != null) {
+            maxSize = parseMaxSize(props.getProperty("MaxSize"));
+        }
+
+        refreshSlots = 1;
+        while (refreshSlots < this.maxEntries && refreshSlots < MAX_REFRESH_SLOTS) {
+            refreshSlots <<= 1;
+        }
+        refreshLatches = new AtomicReferenceArray<>(refreshSlots);
+
+        float tableLoadFactor = loadFactor > 0 ? loadFactor : BaseCache.DEFAULT_LOAD_FACTOR;
+        table = new ConcurrentHashMap<>(Math.min(this.maxEntries, MAX_REFRESH_SLOTS), tableLoadFactor);
+    }
+
+    /**
+     * sets the timeout value
+     * @param timeout to be used to trim the expired entries
+     */
+    public void setTimeout(long timeout) {
+        // accept a positive timeout
+        if (timeout > 0) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * add the cache module listener
+     * @param listener <code>CacheListener</code> implementation
+     */
+    @Override
+    public void addCacheListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * get the index of the item given a key
+     * @param key of the entry
+     * @return the index to be used with waitRefresh and notifyRefresh
+     */
+    @Override
+    public int getIndex(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (refreshSlots - 1);
+    }
+
+    /**
+     * get the item stored at the key.
+     * @param key lookup key
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object get(Object key) {
+        Node node = table.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        node.access(timeout != NO_TIMEOUT);
+        hitCount.increment();
+        return node.value;
+    }
+
+    /**
+     * get the item stored at the key, load and cache it if it is not found.
+     * Threads missing the same key at the same time wait for a single load.
+     * @param key lookup key
+     * @param loader computes the value of a missing key; may return null
+     * @return the cached or loaded item; null if the loader returned null.
+     */
+    public Object get(Object key, Function<Object, Object> loader) {
+        Object value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            // another thread may have finished its load before we registered ours
+            Node node = table.get(key);
+            value = node == null ? loader.apply(key) : node.value;
+            if (node == null && value != null) {
+                put(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * check if the cache contains the item at the key
+     * @param key lookup key
+     * @return true if there is an item stored at the key; false if not.
+     */
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * get all the items stored at the key.
+     * @param key lookup key
+     * @return an Iterator over the items with the given key.
+     */
+    @Override
+    public Iterator getAll(Object key) {
+        List<Object> valueList = new ArrayList<>();
+        for (Node node = table.get(key); node != null; node = node.next) {
+            if (!node.removed) {
+                node.access(timeout != NO_TIMEOUT);
+                hitCount.increment();
+                valueList.add(node.value);
+            }
+        }
+        return valueList.iterator();
+    }
+
+    /**
+     * get an Iterator for the keys stored in the cache
+     * @return an Iterator
+     */
+    @Override
+    public Iterator keys() {
+        return collect(true).iterator();
+    }
+
+    /**
+     * get an Enumeration for the keys stored in the cache
+     * @return an Enumeration
+     */
+    @Override
+    public Enumeration elements() {
+        return Collections.enumeration(collect(true));
+    }
+
+    /**
+     * get an Iterator for the values stored in the cache
+     * @return an Iterator
+     */
+    @Override
+    public Iterator values() {
+        return collect(false).iterator();
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @return the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value) {
+        return putItem(key, value, -1, false);
+    }
+
+    /**
+     * cache the given value at the specified key and return previous value
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being cached
+     * @return the previous item stored at the key; null if not found.
+     */
+    @Override
+    public Object put(Object key, Object value, int size) {
+        return putItem(key, value, size, false);
+    }
+
+    /**
+     * add the given value to the cache at the specified key
+     * @param key lookup key
+     * @param value item value to be stored
+     */
+    @Override
+    public void add(Object key, Object value) {
+        putItem(key, value, -1, true);
+    }
+
+    /**
+     * add the given value with specified size to the cache at specified key
+     * @param key lookup key
+     * @param value item value to be stored
+     * @param size in bytes of the value being added
+     */
+    @Override
+    public void add(Object key, Object value, int size) {
+        putItem(key, value, size, true);
+    }
+
+    /**
+     * remove the item stored at the key.
+     * @param key lookup key
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key) {
+        return remove(key, null);
+    }
+
+    /**
+     * remove the given value stored at the key; value-specific removals.
+     * @param key lookup key
+     * @param value to match (for a multi-valued keys); null matches the first value
+     * @return the item stored at the key; null if not found.
+     */
+    @Override
+    public Object remove(Object key, Object value) {
+        Update update = new Update();
+        table.computeIfPresent(key, (k, head) -> {
+            for (Node node = head; node != null; node = node.next) {
+                if (value == null || value == node.value) {
+                    update.node = node;
+                    return unlink(head, node);
+                }
+            }
+            return head;
+        });
+
+        if (update.node == null) {
+            missCount.increment();
+            return null;
+        }
+        removed(update.node);
+        removalCount.increment();
+        hitCount.increment();
+        return update.node.value;
+    }
+
+    /**
+     * remove all the item with the given key.
+     * @param key lookup key
+     */
+    @Override
+    public void removeAll(Object key) {
+        for (Node node = table.remove(key); node != null; node = node.next) {
+            node.removed = true;
+            removed(node);
+            removalCount.increment();
+        }
+    }
+
+    /**
+     * wait for a refresh on the object associated with the key
+     * @param index index of the entry, see {@link #getIndex(Object)}
+     * @return true on successful notification, or false if there is
+     *  no thread refreshing this entry; the caller is then expected to refresh
+     *  it and call {@link #notifyRefresh(int)}.
+     */
+    @Override
+    public boolean waitRefresh(int index) {
+        CountDownLatch refresh = new CountDownLatch(1);
+        while (true) {
+            if (refreshLatches.compareAndSet(index, null, refresh)) {
+                return false;
+            }
+            CountDownLatch running = refreshLatches.get(index);
+            if (running == null) {
+                continue;
+            }
+            try {
+                running.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * notify threads waiting for a refresh on the object associated with the key
+     * @param index index of the entry, see {@link #getIndex(Object)}
+     */
+    @Override
+    public void notifyRefresh(int index) {
+        CountDownLatch refresh = refreshLatches.getAndSet(index, null);
+        if (refresh != null) {
+            refresh.countDown();
+        }
+    }
+
+    /**
+     * clear all the entries from the cache.
+     * @return the number of entries cleared from the cache
+     */
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Object key : table.keySet()) {
+            for (Node node = table.remove(key); node != null; node = node.next) {
+                node.removed = true;
+                removed(node);
+                count++;
+            }
+        }
+        purgeRemovedNodes();
+        return count;
+    }
+
+    /**
+     * is this cache empty?
+     * @return true if the cache is empty; false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return entryCount.get() <= 0;
+    }
+
+    /**
+     * get the number of entries in the cache
+     * @return the number of entries the cache currently holds
+     */
+    @Override
+    public int getEntryCount() {
+        return Math.max(0, entryCount.get());
+    }
+
+    /**
+     * @return the total size in bytes of the values cached with a known size
+     */
+    public long getCurrentSize() {
+        return currentSize.get();
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all timedout entries
+     *
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {
+        if (timeout == NO_TIMEOUT) {
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        int count = 0;
+        for (Iterator<Node> iterator = clock.iterator(); iterator.hasNext() && count < maxCount;) {
+            Node node = iterator.next();
+            if (!node.removed && node.lastAccessed + timeout <= currentTime && trim(node)) {
+                count++;
+            }
+        }
+    }
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        return getStats().get(key);
+    }
+
+    /**
+     * get the stats snapshot
+     * @return a Map of stats
+     * See also: Constant.java for the keys
+     */
+    @Override
+    public Map getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put(Constants.STAT_BASECACHE_MAX_ENTRIES, Integer.valueOf(maxEntries));
+        stats.put(Constants.STAT_BASECACHE_THRESHOLD, Integer.valueOf(maxEntries));
+        stats.put(Constants.STAT_BASECACHE_TABLE_SIZE, Integer.valueOf(refreshSlots));
+        stats.put(Constants.STAT_BASECACHE_ENTRY_COUNT, Integer.valueOf(getEntryCount()));
+        stats.put(Constants.STAT_BASECACHE_HIT_COUNT, Integer.valueOf(hitCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_MISS_COUNT, Integer.valueOf(missCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_REMOVAL_COUNT, Integer.valueOf(removalCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_REFRESH_COUNT, Integer.valueOf(refreshCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_OVERFLOW_COUNT, Integer.valueOf(0));
+        stats.put(Constants.STAT_BASECACHE_ADD_COUNT, Integer.valueOf(addCount.intValue()));
+        stats.put(Constants.STAT_CONCURRENTCACHE_TRIM_COUNT, Integer.valueOf(trimCount.intValue()));
+        stats.put(Constants.STAT_CONCURRENTCACHE_CURRENT_SIZE, Long.valueOf(currentSize.get()));
+        if (maxSize == Constants.DEFAULT_MAX_CACHE_SIZE) {
+            stats.put(Constants.STAT_CONCURRENTCACHE_MAX_SIZE, Constants.STAT_DEFAULT);
+        } else {
+            stats.put(Constants.STAT_CONCURRENTCACHE_MAX_SIZE, Long.valueOf(maxSize));
+        }
+        return stats;
+    }
+
+    /**
+     * clear all stats
+     */
+    @Override
+    public void clearStats() {
+        hitCount.reset();
+        missCount.reset();
+        removalCount.reset();
+        refreshCount.reset();
+        addCount.reset();
+        trimCount.reset();
+    }
+
+    /**
+     * Clears the cache and its listeners.
+     */
+    @Override
+    public void destroy() {
+        if (table != null) {
+            clear();
+        }
+        listeners.clear();
+    }
+
+    private Object putItem(Object key, Object value, int size, boolean addValue) {
+        Node created = new Node(key, value, size);
+        Update update = new Update();
+        table.compute(key, (k, head) -> {
+            if (head == null || addValue) {
+                created.next = head;
+                update.node = created;
+                return created;
+            }
+            update.oldValue = head.value;
+            update.oldSize = head.size;
+            head.value = value;
+            head.size = size;
+            head.access(true);
+            return head;
+        });
+
+        if (update.node == created) {
+            created.access(true);
+            clock.offer(created);
+            entryCount.incrementAndGet();
+            currentSize.addAndGet(weight(size));
+            addCount.increment();
+        } else {
+            currentSize.addAndGet(weight(size) - weight(update.oldSize));
+            refreshCount.increment();
+        }
+        evictIfNeeded();
+        return update.oldValue;
+    }
+
+    private boolean isOverflowing() {
+        return entryCount.get() > maxEntries || currentSize.get() > maxSize;
+    }
+
+    private void evictIfNeeded() {
+        // a writer which finds another one sweeping does not wait; the check is
+        // repeated after the unlock so that no overflow is left behind
+        while (isOverflowing() && evictionLock.tryLock()) {
+            try {
+                while (isOverflowing()) {
+                    if (!evictOne()) {
+                        return;
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Sweeps the clock until an entry is trimmed. Referenced entries get a second
+     * chance; after a full round every entry is a candidate, so a sweep ends even
+     * if readers keep referencing the entries.
+     *
+     * @return false if there was nothing to trim
+     */
+    private boolean evictOne() {
+        int secondChances = entryCount.get();
+        while (true) {
+            Node node = clock.poll();
+            if (node == null) {
+                return false;
+            }
+            if (node.removed) {
+                removedNodes.decrementAndGet();
+                continue;
+            }
+            if (node.referenced && secondChances-- > 0) {
+                node.referenced = false;
+                clock.offer(node);
+                continue;
+            }
+            if (trim(node)) {
+                removedNodes.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the node from the cache and notifies the listeners.
+     *
+     * @return false if the node was already removed
+     */
+    private boolean trim(Node node) {
+        Update update = new Update();
+        table.computeIfPresent(node.key, (k, head) -> {
+            for (Node item = head; item != null; item = item.next) {
+                if (item == node) {
+                    update.node = node;
+                    return unlink(head, node);
+                }
+            }
+            // removed or replaced by a new chain of the key meanwhile
+            return head;
+        });
+        if (update.node == null) {
+            return false;
+        }
+        removed(node);
+        trimCount.increment();
+        for (CacheListener listener : listeners) {
+            listener.trimEvent(node.key, node.value);
+        }
+        return true;
+    }
+
+    /**
+     * Unlinks the node from the chain of the values of its key.
+     * Called with the key locked by the table, the node must be in the chain.
+     *
+     * @return new head of the chain; null if it is empty
+     */
+    private static Node unlink(Node head, Node target) {
+        target.removed = true;
+        if (head == target) {
+            return head.next;
+        }
+        for (Node node = head; node.next != null; node = node.next) {
+            if (node.next == target) {
+                node.next = target.next;
+                break;
+            }
+        }
+        return head;
+    }
+
+    /**
+     * Updates the counters of a node unlinked from the table. The node stays in the
+     * clock until a sweep polls it or until there are too many removed nodes.
+     */
+    private void removed(Node node) {
+        entryCount.decrementAndGet();
+        currentSize.addAndGet(-weight(node.size));
+        if (removedNodes.incrementAndGet() > Math.max(MIN_PURGE_THRESHOLD, entryCount.get())) {
+            purgeRemovedNodes();
+        }
+    }
+
+    private void purgeRemovedNodes() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int purged = 0;
+            for (Iterator<Node> iterator = clock.iterator(); iterator.hasNext();) {
+                if (iterator.next().removed) {
+                    iterator.remove();
+                    purged++;
+                }
+            }
+            removedNodes.addAndGet(-purged);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private List<Object> collect(boolean keys) {
+        List<Object> list = new ArrayList<>(getEntryCount());
+        for (Node head : table.values()) {
+            for (Node node = head; node != null; node = node.next) {
+                if (!node.removed) {
+                    list.add(keys ? node.key : node.value);
+                }
+            }
+        }
+        return list;
+    }
+
+    private static long weight(int size) {
+        return size > 0 ? size : 0;
+    }
+
+    private static Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long parseMaxSize(String strMaxSize) {
+        // look for 200KB or 80Kb or 1MB or 2Mb like suffixes
+        String prop = strMaxSize.toUpperCase(Locale.ENGLISH);
+        int multiplier = 1;
+        int index;
+        if ((index = prop.indexOf("KB")) != -1) {
+            multiplier = Constants.KB;
+            prop = prop.substring(0, index);
+        } else if ((index = prop.indexOf("MB")) != -1) {
+            multiplier = Constants.MB;
+            prop = prop.substring(0, index);
+        }
+
+        long size = -1;
+        try {
+            size = Long.parseLong(prop.trim());
+        } catch (NumberFormatException nfe) {
+            // reported below
+        }
+        if (size <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.boundedMultiLruCacheIllegalMaxSize);
+            throw new IllegalArgumentException(MessageFormat.format(msg, strMaxSize));
+        }
+        return size * multiplier;
+    }
+
+    /** value cached at a key; values added to the same key are chained */
+    private static final class Node {
+
+        final Object key;
+        volatile Object value;
+        volatile int size;
+        volatile Node next;
+        volatile boolean referenced;
+        volatile boolean removed;
+        volatile long lastAccessed;
+
+        Node(Object key, Object value, int size) {
+            this.key = key;
+            this.value = value;
+            this.size = size;
+        }
+
+        void access(boolean updateTimestamp) {
+            if (!referenced) {
+                referenced = true;
+            }
+            if (updateTimestamp) {
+                lastAccessed = System.currentTimeMillis();
+            }
+        }
+    }
+
+    /** result of a table update computed under the lock of the key */
+    private static final class Update {
+
+        Node node;
+        Object oldValue;
+        int oldSize;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Hierarchical timing wheel scheduling tasks at wall clock times.
+ * <p>
+ * The first level has {@code wheelSize} slots of {@code tickMillis} each, every next level has
+ * the same number of slots, each one as long as the whole level below. Levels are added when
+ * a task is scheduled beyond the last one. Scheduling and cancelling a task costs O(1): the
+ * calling thread just queues the task or its cancellation, the worker thread links it into the
+ * slot of its deadline or unlinks it, so cancelled tasks are released within one tick.
+ * When the worker thread enters a slot of an upper level, the tasks of that slot move to the
+ * levels below.
+ * <p>
+ * A task runs at most one tick after its deadline, never before it. The tasks expired in the
+ * same tick are handed over to the dispatcher executor in batches, the worker thread does not
+ * run any task unless the dispatcher rejects it. The worker thread sleeps while there is nothing
+ * scheduled.
+ */
+public final class TimingWheel {
+
+    private static final Logger LOG = CULoggerInfo.getLogger();
+
+    private final String name;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int batchSize;
+    private final Executor dispatcher;
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Owned by the worker thread.
+    private final List<Level> levels = new ArrayList<>();
+    private long nextTick;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    /**
+     * @param name name of the worker thread
+     * @param tickMillis length of a slot of the first level
+     * @param wheelSize number of slots of every level
+     * @param batchSize max number of tasks passed to the dispatcher at once
+     * @param dispatcher executor running the expired tasks
+     */
+    public TimingWheel(String name, long tickMillis, int wheelSize, int batchSize, Executor dispatcher) {
+        if (tickMillis <= 0 || wheelSize <= 1 || batchSize <= 0) {
+            throw new IllegalArgumentException(
+                "Invalid timing wheel: tickMillis=" + tickMillis + ", wheelSize=" + wheelSize + ", batchSize=" + batchSize);
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.batchSize = batchSize;
+        this.dispatcher = dispatcher;
+        this.levels.add(new Level(tickMillis, wheelSize));
+    }
+
+    /**
+     * Starts the daemon worker thread. The thread inherits the context class loader of the caller.
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the worker thread. Tasks not yet expired will never run.
+     */
+    public synchronized void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @param task task to run
+     * @param deadline time in milliseconds since the epoch, tasks with a past deadline run in the next tick
+     * @return handle to cancel the task
+     */
+    public Timeout schedule(Runnable task, long deadline) {
+        Timeout timeout = new Timeout(this, task, deadline);
+        size.incrementAndGet();
+        scheduled.add(timeout);
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled tasks which were not cancelled and did not expire yet.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void run() {
+        nextTick = floorTick(System.currentTimeMillis());
+        List<Timeout> expired = new ArrayList<>();
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                processCancelled();
+                processScheduled(expired);
+                while (nextTick + tickMillis <= now) {
+                    tick(nextTick, expired);
+                    nextTick += tickMillis;
+                }
+                if (!expired.isEmpty()) {
+                    dispatch(expired);
+                    expired.clear();
+                }
+                await(now);
+            } catch (Throwable t) {
+                LOG.log(WARNING, "Timing wheel " + name + " failed to process the scheduled tasks.", t);
+            }
+        }
+        LOG.log(FINE, () -> "Timing wheel " + name + " stopped.");
+    }
+
+    private void await(long now) {
+        if (size.get() == 0) {
+            idle = true;
+            if (size.get() == 0 && running) {
+                LockSupport.park(this);
+            }
+            idle = false;
+            // nothing is scheduled, so there are no slots to process until now
+            long currentTick = floorTick(System.currentTimeMillis());
+            if (currentTick > nextTick) {
+                nextTick = currentTick;
+            }
+            return;
+        }
+        long sleepMillis = nextTick + tickMillis - now;
+        if (sleepMillis > 0) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+        }
+    }
+
+    private void processCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void processScheduled(List<Timeout> expired) {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state == Timeout.PENDING && !add(timeout)) {
+                expire(timeout, expired);
+            }
+        }
+    }
+
+    /**
+     * Links the timeout into the slot of its deadline.
+     *
+     * @return false if the deadline is in a slot already processed
+     */
+    private boolean add(Timeout timeout) {
+        long deadline = timeout.deadline;
+        if (deadline < nextTick) {
+            return false;
+        }
+        for (int index = 0;; index++) {
+            Level level = getLevel(index);
+            long current = nextTick - Math.floorMod(nextTick, level.tick);
+            if (deadline - current < level.interval) {
+                level.slot(deadline).add(timeout);
+                return true;
+            }
+            if (index + 1 == levels.size() && level.interval > Long.MAX_VALUE / wheelSize) {
+                // the next level would overflow, park the timeout in the last slot to be checked later
+                level.lastSlot(current).add(timeout);
+                return true;
+            }
+        }
+    }
+
+    private Level getLevel(int index) {
+        if (index == levels.size()) {
+            levels.add(new Level(levels.get(index - 1).interval, wheelSize));
+        }
+        return levels.get(index);
+    }
+
+    /**
+     * Processes the slot starting at the given time, all deadlines before its end have passed.
+     */
+    private void tick(long time, List<Timeout> expired) {
+        for (int index = levels.size() - 1; index > 0; index--) {
+            Level level = levels.get(index);
+            if (Math.floorMod(time, level.tick) != 0) {
+                continue;
+            }
+            for (Timeout timeout = level.slot(time).clear(); timeout != null;) {
+                Timeout next = timeout.next;
+                timeout.next = null;
+                if (timeout.state == Timeout.PENDING && !add(timeout)) {
+                    expire(timeout, expired);
+                }
+                timeout = next;
+            }
+        }
+        for (Timeout timeout = levels.get(0).slot(time).clear(); timeout != null;) {
+            Timeout next = timeout.next;
+            timeout.next = null;
+            expire(timeout, expired);
+            timeout = next;
+        }
+    }
+
+    private void expire(Timeout timeout, List<Timeout> expired) {
+        if (Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.EXPIRED)) {
+            size.decrementAndGet();
+            expired.add(timeout);
+        }
+    }
+
+    private void dispatch(List<Timeout> expired) {
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            Batch batch = new Batch(expired.subList(from, Math.min(from + batchSize, expired.size())));
+            try {
+                dispatcher.execute(batch);
+            } catch (RuntimeException e) {
+                LOG.log(FINE, "Dispatcher rejected the expired tasks of timing wheel " + name + ", running them directly.", e);
+                batch.run();
+            }
+        }
+    }
+
+    private long floorTick(long time) {
+        return time - Math.floorMod(time, tickMillis);
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout {
+
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state;
+
+        // Owned by the worker thread.
+        Bucket bucket;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return time in milliseconds since the epoch when the task should run
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true if the task was cancelled before it expired
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * @return true if the task expired, it might still be running or waiting in the dispatcher
+         */
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        /**
+         * Cancels the task unless it already expired.
+         *
+         * @return true if the task was cancelled by this call
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.size.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        void run() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.log(WARNING, "Task " + task + " of timing wheel " + wheel.name + " failed.", t);
+            }
+        }
+    }
+
+    private static final class Level {
+
+        final long tick;
+        final long interval;
+        final Bucket[] slots;
+
+        Level(long tick, int wheelSize) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.slots = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Bucket();
+            }
+        }
+
+        Bucket slot(long time) {
+            return slots[(int) Math.floorMod(Math.floorDiv(time, tick), (long) slots.length)];
+        }
+
+        /**
+         * @return the slot processed just before the slot of the current time
+         */
+        Bucket lastSlot(long current) {
+            return slots[(int) Math.floorMod(Math.floorDiv(current, tick) - 1, (long) slots.length)];
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of one slot.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Detaches all timeouts, they stay chained by their next reference.
+         */
+        Timeout clear() {
+            Timeout first = head;
+            for (Timeout timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.prev = null;
+            }
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    private static final class Batch implements Runnable {
+
+        private final Timeout[] timeouts;
+
+        Batch(List<Timeout> timeouts) {
+            this.timeouts = timeouts.toArray(new Timeout[timeouts.size()]);
+        }
+
+        @Override
+        public void run() {
+            for (Timeout timeout : timeouts) {
+                timeout.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void putGetRemove() {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+
+        assertThat(cache.put("a", "1"), nullValue());
+        assertThat(cache.put("a", "2"), equalTo("1"));
+        cache.add("b", "3");
+        cache.add("b", "4");
+
+        assertAll(
+            () -> assertThat(cache.get("a"), equalTo("2")),
+            () -> assertThat(cache.get("b"), equalTo("4")),
+            () -> assertThat(toList(cache.getAll("b")), containsInAnyOrder("3", "4")),
+            () -> assertThat(toList(cache.keys()), containsInAnyOrder("a", "b", "b")),
+            () -> assertThat(cache.getEntryCount(), equalTo(3)),
+            () -> assertThat(cache.get("c"), nullValue())
+        );
+
+        assertThat(cache.remove("b", "3"), equalTo("3"));
+        assertThat(toList(cache.getAll("b")), containsInAnyOrder("4"));
+        assertThat(cache.remove("a"), equalTo("2"));
+        cache.removeAll("b");
+
+        assertAll(
+            () -> assertTrue(cache.isEmpty()),
+            () -> assertFalse(cache.contains("b")),
+            () -> assertThat(cache.getStatByName(Constants.STAT_BASECACHE_ADD_COUNT), equalTo(3)),
+            () -> assertThat(cache.getStatByName(Constants.STAT_BASECACHE_REFRESH_COUNT), equalTo(1)),
+            () -> assertThat(cache.getStatByName(Constants.STAT_BASECACHE_REMOVAL_COUNT), equalTo(3))
+        );
+    }
+
+
+    @Test
+    public void referencedEntriesGetSecondChance() {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(4, null);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        // every entry starts referenced, the first sweep clears them
+        cache.put(4, 4);
+        cache.get(1);
+        cache.put(5, 5);
+
+        assertAll(
+            () -> assertThat(cache.getEntryCount(), equalTo(4)),
+            () -> assertThat(trimmed, containsInAnyOrder(0, 2)),
+            () -> assertThat(cache.get(1), equalTo(1)),
+            () -> assertThat(cache.getStatByName(Constants.STAT_CONCURRENTCACHE_TRIM_COUNT), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void boundedBySize() {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "1KB");
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(100, props);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, new byte[300], 300);
+        }
+        assertAll(
+            () -> assertThat(cache.getCurrentSize(), lessThanOrEqualTo(1024L)),
+            () -> assertThat(cache.getEntryCount(), equalTo(3)),
+            () -> assertThat(cache.getStatByName(Constants.STAT_CONCURRENTCACHE_MAX_SIZE), equalTo(1024L))
+        );
+
+        props.setProperty("MaxSize", "lots");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCache().init(100, props));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCache().init(0, null));
+    }
+
+
+    @Test
+    public void trimExpiredEntries() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, 1L, 0.75f, null);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Thread.sleep(10L);
+        cache.put("c", "3");
+
+        cache.trimExpiredEntries(Integer.MAX_VALUE);
+        assertThat(toList(cache.keys()), containsInAnyOrder("c"));
+    }
+
+
+    @Test
+    public void concurrentMissesLoadOnce() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get("key", key -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            Thread.sleep(50L);
+            release.countDown();
+            for (Future<Object> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS), equalTo("value"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cache.get("key"), equalTo("value"));
+    }
+
+
+    @Test
+    public void waitAndNotifyRefresh() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(16, null);
+        int index = cache.getIndex("key");
+
+        assertFalse(cache.waitRefresh(index));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> waiter = executor.submit(() -> cache.waitRefresh(index));
+            Thread.sleep(50L);
+            assertFalse(waiter.isDone());
+            cache.notifyRefresh(index);
+            assertTrue(waiter.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(cache.waitRefresh(index));
+        cache.notifyRefresh(index);
+    }
+
+
+    @Test
+    public void concurrentPutsStayBounded() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        cache.init(128, null);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i, i);
+                        cache.get(offset + i / 2);
+                        if (i % 7 == 0) {
+                            cache.remove(offset + i);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertAll(
+            () -> assertThat(cache.getEntryCount(), lessThanOrEqualTo(128)),
+            () -> assertThat(toList(cache.keys()).size(), equalTo(cache.getEntryCount()))
+        );
+        cache.destroy();
+        assertTrue(cache.isEmpty());
+    }
+
+
+    private static List<Object> toList(Iterator<?> iterator) {
+        List<Object> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    public void runsTasksInDeadlineOrder() throws Exception {
+        TimingWheel wheel = new TimingWheel("test", 5L, 8, 16, DIRECT);
+        wheel.start();
+        try {
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            List<Long> lateness = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch latch = new CountDownLatch(3);
+            long now = System.currentTimeMillis();
+            for (int delay : new int[] {120, 30, 75}) {
+                long deadline = now + delay;
+                wheel.schedule(() -> {
+                    order.add(delay);
+                    lateness.add(System.currentTimeMillis() - deadline);
+                    latch.countDown();
+                }, deadline);
+            }
+            assertThat(wheel.size(), equalTo(3));
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertAll(
+                () -> assertThat(order, contains(30, 75, 120)),
+                () -> assertThat("not before the deadline", Collections.min(lateness), greaterThanOrEqualTo(0L)),
+                () -> assertThat(wheel.size(), equalTo(0))
+            );
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void cascadesFromUpperLevels() throws Exception {
+        // the first level covers 8 ms only, the deadline is three levels up
+        TimingWheel wheel = new TimingWheel("test", 1L, 2, 16, DIRECT);
+        wheel.start();
+        try {
+            long deadline = System.currentTimeMillis() + 200L;
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicInteger lateness = new AtomicInteger(-1);
+            wheel.schedule(() -> {
+                lateness.set((int) (System.currentTimeMillis() - deadline));
+                latch.countDown();
+            }, deadline);
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertThat(lateness.get(), greaterThanOrEqualTo(0));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void cancel() throws Exception {
+        TimingWheel wheel = new TimingWheel("test", 5L, 8, 16, DIRECT);
+        wheel.start();
+        try {
+            AtomicInteger cancelledRuns = new AtomicInteger();
+            long now = System.currentTimeMillis();
+            TimingWheel.Timeout cancelled = wheel.schedule(cancelledRuns::incrementAndGet, now + 20L);
+            CountDownLatch latch = new CountDownLatch(1);
+            TimingWheel.Timeout expired = wheel.schedule(latch::countDown, now + 60L);
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel(), "second cancel");
+            assertThat(wheel.size(), equalTo(1));
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertAll(
+                () -> assertThat(cancelledRuns.get(), equalTo(0)),
+                () -> assertTrue(cancelled.isCancelled()),
+                () -> assertTrue(expired.isExpired()),
+                () -> assertFalse(expired.cancel(), "cancel after expiration"),
+                () -> assertThat(wheel.size(), equalTo(0))
+            );
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void dispatchesExpiredTasksInBatches() throws Exception {
+        AtomicInteger batches = new AtomicInteger();
+        Executor countingExecutor = task -> {
+            batches.incrementAndGet();
+            task.run();
+        };
+        TimingWheel wheel = new TimingWheel("test", 50L, 8, 4, countingExecutor);
+        CountDownLatch latch = new CountDownLatch(10);
+        // a past deadline, all tasks expire in the first tick
+        long deadline = System.currentTimeMillis() - 1000L;
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(latch::countDown, deadline);
+        }
+        wheel.start();
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertThat(batches.get(), equalTo(3));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void runsRejectedBatchDirectly() throws Exception {
+        Executor rejecting = task -> {
+            throw new IllegalStateException("Shut down");
+        };
+        TimingWheel wheel = new TimingWheel("test", 5L, 8, 4, rejecting);
+        wheel.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            wheel.schedule(latch::countDown, System.currentTimeMillis() + 10L);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void invalidArguments() {
+        assertAll(
+            () -> assertThrows(IllegalArgumentException.class, () -> new TimingWheel("test", 0L, 8, 4, DIRECT)),
+            () -> assertThrows(IllegalArgumentException.class, () -> new TimingWheel("test", 5L, 1, 4, DIRECT)),
+            () -> assertThrows(IllegalArgumentException.class, () -> new TimingWheel("test", 5L, 8, 0, DIRECT))
+        );
+    }
+}
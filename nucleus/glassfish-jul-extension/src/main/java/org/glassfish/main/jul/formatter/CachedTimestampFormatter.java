@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.formatter;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Formats timestamps of log records and reuses the text for all records logged
+ * in the same millisecond.
+ * <p>
+ * The cached text is formatted for the beginning of the millisecond. If the formatter prints
+ * microseconds or nanoseconds too, their digits are detected once per millisecond and just
+ * overwritten for each record. Formatters printing the sub-millisecond part in any other way
+ * are not cached at all.
+ * <p>
+ * The instance is thread safe.
+ */
+final class CachedTimestampFormatter {
+
+    /** Sub-millisecond part of the probe, digits 456 for microseconds, 456789 for nanoseconds */
+    private static final int PROBE_NANOS = 456_789;
+
+    private final DateTimeFormatter formatter;
+    private volatile CachedTimestamp cached;
+
+    CachedTimestampFormatter(final DateTimeFormatter formatter) {
+        this.formatter = formatter;
+    }
+
+
+    /**
+     * @return the formatter used to produce timestamps
+     */
+    DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+
+    /**
+     * Appends the formatted timestamp of the record.
+     *
+     * @param record
+     * @param output
+     */
+    void formatTo(final GlassFishLogRecord record, final StringBuilder output) {
+        final long millis = record.getMillis();
+        CachedTimestamp timestamp = cached;
+        if (timestamp == null || timestamp.millis != millis) {
+            timestamp = createCachedTimestamp(millis, record.getTime());
+            cached = timestamp;
+        }
+        if (timestamp.subMillisDigits < 0) {
+            formatter.formatTo(record.getTime(), output);
+            return;
+        }
+        final int start = output.length() + timestamp.subMillisIndex;
+        output.append(timestamp.text);
+        int subMillis = record.getInstant().getNano() % 1_000_000;
+        if (timestamp.subMillisDigits == 3) {
+            subMillis /= 1_000;
+        }
+        for (int i = timestamp.subMillisDigits - 1; i >= 0; i--) {
+            output.setCharAt(start + i, (char) ('0' + subMillis % 10));
+            subMillis /= 10;
+        }
+    }
+
+
+    private CachedTimestamp createCachedTimestamp(final long millis, final OffsetDateTime time) {
+        final int millisOfSecond = time.getNano() / 1_000_000 * 1_000_000;
+        final String text = formatter.format(time.withNano(millisOfSecond));
+        final String probe = formatter.format(time.withNano(millisOfSecond + PROBE_NANOS));
+        if (text.equals(probe)) {
+            return new CachedTimestamp(millis, text, 0, 0);
+        }
+        if (text.length() != probe.length()) {
+            return new CachedTimestamp(millis, text, 0, -1);
+        }
+        int first = 0;
+        while (text.charAt(first) == probe.charAt(first)) {
+            first++;
+        }
+        int last = text.length() - 1;
+        while (text.charAt(last) == probe.charAt(last)) {
+            last--;
+        }
+        final String digits = probe.substring(first, last + 1);
+        if ("456".equals(digits) && "000".equals(text.substring(first, last + 1))) {
+            return new CachedTimestamp(millis, text, first, 3);
+        }
+        if ("456789".equals(digits) && "000000".equals(text.substring(first, last + 1))) {
+            return new CachedTimestamp(millis, text, first, 6);
+        }
+        return new CachedTimestamp(millis, text, 0, -1);
+    }
+
+
+    /**
+     * Timestamp text of one millisecond.
+     */
+    private static final class CachedTimestamp {
+
+        private final long millis;
+        private final String text;
+        private final int subMillisIndex;
+        /** Count of digits to overwrite, 0 if none, -1 if the text can't be reused. */
+        private final int subMillisDigits;
+
+        CachedTimestamp(final long millis, final String text, final int subMillisIndex, final int subMillisDigits) {
+            this.millis = millis;
+            this.text = text;
+            this.subMillisIndex = subMillisIndex;
+            this.subMillisDigits = subMillisDigits;
+        }
+    }
+}
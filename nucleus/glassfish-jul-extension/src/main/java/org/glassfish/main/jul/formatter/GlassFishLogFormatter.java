@@ -80,6 +80,7 @@ public abstract class GlassFishLogFormatter extends Formatter {
     private boolean printSequenceNumber;
     private boolean printSource;
     private DateTimeFormatter timestampFormatter = DEFAULT_DATETIME_FORMATTER;
+    private volatile CachedTimestampFormatter cachedTimestampFormatter;
 
 
     /**
@@ -146,6 +147,24 @@ public abstract class GlassFishLogFormatter extends Formatter {
     protected abstract String formatRecord(LogRecord record);
 
 
+    /**
+     * Formats the record and appends it to the output, used by handlers reusing the same
+     * {@link StringBuilder} for many records.
+     * <p>
+     * This implementation appends the result of {@link #formatRecord(LogRecord)}, descendants
+     * should override it to avoid the intermediate {@link String}.
+     *
+     * @param record
+     * @param output
+     */
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        final String text = formatRecord(record);
+        if (text != null) {
+            output.append(text);
+        }
+    }
+
+
     /**
      * @param printSequenceNumber true enables printing the log record sequence number
      */
@@ -205,6 +224,23 @@ public abstract class GlassFishLogFormatter extends Formatter {
     }
 
 
+    /**
+     * Appends the record's timestamp formatted by the {@link #getTimestampFormatter()}.
+     * The text is cached and reused for records logged in the same millisecond.
+     *
+     * @param record
+     * @param output
+     */
+    protected final void formatTimestamp(final GlassFishLogRecord record, final StringBuilder output) {
+        CachedTimestampFormatter cache = cachedTimestampFormatter;
+        if (cache == null || cache.getFormatter() != timestampFormatter) {
+            cache = new CachedTimestampFormatter(timestampFormatter);
+            cachedTimestampFormatter = cache;
+        }
+        cache.formatTo(record, output);
+    }
+
+
     @Override
     public String formatMessage(final LogRecord record) {
         return getPrintedMessage(MSG_RESOLVER.resolve(record));
@@ -17,7 +17,6 @@
 
 package org.glassfish.main.jul.formatter;
 
-import java.time.OffsetDateTime;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
@@ -90,6 +89,15 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
     }
 
 
+    @Override
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        final GlassFishLogRecord glassFishLogRecord = MSG_RESOLVER.resolve(record);
+        if (!appendGlassFishLogRecord(glassFishLogRecord, output) && glassFishLogRecord.getMessage() != null) {
+            output.append(glassFishLogRecord.getMessage());
+        }
+    }
+
+
     /**
      * @param excludeFields comma separated field names which should not be in the ouptut
      */
@@ -107,18 +115,27 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
 
 
     private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+        final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
+        return appendGlassFishLogRecord(record, output) ? output.toString() : record.getMessage();
+    }
+
+
+    /**
+     * @return false if the formatting failed, then the output is left unchanged.
+     */
+    private boolean appendGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return true;
             }
             final boolean forceMultiline = multiline || message.indexOf('\n') >= 0;
             final Level logLevel = record.getLevel();
             final String msgId = record.getMessageKey();
             final String loggerName = record.getLoggerName();
             final String threadName = record.getThreadName();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
-            appendTimestamp(output, record.getTime());
+            appendTimestamp(output, record);
             appendProductId(output);
             appendLogLevel(output, logLevel);
             appendMessageKey(output, msgId);
@@ -138,16 +155,17 @@ public class ODLLogFormatter extends GlassFishLogFormatter {
                 output.append(FIELD_END_MARKER).append(FIELD_END_MARKER);
             }
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
+            return true;
         } catch (final Exception e) {
             error(getClass(), "Error in formatting Logrecord", e);
-            return record.getMessage();
+            output.setLength(start);
+            return false;
         }
     }
 
-    private void appendTimestamp(final StringBuilder output, final OffsetDateTime timestamp) {
+    private void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
         output.append(FIELD_BEGIN_MARKER);
-        output.append(getTimestampFormatter().format(timestamp));
+        formatTimestamp(record, output);
         output.append(FIELD_END_MARKER).append(fieldSeparator);
     }
 
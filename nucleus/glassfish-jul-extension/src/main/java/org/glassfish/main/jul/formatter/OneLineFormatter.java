@@ -88,7 +88,7 @@ public class OneLineFormatter extends GlassFishLogFormatter {
             return "";
         }
         final StringBuilder sb = new StringBuilder(256);
-        sb.append(getTimestampFormatter().format(record.getTime()));
+        formatTimestamp(record, sb);
         addPadded(record.getLevel(), this.sizeOfLevel, sb);
         addPadded(record.getThreadName(), this.sizeOfThread, sb);
         if (isPrintSource()) {
@@ -94,6 +94,15 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
     }
 
 
+    @Override
+    public void formatRecord(final LogRecord record, final StringBuilder output) {
+        final GlassFishLogRecord glassFishLogRecord = MSG_RESOLVER.resolve(record);
+        if (!appendGlassFishLogRecord(glassFishLogRecord, output) && glassFishLogRecord.getMessage() != null) {
+            output.append(glassFishLogRecord.getMessage());
+        }
+    }
+
+
     /**
      * @param recordBeginMarker separates log records, marks beginning of the record. Default:
      *            {@value #RECORD_BEGIN_MARKER}
@@ -137,16 +146,25 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
 
 
     private String formatGlassFishLogRecord(final GlassFishLogRecord record) {
+        final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY);
+        return appendGlassFishLogRecord(record, output) ? output.toString() : record.getMessage();
+    }
+
+
+    /**
+     * @return false if the formatting failed, then the output is left unchanged.
+     */
+    private boolean appendGlassFishLogRecord(final GlassFishLogRecord record, final StringBuilder output) {
+        final int start = output.length();
         try {
             final String message = getPrintedMessage(record);
             if (message == null) {
-                return "";
+                return true;
             }
 
-            final String timestamp = getTimestampFormatter().format(record.getTime());
             final Level logLevel = record.getLevel();
-            final StringBuilder output = new StringBuilder(REC_BUFFER_CAPACITY).append(recordBeginMarker);
-            appendTimestamp(output, timestamp);
+            output.append(recordBeginMarker);
+            appendTimestamp(output, record);
             appendLogLevel(output, logLevel);
             appendProductId(output);
             appendLoggerName(output, record.getLoggerName());
@@ -159,16 +177,17 @@ public class UniformLogFormatter extends GlassFishLogFormatter {
             output.append(message);
             output.append(recordEndMarker);
             output.append(lineSeparator()).append(lineSeparator());
-            return output.toString();
+            return true;
         } catch (final Exception e) {
             new ErrorManager().error("Error in formatting Logrecord", e, ErrorManager.FORMAT_FAILURE);
-            return record.getMessage();
+            output.setLength(start);
+            return false;
         }
     }
 
 
-    private void appendTimestamp(final StringBuilder output, final String timestamp) {
-        output.append(timestamp);
+    private void appendTimestamp(final StringBuilder output, final GlassFishLogRecord record) {
+        formatTimestamp(record, output);
         output.append(recordFieldSeparator);
     }
 
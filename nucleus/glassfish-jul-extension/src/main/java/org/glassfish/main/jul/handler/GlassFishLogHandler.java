@@ -46,6 +46,7 @@ import static java.util.logging.Level.ALL;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_CAPACITY;
+import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_RING;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.BUFFER_TIMEOUT;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_CAPACITY;
 import static org.glassfish.main.jul.handler.GlassFishLogHandlerProperty.DEFAULT_BUFFER_TIMEOUT;
@@ -70,6 +71,8 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
  * <ul>
  * <li>can redirect output going through STDOUT and STDERR
  * <li>buffers log records
+ * <li>optionally keeps records in a preallocated ring buffer and writes them in batches,
+ * see {@link GlassFishLogHandlerProperty#BUFFER_RING}
  * </ul>
  * <b>WARNING</b>: If you configure this handler to redirect standard output, you have to prevent
  * the situation when any other handler would use it.
@@ -85,13 +88,17 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     private static final Logger STDOUT_LOGGER = Logger.getLogger(LOGGER_NAME_STDOUT);
     private static final Logger STDERR_LOGGER = Logger.getLogger(LOGGER_NAME_STDERR);
     private static final MessageResolver MSG_RESOLVER = new MessageResolver();
+    /** Max count of records the pump writes by one call in the ring buffer mode */
+    private static final int MAX_BATCH_RECORDS = 1024;
+    /** Size of encoded records written even if the pump did not finish the batch yet */
+    private static final int MAX_BATCH_BYTES = 64 * 1024;
 
     private final ReentrantLock lock = new ReentrantLock();
 
     private LoggingPrintStream stdoutStream;
     private LoggingPrintStream stderrStream;
 
-    private final LogRecordBuffer logRecordBuffer;
+    private final LogRecordQueue logRecordBuffer;
     private LogRotationTimerTask rotationTimerTask;
 
     private GlassFishLogHandlerConfiguration configuration;
@@ -101,6 +108,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     private volatile GlassFishLogHandlerStatus status;
     private LoggingPump pump;
     private LogFileManager logFileManager;
+    private volatile LogRecordBatch recordBatch;
 
     private boolean doneHeader;
 
@@ -124,6 +132,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         configuration.setFlushFrequency(helper.getNonNegativeInteger(FLUSH_FREQUENCY, 1));
         configuration.setBufferCapacity(helper.getInteger(BUFFER_CAPACITY, DEFAULT_BUFFER_CAPACITY));
         configuration.setBufferTimeout(helper.getInteger(BUFFER_TIMEOUT, DEFAULT_BUFFER_TIMEOUT));
+        configuration.setBufferRing(helper.getBoolean(BUFFER_RING, Boolean.FALSE));
 
         final Integer rotationLimitMB = helper.getInteger(ROTATION_LIMIT_SIZE, DEFAULT_ROTATION_LIMIT_MB);
         final long rotationLimitB = GlassFishLoggingConstants.BYTES_PER_MEGABYTES
@@ -150,7 +159,13 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         // parent StreamHandler already set level, filter, encoding and formatter.
         setLevel(configuration.getLevel());
         setEncoding(configuration.getEncoding());
-        this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(), configuration.getBufferTimeout());
+        if (configuration.isBufferRing()) {
+            this.logRecordBuffer = new LogRecordRingBuffer(configuration.getBufferCapacity(),
+                configuration.getBufferTimeout());
+        } else {
+            this.logRecordBuffer = new LogRecordBuffer(configuration.getBufferCapacity(),
+                configuration.getBufferTimeout());
+        }
 
         reconfigure(configuration);
     }
@@ -253,6 +268,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     @Override
     public void flush() {
         if (logFileManager != null) {
+            writeRecordBatch(this.recordBatch);
             logFileManager.flush();
         }
     }
@@ -355,6 +371,9 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
             LoggingSystemEnvironment.resetStandardOutputs();
         }
 
+        if (this.logRecordBuffer instanceof LogRecordRingBuffer) {
+            this.recordBatch = new LogRecordBatch(this.configuration.getEncoding());
+        }
         this.pump = new LoggingPump("GlassFishLogHandler log pump", this.logRecordBuffer);
         this.pump.start();
         return GlassFishLogHandlerStatus.ON;
@@ -376,7 +395,11 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         // we cannot publish anything if we don't have the stream configured.
         if (this.logFileManager.isOutputEnabled()) {
             drainLogRecords();
+            final LogRecordBatch batch = this.recordBatch;
+            this.recordBatch = null;
+            writeRecordBatch(batch);
         }
+        this.recordBatch = null;
         this.logFileManager.disableOutput();
         this.logFileManager = null;
     }
@@ -395,6 +418,19 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
     }
 
 
+    /**
+     * Writes records collected in the batch, if there is any.
+     */
+    private void writeRecordBatch(final LogRecordBatch batch) {
+        if (batch == null) {
+            return;
+        }
+        synchronized (batch) {
+            batch.writeTo(this.logFileManager);
+        }
+    }
+
+
     private void initStandardStreamsLogging() {
         trace(GlassFishLogHandler.class, "initStandardStreamsLogging()");
         this.stdoutStream = LoggingPrintStream.create(STDOUT_LOGGER, INFO, 5000, configuration.getEncoding());
@@ -448,6 +484,27 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
         if (!isLoggable(record)) {
             return true;
         }
+        final LogRecordBatch batch = this.recordBatch;
+        if (batch != null) {
+            synchronized (batch) {
+                try {
+                    batch.add(getFormatter(), record);
+                } catch (Exception ex) {
+                    reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+                    return true;
+                }
+                if (!doneHeader) {
+                    // the batch contains just this record
+                    logFileManager.write(getFormatter().getHead(this));
+                    doneHeader = true;
+                }
+                // the batch could be already detached by the stopPump method
+                if (batch.size() >= MAX_BATCH_BYTES || batch != this.recordBatch) {
+                    batch.writeTo(logFileManager);
+                }
+            }
+            return true;
+        }
         final String msg;
         try {
             msg = getFormatter().format(record);
@@ -477,7 +534,7 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
 
     private final class LoggingPump extends LoggingPumpThread {
 
-        private LoggingPump(String threadName, LogRecordBuffer buffer) {
+        private LoggingPump(String threadName, LogRecordQueue buffer) {
             super(threadName, buffer);
         }
 
@@ -490,7 +547,11 @@ public class GlassFishLogHandler extends Handler implements ExternallyManagedLog
 
         @Override
         protected int getFlushFrequency() {
-            return configuration.getFlushFrequency();
+            if (recordBatch == null) {
+                return configuration.getFlushFrequency();
+            }
+            // the pump doesn't wait for more records, it writes all available up to this limit by one call.
+            return Math.max(configuration.getFlushFrequency(), MAX_BATCH_RECORDS);
         }
 
         @Override
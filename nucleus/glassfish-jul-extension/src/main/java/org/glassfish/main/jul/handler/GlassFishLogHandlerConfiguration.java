@@ -45,6 +45,7 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
 
     private int bufferCapacity = DEFAULT_BUFFER_CAPACITY;
     private int bufferTimeout = DEFAULT_BUFFER_TIMEOUT;
+    private boolean bufferRing;
 
     private boolean rotationOnDateChange;
     private int rotationTimeLimitMinutes;
@@ -148,6 +149,16 @@ public class GlassFishLogHandlerConfiguration implements Cloneable {
     }
 
 
+    public boolean isBufferRing() {
+        return bufferRing;
+    }
+
+
+    public void setBufferRing(final boolean bufferRing) {
+        this.bufferRing = bufferRing;
+    }
+
+
     public long getRotationSizeLimitBytes() {
         return rotationSizeLimitBytes;
     }
@@ -51,6 +51,15 @@ public enum GlassFishLogHandlerProperty implements LogProperty {
      * 0 means wait forever.
      */
     BUFFER_TIMEOUT("buffer.timeoutInSeconds"),
+    /**
+     * If true, records are kept in a preallocated ring buffer and the pump thread formats them
+     * into reusable buffers and writes them to the file by one call per batch.
+     * <p>
+     * All slots of the {@link #BUFFER_CAPACITY} are allocated on start, so the capacity should be
+     * reasonable. The buffer type is chosen when the handler is created, reconfiguration doesn't
+     * change it.
+     */
+    BUFFER_RING("buffer.ring"),
     /** Count of records processed until handler flushes the output */
     FLUSH_FREQUENCY("flushFrequency"),
     /** Log STDOUT and STDERR to the log file too */
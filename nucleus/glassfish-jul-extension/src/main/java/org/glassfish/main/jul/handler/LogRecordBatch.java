@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.handler;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.logging.Formatter;
+
+import org.glassfish.main.jul.formatter.GlassFishLogFormatter;
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.glassfish.main.jul.rotation.LogFileManager;
+
+/**
+ * Formats log records into reusable buffers and encodes them, so the whole batch can be written
+ * to the log file by a single call.
+ * <p>
+ * The instance is not thread safe.
+ */
+final class LogRecordBatch {
+
+    private static final int INITIAL_CHAR_CAPACITY = 1024;
+    private static final int INITIAL_BYTE_CAPACITY = 64 * 1024;
+    /** Larger buffers, grown by huge records, are released after the write */
+    private static final int MAX_RETAINED_BYTE_CAPACITY = 1024 * 1024;
+
+    private final CharsetEncoder encoder;
+    private final StringBuilder text = new StringBuilder(INITIAL_CHAR_CAPACITY);
+    private char[] chars = new char[INITIAL_CHAR_CAPACITY];
+    private CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_BYTE_CAPACITY);
+
+    /**
+     * @param encoding charset of the log file
+     */
+    LogRecordBatch(final Charset encoding) {
+        this.encoder = encoding.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+
+    /**
+     * Formats the record and appends its encoded text to the batch.
+     *
+     * @param formatter
+     * @param record
+     */
+    void add(final Formatter formatter, final GlassFishLogRecord record) {
+        text.setLength(0);
+        if (formatter instanceof GlassFishLogFormatter) {
+            ((GlassFishLogFormatter) formatter).formatRecord(record, text);
+        } else {
+            final String formatted = formatter.format(record);
+            if (formatted != null) {
+                text.append(formatted);
+            }
+        }
+        encode();
+    }
+
+
+    /**
+     * @return count of bytes waiting for the write
+     */
+    int size() {
+        return bytes.position();
+    }
+
+
+    /**
+     * Writes the batch to the log file and clears it.
+     *
+     * @param logFileManager
+     */
+    void writeTo(final LogFileManager logFileManager) {
+        if (bytes.position() == 0) {
+            return;
+        }
+        bytes.flip();
+        try {
+            logFileManager.write(bytes);
+        } finally {
+            if (bytes.capacity() > MAX_RETAINED_BYTE_CAPACITY) {
+                bytes = ByteBuffer.allocate(INITIAL_BYTE_CAPACITY);
+            } else {
+                bytes.clear();
+            }
+        }
+    }
+
+
+    private void encode() {
+        final int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        text.getChars(0, length, chars, 0);
+        charBuffer.clear();
+        charBuffer.limit(length);
+        encoder.reset();
+        while (encoder.encode(charBuffer, bytes, true).isOverflow()) {
+            grow();
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            grow();
+        }
+        if (chars.length > MAX_RETAINED_BYTE_CAPACITY) {
+            chars = new char[INITIAL_CHAR_CAPACITY];
+            charBuffer = CharBuffer.wrap(chars);
+            text.setLength(0);
+            text.trimToSize();
+        }
+    }
+
+
+    private void grow() {
+        final ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+        bytes.flip();
+        larger.put(bytes);
+        bytes = larger;
+    }
+}
@@ -43,7 +43,7 @@ import org.glassfish.main.jul.record.GlassFishLogRecord;
  *
  * @author David Matejcek
  */
-class LogRecordBuffer {
+class LogRecordBuffer implements LogRecordQueue {
 
     private final BlockingQueue<GlassFishLogRecord> pendingRecords = new LinkedBlockingQueue<>();
     private final CapacitySemaphore availableCapacity = new CapacitySemaphore();
@@ -103,6 +103,7 @@ class LogRecordBuffer {
      * @param newMaxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
      *            forever.
      */
+    @Override
     public void reconfigure(final int newCapacity, final int newMaxWait) {
         if (maxWait != newMaxWait) {
             maxWait = newMaxWait;
@@ -130,6 +131,7 @@ class LogRecordBuffer {
     /**
      * @return true if there are not pending records to provide.
      */
+    @Override
     public boolean isEmpty() {
         return pendingRecords.isEmpty();
     }
@@ -138,6 +140,7 @@ class LogRecordBuffer {
     /**
      * @return count of records in the buffer waiting to be processed.
      */
+    @Override
     public int getSize() {
         return pendingRecords.size();
     }
@@ -146,6 +149,7 @@ class LogRecordBuffer {
     /**
      * @return maximal count of records in the buffer waiting to be processed.
      */
+    @Override
     public int getCapacity() {
         return capacity;
     }
@@ -156,6 +160,7 @@ class LogRecordBuffer {
      *
      * @return {@link GlassFishLogRecord} or null if interrupted.
      */
+    @Override
     public GlassFishLogRecord pollOrWait() {
         GlassFishLogRecord logRecord = null;
         try {
@@ -170,6 +175,7 @@ class LogRecordBuffer {
     /**
      * @return null if there are no pending records, first in the buffer otherwise.
      */
+    @Override
     public GlassFishLogRecord poll() {
         GlassFishLogRecord logRecord = pendingRecords.poll();
         if (logRecord != null) {
@@ -184,6 +190,7 @@ class LogRecordBuffer {
      *
      * @param record
      */
+    @Override
     public void add(final GlassFishLogRecord record) {
         if (maxWait > 0) {
             addWithTimeout(record);
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.handler;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+/**
+ * Log records waiting for the {@link LoggingPumpThread}, in the order they were added.
+ * <p>
+ * Implementations limit the count of records to the capacity. When it is full, adding a record
+ * waits for a free capacity, but only for the configured max wait time.
+ */
+interface LogRecordQueue {
+
+    /**
+     * Reconfigures the buffer.
+     *
+     * @param newCapacity capacity of the buffer.
+     * @param newMaxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    void reconfigure(int newCapacity, int newMaxWait);
+
+
+    /**
+     * @return true if there are not pending records to provide.
+     */
+    boolean isEmpty();
+
+
+    /**
+     * @return count of records in the buffer waiting to be processed.
+     */
+    int getSize();
+
+
+    /**
+     * @return maximal count of records in the buffer waiting to be processed.
+     */
+    int getCapacity();
+
+
+    /**
+     * Waits for a record or thread interrupt signal
+     *
+     * @return {@link GlassFishLogRecord} or null if interrupted.
+     */
+    GlassFishLogRecord pollOrWait();
+
+
+    /**
+     * @return null if there are no pending records, first in the buffer otherwise.
+     */
+    GlassFishLogRecord poll();
+
+
+    /**
+     * Adds the record to the buffer.
+     *
+     * @param record
+     */
+    void add(GlassFishLogRecord record);
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.handler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+
+import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
+
+/**
+ * The buffer for log records using a preallocated ring of reusable slots instead of a linked queue,
+ * so adding a record doesn't allocate anything nor acquire any lock.
+ * <p>
+ * The waiting and timeout rules are same as for the {@link LogRecordBuffer}.
+ * The count of slots is the capacity given in the constructor rounded up to a power of two,
+ * the capacity can be reconfigured later just up to this count.
+ */
+class LogRecordRingBuffer implements LogRecordQueue {
+
+    /** Time between checks of the free capacity while a producer waits */
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+
+    private final Slot[] slots;
+    private final int mask;
+
+    /** Sequence of the next record to add */
+    private final AtomicLong tail = new AtomicLong();
+    /** Sequence of the next record to poll */
+    private final AtomicLong head = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Thread waitingConsumer;
+    private volatile int capacity;
+    private volatile int maxWait;
+
+
+    /**
+     * The buffer for log records.
+     *
+     * @param capacity capacity of the buffer.
+     * @param maxWait maximal time in seconds to wait for the free capacity. If &lt; 1, can wait
+     *            forever.
+     */
+    LogRecordRingBuffer(final int capacity, final int maxWait) {
+        final int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.maxWait = maxWait;
+    }
+
+
+    @Override
+    public void reconfigure(final int newCapacity, final int newMaxWait) {
+        maxWait = newMaxWait;
+        if (newCapacity > slots.length) {
+            trace(getClass(), () -> "The capacity " + newCapacity + " is limited to " + slots.length
+                + " preallocated slots until the handler is created again.");
+        }
+        capacity = Math.min(newCapacity, slots.length);
+    }
+
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+
+    @Override
+    public int getSize() {
+        final long size = tail.get() - head.get();
+        return size <= 0 ? 0 : (int) Math.min(size, slots.length);
+    }
+
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    @Override
+    public GlassFishLogRecord pollOrWait() {
+        while (true) {
+            final GlassFishLogRecord logRecord = poll();
+            if (logRecord != null) {
+                return logRecord;
+            }
+            waitingConsumer = Thread.currentThread();
+            try {
+                if (isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    // a producer claimed the slot, but didn't publish the record yet
+                    Thread.yield();
+                }
+            } finally {
+                waitingConsumer = null;
+            }
+            if (Thread.interrupted()) {
+                return null;
+            }
+        }
+    }
+
+
+    @Override
+    public GlassFishLogRecord poll() {
+        while (true) {
+            final long sequence = head.get();
+            final Slot slot = slots[(int) sequence & mask];
+            final long published = slot.sequence;
+            if (published < sequence + 1) {
+                // nothing published in this slot yet
+                return null;
+            }
+            if (published == sequence + 1 && head.compareAndSet(sequence, sequence + 1)) {
+                final GlassFishLogRecord logRecord = slot.record;
+                slot.record = null;
+                // free the slot for the record coming one round later
+                slot.sequence = sequence + slots.length;
+                return logRecord;
+            }
+        }
+    }
+
+
+    @Override
+    public void add(final GlassFishLogRecord record) {
+        if (offer(record)) {
+            return;
+        }
+        final int timeout = maxWait;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+        Thread.yield();
+        while (!offer(record)) {
+            if (timeout > 0 && System.nanoTime() - deadline >= 0) {
+                clearAndAdd(record);
+                return;
+            }
+            LockSupport.parkNanos(this, WAIT_NANOS);
+            if (Thread.currentThread().isInterrupted()) {
+                // the record is dropped, same as by the LogRecordBuffer
+                return;
+            }
+        }
+    }
+
+
+    private boolean offer(final GlassFishLogRecord record) {
+        while (true) {
+            final long sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return false;
+            }
+            final Slot slot = slots[(int) sequence & mask];
+            if (slot.sequence != sequence) {
+                // the consumer didn't free it yet or another producer was faster
+                if (slot.sequence < sequence) {
+                    return false;
+                }
+                continue;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slot.record = record;
+                slot.sequence = sequence + 1;
+                final Thread consumer = waitingConsumer;
+                if (consumer != null) {
+                    LockSupport.unpark(consumer);
+                }
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * This prevents deadlock - when the waiting is not successful, it forcibly drops all waiting records.
+     * Logs an error after that.
+     */
+    private void clearAndAdd(final GlassFishLogRecord record) {
+        lock.lock();
+        try {
+            if (offer(record)) {
+                return;
+            }
+            while (poll() != null) {
+                // drop all records
+            }
+            // Note: the record is not meaningful for the message. The cause is in another place.
+            offer(new GlassFishLogRecord(Level.SEVERE, //
+                this + ": The buffer was forcibly cleared after " + maxWait + " s timeout for adding another log record." //
+                    + " Log records were lost." //
+                    + " It might be caused by a recursive deadlock," //
+                    + " you can increase the capacity or the timeout to avoid this.", false));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "@" + Integer.toHexString(hashCode()) + "[usage=" + getSize() + "/"
+            + getCapacity() + ", maxWaitTime=" + maxWait + " s]";
+    }
+
+
+    /**
+     * Reusable slot of the ring. The sequence equals to the sequence of the next record to add
+     * when the slot is free, and to that sequence plus one when the record was published.
+     */
+    private static final class Slot {
+
+        private volatile long sequence;
+        private GlassFishLogRecord record;
+
+        Slot(final long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
@@ -25,16 +25,16 @@ import static org.glassfish.main.jul.tracing.GlassFishLoggingTracer.trace;
 
 /**
  * The logging pump is a special thread with high priority, processing {@link GlassFishLogRecord}
- * instances in the {@link LogRecordBuffer} of the {@link Handler}
+ * instances in the {@link LogRecordQueue} of the {@link Handler}
  *
  * @author David Matejcek
  */
 abstract class LoggingPumpThread extends Thread {
 
-    private final LogRecordBuffer buffer;
+    private final LogRecordQueue buffer;
 
 
-    protected LoggingPumpThread(final String threadName, final LogRecordBuffer buffer) {
+    protected LoggingPumpThread(final String threadName, final LogRecordQueue buffer) {
         super(threadName);
         setDaemon(true);
         setPriority(Thread.MAX_PRIORITY);
@@ -49,7 +49,8 @@ abstract class LoggingPumpThread extends Thread {
 
 
     /**
-     * @return count of records processed until the {@link #flushOutput()} is called.
+     * @return maximal count of records processed until the {@link #flushOutput()} is called.
+     *         The pump flushes sooner when the buffer has no more records.
      */
     protected abstract int getFlushFrequency();
 
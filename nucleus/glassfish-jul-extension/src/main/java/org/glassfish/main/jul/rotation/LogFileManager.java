@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.System.Logger;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
@@ -108,6 +109,30 @@ public class LogFileManager {
     }
 
 
+    /**
+     * Writes already encoded bytes to the log file.
+     * The bytes must use the file encoding given in constructor.
+     *
+     * @param bytes remaining bytes of the buffer are written, the position is moved to its limit.
+     * @throws IllegalStateException if the output is disabled.
+     */
+    public void write(ByteBuffer bytes) throws IllegalStateException {
+        lock.lock();
+        try {
+            if (!isOutputEnabled()) {
+                throw new IllegalStateException("The file output is disabled!");
+            }
+            try {
+                writer.write(bytes);
+            } catch (Exception e) {
+                GlassFishLoggingTracer.error(getClass(), "Could not write to the output stream.", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
     /**
      * Flushed the file writer and if the file is too large, rolls the file.
      */
@@ -16,7 +16,9 @@
 
 package org.glassfish.main.jul.rotation;
 
+import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 
@@ -47,6 +49,25 @@ class MeteredFileWriter extends OutputStreamWriter {
     }
 
 
+    /**
+     * Writes already encoded bytes after characters written before.
+     *
+     * @param bytes remaining bytes of the buffer are written, the position is moved to its limit.
+     * @throws IOException
+     */
+    public void write(final ByteBuffer bytes) throws IOException {
+        flush();
+        if (bytes.hasArray()) {
+            output.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+        } else {
+            final byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            output.write(copy);
+        }
+    }
+
+
     /**
      * @return count of bytes written by this stream instance plus number given in constructor
      */
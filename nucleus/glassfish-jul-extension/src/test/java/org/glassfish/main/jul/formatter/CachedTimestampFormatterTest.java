@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.formatter;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.ISO_LOCAL_DATE_TIME;
+import static org.glassfish.main.jul.formatter.GlassFishLogFormatter.ISO_LOCAL_TIME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class CachedTimestampFormatterTest {
+
+    private static final long MILLIS = 1_700_000_000_123L;
+
+    @Test
+    public void microseconds() {
+        verify(ISO_LOCAL_TIME);
+        verify(ISO_LOCAL_DATE_TIME);
+        verify(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSZ"));
+    }
+
+
+    @Test
+    public void milliseconds() {
+        verify(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+        verify(DateTimeFormatter.ofPattern("HH:mm:ss"));
+    }
+
+
+    @Test
+    public void nanoseconds() {
+        verify(DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSSSSS"));
+    }
+
+
+    @Test
+    public void variableLength() {
+        verify(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+
+    private static void verify(final DateTimeFormatter formatter) {
+        final CachedTimestampFormatter cache = new CachedTimestampFormatter(formatter);
+        final int[] nanos = {0, 1, 999, 1_000, 456_789, 500_000, 999_999, 7, 0};
+        for (final int nano : nanos) {
+            final GlassFishLogRecord record = new GlassFishLogRecord(Level.INFO, "message", false);
+            record.setInstant(Instant.ofEpochMilli(MILLIS).plusNanos(nano));
+            final StringBuilder output = new StringBuilder("prefix:");
+            cache.formatTo(record, output);
+            assertThat(output.toString(), equalTo("prefix:" + formatter.format(record.getTime())));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.main.jul.handler;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.glassfish.main.jul.record.GlassFishLogRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogRecordRingBufferTest {
+
+    @Test
+    public void fifo() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(3, 0);
+        final GlassFishLogRecord first = createRecord("first");
+        final GlassFishLogRecord second = createRecord("second");
+        buffer.add(first);
+        buffer.add(second);
+        assertAll(
+            () -> assertThat(buffer.getSize(), equalTo(2)),
+            () -> assertThat(buffer.getCapacity(), equalTo(3)),
+            () -> assertSame(first, buffer.poll()),
+            () -> assertSame(second, buffer.pollOrWait()),
+            () -> assertNull(buffer.poll()),
+            () -> assertTrue(buffer.isEmpty(), "isEmpty")
+        );
+    }
+
+
+    @Test
+    public void clearedAfterTimeout() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(2, 1);
+        buffer.add(createRecord("first"));
+        buffer.add(createRecord("second"));
+        final long start = System.nanoTime();
+        buffer.add(createRecord("third"));
+        final long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertAll(
+            () -> assertTrue(waited >= 1000L, "waited " + waited + " ms"),
+            () -> assertThat(buffer.getSize(), equalTo(1)),
+            () -> assertThat(buffer.poll().getMessage(), containsString("The buffer was forcibly cleared")),
+            () -> assertNull(buffer.poll())
+        );
+    }
+
+
+    @Test
+    public void capacityLimitedBySlots() {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(5, 0);
+        buffer.reconfigure(100, 0);
+        assertThat(buffer.getCapacity(), equalTo(8));
+        buffer.reconfigure(2, 0);
+        buffer.add(createRecord("first"));
+        buffer.add(createRecord("second"));
+        assertThat(buffer.getSize(), equalTo(2));
+    }
+
+
+    @Test
+    public void waitingConsumerWokenByProducer() throws Exception {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(4, 0);
+        final AtomicReference<GlassFishLogRecord> polled = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread consumer = new Thread(() -> {
+            polled.set(buffer.pollOrWait());
+            done.countDown();
+        });
+        consumer.start();
+        Thread.sleep(50L);
+        final GlassFishLogRecord record = createRecord("record");
+        buffer.add(record);
+        assertTrue(done.await(5L, TimeUnit.SECONDS), "consumer finished");
+        assertSame(record, polled.get());
+    }
+
+
+    @Test
+    public void concurrentProducers() throws Exception {
+        final LogRecordRingBuffer buffer = new LogRecordRingBuffer(16, 0);
+        final int producers = 8;
+        final int recordsPerProducer = 10_000;
+        final Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            final int producer = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < recordsPerProducer; j++) {
+                    buffer.add(createRecord(producer + ":" + j));
+                }
+            });
+            threads[i].start();
+        }
+        final Set<String> messages = new HashSet<>();
+        for (int i = 0; i < producers * recordsPerProducer; i++) {
+            messages.add(buffer.pollOrWait().getMessage());
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertAll(
+            () -> assertThat(messages.size(), equalTo(producers * recordsPerProducer)),
+            () -> assertTrue(buffer.isEmpty(), "isEmpty")
+        );
+    }
+
+
+    private static GlassFishLogRecord createRecord(final String message) {
+        return new GlassFishLogRecord(Level.INFO, message, false);
+    }
+}
@@ -47,6 +47,8 @@ public abstract class AbstractGlassFishRealmState implements Comparable<Realm>
 
     protected GroupMapper groupMapper;
 
+    private volatile RealmAuthenticationCache authenticationCache;
+
 
     /**
      * The default the constructor creates a realm which will later be initialized,
@@ -121,6 +123,47 @@ public abstract class AbstractGlassFishRealmState implements Comparable<Realm>
         return resultGroups;
     }
 
+    /**
+     * Creates the authentication cache configured by the {@link RealmAuthenticationCache} properties.
+     * To be called by the realms using the cache from their init method.
+     *
+     * @param properties initialization parameters of the realm
+     * @exception BadRealmException if the cache properties are not valid
+     */
+    protected void initAuthenticationCache(Properties properties) throws BadRealmException {
+        authenticationCache = RealmAuthenticationCache.create(realmName, properties);
+        if (authenticationCache == null) {
+            return;
+        }
+
+        for (String name : new String[] { RealmAuthenticationCache.PARAM_TTL, RealmAuthenticationCache.PARAM_NEGATIVE_TTL,
+            RealmAuthenticationCache.PARAM_MAX_ENTRIES }) {
+            String value = properties.getProperty(name);
+            if (value != null) {
+                setProperty(name, value);
+            }
+        }
+    }
+
+    /**
+     * @return the authentication cache of this realm, null if it is not enabled
+     */
+    protected RealmAuthenticationCache getAuthenticationCache() {
+        return authenticationCache;
+    }
+
+    /**
+     * Removes the cached authentication results of the user, or of all users, so that
+     * changes of their passwords or groups in the user store are visible.
+     *
+     * @param username name of the user, null for all users
+     * @return number of removed entries
+     */
+    public int clearAuthenticationCache(String username) {
+        RealmAuthenticationCache cache = authenticationCache;
+        return cache == null ? 0 : cache.clear(username);
+    }
+
     protected ArrayList<String> getMappedGroupNames(String group) {
         if (groupMapper == null) {
             return null;
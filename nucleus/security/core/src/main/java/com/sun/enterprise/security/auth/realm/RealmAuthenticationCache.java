@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.auth.realm;
+
+import com.sun.appserv.util.cache.ConcurrentCache;
+import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.security.auth.login.FailedLoginException;
+import javax.security.auth.login.LoginException;
+
+/**
+ * Cache of the authentication results of a realm, so clients sending their credentials with every
+ * request do not reach the user store each time.
+ * <p>
+ * Entries are keyed by the user name and a salted SHA-256 hash of the password, the password itself
+ * is never kept. The salt is random for every cache, so the hashes are useless outside of it.
+ * Successful authentications are cached with their groups for {@value #PARAM_TTL} seconds, rejected
+ * credentials for {@value #PARAM_NEGATIVE_TTL} seconds. Errors of the user store are never cached.
+ * The cache holds at most {@value #PARAM_MAX_ENTRIES} entries evicted by CLOCK, lookups take no lock.
+ * <p>
+ * Hits, misses, negative hits and evictions are reported through the {@link RealmsProbeProvider}
+ * to the {@link RealmStatsProvider}.
+ */
+public final class RealmAuthenticationCache {
+
+    /** Seconds a successful authentication is cached, the cache is disabled if not positive. */
+    public static final String PARAM_TTL = "auth-cache-ttl";
+    /** Seconds rejected credentials are cached, they are not cached if not positive. */
+    public static final String PARAM_NEGATIVE_TTL = "auth-cache-negative-ttl";
+    /** Maximum number of cached users and credentials. */
+    public static final String PARAM_MAX_ENTRIES = "auth-cache-max-entries";
+
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final int SALT_LENGTH = 16;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final RealmsProbeProvider PROBE_PROVIDER = new RealmsProbeProvider();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final String realmName;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final byte[] salt = new byte[SALT_LENGTH];
+    private final ConcurrentCache cache = new ConcurrentCache();
+
+    // incremented by every invalidation, results computed before it are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param realmName name of the realm reported to the statistics
+     * @param ttlMillis time a successful authentication is cached
+     * @param negativeTtlMillis time rejected credentials are cached, not cached if not positive
+     * @param maxEntries maximum number of cached entries
+     */
+    public RealmAuthenticationCache(String realmName, long ttlMillis, long negativeTtlMillis, int maxEntries) {
+        this.realmName = realmName;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        new SecureRandom().nextBytes(salt);
+        cache.init(maxEntries, null);
+        cache.addCacheListener((key, value) -> PROBE_PROVIDER.authenticationCacheEvictionEvent(realmName));
+    }
+
+    /**
+     * Creates the cache configured by the realm properties.
+     *
+     * @param realmName name of the realm
+     * @param props realm properties
+     * @return the cache, null if {@value #PARAM_TTL} is not set or not positive
+     * @throws BadRealmException if a property is not a number
+     */
+    public static RealmAuthenticationCache create(String realmName, Properties props) throws BadRealmException {
+        int ttl = getInt(props, PARAM_TTL, 0);
+        if (ttl <= 0) {
+            return null;
+        }
+        int negativeTtl = getInt(props, PARAM_NEGATIVE_TTL, 0);
+        return new RealmAuthenticationCache(realmName, TimeUnit.SECONDS.toMillis(ttl), TimeUnit.SECONDS.toMillis(negativeTtl),
+            getMaxEntries(props));
+    }
+
+    /**
+     * @param props realm properties
+     * @return value of {@value #PARAM_MAX_ENTRIES}, or its default
+     * @throws BadRealmException if the property is not a positive number
+     */
+    public static int getMaxEntries(Properties props) throws BadRealmException {
+        int maxEntries = getInt(props, PARAM_MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+        if (maxEntries <= 0) {
+            throw new BadRealmException(MessageFormat.format("Invalid value {0} of property {1}.", maxEntries, PARAM_MAX_ENTRIES));
+        }
+        return maxEntries;
+    }
+
+    /**
+     * Returns the cached result of the authentication, or authenticates the user and caches the result.
+     * <p>
+     * The authentication rejects the credentials by returning null or by throwing
+     * a {@link FailedLoginException}, both are cached if negative caching is enabled. Any other
+     * {@link LoginException} is an error of the user store, it is thrown to the caller and not cached.
+     *
+     * @param username name of the user
+     * @param password password of the user
+     * @param authentication authenticates the user in the user store
+     * @return groups of the user, null if the credentials were rejected without an exception
+     * @throws FailedLoginException if the credentials were rejected with this exception
+     * @throws LoginException if the authentication failed
+     */
+    public String[] authenticate(String username, char[] password, Authentication authentication) throws LoginException {
+        Key key = new Key(username, hash(password));
+        Result cached = (Result) cache.get(key);
+        if (cached != null) {
+            if (cached.expires - System.nanoTime() > 0) {
+                return cached.get(realmName);
+            }
+            cache.remove(key, cached);
+        }
+
+        PROBE_PROVIDER.authenticationCacheMissEvent(realmName);
+        long started = generation.get();
+        String[] groups;
+        try {
+            groups = authentication.authenticate();
+        } catch (FailedLoginException e) {
+            cache(key, null, e.getMessage(), negativeTtlNanos, started);
+            throw e;
+        }
+        if (groups == null) {
+            cache(key, null, null, negativeTtlNanos, started);
+        } else {
+            cache(key, groups.clone(), null, ttlNanos, started);
+        }
+        return groups;
+    }
+
+    /**
+     * Removes the cached results of the user, or of all users.
+     *
+     * @param username name of the user, null to clear the whole cache
+     * @return number of removed entries
+     */
+    public int clear(String username) {
+        generation.incrementAndGet();
+        if (username == null) {
+            return cache.clear();
+        }
+        List<Object> keys = new ArrayList<>();
+        for (Iterator<?> iterator = cache.keys(); iterator.hasNext();) {
+            Object key = iterator.next();
+            if (username.equals(((Key) key).username)) {
+                keys.add(key);
+            }
+        }
+        int count = 0;
+        for (Object key : keys) {
+            if (cache.remove(key) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public int getEntryCount() {
+        return cache.getEntryCount();
+    }
+
+    private void cache(Key key, String[] groups, String failure, long ttl, long started) {
+        if (ttl <= 0) {
+            return;
+        }
+        Result result = new Result(groups, failure, System.nanoTime() + ttl);
+        cache.put(key, result);
+        if (generation.get() != started) {
+            // invalidated while authenticating, the result might be stale
+            cache.remove(key, result);
+        }
+    }
+
+    private byte[] hash(char[] password) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        digest.update(salt);
+        digest.update(bytes.duplicate());
+        byte[] hash = digest.digest();
+        if (bytes.hasArray()) {
+            Arrays.fill(bytes.array(), (byte) 0);
+        }
+        return hash;
+    }
+
+    private static int getInt(Properties props, String name, int defaultValue) throws BadRealmException {
+        String value = props.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRealmException(MessageFormat.format("Invalid value {0} of property {1}.", value, name));
+        }
+    }
+
+    /**
+     * Authentication of a user in the user store of the realm.
+     */
+    @FunctionalInterface
+    public interface Authentication {
+
+        /**
+         * @return groups of the user, null if the credentials were rejected
+         * @throws FailedLoginException if the credentials were rejected
+         * @throws LoginException if the user store failed
+         */
+        String[] authenticate() throws LoginException;
+    }
+
+    private static final class Key {
+
+        private final String username;
+        private final byte[] hash;
+        private final int hashCode;
+
+        Key(String username, byte[] hash) {
+            this.username = username;
+            this.hash = hash;
+            this.hashCode = 31 * username.hashCode() + Arrays.hashCode(hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return username.equals(other.username) && MessageDigest.isEqual(hash, other.hash);
+        }
+    }
+
+    private static final class Result {
+
+        private final String[] groups;
+        private final String failure;
+        private final long expires;
+
+        Result(String[] groups, String failure, long expires) {
+            this.groups = groups;
+            this.failure = failure;
+            this.expires = expires;
+        }
+
+        String[] get(String realmName) throws FailedLoginException {
+            if (groups != null) {
+                PROBE_PROVIDER.authenticationCacheHitEvent(realmName);
+                return groups.clone();
+            }
+            PROBE_PROVIDER.authenticationCacheNegativeHitEvent(realmName);
+            if (failure != null) {
+                throw new FailedLoginException(failure);
+            }
+            return null;
+        }
+    }
+}
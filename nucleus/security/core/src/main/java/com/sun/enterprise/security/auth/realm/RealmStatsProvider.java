@@ -35,9 +35,21 @@ import org.glassfish.gmbal.ManagedObject;
 public class RealmStatsProvider {
 
     private CountStatisticImpl realmCount;
+    private CountStatisticImpl authenticationCacheHitCount;
+    private CountStatisticImpl authenticationCacheNegativeHitCount;
+    private CountStatisticImpl authenticationCacheMissCount;
+    private CountStatisticImpl authenticationCacheEvictionCount;
 
     public RealmStatsProvider() {
         realmCount = new CountStatisticImpl("RealmCount", "realm", "No of Realms");
+        authenticationCacheHitCount = new CountStatisticImpl("AuthenticationCacheHitCount", "count",
+            "No of authentications served by the realm caches");
+        authenticationCacheNegativeHitCount = new CountStatisticImpl("AuthenticationCacheNegativeHitCount", "count",
+            "No of rejected credentials served by the realm caches");
+        authenticationCacheMissCount = new CountStatisticImpl("AuthenticationCacheMissCount", "count",
+            "No of authentications not found in the realm caches");
+        authenticationCacheEvictionCount = new CountStatisticImpl("AuthenticationCacheEvictionCount", "count",
+            "No of entries evicted from the realm caches");
     }
 
     @ManagedAttribute
@@ -46,6 +58,30 @@ public class RealmStatsProvider {
         return realmCount;
     }
 
+    @ManagedAttribute
+    @Description("Authentications served by the realm caches")
+    public CountStatistic getAuthenticationCacheHitCount() {
+        return authenticationCacheHitCount;
+    }
+
+    @ManagedAttribute
+    @Description("Rejected credentials served by the realm caches")
+    public CountStatistic getAuthenticationCacheNegativeHitCount() {
+        return authenticationCacheNegativeHitCount;
+    }
+
+    @ManagedAttribute
+    @Description("Authentications not found in the realm caches")
+    public CountStatistic getAuthenticationCacheMissCount() {
+        return authenticationCacheMissCount;
+    }
+
+    @ManagedAttribute
+    @Description("Entries evicted from the realm caches")
+    public CountStatistic getAuthenticationCacheEvictionCount() {
+        return authenticationCacheEvictionCount;
+    }
+
     @ProbeListener("glassfish:security:realm:realmAddedEvent")
     public void realmAddedEvent(@ProbeParam("realmName") String realmName) {
         realmCount.increment();
@@ -56,4 +92,24 @@ public class RealmStatsProvider {
         realmCount.decrement();
     }
 
+    @ProbeListener("glassfish:security:realm:authenticationCacheHitEvent")
+    public void authenticationCacheHitEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheHitCount.increment();
+    }
+
+    @ProbeListener("glassfish:security:realm:authenticationCacheNegativeHitEvent")
+    public void authenticationCacheNegativeHitEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheNegativeHitCount.increment();
+    }
+
+    @ProbeListener("glassfish:security:realm:authenticationCacheMissEvent")
+    public void authenticationCacheMissEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheMissCount.increment();
+    }
+
+    @ProbeListener("glassfish:security:realm:authenticationCacheEvictionEvent")
+    public void authenticationCacheEvictionEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheEvictionCount.increment();
+    }
+
 }
@@ -35,4 +35,20 @@ public class RealmsProbeProvider {
     public void realmRemovedEvent(@ProbeParam("realmName") String realmName) {
     }
 
+    @Probe(name = "authenticationCacheHitEvent")
+    public void authenticationCacheHitEvent(@ProbeParam("realmName") String realmName) {
+    }
+
+    @Probe(name = "authenticationCacheNegativeHitEvent")
+    public void authenticationCacheNegativeHitEvent(@ProbeParam("realmName") String realmName) {
+    }
+
+    @Probe(name = "authenticationCacheMissEvent")
+    public void authenticationCacheMissEvent(@ProbeParam("realmName") String realmName) {
+    }
+
+    @Probe(name = "authenticationCacheEvictionEvent")
+    public void authenticationCacheEvictionEvent(@ProbeParam("realmName") String realmName) {
+    }
+
 }
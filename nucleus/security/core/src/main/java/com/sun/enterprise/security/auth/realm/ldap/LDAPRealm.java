@@ -18,6 +18,7 @@
 package com.sun.enterprise.security.auth.realm.ldap;
 
 import com.sun.enterprise.security.auth.realm.Realm;
+import com.sun.enterprise.security.auth.realm.RealmAuthenticationCache;
 import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
 import com.sun.enterprise.security.auth.realm.exceptions.InvalidOperationException;
 import com.sun.enterprise.security.auth.realm.exceptions.NoSuchRealmException;
@@ -26,13 +27,14 @@ import com.sun.enterprise.security.auth.realm.exceptions.NoSuchUserException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 
+import javax.naming.AuthenticationException;
 import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.InvalidNameException;
@@ -45,6 +47,7 @@ import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
 import javax.naming.ldap.LdapName;
 import javax.naming.ldap.Rdn;
+import javax.security.auth.login.FailedLoginException;
 import javax.security.auth.login.LoginException;
 
 import org.glassfish.internal.api.RelativePathResolver;
@@ -91,6 +94,8 @@ import static javax.naming.directory.SearchControls.SUBTREE_SCOPE;
  *   <li>search-bind-dn - The dn of ldap user. optional and no default value.
  *   <li>search-bind-password - The password of search-bind-dn.optional and no default value.
  *   <li>pool-size - The JNDI ldap connection pool size.
+ *   <li>auth-cache-ttl - Seconds the results of the authentications are cached, see {@link RealmAuthenticationCache}
+ *       for the other cache properties. By default the results are not cached.
  * </ul>
  *
  * @see com.sun.enterprise.security.auth.login.LDAPLoginModule
@@ -159,7 +164,7 @@ public final class LDAPRealm extends Realm {
 
     public static final String SSL = "SSL";
 
-    private HashMap<String, Vector<String>> groupCache;
+    private ConcurrentHashMap<String, Vector<String>> groupCache;
     private Vector<String> emptyVector;
     private final Properties ldapBindProps = new Properties();
 
@@ -299,7 +304,8 @@ public final class LDAPRealm extends Realm {
             _logger.log(FINE, "LDAPRealm : " + tempProps);
         }
 
-        groupCache = new HashMap<>();
+        initAuthenticationCache(props);
+        groupCache = new ConcurrentHashMap<>();
         emptyVector = new Vector<>();
     }
 
@@ -361,11 +367,50 @@ public final class LDAPRealm extends Realm {
         groupCache.put(username, groupNames);
     }
 
+    /**
+     * Removes the cached authentication results and groups of the user, or of all users.
+     *
+     * @param username name of the user, null for all users
+     * @return number of removed authentication results
+     */
+    @Override
+    public int clearAuthenticationCache(String username) {
+        if (username == null) {
+            groupCache.clear();
+        } else {
+            groupCache.remove(username);
+        }
+        return super.clearAuthenticationCache(username);
+    }
+
     /**
      * Supports mode=find-bind. See class documentation.
      *
      */
     public String[] findAndBind(String _username, char[] _password) throws LoginException {
+        RealmAuthenticationCache cache = getAuthenticationCache();
+        String[] groups;
+        if (cache == null) {
+            groups = bind(_username, _password);
+        } else {
+            groups = cache.authenticate(_username, _password, () -> bind(_username, _password));
+        }
+        setGroupNames(_username, groups);
+
+        if (_logger.isLoggable(FINE)) {
+            _logger.log(FINE, "LDAP: login succeeded for: " + _username);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Searches and binds the user and returns the groups of the user.
+     *
+     * @throws FailedLoginException if the user was not found or the directory rejected the password
+     * @throws LoginException if the directory failed
+     */
+    private String[] bind(String _username, char[] _password) throws LoginException {
         // Do search for user, substituting %s for username
         _username = RFC2254Encode(_username);
 
@@ -384,12 +429,12 @@ public final class LDAPRealm extends Realm {
             ctx = new InitialDirContext(getLdapBindProps());
             String realUserDN = userSearch(ctx, getProperty(PARAM_USERDN), userid);
             if (realUserDN == null) {
-                throw new LoginException(MessageFormat.format("User {0} not found.", _username));
+                throw new FailedLoginException(MessageFormat.format("User {0} not found.", _username));
             }
 
             boolean bindSuccessful = bindAsUser(realUserDN, _password);
             if (bindSuccessful == false) {
-                throw new LoginException(MessageFormat.format("LDAP bind failed for {0}.", realUserDN));
+                throw new FailedLoginException(MessageFormat.format("LDAP bind failed for {0}.", realUserDN));
             }
 
             // Search groups using above connection, substituting %d (and %s)
@@ -411,7 +456,7 @@ public final class LDAPRealm extends Realm {
             groups = new String[groupsList.size()];
             groupsList.toArray(groups);
         } catch (Exception e) {
-            LoginException le = new LoginException(e.toString());
+            LoginException le = e instanceof FailedLoginException ? new FailedLoginException(e.toString()) : new LoginException(e.toString());
             le.initCause(e);
             _logger.log(SEVERE, "ldaprealm.exception", le);
             throw le;
@@ -441,14 +486,7 @@ public final class LDAPRealm extends Realm {
         }
 
         groups = addAssignGroups(groups);
-        groups = this.addMappedGroupNames(groups);
-        setGroupNames(_username, groups);
-
-        if (_logger.isLoggable(FINE)) {
-            _logger.log(FINE, "LDAP: login succeeded for: " + _username);
-        }
-
-        return groups;
+        return this.addMappedGroupNames(groups);
     }
 
     private String[] addMappedGroupNames(String[] groups) {
@@ -543,7 +581,7 @@ public final class LDAPRealm extends Realm {
      * Do anonymous search for the user. Should be unique if exists.
      *
      */
-    private String userSearch(DirContext ctx, String baseDN, String filter) {
+    private String userSearch(DirContext ctx, String baseDN, String filter) throws NamingException {
         if (_logger.isLoggable(FINEST)) {
             _logger.log(FINE, "search: baseDN: " + baseDN + "  filter: " + filter);
         }
@@ -578,10 +616,11 @@ public final class LDAPRealm extends Realm {
                 return foundDN;
             }
             return null;
-        } catch (Exception e) {
+        } catch (NamingException e) {
+            // Not a missing user, so the failure is not cached as a rejection
             _logger.log(WARNING, "ldaprealm.searcherror", filter);
             _logger.log(WARNING, "security.exception", e);
-            return null;
+            throw e;
         } finally {
             if (namingEnum != null) {
                 try {
@@ -595,8 +634,10 @@ public final class LDAPRealm extends Realm {
     /**
      * Attempt to bind as a specific DN.
      *
+     * @return false if the directory rejected the credentials
+     * @throws LoginException if the directory failed, so the result must not be cached as a rejection
      */
-    private boolean bindAsUser(String bindDN, char[] password) {
+    private boolean bindAsUser(String bindDN, char[] password) throws LoginException {
         boolean bindSuccessful = false;
 
         Properties ldapProperties = getLdapBindProps();
@@ -608,11 +649,15 @@ public final class LDAPRealm extends Realm {
         try {
             ctx = new InitialDirContext(ldapProperties);
             bindSuccessful = true;
-        } catch (Exception e) {
+        } catch (AuthenticationException e) {
             if (_logger.isLoggable(FINEST)) {
                 _logger.finest("Error binding to directory as: " + bindDN);
                 _logger.finest("Exception from JNDI: " + e.toString());
             }
+        } catch (NamingException e) {
+            LoginException le = new LoginException(MessageFormat.format("LDAP bind as {0} failed: {1}", bindDN, e));
+            le.initCause(e);
+            throw le;
         } finally {
             if (ctx != null) {
                 try {
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.cli;
+
+import com.sun.enterprise.config.serverbeans.AuthRealm;
+import com.sun.enterprise.config.serverbeans.Config;
+import com.sun.enterprise.config.serverbeans.Domain;
+import com.sun.enterprise.security.auth.realm.Realm;
+import com.sun.enterprise.security.auth.realm.RealmsManager;
+import com.sun.enterprise.util.LocalStringManagerImpl;
+import com.sun.enterprise.util.SystemPropertyConstants;
+
+import jakarta.inject.Inject;
+
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.I18n;
+import org.glassfish.api.Param;
+import org.glassfish.api.admin.AccessRequired;
+import org.glassfish.api.admin.AdminCommand;
+import org.glassfish.api.admin.AdminCommandContext;
+import org.glassfish.api.admin.AdminCommandSecurity;
+import org.glassfish.api.admin.CommandLock;
+import org.glassfish.api.admin.ExecuteOn;
+import org.glassfish.api.admin.RestEndpoint;
+import org.glassfish.api.admin.RestEndpoints;
+import org.glassfish.api.admin.RestParam;
+import org.glassfish.api.admin.RuntimeType;
+import org.glassfish.config.support.CommandTarget;
+import org.glassfish.config.support.TargetType;
+import org.glassfish.hk2.api.PerLookup;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Flush Realm Cache Command Usage: flush-realm-cache [--authrealmname authrealm_name] [--username user_name] [target(Default
+ * server)]
+ * <p>
+ * Removes the cached authentication results of a realm on the DAS and the instances of the target, so that changes
+ * of passwords and groups in the user store take effect before the entries expire.
+ */
+@Service(name = "flush-realm-cache")
+@PerLookup
+@CommandLock(CommandLock.LockType.NONE)
+@I18n("flush.realm.cache")
+@ExecuteOn({ RuntimeType.DAS, RuntimeType.INSTANCE })
+@TargetType({ CommandTarget.DAS, CommandTarget.STANDALONE_INSTANCE, CommandTarget.CLUSTER, CommandTarget.CLUSTERED_INSTANCE,
+    CommandTarget.CONFIG })
+@RestEndpoints({
+    @RestEndpoint(configBean = AuthRealm.class, opType = RestEndpoint.OpType.POST, path = "flush-cache", description = "Flush Cache", params = {
+        @RestParam(name = "authrealmname", value = "$parent") }) })
+public class FlushRealmCache implements AdminCommand, AdminCommandSecurity.Preauthorization {
+
+    final private static LocalStringManagerImpl localStrings = new LocalStringManagerImpl(FlushRealmCache.class);
+
+    @Param(name = "authrealmname", optional = true)
+    private String authRealmName;
+
+    @Param(name = "username", optional = true)
+    private String userName;
+
+    @Param(name = "target", primary = true, optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
+    private String target;
+
+    @Inject
+    private Domain domain;
+
+    @Inject
+    private RealmsManager realmsManager;
+
+    @AccessRequired.To("update")
+    private AuthRealm authRealm;
+
+    private Config config;
+
+    @Override
+    public boolean preAuthorization(AdminCommandContext context) {
+        config = CLIUtil.chooseConfig(domain, target, context.getActionReport());
+        if (config == null) {
+            return false;
+        }
+        authRealm = CLIUtil.findRealm(config.getSecurityService(), authRealmName);
+        if (authRealm == null) {
+            final ActionReport report = context.getActionReport();
+            report.setMessage(localStrings.getLocalString("flush.realm.cache.realmnotfound", "Authrealm named {0} not found.", authRealmName));
+            report.setActionExitCode(ActionReport.ExitCode.FAILURE);
+            return false;
+        }
+        /*
+         * The realm might have been defaulted, so capture the actual name.
+         */
+        authRealmName = authRealm.getName();
+        return true;
+    }
+
+    /**
+     * Executes the command with the command parameters passed as Properties where the keys are the paramter names and the values the
+     * parameter values
+     *
+     * @param context information
+     */
+    @Override
+    public void execute(AdminCommandContext context) {
+        final ActionReport report = context.getActionReport();
+
+        // a realm which was not loaded yet has nothing cached
+        Realm realm = realmsManager.getFromLoadedRealms(config.getName(), authRealmName);
+        int count = realm == null ? 0 : realm.clearAuthenticationCache(userName);
+
+        report.setMessage(localStrings.getLocalString("flush.realm.cache.success", "Removed {0} cached authentications of realm {1}.",
+            count, authRealmName));
+        report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.enterprise.security.auth.realm;
+
+import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.security.auth.login.FailedLoginException;
+import javax.security.auth.login.LoginException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RealmAuthenticationCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void cachesSuccessfulAuthentication() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 0L, 100);
+        String[] first = cache.authenticate("alice", "secret".toCharArray(), () -> groups("staff"));
+        first[0] = "modified";
+        String[] second = cache.authenticate("alice", "secret".toCharArray(), () -> groups("admin"));
+        cache.authenticate("alice", "other".toCharArray(), () -> groups("admin"));
+
+        assertAll(
+            () -> assertThat(second, arrayContaining("staff")),
+            () -> assertThat(calls.get(), equalTo(2)),
+            () -> assertThat(cache.getEntryCount(), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void cachesRejectedCredentials() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 60_000L, 100);
+        assertThat(cache.authenticate("alice", "wrong".toCharArray(), this::reject), nullValue());
+        assertThat(cache.authenticate("alice", "wrong".toCharArray(), () -> groups("staff")), nullValue());
+
+        assertThrows(FailedLoginException.class, () -> cache.authenticate("bob", "wrong".toCharArray(), this::fail));
+        FailedLoginException cached = assertThrows(FailedLoginException.class,
+            () -> cache.authenticate("bob", "wrong".toCharArray(), () -> groups("staff")));
+
+        assertAll(
+            () -> assertThat(cached.getMessage(), equalTo("bind failed")),
+            () -> assertThat(calls.get(), equalTo(2))
+        );
+    }
+
+
+    @Test
+    public void doesNotCacheRejectedCredentialsWithoutNegativeTtl() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 0L, 100);
+        cache.authenticate("alice", "wrong".toCharArray(), this::reject);
+        assertThat(cache.authenticate("alice", "wrong".toCharArray(), () -> groups("staff")), arrayContaining("staff"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+
+    @Test
+    public void doesNotCacheErrorsOfUserStore() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 60_000L, 100);
+        assertThrows(LoginException.class, () -> cache.authenticate("alice", "secret".toCharArray(), () -> {
+            calls.incrementAndGet();
+            throw new LoginException("directory down");
+        }));
+        assertThat(cache.authenticate("alice", "secret".toCharArray(), () -> groups("staff")), arrayContaining("staff"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+
+    @Test
+    public void entriesExpire() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 20L, 20L, 100);
+        cache.authenticate("alice", "secret".toCharArray(), () -> groups("staff"));
+        Thread.sleep(50L);
+        assertThat(cache.authenticate("alice", "secret".toCharArray(), () -> groups("admin")), arrayContaining("admin"));
+        assertThat(calls.get(), equalTo(2));
+    }
+
+
+    @Test
+    public void clearsUserOrWholeCache() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 60_000L, 100);
+        cache.authenticate("alice", "secret".toCharArray(), () -> groups("staff"));
+        cache.authenticate("alice", "wrong".toCharArray(), this::reject);
+        cache.authenticate("bob", "secret".toCharArray(), () -> groups("staff"));
+
+        assertThat(cache.clear("alice"), equalTo(2));
+        assertThat(cache.authenticate("alice", "secret".toCharArray(), () -> groups("admin")), arrayContaining("admin"));
+        assertThat(cache.clear(null), equalTo(2));
+        assertThat(cache.getEntryCount(), equalTo(0));
+    }
+
+
+    @Test
+    public void staysWithinMaxEntries() throws Exception {
+        RealmAuthenticationCache cache = new RealmAuthenticationCache("test", 60_000L, 0L, 10);
+        for (int i = 0; i < 100; i++) {
+            cache.authenticate("user" + i, "secret".toCharArray(), () -> groups("staff"));
+        }
+        assertThat(cache.getEntryCount() <= 10, equalTo(true));
+    }
+
+
+    @Test
+    public void createdFromRealmProperties() throws Exception {
+        Properties props = new Properties();
+        assertThat(RealmAuthenticationCache.create("test", props), nullValue());
+
+        props.setProperty(RealmAuthenticationCache.PARAM_TTL, "60");
+        props.setProperty(RealmAuthenticationCache.PARAM_NEGATIVE_TTL, "5");
+        assertThat(RealmAuthenticationCache.create("test", props), notNullValue());
+
+        props.setProperty(RealmAuthenticationCache.PARAM_MAX_ENTRIES, "many");
+        assertThrows(BadRealmException.class, () -> RealmAuthenticationCache.create("test", props));
+    }
+
+
+    private String[] groups(String group) {
+        calls.incrementAndGet();
+        return new String[] {group};
+    }
+
+
+    private String[] reject() {
+        calls.incrementAndGet();
+        return null;
+    }
+
+
+    private String[] fail() throws FailedLoginException {
+        calls.incrementAndGet();
+        throw new FailedLoginException("bind failed");
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.security.auth.realm.ldap;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.AuthenticationException;
+import javax.naming.CommunicationException;
+import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.SearchResult;
+import javax.naming.spi.InitialContextFactory;
+import javax.security.auth.login.FailedLoginException;
+import javax.security.auth.login.LoginException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests which results of the {@link LDAPRealm} are cached, against a directory simulated by {@link Directory}.
+ */
+public class LDAPRealmTest {
+
+    private static final String USER_DN = "uid=alice,dc=test";
+
+    private LDAPRealm realm;
+
+    @BeforeEach
+    public void createRealm() throws Exception {
+        Directory.reset();
+        Properties props = new Properties();
+        props.setProperty(LDAPRealm.PARAM_DIRURL, "ldap://localhost:389");
+        props.setProperty(LDAPRealm.PARAM_USERDN, "dc=test");
+        props.setProperty(LDAPRealm.JAAS_CONTEXT_PARAM, "ldapRealm");
+        props.setProperty(LDAPRealm.PARAM_JNDICF, Directory.class.getName());
+        props.setProperty("auth-cache-ttl", "60");
+        props.setProperty("auth-cache-negative-ttl", "60");
+        realm = new LDAPRealm();
+        realm.init(props);
+    }
+
+
+    @AfterEach
+    public void resetDirectory() {
+        Directory.reset();
+    }
+
+
+    @Test
+    public void rejectedPasswordIsCached() throws Exception {
+        assertThrows(FailedLoginException.class, () -> realm.findAndBind("alice", "wrong".toCharArray()));
+        assertThrows(FailedLoginException.class, () -> realm.findAndBind("alice", "wrong".toCharArray()));
+        assertThat(realm.findAndBind("alice", "secret".toCharArray()), emptyArray());
+        assertThat(Directory.userBinds.get(), equalTo(2));
+    }
+
+
+    @Test
+    public void failedBindIsNotCached() throws Exception {
+        Directory.bindFailure = new CommunicationException("Connection refused");
+        LoginException communication = assertThrows(LoginException.class,
+            () -> realm.findAndBind("alice", "secret".toCharArray()));
+        Directory.bindFailure = new ServiceUnavailableException("Busy");
+        LoginException unavailable = assertThrows(LoginException.class,
+            () -> realm.findAndBind("alice", "secret".toCharArray()));
+        Directory.bindFailure = null;
+
+        assertAll(
+            () -> assertThat(communication, not(instanceOf(FailedLoginException.class))),
+            () -> assertThat(unavailable, not(instanceOf(FailedLoginException.class))),
+            () -> assertThat(realm.findAndBind("alice", "secret".toCharArray()), emptyArray()),
+            () -> assertThat(Directory.userBinds.get(), equalTo(3))
+        );
+    }
+
+
+    @Test
+    public void failedUserSearchIsNotCached() throws Exception {
+        Directory.searchFailure = new CommunicationException("Connection reset");
+        LoginException failure = assertThrows(LoginException.class,
+            () -> realm.findAndBind("alice", "secret".toCharArray()));
+        Directory.searchFailure = null;
+
+        assertAll(
+            () -> assertThat(failure, not(instanceOf(FailedLoginException.class))),
+            () -> assertThat(realm.findAndBind("alice", "secret".toCharArray()), emptyArray()),
+            () -> assertThat(Directory.userBinds.get(), equalTo(1))
+        );
+    }
+
+
+    /**
+     * Directory with the single user alice, member of no groups.
+     */
+    public static final class Directory implements InitialContextFactory {
+
+        static final AtomicInteger userBinds = new AtomicInteger();
+        static volatile NamingException bindFailure;
+        static volatile NamingException searchFailure;
+
+        static void reset() {
+            userBinds.set(0);
+            bindFailure = null;
+            searchFailure = null;
+        }
+
+        @Override
+        public Context getInitialContext(Hashtable<?, ?> environment) throws NamingException {
+            if (USER_DN.equals(environment.get(Context.SECURITY_PRINCIPAL))) {
+                userBinds.incrementAndGet();
+                if (bindFailure != null) {
+                    throw bindFailure;
+                }
+                if (!"secret".equals(environment.get(Context.SECURITY_CREDENTIALS))) {
+                    throw new AuthenticationException("Invalid credentials");
+                }
+            }
+            return (Context) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {DirContext.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "search":
+                            if (searchFailure != null) {
+                                throw searchFailure;
+                            }
+                            String filter = (String) args[1];
+                            if (filter.equals("uid=alice")) {
+                                return results(new SearchResult("uid=alice", null, new BasicAttributes()));
+                            }
+                            return results();
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+
+        private static NamingEnumeration<SearchResult> results(SearchResult... results) {
+            Iterator<SearchResult> iterator = Arrays.asList(results).iterator();
+            return new NamingEnumeration<SearchResult>() {
+
+                @Override
+                public boolean hasMore() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public SearchResult next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public boolean hasMoreElements() {
+                    return hasMore();
+                }
+
+                @Override
+                public SearchResult nextElement() {
+                    return next();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}